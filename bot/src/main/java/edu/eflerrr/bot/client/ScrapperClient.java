@@ -1,5 +1,6 @@
 package edu.eflerrr.bot.client;
 
+import edu.eflerrr.bot.client.dto.request.LinkFilterRequest;
 import edu.eflerrr.bot.client.dto.request.LinkRequest;
 import edu.eflerrr.bot.client.dto.response.LinkResponse;
 import edu.eflerrr.bot.client.dto.response.ListLinksResponse;
@@ -27,6 +28,7 @@ public class ScrapperClient {
     private static final String TG_CHAT_ID_HEADER = "Tg-Chat-Id";
     private static final String TG_CHAT_ENDPOINT = "/tg-chat";
     private static final String LINKS_ENDPOINT = "/links";
+    private static final String LINKS_FILTER_ENDPOINT = "/links/filter";
     private static final String RETRY_MESSAGE = "Retryable status code: ";
     private static final String TRACK_LINK_ERROR_MESSAGE =
         "Error occurred during trackLink in ScrapperClient! ErrorResponse: ";
@@ -34,6 +36,9 @@ public class ScrapperClient {
         "Error occurred during untrackLink in ScrapperClient! ErrorResponse: ";
     private static final String LIST_LINKS_ERROR_MESSAGE =
         "Error occurred during listLinks in ScrapperClient! ErrorResponse: ";
+    private static final String FILTER_LINK_ERROR_MESSAGE =
+        "Error occurred during filterLink in ScrapperClient! ErrorResponse: ";
+    private static final String TG_CHAT_NOT_EXIST_DESCRIPTION = "Чат не существует";
     private static final String ERROR_MESSAGE_TEMPLATE = " - [%d %s] - ScrapperErrorResponse: ";
     public final String defaultApiUrl = "http://localhost:8080";
     private final WebClient webClient;
@@ -228,7 +233,7 @@ public class ScrapperClient {
                             ));
                         }
                         if (response.statusCode().value() == NOT_FOUND.value()) {
-                            if (errorMessage.equals("Чат не существует")) {
+                            if (errorMessage.equals(TG_CHAT_NOT_EXIST_DESCRIPTION)) {
                                 return Mono.error(new TgChatNotExistException(
                                     UNTRACK_LINK_ERROR_MESSAGE + errorMessage
                                 ));
@@ -298,4 +303,57 @@ public class ScrapperClient {
             });
     }
 
+    public LinkResponse filterLink(Long id, URI url, long eventMask) {
+        return retryTemplate.execute(
+            context -> filterLinkWebClientRequest(id, url, eventMask).block()
+        );
+    }
+
+    public Mono<LinkResponse> filterLinkWebClientRequest(Long id, URI url, long eventMask) {
+        return webClient.put()
+            .uri(LINKS_FILTER_ENDPOINT)
+            .header(TG_CHAT_ID_HEADER, id.toString())
+            .bodyValue(new LinkFilterRequest(url, eventMask))
+            .exchangeToMono(response -> {
+                if (retryStatusCodes.contains(response.statusCode().value())) {
+                    return Mono.error(new RetryableRequestException(
+                        RETRY_MESSAGE
+                            + response.statusCode().value())
+                    );
+                }
+                if (response.statusCode().equals(OK)) {
+                    return response.bodyToMono(LinkResponse.class);
+                }
+                return response.bodyToMono(ScrapperErrorResponse.class)
+                    .flatMap(errorResponse -> {
+                        String errorMessage = errorResponse.description();
+                        if (response.statusCode().value() == BAD_REQUEST.value()) {
+                            return Mono.error(new InvalidDataException(
+                                FILTER_LINK_ERROR_MESSAGE + errorMessage
+                            ));
+                        }
+                        if (response.statusCode().value() == NOT_FOUND.value()) {
+                            if (errorMessage.equals(TG_CHAT_NOT_EXIST_DESCRIPTION)) {
+                                return Mono.error(new TgChatNotExistException(
+                                    FILTER_LINK_ERROR_MESSAGE + errorMessage
+                                ));
+                            } else {
+                                return Mono.error(new LinkNotFoundException(
+                                    FILTER_LINK_ERROR_MESSAGE + errorMessage
+                                ));
+                            }
+                        }
+                        return Mono.error(new RuntimeException(
+                            FILTER_LINK_ERROR_MESSAGE
+                                + String.format(
+                                ERROR_MESSAGE_TEMPLATE,
+                                response.statusCode().value(),
+                                ((HttpStatus) response.statusCode()).getReasonPhrase()
+                            )
+                                + errorMessage
+                        ));
+                    });
+            });
+    }
+
 }
@@ -0,0 +1,12 @@
+package edu.eflerrr.bot.client.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.net.URI;
+
+public record LinkFilterRequest(
+    @JsonProperty("link")
+    URI link,
+    @JsonProperty("eventMask")
+    Long eventMask
+) {
+}
@@ -0,0 +1,100 @@
+package edu.eflerrr.bot.command.handler.impl;
+
+import com.pengrad.telegrambot.model.Update;
+import edu.eflerrr.bot.client.ScrapperClient;
+import edu.eflerrr.bot.command.handler.CommandHandler;
+import edu.eflerrr.bot.exception.LinkNotFoundException;
+import edu.eflerrr.bot.exception.TgChatNotExistException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import static edu.eflerrr.bot.message.BotMessage.FILTER_COMMAND_FORMAT_ERROR;
+import static edu.eflerrr.bot.message.BotMessage.FILTER_COMMAND_SUCCESS;
+import static edu.eflerrr.bot.message.BotMessage.FILTER_COMMAND_URL_NOT_FOUND;
+import static edu.eflerrr.bot.message.BotMessage.URL_ERROR;
+import static edu.eflerrr.bot.message.BotMessage.USER_NOT_FOUND_ERROR;
+
+/**
+ * Sets the event types the chat is notified about for a tracked link, e.g. {@code /filter <link> push -branch}.
+ * Types are applied in order, starting from none of them, or from all of them if the first type is muted
+ * with a minus. Each type is the bit {@code 1 << eventId} of the scrapper event ids.
+ */
+@Component
+@RequiredArgsConstructor
+@SuppressWarnings("MagicNumber")
+public class FilterCommandHandler implements CommandHandler {
+    private static final long ALL_EVENTS = -1L;
+    private static final String MUTE_PREFIX = "-";
+    private static final Map<String, Long> EVENT_MASKS = Map.of(
+        "update", 1L << 1,
+        "push", 1L << 2,
+        "branch", 1L << 3 | 1L << 4,
+        "answer", 1L << 5,
+        "comment", 1L << 6,
+        "accepted", 1L << 7,
+        "state", 1L << 8,
+        "other", 1L << 9,
+        "all", ALL_EVENTS
+    );
+    private final String name = "/filter";
+    private final String description = "Выбрать типы уведомлений по ссылке";
+    private final ScrapperClient scrapperClient;
+
+    @Override
+    public String getCommandName() {
+        return name;
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return description;
+    }
+
+    @Override
+    public boolean checkFormat(String command) {
+        return command != null && (command.equals(name) || command.startsWith(name + " "));
+    }
+
+    @Override
+    public String handle(Update update) {
+        var command = update.message().text();
+        if (!checkFormat(command)) {
+            throw new IllegalArgumentException("Invalid command format!");
+        }
+        var arguments = command.substring(name.length()).trim().split("\\s+");
+        if (arguments.length < 2) {
+            return FILTER_COMMAND_FORMAT_ERROR;
+        }
+        URL url;
+        try {
+            url = URI.create(arguments[0]).toURL();
+        } catch (IllegalArgumentException | MalformedURLException ex) {
+            return URL_ERROR;
+        }
+        var eventMask = arguments[1].startsWith(MUTE_PREFIX) ? ALL_EVENTS : 0L;
+        for (int i = 1; i < arguments.length; i++) {
+            var muted = arguments[i].startsWith(MUTE_PREFIX);
+            var typeMask = EVENT_MASKS.get(muted ? arguments[i].substring(MUTE_PREFIX.length()) : arguments[i]);
+            if (typeMask == null) {
+                return FILTER_COMMAND_FORMAT_ERROR;
+            }
+            eventMask = muted ? eventMask & ~typeMask : eventMask | typeMask;
+        }
+        String answer;
+        try {
+            scrapperClient.filterLink(update.message().chat().id(), url.toURI(), eventMask);
+            answer = FILTER_COMMAND_SUCCESS;
+        } catch (LinkNotFoundException ex) {
+            answer = FILTER_COMMAND_URL_NOT_FOUND;
+        } catch (TgChatNotExistException ex) {
+            answer = USER_NOT_FOUND_ERROR;
+        } catch (URISyntaxException ex) {
+            throw new RuntimeException(ex.getMessage());
+        }
+        return answer;
+    }
+}
@@ -1,6 +1,7 @@
 package edu.eflerrr.bot.command.list.impl;
 
 import edu.eflerrr.bot.command.handler.CommandHandler;
+import edu.eflerrr.bot.command.handler.impl.FilterCommandHandler;
 import edu.eflerrr.bot.command.handler.impl.HelpCommandHandler;
 import edu.eflerrr.bot.command.handler.impl.ListCommandHandler;
 import edu.eflerrr.bot.command.handler.impl.RemoveMeCommandHandler;
@@ -23,9 +24,10 @@ public class BotCommandHandlerList implements CommandHandlerList {
         TrackCommandHandler track,
         UntrackCommandHandler untrack,
         ListCommandHandler list,
-        RemoveMeCommandHandler removeMe
+        RemoveMeCommandHandler removeMe,
+        FilterCommandHandler filter
     ) {
-        commands = List.of(start, help, track, untrack, list, removeMe);
+        commands = List.of(start, help, track, untrack, list, removeMe, filter);
     }
 
     @Override
@@ -2,6 +2,7 @@ package edu.eflerrr.bot.configuration.kafka;
 
 import edu.eflerrr.bot.configuration.ApplicationConfig;
 import edu.eflerrr.bot.controller.dto.request.LinkUpdate;
+import edu.eflerrr.bot.service.kafka.LinkUpdateDeserializer;
 import java.util.HashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -56,7 +57,7 @@ public class KafkaConsumerConfig {
             put(JsonDeserializer.TRUSTED_PACKAGES, "*");
             put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
         }}, false);
-        var errorHandlingDeserializer = new ErrorHandlingDeserializer<>(deserializer);
+        var errorHandlingDeserializer = new ErrorHandlingDeserializer<>(new LinkUpdateDeserializer(deserializer));
         return new DefaultKafkaConsumerFactory<>(new HashMap<>() {
             {
                 put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
@@ -57,12 +57,7 @@ public class UpdatesController {
         @RequestBody
         LinkUpdate linkUpdate
     ) throws MalformedURLException {
-        updatesService.processUpdate(
-            linkUpdate.getId(),
-            linkUpdate.getUrl().toURL(),
-            linkUpdate.getDescription(),
-            linkUpdate.getTgChatIds()
-        );
+        updatesService.processUpdate(linkUpdate);
         return ResponseEntity.ok().build();
     }
 
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 import lombok.EqualsAndHashCode;
 import lombok.Setter;
 import lombok.ToString;
@@ -27,8 +29,23 @@ public class LinkUpdate {
     @JsonProperty("description")
     private String description;
 
+    @JsonProperty("events")
+    private List<LinkUpdateEvent> events = new ArrayList<>();
+
+    @JsonProperty("omittedEvents")
+    private Integer omittedEvents;
+
     @JsonProperty("tgChatIds")
-    private List<Long> tgChatIds = null;
+    private long[] tgChatIds = null;
+
+    @JsonProperty("eventId")
+    private UUID eventId;
+
+    @JsonProperty("chunk")
+    private Integer chunk;
+
+    @JsonProperty("chunks")
+    private Integer chunks;
 
     public LinkUpdate id(Long id) {
         this.id = id;
@@ -78,16 +95,57 @@ public class LinkUpdate {
         return description;
     }
 
-    public LinkUpdate tgChatIds(List<Long> tgChatIds) {
+    public LinkUpdate events(List<LinkUpdateEvent> events) {
+        this.events = events;
+        return this;
+    }
+
+    public LinkUpdate addEventsItem(LinkUpdateEvent eventsItem) {
+        if (this.events == null) {
+            this.events = new ArrayList<>();
+        }
+        this.events.add(eventsItem);
+        return this;
+    }
+
+    /**
+     * Events listed by an update of several coalesced events, empty for a single event
+     *
+     * @return events
+     */
+
+    @Schema(name = "events")
+    public List<LinkUpdateEvent> getEvents() {
+        return events;
+    }
+
+    public LinkUpdate omittedEvents(Integer omittedEvents) {
+        this.omittedEvents = omittedEvents;
+        return this;
+    }
+
+    /**
+     * Number of coalesced events left out of the listed ones
+     *
+     * @return omittedEvents
+     */
+
+    @Schema(name = "omittedEvents", example = "0")
+    public Integer getOmittedEvents() {
+        return omittedEvents;
+    }
+
+    public LinkUpdate tgChatIds(long[] tgChatIds) {
         this.tgChatIds = tgChatIds;
         return this;
     }
 
-    public LinkUpdate addTgChatIdsItem(Long tgChatIdsItem) {
+    public LinkUpdate addTgChatIdsItem(long tgChatIdsItem) {
         if (this.tgChatIds == null) {
-            this.tgChatIds = new ArrayList<>();
+            this.tgChatIds = new long[0];
         }
-        this.tgChatIds.add(tgChatIdsItem);
+        this.tgChatIds = Arrays.copyOf(this.tgChatIds, this.tgChatIds.length + 1);
+        this.tgChatIds[this.tgChatIds.length - 1] = tgChatIdsItem;
         return this;
     }
 
@@ -98,10 +156,58 @@ public class LinkUpdate {
      */
 
     @Schema(name = "tgChatIds", example = "[1, 2, 3]")
-    public List<Long> getTgChatIds() {
+    public long[] getTgChatIds() {
         return tgChatIds;
     }
 
+    public LinkUpdate eventId(UUID eventId) {
+        this.eventId = eventId;
+        return this;
+    }
+
+    /**
+     * Id of the event shared by all of its chunks, a chunk received again under the same id is skipped
+     *
+     * @return eventId
+     */
+
+    @Schema(name = "eventId", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public LinkUpdate chunk(Integer chunk) {
+        this.chunk = chunk;
+        return this;
+    }
+
+    /**
+     * Index of the chunk within the event, starting from 0
+     *
+     * @return chunk
+     */
+
+    @Schema(name = "chunk", example = "0")
+    public Integer getChunk() {
+        return chunk;
+    }
+
+    public LinkUpdate chunks(Integer chunks) {
+        this.chunks = chunks;
+        return this;
+    }
+
+    /**
+     * Number of chunks the event was split into
+     *
+     * @return chunks
+     */
+
+    @Schema(name = "chunks", example = "1")
+    public Integer getChunks() {
+        return chunks;
+    }
+
     /**
      * Convert the given object to string with each line indented by 4 spaces
      * (except the first line).
@@ -0,0 +1,55 @@
+package edu.eflerrr.bot.controller.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * LinkUpdateEvent
+ */
+
+@Setter
+@EqualsAndHashCode
+@ToString
+public class LinkUpdateEvent {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("description")
+    private String description;
+
+    public LinkUpdateEvent id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * Get id
+     *
+     * @return id
+     */
+
+    @Schema(name = "id", example = "3")
+    public Long getId() {
+        return id;
+    }
+
+    public LinkUpdateEvent description(String description) {
+        this.description = description;
+        return this;
+    }
+
+    /**
+     * Get description
+     *
+     * @return description
+     */
+
+    @Schema(name = "description", example = "new branch -> feature")
+    public String getDescription() {
+        return description;
+    }
+}
@@ -51,6 +51,20 @@ public class BotMessage {
     public static final String UNTRACK_COMMAND_URL_NOT_FOUND =
         "Не переживай, в твоем списке такой ссылки и так ___не было_\r__ :\\)";
 
+    public static final String FILTER_COMMAND_FORMAT_ERROR =
+        """
+            Напишите через ___пробел_\r__ после команды /filter ссылку и типы уведомлений, например:
+            /filter https://github\\.com/owner/repo push \\-branch
+
+            Типы: update, push, branch, answer, comment, accepted, state, other, all\\.
+            Тип с минусом ___отключает_\r__ уведомления этого типа\\.""";
+
+    public static final String FILTER_COMMAND_SUCCESS =
+        "Фильтр уведомлений ___успешно_\r__ изменен\\!";
+
+    public static final String FILTER_COMMAND_URL_NOT_FOUND =
+        "Эта ссылка ___не отслеживается_\r__, начни с команды /track\\!";
+
     public static final String USER_NOT_FOUND_ERROR =
         "Прости, не могу найти тебя в ___базе данных_\r__\\! "
             + "Попробуйте начать с команды /start";
@@ -14,6 +14,24 @@ public class UpdatesMessage {
         *__Ссылка__* \\-\\> %s
         """;
 
+    public final static String MULTIPLE_UPDATES_MESSAGE_TEMPLATE = """
+        *Новые обновления \\(%d\\)\\!*
+
+        *__Ресурс__* \\-\\> %s
+        *__Ссылка__* \\-\\> %s
+
+        %s
+        """;
+
+    public final static String UPDATE_ITEM_TEMPLATE =
+        "• %s";
+
+    public final static String UPDATE_ITEM_DETAILS_TEMPLATE =
+        "• %s \\-\\> %s";
+
+    public final static String MORE_UPDATES_ITEM_TEMPLATE =
+        "• \\.\\.\\. и ещё %d";
+
     public final static String REPOSITORY_UPDATE =
         "Новые изменения метаданных/настроек репозитория";
 
@@ -0,0 +1,32 @@
+package edu.eflerrr.bot.metric;
+
+import edu.eflerrr.bot.controller.dto.request.LinkUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts received updates once per event, however many chunks its subscribers were split into,
+ * and the chunks themselves separately.
+ */
+@Component
+public class UpdateCounter {
+
+    private final Counter updates;
+    private final Counter chunks;
+
+    @Autowired
+    public UpdateCounter(MeterRegistry registry) {
+        this.updates = registry.counter("update_counter");
+        this.chunks = registry.counter("update_chunk_counter");
+    }
+
+    public void countUpdate(LinkUpdate update) {
+        chunks.increment();
+        if (update.getChunk() == null || update.getChunk() == 0) {
+            updates.increment();
+        }
+    }
+
+}
@@ -3,13 +3,24 @@ package edu.eflerrr.bot.service;
 import com.pengrad.telegrambot.TelegramBot;
 import com.pengrad.telegrambot.model.request.ParseMode;
 import com.pengrad.telegrambot.request.SendMessage;
+import edu.eflerrr.bot.controller.dto.request.LinkUpdate;
+import edu.eflerrr.bot.controller.dto.request.LinkUpdateEvent;
+import edu.eflerrr.bot.metric.UpdateCounter;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import static edu.eflerrr.bot.message.UpdatesMessage.MORE_UPDATES_ITEM_TEMPLATE;
+import static edu.eflerrr.bot.message.UpdatesMessage.MULTIPLE_UPDATES_MESSAGE_TEMPLATE;
 import static edu.eflerrr.bot.message.UpdatesMessage.QUESTION_ACCEPTED_ANSWER;
 import static edu.eflerrr.bot.message.UpdatesMessage.QUESTION_ANSWER;
 import static edu.eflerrr.bot.message.UpdatesMessage.QUESTION_COMMENT;
@@ -19,6 +30,8 @@ import static edu.eflerrr.bot.message.UpdatesMessage.REPOSITORY_BRANCH_CREATE;
 import static edu.eflerrr.bot.message.UpdatesMessage.REPOSITORY_BRANCH_DELETE;
 import static edu.eflerrr.bot.message.UpdatesMessage.REPOSITORY_PUSH;
 import static edu.eflerrr.bot.message.UpdatesMessage.REPOSITORY_UPDATE;
+import static edu.eflerrr.bot.message.UpdatesMessage.UPDATE_ITEM_DETAILS_TEMPLATE;
+import static edu.eflerrr.bot.message.UpdatesMessage.UPDATE_ITEM_TEMPLATE;
 import static edu.eflerrr.bot.message.UpdatesMessage.UPDATE_MESSAGE_TEMPLATE;
 
 @Service
@@ -27,7 +40,13 @@ import static edu.eflerrr.bot.message.UpdatesMessage.UPDATE_MESSAGE_TEMPLATE;
 @SuppressWarnings("MagicNumber")
 public class UpdatesService {
 
+    private static final Long MULTIPLE_UPDATES = 10L;
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String DETAILS_SEPARATOR = " -> ";
+    private static final String STACKOVERFLOW_HOST = "stackoverflow.com";
+    private static final int PROCESSED_CHUNKS_CAPACITY = 10_000;
     private final TelegramBot bot;
+    private final UpdateCounter updateCounter;
     private final Map<Long, String> questionEventMessages = Map.of(
         1L, REPOSITORY_UPDATE,
         2L, REPOSITORY_PUSH,
@@ -39,6 +58,14 @@ public class UpdatesService {
         8L, QUESTION_POST_STATE_CHANGED,
         9L, QUESTION_UNKNOWN_UPDATE
     );
+    private final Set<Chunk> processedChunks = Collections.newSetFromMap(Collections.synchronizedMap(
+        new LinkedHashMap<Chunk, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chunk, Boolean> eldest) {
+                return size() > PROCESSED_CHUNKS_CAPACITY;
+            }
+        }
+    ));
 
     public static String stringToMarkdown(String str) {
         String specialChars = "_*[]()~`><#+-=|{}.!";
@@ -46,22 +73,59 @@ public class UpdatesService {
         return str.replaceAll(regex, "\\\\$1");
     }
 
-    public void processUpdate(Long id, URL url, String description, List<Long> tgChatIds) {
-        String resourceName;
-        if (id >= 5L) {
-            resourceName = url.getPath().split("/")[3];
-        } else {
-            resourceName = url.getPath().split("/")[1] + "/" + url.getPath().split("/")[2];
+    /**
+     * Processes one chunk of an update, the chunks of one event are counted as a single update.
+     * The scrapper sends an update again under the same event id when some of its chunks failed,
+     * so a chunk among the last {@value #PROCESSED_CHUNKS_CAPACITY} processed ones is skipped.
+     */
+    public void processUpdate(LinkUpdate update) throws MalformedURLException {
+        var chunk = update.getEventId() == null ? null : new Chunk(update.getEventId(), update.getChunk());
+        if (chunk != null && !processedChunks.add(chunk)) {
+            log.debug("Skipping already processed chunk {} of update {}", update.getChunk(), update.getEventId());
+            return;
+        }
+        try {
+            updateCounter.countUpdate(update);
+            processUpdate(
+                update.getId(),
+                update.getUrl().toURL(),
+                update.getDescription(),
+                update.getEvents() == null ? List.of() : update.getEvents(),
+                update.getOmittedEvents() == null ? 0 : update.getOmittedEvents(),
+                update.getTgChatIds()
+            );
+        } catch (MalformedURLException | RuntimeException ex) {
+            if (chunk != null) {
+                processedChunks.remove(chunk);
+            }
+            throw ex;
         }
+    }
 
-        log.debug("Processing update for resource: {}, url: {}", resourceName, url);
+    public void processUpdate(Long id, URL url, String description, long[] tgChatIds) {
+        processUpdate(id, url, description, List.of(), 0, tgChatIds);
+    }
 
-        var updateMessage = String.format(
-            UPDATE_MESSAGE_TEMPLATE,
-            stringToMarkdown(resourceName),
-            stringToMarkdown(questionEventMessages.get(id)),
-            stringToMarkdown(url.toString())
-        );
+    /**
+     * Sends the update to the chats. An update of several coalesced events lists them in {@code events}
+     * and counts the ones left out in {@code omittedEvents}.
+     */
+    public void processUpdate(
+        Long id, URL url, String description, List<LinkUpdateEvent> events, int omittedEvents, long[] tgChatIds
+    ) {
+        String updateMessage;
+        var resourceName = resourceName(url);
+        if (MULTIPLE_UPDATES.equals(id)) {
+            updateMessage = multipleUpdatesMessage(resourceName, url, events, omittedEvents);
+        } else {
+            log.debug("Processing update for resource: {}, url: {}", resourceName, url);
+            updateMessage = String.format(
+                UPDATE_MESSAGE_TEMPLATE,
+                stringToMarkdown(resourceName),
+                stringToMarkdown(questionEventMessages.getOrDefault(id, QUESTION_UNKNOWN_UPDATE)),
+                stringToMarkdown(url.toString())
+            );
+        }
 
         log.debug("Sending message to bot:\n{}", updateMessage);
 
@@ -74,4 +138,50 @@ public class UpdatesService {
         }
     }
 
+    /**
+     * Renders the events the scrapper coalesced from one link check, one item per listed event
+     * with the details that follow {@value #DETAILS_SEPARATOR} in its description, and one for the omitted ones.
+     */
+    private String multipleUpdatesMessage(
+        String resourceName, URL url, List<LinkUpdateEvent> events, int omittedEvents
+    ) {
+        var items = new ArrayList<String>();
+        for (var event : events) {
+            var eventMessage = stringToMarkdown(
+                questionEventMessages.getOrDefault(event.getId(), QUESTION_UNKNOWN_UPDATE)
+            );
+            var description = event.getDescription() == null ? "" : event.getDescription();
+            var detailsStart = description.lastIndexOf(DETAILS_SEPARATOR);
+            items.add(detailsStart < 0
+                ? String.format(UPDATE_ITEM_TEMPLATE, eventMessage)
+                : String.format(
+                    UPDATE_ITEM_DETAILS_TEMPLATE,
+                    eventMessage,
+                    stringToMarkdown(description.substring(detailsStart + DETAILS_SEPARATOR.length()))
+                ));
+        }
+        if (omittedEvents > 0) {
+            items.add(String.format(MORE_UPDATES_ITEM_TEMPLATE, omittedEvents));
+        }
+        var count = events.size() + omittedEvents;
+        log.debug("Processing {} coalesced updates for resource: {}, url: {}", count, resourceName, url);
+        return String.format(
+            MULTIPLE_UPDATES_MESSAGE_TEMPLATE,
+            count,
+            stringToMarkdown(resourceName),
+            stringToMarkdown(url.toString()),
+            String.join(LINE_SEPARATOR, items)
+        );
+    }
+
+    private static String resourceName(URL url) {
+        if (url.getHost().endsWith(STACKOVERFLOW_HOST)) {
+            return url.getPath().split("/")[3];
+        }
+        return url.getPath().split("/")[1] + "/" + url.getPath().split("/")[2];
+    }
+
+    private record Chunk(UUID eventId, Integer index) {
+    }
+
 }
@@ -24,12 +24,7 @@ public class BotQueueConsumer {
     )
     public void consume(LinkUpdate message) throws MalformedURLException {
         log.debug("[BotQueueConsumer] Successfully consuming message: " + message);
-        updatesService.processUpdate(
-            message.getId(),
-            message.getUrl().toURL(),
-            message.getDescription(),
-            message.getTgChatIds()
-        );
+        updatesService.processUpdate(message);
     }
 
     @KafkaListener(
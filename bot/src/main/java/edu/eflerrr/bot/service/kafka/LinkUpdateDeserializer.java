@@ -0,0 +1,128 @@
+package edu.eflerrr.bot.service.kafka;
+
+import edu.eflerrr.bot.controller.dto.request.LinkUpdate;
+import edu.eflerrr.bot.controller.dto.request.LinkUpdateEvent;
+import java.net.URI;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Picks the decoder of an update by the {@value #FORMAT_HEADER} record header: records of the scrapper
+ * binary serializer are decoded here, all others are passed to the JSON deserializer,
+ * so JSON producers keep working while the scrapper is switched to the binary format.
+ * Layout of schema version 1:
+ * <pre>
+ * version: byte
+ * event id: unsigned byte
+ * url: varint length, UTF-8 bytes
+ * description: varint length, UTF-8 bytes
+ * chat ids: varint count, first id as zigzag varint, then varint deltas of the ids sorted ascending
+ * chunk event id: byte 0 if absent, or byte 1 and 16 bytes of the UUID
+ * chunk: varint index, varint count
+ * listed events: varint count, then for each an unsigned byte event id and a varint length with UTF-8 bytes
+ * omitted events: varint count
+ * </pre>
+ * Records of another version fail with {@link SerializationException} and go to the DLQ.
+ */
+public class LinkUpdateDeserializer implements Deserializer<LinkUpdate> {
+
+    public static final String FORMAT_HEADER = "update-format";
+    public static final String FORMAT = "binary";
+    public static final byte VERSION = 1;
+
+    private static final int BYTE_MASK = 0xff;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7f;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int MAX_VARINT_SHIFT = 63;
+
+    private final Deserializer<LinkUpdate> jsonDeserializer;
+
+    public LinkUpdateDeserializer(Deserializer<LinkUpdate> jsonDeserializer) {
+        this.jsonDeserializer = jsonDeserializer;
+    }
+
+    @Override
+    public LinkUpdate deserialize(String topic, Headers headers, byte[] data) {
+        var format = headers == null ? null : headers.lastHeader(FORMAT_HEADER);
+        if (format == null) {
+            return jsonDeserializer.deserialize(topic, headers, data);
+        }
+        if (!FORMAT.equals(new String(format.value(), StandardCharsets.UTF_8))) {
+            throw new SerializationException("Unknown update format: " + Arrays.toString(format.value()));
+        }
+        return deserialize(topic, data);
+    }
+
+    @Override
+    public LinkUpdate deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            var buffer = ByteBuffer.wrap(data);
+            var version = buffer.get();
+            if (version != VERSION) {
+                throw new SerializationException("Unknown update schema version: " + version);
+            }
+            var update = new LinkUpdate()
+                .id((long) (buffer.get() & BYTE_MASK))
+                .url(URI.create(readString(buffer)))
+                .description(readString(buffer));
+            var tgChatIds = new long[Math.toIntExact(readVarint(buffer))];
+            for (int i = 0; i < tgChatIds.length; i++) {
+                if (i == 0) {
+                    var zigzag = readVarint(buffer);
+                    tgChatIds[0] = (zigzag >>> 1) ^ -(zigzag & 1);
+                } else {
+                    tgChatIds[i] = tgChatIds[i - 1] + readVarint(buffer);
+                }
+            }
+            update.tgChatIds(tgChatIds);
+            if (buffer.get() != 0) {
+                update.eventId(new UUID(buffer.getLong(), buffer.getLong()));
+            }
+            update
+                .chunk(Math.toIntExact(readVarint(buffer)))
+                .chunks(Math.toIntExact(readVarint(buffer)));
+            for (var i = readVarint(buffer); i > 0; i--) {
+                update.addEventsItem(new LinkUpdateEvent()
+                    .id((long) (buffer.get() & BYTE_MASK))
+                    .description(readString(buffer)));
+            }
+            return update.omittedEvents(Math.toIntExact(readVarint(buffer)));
+        } catch (BufferUnderflowException | IllegalArgumentException | ArithmeticException ex) {
+            throw new SerializationException("Malformed binary update", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var bytes = new byte[Math.toIntExact(readVarint(buffer))];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift <= MAX_VARINT_SHIFT; shift += VARINT_PAYLOAD_BITS) {
+            var b = buffer.get();
+            result |= (long) (b & VARINT_PAYLOAD_MASK) << shift;
+            if ((b & VARINT_CONTINUATION) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed varint");
+    }
+
+}
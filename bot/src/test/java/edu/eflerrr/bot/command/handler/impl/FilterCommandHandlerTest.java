@@ -0,0 +1,129 @@
+package edu.eflerrr.bot.command.handler.impl;
+
+import com.pengrad.telegrambot.model.Chat;
+import com.pengrad.telegrambot.model.Message;
+import com.pengrad.telegrambot.model.Update;
+import edu.eflerrr.bot.client.ScrapperClient;
+import edu.eflerrr.bot.exception.LinkNotFoundException;
+import edu.eflerrr.bot.exception.TgChatNotExistException;
+import java.net.URI;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import static edu.eflerrr.bot.message.BotMessage.FILTER_COMMAND_FORMAT_ERROR;
+import static edu.eflerrr.bot.message.BotMessage.FILTER_COMMAND_SUCCESS;
+import static edu.eflerrr.bot.message.BotMessage.FILTER_COMMAND_URL_NOT_FOUND;
+import static edu.eflerrr.bot.message.BotMessage.URL_ERROR;
+import static edu.eflerrr.bot.message.BotMessage.USER_NOT_FOUND_ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FilterCommandHandlerTest {
+    private static final URI URL = URI.create("https://github.com/owner/repo");
+
+    private final ScrapperClient scrapperClient = mock(ScrapperClient.class);
+    private final FilterCommandHandler filterCommandHandler = new FilterCommandHandler(scrapperClient);
+
+    private static Update update(String text) {
+        Update update = mock(Update.class);
+        Message message = mock(Message.class);
+        Chat chat = mock(Chat.class);
+        when(update.message()).thenReturn(message);
+        when(message.text()).thenReturn(text);
+        when(message.chat()).thenReturn(chat);
+        when(chat.id()).thenReturn(1L);
+        return update;
+    }
+
+    @Nested
+    class HandleTest {
+        @ParameterizedTest
+        @CsvSource({
+            "push, 4",
+            "push update, 6",
+            "branch, 24",
+            "-branch, -25",
+            "-branch -push, -29",
+            "all, -1",
+            "all -other, -513"
+        })
+        public void eventTypesAreConvertedToMaskTest(String types, long expectedMask) {
+            String actualAnswer = filterCommandHandler.handle(update("/filter " + URL + " " + types));
+
+            assertThat(actualAnswer)
+                .isEqualTo(FILTER_COMMAND_SUCCESS);
+            verify(scrapperClient).filterLink(1L, URL, expectedMask);
+        }
+
+        @Test
+        public void notTrackedLinkTest() {
+            doThrow(new LinkNotFoundException("Tracking not found!"))
+                .when(scrapperClient).filterLink(eq(1L), eq(URL), anyLong());
+
+            String actualAnswer = filterCommandHandler.handle(update("/filter " + URL + " push"));
+
+            assertThat(actualAnswer)
+                .isEqualTo(FILTER_COMMAND_URL_NOT_FOUND);
+        }
+
+        @Test
+        public void userNotFoundTest() {
+            doThrow(new TgChatNotExistException("User not found!"))
+                .when(scrapperClient).filterLink(eq(1L), eq(URL), anyLong());
+
+            String actualAnswer = filterCommandHandler.handle(update("/filter " + URL + " push"));
+
+            assertThat(actualAnswer)
+                .isEqualTo(USER_NOT_FOUND_ERROR);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "/filter",
+            "/filter ",
+            "/filter https://github.com/owner/repo",
+            "/filter https://github.com/owner/repo pushes",
+            "/filter https://github.com/owner/repo push -"
+        })
+        public void invalidFormatTest(String command) {
+            String actualAnswer = filterCommandHandler.handle(update(command));
+
+            assertThat(actualAnswer)
+                .isEqualTo(FILTER_COMMAND_FORMAT_ERROR);
+        }
+
+        @Test
+        public void invalidLinkTest() {
+            String actualAnswer = filterCommandHandler.handle(update("/filter httpsexamplecom push"));
+
+            assertThat(actualAnswer)
+                .isEqualTo(URL_ERROR);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "/filterwithoutspace",
+            "/filters https://example.com/ push",
+            "filter",
+            "\"\""
+        })
+        public void invalidCommandTest(String invalidCommand) {
+            assertThatThrownBy(() -> filterCommandHandler.handle(update(invalidCommand)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid command format!");
+        }
+    }
+
+    @Test
+    public void getCommandNameTest() {
+        assertThat(filterCommandHandler.getCommandName())
+            .isEqualTo("/filter");
+    }
+}
@@ -38,6 +38,9 @@ class HelpCommandHandlerTest {
         var removeMeCommandHandler = mock(RemoveMeCommandHandler.class);
         when(removeMeCommandHandler.getCommandName()).thenReturn("/remove_me");
         when(removeMeCommandHandler.getCommandDescription()).thenReturn("Удалить свой аккаунт из базы данных");
+        var filterCommandHandler = mock(FilterCommandHandler.class);
+        when(filterCommandHandler.getCommandName()).thenReturn("/filter");
+        when(filterCommandHandler.getCommandDescription()).thenReturn("Выбрать типы уведомлений по ссылке");
 
         CommandHandlerList commands = new BotCommandHandlerList(
             startCommandHandler,
@@ -45,7 +48,8 @@ class HelpCommandHandlerTest {
             trackCommandHandler,
             untrackCommandHandler,
             listCommandHandler,
-            removeMeCommandHandler
+            removeMeCommandHandler,
+            filterCommandHandler
         );
 
         context = mock(ApplicationContext.class);
@@ -71,7 +75,8 @@ class HelpCommandHandlerTest {
                 + "*/track* \\-\\> _Начать отслеживание ссылки_\n"
                 + "*/untrack* \\-\\> _Прекратить отслеживание ссылки_\n"
                 + "*/list* \\-\\> _Вывести список отслеживаемых ссылок_\n"
-                + "*/remove\\_me* \\-\\> _Удалить свой аккаунт из базы данных_";
+                + "*/remove\\_me* \\-\\> _Удалить свой аккаунт из базы данных_\n"
+                + "*/filter* \\-\\> _Выбрать типы уведомлений по ссылке_";
             assertThat(actualAnswer)
                 .isEqualTo(expectedAnswer);
         }
@@ -1,6 +1,7 @@
 package edu.eflerrr.bot.command.list.impl;
 
 import edu.eflerrr.bot.command.handler.CommandHandler;
+import edu.eflerrr.bot.command.handler.impl.FilterCommandHandler;
 import edu.eflerrr.bot.command.handler.impl.HelpCommandHandler;
 import edu.eflerrr.bot.command.handler.impl.ListCommandHandler;
 import edu.eflerrr.bot.command.handler.impl.RemoveMeCommandHandler;
@@ -25,6 +26,7 @@ class BotCommandHandlerListTest {
         var trackCommandHandler = mock(TrackCommandHandler.class);
         var untrackCommandHandler = mock(UntrackCommandHandler.class);
         var removeMeCommandHandler = mock(RemoveMeCommandHandler.class);
+        var filterCommandHandler = mock(FilterCommandHandler.class);
 
         botCommandHandlerListTest = new BotCommandHandlerList(
             startCommandHandler,
@@ -32,7 +34,8 @@ class BotCommandHandlerListTest {
             trackCommandHandler,
             untrackCommandHandler,
             listCommandHandler,
-            removeMeCommandHandler
+            removeMeCommandHandler,
+            filterCommandHandler
         );
         commands = List.of(
             startCommandHandler,
@@ -40,7 +43,8 @@ class BotCommandHandlerListTest {
             trackCommandHandler,
             untrackCommandHandler,
             listCommandHandler,
-            removeMeCommandHandler
+            removeMeCommandHandler,
+            filterCommandHandler
         );
     }
 
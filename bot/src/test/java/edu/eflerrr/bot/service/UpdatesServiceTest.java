@@ -0,0 +1,167 @@
+package edu.eflerrr.bot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.request.SendMessage;
+import edu.eflerrr.bot.controller.dto.request.LinkUpdate;
+import edu.eflerrr.bot.controller.dto.request.LinkUpdateEvent;
+import edu.eflerrr.bot.metric.UpdateCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UpdatesServiceTest {
+
+    private final TelegramBot bot = mock(TelegramBot.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UpdatesService updatesService = new UpdatesService(bot, new UpdateCounter(registry));
+
+    @Test
+    void processUpdateSendsMessageToEveryChat() throws Exception {
+        var url = new URL("https://github.com/owner/repo");
+
+        updatesService.processUpdate(2L, url, "repository push", new long[] {11L, 22L, 33L});
+
+        var captor = ArgumentCaptor.forClass(SendMessage.class);
+        verify(bot, times(3)).execute(captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(message -> message.getParameters().get("chat_id"))
+            .containsExactly(11L, 22L, 33L);
+    }
+
+    @Test
+    void coalescedUpdateIsRenderedAsOneMessage() throws Exception {
+        var url = new URL("https://github.com/owner/repo");
+
+        var events = List.of(
+            new LinkUpdateEvent().id(1L).description("repository update -> 2021-01-01T00:00Z"),
+            new LinkUpdateEvent().id(3L).description("new branch -> feature_x")
+        );
+
+        updatesService.processUpdate(10L, url, "multiple updates", events, 28, new long[] {11L});
+
+        var captor = ArgumentCaptor.forClass(SendMessage.class);
+        verify(bot).execute(captor.capture());
+        assertThat((String) captor.getValue().getParameters().get("text"))
+            .contains("Новые обновления \\(30\\)")
+            .contains("owner/repo")
+            .contains("• Новые изменения метаданных/настроек репозитория \\-\\> 2021\\-01\\-01T00:00Z")
+            .contains("• Новая ветка в репозитории \\-\\> feature\\_x")
+            .contains("• \\.\\.\\. и ещё 28");
+    }
+
+    @Test
+    void descriptionWithoutDetailsIsListedByEventType() throws Exception {
+        var url = new URL("https://stackoverflow.com/questions/123/title");
+        var events = List.of(
+            new LinkUpdateEvent().id(5L).description("answer"),
+            new LinkUpdateEvent().id(6L).description("comment")
+        );
+
+        updatesService.processUpdate(10L, url, "multiple updates", events, 0, new long[] {11L});
+
+        var captor = ArgumentCaptor.forClass(SendMessage.class);
+        verify(bot).execute(captor.capture());
+        assertThat((String) captor.getValue().getParameters().get("text"))
+            .contains("Новые обновления \\(2\\)")
+            .contains("title")
+            .doesNotContain("ещё");
+    }
+
+    @Test
+    void chunksOfOneEventAreCountedAsOneUpdate() throws Exception {
+        var eventId = UUID.randomUUID();
+        var url = URI.create("https://github.com/owner/repo");
+
+        updatesService.processUpdate(new LinkUpdate()
+            .id(2L).url(url).description("repository push").tgChatIds(new long[] {11L, 22L})
+            .eventId(eventId).chunk(0).chunks(2));
+        updatesService.processUpdate(new LinkUpdate()
+            .id(2L).url(url).description("repository push").tgChatIds(new long[] {33L})
+            .eventId(eventId).chunk(1).chunks(2));
+
+        verify(bot, times(3)).execute(any(SendMessage.class));
+        assertThat(registry.get("update_counter").counter().count())
+            .isEqualTo(1.0);
+        assertThat(registry.get("update_chunk_counter").counter().count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    void resentChunkIsSkipped() throws Exception {
+        var eventId = UUID.randomUUID();
+        var url = URI.create("https://github.com/owner/repo");
+        var firstChunk = new LinkUpdate()
+            .id(2L).url(url).description("repository push").tgChatIds(new long[] {11L, 22L})
+            .eventId(eventId).chunk(0).chunks(2);
+        var secondChunk = new LinkUpdate()
+            .id(2L).url(url).description("repository push").tgChatIds(new long[] {33L})
+            .eventId(eventId).chunk(1).chunks(2);
+
+        updatesService.processUpdate(firstChunk);
+        updatesService.processUpdate(firstChunk);
+        updatesService.processUpdate(secondChunk);
+
+        verify(bot, times(3)).execute(any(SendMessage.class));
+        assertThat(registry.get("update_chunk_counter").counter().count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    void failedChunkIsProcessedAgain() throws Exception {
+        var url = URI.create("https://github.com/owner/repo");
+        var chunk = new LinkUpdate()
+            .id(2L).url(url).description("repository push").tgChatIds(new long[] {11L})
+            .eventId(UUID.randomUUID()).chunk(0).chunks(1);
+        when(bot.execute(any(SendMessage.class)))
+            .thenThrow(new RuntimeException("telegram is down"))
+            .thenReturn(null);
+
+        assertThatThrownBy(() -> updatesService.processUpdate(chunk))
+            .hasMessage("telegram is down");
+        updatesService.processUpdate(chunk);
+
+        verify(bot, times(2)).execute(any(SendMessage.class));
+    }
+
+    @Test
+    void linkUpdateReadsListedEvents() throws Exception {
+        var linkUpdate = new ObjectMapper().readValue(
+            "{\"id\":10,\"url\":\"https://github.com/owner/repo\",\"description\":\"multiple updates\","
+                + "\"events\":[{\"id\":2,\"description\":\"push\"}],\"omittedEvents\":3,\"tgChatIds\":[1]}",
+            LinkUpdate.class
+        );
+
+        assertThat(linkUpdate.getEvents())
+            .containsExactly(new LinkUpdateEvent().id(2L).description("push"));
+        assertThat(linkUpdate.getOmittedEvents())
+            .isEqualTo(3);
+    }
+
+    @Test
+    void linkUpdateReadsChatIdsAsPrimitiveArray() throws Exception {
+        var linkUpdate = new ObjectMapper().readValue(
+            "{\"id\":1,\"url\":\"https://github.com/owner/repo\",\"description\":\"update\",\"tgChatIds\":[1,2]}",
+            LinkUpdate.class
+        );
+
+        assertThat(linkUpdate)
+            .isEqualTo(new LinkUpdate()
+                .id(1L)
+                .url(URI.create("https://github.com/owner/repo"))
+                .description("update")
+                .tgChatIds(new long[] {1L, 2L}));
+    }
+
+}
@@ -0,0 +1,112 @@
+package edu.eflerrr.bot.service.kafka;
+
+import edu.eflerrr.bot.controller.dto.request.LinkUpdate;
+import edu.eflerrr.bot.controller.dto.request.LinkUpdateEvent;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LinkUpdateDeserializerTest {
+
+    private static final String TOPIC = "updates";
+
+    private final LinkUpdateDeserializer deserializer = new LinkUpdateDeserializer(
+        new JsonDeserializer<>(LinkUpdate.class, false)
+    );
+
+    private static RecordHeaders binaryHeaders() {
+        var headers = new RecordHeaders();
+        headers.add("update-format", "binary".getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    private static byte[] binaryUpdate(int version, byte... tail) {
+        var bytes = new ByteArrayOutputStream();
+        bytes.writeBytes(new byte[] {(byte) version, 2, 22});
+        bytes.writeBytes("https://github.com/a/b".getBytes(StandardCharsets.UTF_8));
+        bytes.write(4);
+        bytes.writeBytes("push".getBytes(StandardCharsets.UTF_8));
+        bytes.writeBytes(new byte[] {3, 9, 6, (byte) 0xab, 0x02});
+        bytes.writeBytes(tail);
+        return bytes.toByteArray();
+    }
+
+    private static LinkUpdate expectedUpdate() {
+        return new LinkUpdate()
+            .id(2L)
+            .url(URI.create("https://github.com/a/b"))
+            .description("push")
+            .tgChatIds(new long[] {-5L, 1L, 300L});
+    }
+
+    @Test
+    void binaryUpdateIsDecoded() {
+        // event id 00000000-0000-0001-0000-000000000002, chunk 1 of 3, no listed events
+        var tail = new byte[] {1, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 2, 1, 3, 0, 0};
+
+        var update = deserializer.deserialize(TOPIC, binaryHeaders(), binaryUpdate(1, tail));
+
+        assertThat(update)
+            .isEqualTo(expectedUpdate()
+                .eventId(new UUID(1L, 2L))
+                .chunk(1)
+                .chunks(3)
+                .omittedEvents(0));
+    }
+
+    @Test
+    void listedEventsAreDecodedAfterChunk() {
+        // no event id, chunk 0 of 1, events [2 "push", 3 "new branch"], 5 omitted
+        var tail = new byte[] {0, 0, 1, 2, 2, 4, 'p', 'u', 's', 'h', 3, 10,
+            'n', 'e', 'w', ' ', 'b', 'r', 'a', 'n', 'c', 'h', 5};
+
+        var update = deserializer.deserialize(TOPIC, binaryHeaders(), binaryUpdate(1, tail));
+
+        assertThat(update)
+            .isEqualTo(expectedUpdate()
+                .chunk(0)
+                .chunks(1)
+                .addEventsItem(new LinkUpdateEvent().id(2L).description("push"))
+                .addEventsItem(new LinkUpdateEvent().id(3L).description("new branch"))
+                .omittedEvents(5));
+    }
+
+    @Test
+    void recordWithoutFormatHeaderIsReadAsJson() {
+        var json = "{\"id\":1,\"url\":\"https://github.com/owner/repo\",\"description\":\"update\",\"tgChatIds\":[1,2]}";
+
+        var update = deserializer.deserialize(TOPIC, new RecordHeaders(), json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(update)
+            .isEqualTo(new LinkUpdate()
+                .id(1L)
+                .url(URI.create("https://github.com/owner/repo"))
+                .description("update")
+                .tgChatIds(new long[] {1L, 2L}));
+    }
+
+    @Test
+    void unknownSchemaVersionIsRejected() {
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, binaryHeaders(), binaryUpdate(2)))
+            .isInstanceOf(SerializationException.class)
+            .hasMessageContaining("version");
+    }
+
+    @Test
+    void truncatedUpdateIsRejected() {
+        var bytes = binaryUpdate(1, 0, 0, 1, 0, 0);
+        var truncated = Arrays.copyOf(bytes, bytes.length - 2);
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, binaryHeaders(), truncated))
+            .isInstanceOf(SerializationException.class);
+    }
+
+}
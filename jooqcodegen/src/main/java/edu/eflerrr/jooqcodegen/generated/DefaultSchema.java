@@ -7,6 +7,7 @@ package edu.eflerrr.jooqcodegen.generated;
 import edu.eflerrr.jooqcodegen.generated.tables.Branch;
 import edu.eflerrr.jooqcodegen.generated.tables.Chat;
 import edu.eflerrr.jooqcodegen.generated.tables.Link;
+import edu.eflerrr.jooqcodegen.generated.tables.Outbox;
 import edu.eflerrr.jooqcodegen.generated.tables.Tracking;
 import java.util.Arrays;
 import java.util.List;
@@ -51,6 +52,11 @@ public class DefaultSchema extends SchemaImpl {
      */
     public final Link LINK = Link.LINK;
 
+    /**
+     * The table <code>Outbox</code>.
+     */
+    public final Outbox OUTBOX = Outbox.OUTBOX;
+
     /**
      * The table <code>Tracking</code>.
      */
@@ -76,6 +82,7 @@ public class DefaultSchema extends SchemaImpl {
             Branch.BRANCH,
             Chat.CHAT,
             Link.LINK,
+            Outbox.OUTBOX,
             Tracking.TRACKING
         );
     }
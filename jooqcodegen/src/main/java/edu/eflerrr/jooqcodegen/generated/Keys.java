@@ -7,10 +7,12 @@ package edu.eflerrr.jooqcodegen.generated;
 import edu.eflerrr.jooqcodegen.generated.tables.Branch;
 import edu.eflerrr.jooqcodegen.generated.tables.Chat;
 import edu.eflerrr.jooqcodegen.generated.tables.Link;
+import edu.eflerrr.jooqcodegen.generated.tables.Outbox;
 import edu.eflerrr.jooqcodegen.generated.tables.Tracking;
 import edu.eflerrr.jooqcodegen.generated.tables.records.BranchRecord;
 import edu.eflerrr.jooqcodegen.generated.tables.records.ChatRecord;
 import edu.eflerrr.jooqcodegen.generated.tables.records.LinkRecord;
+import edu.eflerrr.jooqcodegen.generated.tables.records.OutboxRecord;
 import edu.eflerrr.jooqcodegen.generated.tables.records.TrackingRecord;
 import javax.annotation.processing.Generated;
 import org.jooq.ForeignKey;
@@ -45,11 +47,19 @@ public class Keys {
         Internal.createUniqueKey(Link.LINK, DSL.name("CONSTRAINT_24"), new TableField[] {Link.LINK.ID}, true);
     public static final UniqueKey<LinkRecord> CONSTRAINT_242 =
         Internal.createUniqueKey(Link.LINK, DSL.name("CONSTRAINT_242"), new TableField[] {Link.LINK.URL}, true);
+    public static final UniqueKey<OutboxRecord> CONSTRAINT_8 =
+        Internal.createUniqueKey(Outbox.OUTBOX, DSL.name("CONSTRAINT_8"), new TableField[] {Outbox.OUTBOX.ID}, true);
     public static final UniqueKey<TrackingRecord> CONSTRAINT_4 = Internal.createUniqueKey(Tracking.TRACKING,
         DSL.name("CONSTRAINT_4"),
         new TableField[] {Tracking.TRACKING.ID},
         true
     );
+    public static final UniqueKey<TrackingRecord> TRACKING_CHAT_ID_LINK_ID_KEY = Internal.createUniqueKey(
+        Tracking.TRACKING,
+        DSL.name("tracking_chat_id_link_id_key"),
+        new TableField[] {Tracking.TRACKING.CHAT_ID, Tracking.TRACKING.LINK_ID},
+        true
+    );
 
     // -------------------------------------------------------------------------
     // FOREIGN KEY definitions
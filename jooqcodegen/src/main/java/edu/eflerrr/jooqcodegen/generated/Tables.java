@@ -7,6 +7,7 @@ package edu.eflerrr.jooqcodegen.generated;
 import edu.eflerrr.jooqcodegen.generated.tables.Branch;
 import edu.eflerrr.jooqcodegen.generated.tables.Chat;
 import edu.eflerrr.jooqcodegen.generated.tables.Link;
+import edu.eflerrr.jooqcodegen.generated.tables.Outbox;
 import edu.eflerrr.jooqcodegen.generated.tables.Tracking;
 import javax.annotation.processing.Generated;
 
@@ -38,6 +39,11 @@ public class Tables {
      */
     public static final Link LINK = Link.LINK;
 
+    /**
+     * The table <code>Outbox</code>.
+     */
+    public static final Outbox OUTBOX = Outbox.OUTBOX;
+
     /**
      * The table <code>Tracking</code>.
      */
@@ -5,6 +5,7 @@
 package edu.eflerrr.jooqcodegen.generated.tables;
 
 import edu.eflerrr.jooqcodegen.generated.DefaultSchema;
+import edu.eflerrr.jooqcodegen.generated.Indexes;
 import edu.eflerrr.jooqcodegen.generated.Keys;
 import edu.eflerrr.jooqcodegen.generated.tables.Link.LinkPath;
 import edu.eflerrr.jooqcodegen.generated.tables.records.BranchRecord;
@@ -21,6 +22,7 @@ import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.InverseForeignKey;
 import org.jooq.Name;
 import org.jooq.Path;
@@ -182,6 +184,12 @@ public class Branch extends TableImpl<BranchRecord> {
         return aliased() ? null : DefaultSchema.DEFAULT_SCHEMA;
     }
 
+    @Override
+    @NotNull
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.BRANCH_LINK_ID_BRANCH_NAME_IDX);
+    }
+
     @Override
     @NotNull
     public Identity<BranchRecord, Long> getIdentity() {
@@ -5,6 +5,7 @@
 package edu.eflerrr.jooqcodegen.generated.tables;
 
 import edu.eflerrr.jooqcodegen.generated.DefaultSchema;
+import edu.eflerrr.jooqcodegen.generated.Indexes;
 import edu.eflerrr.jooqcodegen.generated.Keys;
 import edu.eflerrr.jooqcodegen.generated.tables.Branch.BranchPath;
 import edu.eflerrr.jooqcodegen.generated.tables.Tracking.TrackingPath;
@@ -22,6 +23,7 @@ import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.InverseForeignKey;
 import org.jooq.Name;
 import org.jooq.Path;
@@ -99,6 +101,42 @@ public class Link extends TableImpl<LinkRecord> {
     public final TableField<LinkRecord, OffsetDateTime> UPDATED_AT =
             createField(DSL.name("updated_at"), SQLDataType.TIMESTAMPWITHTIMEZONE(6).nullable(false), this, "");
 
+    /**
+     * The column <code>Link.lease_owner</code>.
+     */
+    public final TableField<LinkRecord, String> LEASE_OWNER =
+            createField(DSL.name("lease_owner"), SQLDataType.VARCHAR(1000000000), this, "");
+
+    /**
+     * The column <code>Link.leased_until</code>.
+     */
+    public final TableField<LinkRecord, OffsetDateTime> LEASED_UNTIL =
+            createField(DSL.name("leased_until"), SQLDataType.TIMESTAMPWITHTIMEZONE(6), this, "");
+
+    /**
+     * The column <code>Link.check_interval_seconds</code>.
+     */
+    public final TableField<LinkRecord, Long> CHECK_INTERVAL_SECONDS =
+            createField(DSL.name("check_interval_seconds"), SQLDataType.BIGINT, this, "");
+
+    /**
+     * The column <code>Link.next_check_at</code>.
+     */
+    public final TableField<LinkRecord, OffsetDateTime> NEXT_CHECK_AT =
+            createField(DSL.name("next_check_at"), SQLDataType.TIMESTAMPWITHTIMEZONE(6), this, "");
+
+    /**
+     * The column <code>Link.resource_key</code>.
+     */
+    public final TableField<LinkRecord, String> RESOURCE_KEY =
+            createField(DSL.name("resource_key"), SQLDataType.VARCHAR(1000000000), this, "");
+
+    /**
+     * The column <code>Link.response_fingerprint</code>.
+     */
+    public final TableField<LinkRecord, Long> RESPONSE_FINGERPRINT =
+            createField(DSL.name("response_fingerprint"), SQLDataType.BIGINT, this, "");
+
     private Link(Name alias, Table<LinkRecord> aliased) {
         this(alias, aliased, (Field<?>[]) null, null);
     }
@@ -177,6 +215,12 @@ public class Link extends TableImpl<LinkRecord> {
         return aliased() ? null : DefaultSchema.DEFAULT_SCHEMA;
     }
 
+    @Override
+    @NotNull
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.LINK_RESOURCE_KEY_IDX);
+    }
+
     @Override
     @NotNull
     public Identity<LinkRecord, Long> getIdentity() {
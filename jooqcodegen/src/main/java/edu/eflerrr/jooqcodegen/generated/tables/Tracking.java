@@ -5,6 +5,7 @@
 package edu.eflerrr.jooqcodegen.generated.tables;
 
 import edu.eflerrr.jooqcodegen.generated.DefaultSchema;
+import edu.eflerrr.jooqcodegen.generated.Indexes;
 import edu.eflerrr.jooqcodegen.generated.Keys;
 import edu.eflerrr.jooqcodegen.generated.tables.Chat.ChatPath;
 import edu.eflerrr.jooqcodegen.generated.tables.Link.LinkPath;
@@ -19,6 +20,7 @@ import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.InverseForeignKey;
 import org.jooq.Name;
 import org.jooq.Path;
@@ -84,6 +86,12 @@ public class Tracking extends TableImpl<TrackingRecord> {
     public final TableField<TrackingRecord, Long> LINK_ID =
         createField(DSL.name("link_id"), SQLDataType.BIGINT.nullable(false), this, "");
 
+    /**
+     * The column <code>Tracking.event_mask</code>.
+     */
+    public final TableField<TrackingRecord, Long> EVENT_MASK =
+            createField(DSL.name("event_mask"), SQLDataType.BIGINT.nullable(false).defaultValue(DSL.field(DSL.raw("'-1'::integer"), SQLDataType.BIGINT)), this, "");
+
     private Tracking(Name alias, Table<TrackingRecord> aliased) {
         this(alias, aliased, (Field<?>[]) null, null);
     }
@@ -162,6 +170,12 @@ public class Tracking extends TableImpl<TrackingRecord> {
         return aliased() ? null : DefaultSchema.DEFAULT_SCHEMA;
     }
 
+    @Override
+    @NotNull
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.TRACKING_LINK_ID_IDX);
+    }
+
     @Override
     @NotNull
     public Identity<TrackingRecord, Long> getIdentity() {
@@ -174,6 +188,12 @@ public class Tracking extends TableImpl<TrackingRecord> {
         return Keys.CONSTRAINT_4;
     }
 
+    @Override
+    @NotNull
+    public List<UniqueKey<TrackingRecord>> getUniqueKeys() {
+        return Arrays.asList(Keys.TRACKING_CHAT_ID_LINK_ID_KEY);
+    }
+
     @Override
     @NotNull
     public List<ForeignKey<TrackingRecord, ?>> getReferences() {
@@ -32,6 +32,12 @@ public class Link implements Serializable {
     private OffsetDateTime createdAt;
     private OffsetDateTime checkedAt;
     private OffsetDateTime updatedAt;
+    private String leaseOwner;
+    private OffsetDateTime leasedUntil;
+    private Long checkIntervalSeconds;
+    private OffsetDateTime nextCheckAt;
+    private String resourceKey;
+    private Long responseFingerprint;
 
     public Link() {
     }
@@ -42,21 +48,39 @@ public class Link implements Serializable {
         this.createdAt = value.createdAt;
         this.checkedAt = value.checkedAt;
         this.updatedAt = value.updatedAt;
+        this.leaseOwner = value.leaseOwner;
+        this.leasedUntil = value.leasedUntil;
+        this.checkIntervalSeconds = value.checkIntervalSeconds;
+        this.nextCheckAt = value.nextCheckAt;
+        this.resourceKey = value.resourceKey;
+        this.responseFingerprint = value.responseFingerprint;
     }
 
-    @ConstructorProperties({"id", "url", "createdAt", "checkedAt", "updatedAt"})
+    @ConstructorProperties({"id", "url", "createdAt", "checkedAt", "updatedAt", "leaseOwner", "leasedUntil", "checkIntervalSeconds", "nextCheckAt", "resourceKey", "responseFingerprint"})
     public Link(
         @Nullable Long id,
         @NotNull String url,
         @NotNull OffsetDateTime createdAt,
         @NotNull OffsetDateTime checkedAt,
-        @NotNull OffsetDateTime updatedAt
+        @NotNull OffsetDateTime updatedAt,
+        @Nullable String leaseOwner,
+        @Nullable OffsetDateTime leasedUntil,
+        @Nullable Long checkIntervalSeconds,
+        @Nullable OffsetDateTime nextCheckAt,
+        @Nullable String resourceKey,
+        @Nullable Long responseFingerprint
     ) {
         this.id = id;
         this.url = url;
         this.createdAt = createdAt;
         this.checkedAt = checkedAt;
         this.updatedAt = updatedAt;
+        this.leaseOwner = leaseOwner;
+        this.leasedUntil = leasedUntil;
+        this.checkIntervalSeconds = checkIntervalSeconds;
+        this.nextCheckAt = nextCheckAt;
+        this.resourceKey = resourceKey;
+        this.responseFingerprint = responseFingerprint;
     }
 
     /**
@@ -139,6 +163,98 @@ public class Link implements Serializable {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Getter for <code>Link.lease_owner</code>.
+     */
+    @Size(max = 1000000000)
+    @Nullable
+    public String getLeaseOwner() {
+        return this.leaseOwner;
+    }
+
+    /**
+     * Setter for <code>Link.lease_owner</code>.
+     */
+    public void setLeaseOwner(@Nullable String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    /**
+     * Getter for <code>Link.leased_until</code>.
+     */
+    @Nullable
+    public OffsetDateTime getLeasedUntil() {
+        return this.leasedUntil;
+    }
+
+    /**
+     * Setter for <code>Link.leased_until</code>.
+     */
+    public void setLeasedUntil(@Nullable OffsetDateTime leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+
+    /**
+     * Getter for <code>Link.check_interval_seconds</code>.
+     */
+    @Nullable
+    public Long getCheckIntervalSeconds() {
+        return this.checkIntervalSeconds;
+    }
+
+    /**
+     * Setter for <code>Link.check_interval_seconds</code>.
+     */
+    public void setCheckIntervalSeconds(@Nullable Long checkIntervalSeconds) {
+        this.checkIntervalSeconds = checkIntervalSeconds;
+    }
+
+    /**
+     * Getter for <code>Link.next_check_at</code>.
+     */
+    @Nullable
+    public OffsetDateTime getNextCheckAt() {
+        return this.nextCheckAt;
+    }
+
+    /**
+     * Setter for <code>Link.next_check_at</code>.
+     */
+    public void setNextCheckAt(@Nullable OffsetDateTime nextCheckAt) {
+        this.nextCheckAt = nextCheckAt;
+    }
+
+    /**
+     * Getter for <code>Link.resource_key</code>.
+     */
+    @Size(max = 1000000000)
+    @Nullable
+    public String getResourceKey() {
+        return this.resourceKey;
+    }
+
+    /**
+     * Setter for <code>Link.resource_key</code>.
+     */
+    public void setResourceKey(@Nullable String resourceKey) {
+        this.resourceKey = resourceKey;
+    }
+
+    /**
+     * Getter for <code>Link.response_fingerprint</code>.
+     */
+    @Nullable
+    public Long getResponseFingerprint() {
+        return this.responseFingerprint;
+    }
+
+    /**
+     * Setter for <code>Link.response_fingerprint</code>.
+     */
+    public void setResponseFingerprint(@Nullable Long responseFingerprint) {
+        this.responseFingerprint = responseFingerprint;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -186,6 +302,48 @@ public class Link implements Serializable {
         } else if (!this.updatedAt.equals(other.updatedAt)) {
             return false;
         }
+        if (this.leaseOwner == null) {
+            if (other.leaseOwner != null) {
+                return false;
+            }
+        } else if (!this.leaseOwner.equals(other.leaseOwner)) {
+            return false;
+        }
+        if (this.leasedUntil == null) {
+            if (other.leasedUntil != null) {
+                return false;
+            }
+        } else if (!this.leasedUntil.equals(other.leasedUntil)) {
+            return false;
+        }
+        if (this.checkIntervalSeconds == null) {
+            if (other.checkIntervalSeconds != null) {
+                return false;
+            }
+        } else if (!this.checkIntervalSeconds.equals(other.checkIntervalSeconds)) {
+            return false;
+        }
+        if (this.nextCheckAt == null) {
+            if (other.nextCheckAt != null) {
+                return false;
+            }
+        } else if (!this.nextCheckAt.equals(other.nextCheckAt)) {
+            return false;
+        }
+        if (this.resourceKey == null) {
+            if (other.resourceKey != null) {
+                return false;
+            }
+        } else if (!this.resourceKey.equals(other.resourceKey)) {
+            return false;
+        }
+        if (this.responseFingerprint == null) {
+            if (other.responseFingerprint != null) {
+                return false;
+            }
+        } else if (!this.responseFingerprint.equals(other.responseFingerprint)) {
+            return false;
+        }
         return true;
     }
 
@@ -198,6 +356,12 @@ public class Link implements Serializable {
         result = prime * result + ((this.createdAt == null) ? 0 : this.createdAt.hashCode());
         result = prime * result + ((this.checkedAt == null) ? 0 : this.checkedAt.hashCode());
         result = prime * result + ((this.updatedAt == null) ? 0 : this.updatedAt.hashCode());
+        result = prime * result + ((this.leaseOwner == null) ? 0 : this.leaseOwner.hashCode());
+        result = prime * result + ((this.leasedUntil == null) ? 0 : this.leasedUntil.hashCode());
+        result = prime * result + ((this.checkIntervalSeconds == null) ? 0 : this.checkIntervalSeconds.hashCode());
+        result = prime * result + ((this.nextCheckAt == null) ? 0 : this.nextCheckAt.hashCode());
+        result = prime * result + ((this.resourceKey == null) ? 0 : this.resourceKey.hashCode());
+        result = prime * result + ((this.responseFingerprint == null) ? 0 : this.responseFingerprint.hashCode());
         return result;
     }
 
@@ -210,6 +374,12 @@ public class Link implements Serializable {
         sb.append(", ").append(createdAt);
         sb.append(", ").append(checkedAt);
         sb.append(", ").append(updatedAt);
+        sb.append(", ").append(leaseOwner);
+        sb.append(", ").append(leasedUntil);
+        sb.append(", ").append(checkIntervalSeconds);
+        sb.append(", ").append(nextCheckAt);
+        sb.append(", ").append(resourceKey);
+        sb.append(", ").append(responseFingerprint);
 
         sb.append(")");
         return sb.toString();
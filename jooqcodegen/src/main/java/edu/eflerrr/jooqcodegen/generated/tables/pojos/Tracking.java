@@ -28,6 +28,7 @@ public class Tracking implements Serializable {
     private Long id;
     private Long chatId;
     private Long linkId;
+    private Long eventMask;
 
     public Tracking() {
     }
@@ -36,17 +37,20 @@ public class Tracking implements Serializable {
         this.id = value.id;
         this.chatId = value.chatId;
         this.linkId = value.linkId;
+        this.eventMask = value.eventMask;
     }
 
-    @ConstructorProperties({"id", "chatId", "linkId"})
+    @ConstructorProperties({"id", "chatId", "linkId", "eventMask"})
     public Tracking(
         @Nullable Long id,
         @NotNull Long chatId,
-        @NotNull Long linkId
+        @NotNull Long linkId,
+        @Nullable Long eventMask
     ) {
         this.id = id;
         this.chatId = chatId;
         this.linkId = linkId;
+        this.eventMask = eventMask;
     }
 
     /**
@@ -96,6 +100,21 @@ public class Tracking implements Serializable {
         this.linkId = linkId;
     }
 
+    /**
+     * Getter for <code>Tracking.event_mask</code>.
+     */
+    @Nullable
+    public Long getEventMask() {
+        return this.eventMask;
+    }
+
+    /**
+     * Setter for <code>Tracking.event_mask</code>.
+     */
+    public void setEventMask(@Nullable Long eventMask) {
+        this.eventMask = eventMask;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -129,6 +148,13 @@ public class Tracking implements Serializable {
         } else if (!this.linkId.equals(other.linkId)) {
             return false;
         }
+        if (this.eventMask == null) {
+            if (other.eventMask != null) {
+                return false;
+            }
+        } else if (!this.eventMask.equals(other.eventMask)) {
+            return false;
+        }
         return true;
     }
 
@@ -139,6 +165,7 @@ public class Tracking implements Serializable {
         result = prime * result + ((this.id == null) ? 0 : this.id.hashCode());
         result = prime * result + ((this.chatId == null) ? 0 : this.chatId.hashCode());
         result = prime * result + ((this.linkId == null) ? 0 : this.linkId.hashCode());
+        result = prime * result + ((this.eventMask == null) ? 0 : this.eventMask.hashCode());
         return result;
     }
 
@@ -149,6 +176,7 @@ public class Tracking implements Serializable {
         sb.append(id);
         sb.append(", ").append(chatId);
         sb.append(", ").append(linkId);
+        sb.append(", ").append(eventMask);
 
         sb.append(")");
         return sb.toString();
@@ -109,6 +109,98 @@ public class LinkRecord extends UpdatableRecordImpl<LinkRecord> {
         return (OffsetDateTime) get(4);
     }
 
+    /**
+     * Setter for <code>Link.lease_owner</code>.
+     */
+    public void setLeaseOwner(@Nullable String value) {
+        set(5, value);
+    }
+
+    /**
+     * Getter for <code>Link.lease_owner</code>.
+     */
+    @Size(max = 1000000000)
+    @Nullable
+    public String getLeaseOwner() {
+        return (String) get(5);
+    }
+
+    /**
+     * Setter for <code>Link.leased_until</code>.
+     */
+    public void setLeasedUntil(@Nullable OffsetDateTime value) {
+        set(6, value);
+    }
+
+    /**
+     * Getter for <code>Link.leased_until</code>.
+     */
+    @Nullable
+    public OffsetDateTime getLeasedUntil() {
+        return (OffsetDateTime) get(6);
+    }
+
+    /**
+     * Setter for <code>Link.check_interval_seconds</code>.
+     */
+    public void setCheckIntervalSeconds(@Nullable Long value) {
+        set(7, value);
+    }
+
+    /**
+     * Getter for <code>Link.check_interval_seconds</code>.
+     */
+    @Nullable
+    public Long getCheckIntervalSeconds() {
+        return (Long) get(7);
+    }
+
+    /**
+     * Setter for <code>Link.next_check_at</code>.
+     */
+    public void setNextCheckAt(@Nullable OffsetDateTime value) {
+        set(8, value);
+    }
+
+    /**
+     * Getter for <code>Link.next_check_at</code>.
+     */
+    @Nullable
+    public OffsetDateTime getNextCheckAt() {
+        return (OffsetDateTime) get(8);
+    }
+
+    /**
+     * Setter for <code>Link.resource_key</code>.
+     */
+    public void setResourceKey(@Nullable String value) {
+        set(9, value);
+    }
+
+    /**
+     * Getter for <code>Link.resource_key</code>.
+     */
+    @Size(max = 1000000000)
+    @Nullable
+    public String getResourceKey() {
+        return (String) get(9);
+    }
+
+    /**
+     * Setter for <code>Link.response_fingerprint</code>.
+     */
+    public void setResponseFingerprint(@Nullable Long value) {
+        set(10, value);
+    }
+
+    /**
+     * Getter for <code>Link.response_fingerprint</code>.
+     */
+    @Nullable
+    public Long getResponseFingerprint() {
+        return (Long) get(10);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -133,13 +225,19 @@ public class LinkRecord extends UpdatableRecordImpl<LinkRecord> {
     /**
      * Create a detached, initialised LinkRecord
      */
-    @ConstructorProperties({"id", "url", "createdAt", "checkedAt", "updatedAt"})
+    @ConstructorProperties({"id", "url", "createdAt", "checkedAt", "updatedAt", "leaseOwner", "leasedUntil", "checkIntervalSeconds", "nextCheckAt", "resourceKey", "responseFingerprint"})
     public LinkRecord(
         @Nullable Long id,
         @NotNull String url,
         @NotNull OffsetDateTime createdAt,
         @NotNull OffsetDateTime checkedAt,
-        @NotNull OffsetDateTime updatedAt
+        @NotNull OffsetDateTime updatedAt,
+        @Nullable String leaseOwner,
+        @Nullable OffsetDateTime leasedUntil,
+        @Nullable Long checkIntervalSeconds,
+        @Nullable OffsetDateTime nextCheckAt,
+        @Nullable String resourceKey,
+        @Nullable Long responseFingerprint
     ) {
         super(Link.LINK);
 
@@ -148,6 +246,12 @@ public class LinkRecord extends UpdatableRecordImpl<LinkRecord> {
         setCreatedAt(createdAt);
         setCheckedAt(checkedAt);
         setUpdatedAt(updatedAt);
+        setLeaseOwner(leaseOwner);
+        setLeasedUntil(leasedUntil);
+        setCheckIntervalSeconds(checkIntervalSeconds);
+        setNextCheckAt(nextCheckAt);
+        setResourceKey(resourceKey);
+        setResponseFingerprint(responseFingerprint);
         resetChangedOnNotNull();
     }
 
@@ -163,6 +267,12 @@ public class LinkRecord extends UpdatableRecordImpl<LinkRecord> {
             setCreatedAt(value.getCreatedAt());
             setCheckedAt(value.getCheckedAt());
             setUpdatedAt(value.getUpdatedAt());
+            setLeaseOwner(value.getLeaseOwner());
+            setLeasedUntil(value.getLeasedUntil());
+            setCheckIntervalSeconds(value.getCheckIntervalSeconds());
+            setNextCheckAt(value.getNextCheckAt());
+            setResourceKey(value.getResourceKey());
+            setResponseFingerprint(value.getResponseFingerprint());
             resetChangedOnNotNull();
         }
     }
@@ -74,6 +74,21 @@ public class TrackingRecord extends UpdatableRecordImpl<TrackingRecord> {
         return (Long) get(2);
     }
 
+    /**
+     * Setter for <code>Tracking.event_mask</code>.
+     */
+    public void setEventMask(@Nullable Long value) {
+        set(3, value);
+    }
+
+    /**
+     * Getter for <code>Tracking.event_mask</code>.
+     */
+    @Nullable
+    public Long getEventMask() {
+        return (Long) get(3);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -98,13 +113,14 @@ public class TrackingRecord extends UpdatableRecordImpl<TrackingRecord> {
     /**
      * Create a detached, initialised TrackingRecord
      */
-    @ConstructorProperties({"id", "chatId", "linkId"})
-    public TrackingRecord(@Nullable Long id, @NotNull Long chatId, @NotNull Long linkId) {
+    @ConstructorProperties({"id", "chatId", "linkId", "eventMask"})
+    public TrackingRecord(@Nullable Long id, @NotNull Long chatId, @NotNull Long linkId, @Nullable Long eventMask) {
         super(Tracking.TRACKING);
 
         setId(id);
         setChatId(chatId);
         setLinkId(linkId);
+        setEventMask(eventMask);
         resetChangedOnNotNull();
     }
 
@@ -118,6 +134,7 @@ public class TrackingRecord extends UpdatableRecordImpl<TrackingRecord> {
             setId(value.getId());
             setChatId(value.getChatId());
             setLinkId(value.getLinkId());
+            setEventMask(value.getEventMask());
             resetChangedOnNotNull();
         }
     }
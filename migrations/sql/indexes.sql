@@ -0,0 +1,31 @@
+-- liquibase formatted sql
+
+-- changeset eflerrr:add_tracking_unique_constraint
+DELETE FROM "Tracking" t
+WHERE EXISTS (
+    SELECT 1 FROM "Tracking" d
+    WHERE d."chat_id" = t."chat_id" AND d."link_id" = t."link_id" AND d."id" < t."id"
+);
+ALTER TABLE "Tracking" ADD CONSTRAINT "tracking_chat_id_link_id_key" UNIQUE ("chat_id", "link_id");
+
+-- rollback ALTER TABLE "Tracking" DROP CONSTRAINT "tracking_chat_id_link_id_key";
+
+-- changeset eflerrr:add_tracking_link_id_index
+CREATE INDEX "tracking_link_id_idx" ON "Tracking" ("link_id");
+
+-- rollback DROP INDEX "tracking_link_id_idx";
+
+-- changeset eflerrr:add_link_next_check_at_index dbms:postgresql
+CREATE INDEX "link_next_check_at_idx" ON "Link" ("next_check_at" NULLS FIRST) INCLUDE ("leased_until");
+
+-- rollback DROP INDEX "link_next_check_at_idx";
+
+-- changeset eflerrr:add_branch_link_id_branch_name_unique_index
+DELETE FROM "Branch" b
+WHERE EXISTS (
+    SELECT 1 FROM "Branch" d
+    WHERE d."link_id" = b."link_id" AND d."branch_name" = b."branch_name" AND d."id" < b."id"
+);
+CREATE UNIQUE INDEX "branch_link_id_branch_name_idx" ON "Branch" ("link_id", "branch_name");
+
+-- rollback DROP INDEX "branch_link_id_branch_name_idx";
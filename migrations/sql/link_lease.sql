@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+
+-- changeset eflerrr:add_link_lease_columns
+ALTER TABLE "Link" ADD COLUMN "lease_owner" text;
+ALTER TABLE "Link" ADD COLUMN "leased_until" timestamp with time zone;
+
+-- rollback ALTER TABLE "Link" DROP COLUMN "leased_until";
+-- rollback ALTER TABLE "Link" DROP COLUMN "lease_owner";
@@ -0,0 +1,25 @@
+-- liquibase formatted sql
+
+-- changeset eflerrr:add_link_resource_key
+ALTER TABLE "Link" ADD COLUMN "resource_key" text;
+
+-- rollback ALTER TABLE "Link" DROP COLUMN "resource_key";
+
+-- changeset eflerrr:add_link_resource_key_index
+CREATE INDEX "link_resource_key_idx" ON "Link" ("resource_key");
+
+-- rollback DROP INDEX "link_resource_key_idx";
+
+-- changeset eflerrr:backfill_link_resource_key dbms:postgresql
+UPDATE "Link" SET "resource_key" = CASE
+    WHEN "url" ~ '^https?://github\.com/[^/?#]+/[^/?#]+'
+        THEN 'github:' || lower(regexp_replace(
+            substring("url" from '^https?://github\.com/([^/?#]+/[^/?#]+)'), '\.git$', ''
+        ))
+    WHEN "url" ~ '^https?://stackoverflow\.com/[^/?#]+/[0-9]+'
+        THEN 'stackoverflow:' || substring("url" from '^https?://stackoverflow\.com/[^/?#]+/([0-9]+)')
+    ELSE 'url:' || "url"
+END
+WHERE "resource_key" IS NULL;
+
+-- rollback UPDATE "Link" SET "resource_key" = NULL;
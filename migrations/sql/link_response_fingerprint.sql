@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset eflerrr:add_link_response_fingerprint
+ALTER TABLE "Link" ADD COLUMN "response_fingerprint" bigint;
+
+-- rollback ALTER TABLE "Link" DROP COLUMN "response_fingerprint";
@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+
+-- changeset eflerrr:add_link_schedule_columns
+ALTER TABLE "Link" ADD COLUMN "check_interval_seconds" bigint;
+ALTER TABLE "Link" ADD COLUMN "next_check_at" timestamp with time zone;
+
+-- rollback ALTER TABLE "Link" DROP COLUMN "next_check_at";
+-- rollback ALTER TABLE "Link" DROP COLUMN "check_interval_seconds";
@@ -0,0 +1,20 @@
+-- liquibase formatted sql
+
+-- changeset eflerrr:init_outbox_table
+CREATE TABLE "Outbox"
+(
+    "id"           bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    "event_id"     bigint                   NOT NULL,
+    "url"          text                     NOT NULL,
+    "description"  text                     NOT NULL,
+    "tg_chat_ids"  bigint ARRAY             NOT NULL,
+    "created_at"   timestamp with time zone NOT NULL,
+    "leased_until" timestamp with time zone
+);
+
+-- rollback DROP TABLE "Outbox";
+
+-- changeset eflerrr:add_outbox_link_id
+ALTER TABLE "Outbox" ADD COLUMN "link_id" bigint;
+
+-- rollback ALTER TABLE "Outbox" DROP COLUMN "link_id";
@@ -0,0 +1,9 @@
+-- liquibase formatted sql
+
+-- changeset eflerrr:add_outbox_listed_events
+ALTER TABLE "Outbox"
+    ADD COLUMN "listed_event_ids"          bigint ARRAY NOT NULL DEFAULT '{}',
+    ADD COLUMN "listed_event_descriptions" text ARRAY   NOT NULL DEFAULT '{}',
+    ADD COLUMN "omitted_events"            integer      NOT NULL DEFAULT 0;
+
+-- rollback ALTER TABLE "Outbox" DROP COLUMN "listed_event_ids", DROP COLUMN "listed_event_descriptions", DROP COLUMN "omitted_events";
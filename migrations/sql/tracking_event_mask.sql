@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset eflerrr:add_tracking_event_mask
+ALTER TABLE "Tracking" ADD COLUMN "event_mask" bigint NOT NULL DEFAULT -1;
+
+-- rollback ALTER TABLE "Tracking" DROP COLUMN "event_mask";
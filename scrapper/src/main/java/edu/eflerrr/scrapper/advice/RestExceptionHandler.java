@@ -6,6 +6,7 @@ import edu.eflerrr.scrapper.exception.DuplicateRegistrationException;
 import edu.eflerrr.scrapper.exception.LinkNotFoundException;
 import edu.eflerrr.scrapper.exception.TgChatNotExistException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
@@ -42,7 +43,11 @@ public class RestExceptionHandler {
         return ResponseEntity.status(NOT_FOUND).body(response);
     }
 
-    @ExceptionHandler({MethodArgumentTypeMismatchException.class, NullPointerException.class})
+    @ExceptionHandler({
+        MethodArgumentTypeMismatchException.class,
+        MethodArgumentNotValidException.class,
+        NullPointerException.class
+    })
     public ResponseEntity<ApiErrorResponse> invalidRequestData(Exception ex) {
         var response = new ApiErrorResponse()
             .description("Некорректные параметры запроса")
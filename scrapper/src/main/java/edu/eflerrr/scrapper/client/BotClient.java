@@ -2,25 +2,36 @@ package edu.eflerrr.scrapper.client;
 
 import edu.eflerrr.scrapper.client.dto.request.SendUpdateRequest;
 import edu.eflerrr.scrapper.client.dto.response.BotErrorResponse;
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
 import edu.eflerrr.scrapper.exception.InvalidDataException;
 import edu.eflerrr.scrapper.exception.retry.RetryableRequestException;
 import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
 import java.net.URI;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
+@Slf4j
 public class BotClient implements UpdateSender {
     private final WebClient webClient;
     private final RetryTemplate retryTemplate;
     private final Set<Integer> retryStatusCodes;
+    private final int chunkSize;
+    private final int parallelism;
     public final String defaultApiUrl = "http://localhost:8090";
 
     public BotClient(
-        String baseApiUrl, RetryTemplate retryTemplate, Set<Integer> retryStatusCodes
+        String baseApiUrl, RetryTemplate retryTemplate, Set<Integer> retryStatusCodes,
+        int chunkSize, int parallelism
     ) {
         this.webClient = WebClient.create(
             baseApiUrl == null || baseApiUrl.isEmpty()
@@ -28,6 +39,8 @@ public class BotClient implements UpdateSender {
                 : baseApiUrl);
         this.retryTemplate = retryTemplate;
         this.retryStatusCodes = retryStatusCodes;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
     }
 
     private BotErrorResponse sendUpdateWithRetry(SendUpdateRequest request) {
@@ -53,11 +66,31 @@ public class BotClient implements UpdateSender {
             });
     }
 
+    /**
+     * Subscribers are split into chunks of {@code chunkSize} chat ids, which are sent up to {@code parallelism}
+     * at a time, each with its own retries. All chunks are attempted before the first failure is rethrown;
+     * when the update is sent again, the bot skips the chunks it received by their update id and index.
+     */
     @Override
-    public void sendUpdate(Long id, URI url, String description, List<Long> tgChatIds) {
-        var botResponse = sendUpdateWithRetry(
-            new SendUpdateRequest(id, url, description, tgChatIds)
-        );
+    public void sendUpdate(Long linkId, UUID updateId, LinkEvent event, URI url, long[] tgChatIds) {
+        var chunks = SendUpdateRequest.split(updateId, event, url, tgChatIds, chunkSize);
+        if (chunks.size() == 1) {
+            sendChunk(chunks.getFirst());
+            return;
+        }
+        Flux.fromIterable(chunks)
+            .flatMapDelayError(
+                chunk -> Mono.fromRunnable(() -> sendChunk(chunk)).subscribeOn(Schedulers.boundedElastic()),
+                parallelism,
+                1
+            )
+            .then()
+            .onErrorMap(Exceptions::isMultiple, ex -> Exceptions.unwrapMultiple(ex).getFirst())
+            .block();
+    }
+
+    private void sendChunk(SendUpdateRequest chunk) {
+        var botResponse = sendUpdateWithRetry(chunk);
 
         if (botResponse != null) {
             if (Integer.parseInt(botResponse.code()) == BAD_REQUEST.value()) {
@@ -68,4 +101,20 @@ public class BotClient implements UpdateSender {
             );
         }
     }
+
+    /**
+     * Updates rejected by the bot as invalid are logged and skipped, since sending them again cannot succeed.
+     */
+    @Override
+    public void sendUpdates(List<OutboxEvent> events) {
+        for (var event : events) {
+            try {
+                sendUpdate(
+                    event.getLinkId(), event.getUpdateId(), event.getEvent(), event.getUrl(), event.getTgChatIds()
+                );
+            } catch (InvalidDataException ex) {
+                log.error("Bot rejected update {}: {}", event, ex.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,163 @@
+package edu.eflerrr.scrapper.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded cache of HTTP validators (ETag / Last-Modified) together with the body they validate, keyed by request URI.
+ * Clients send the stored validators as If-None-Match / If-Modified-Since and reuse the stored body
+ * when the API answers 304 Not Modified, which GitHub does not count against the rate limit.
+ * The least recently used entries are evicted once the cache is full.
+ * When a snapshot path is configured, the cache is loaded from it on start and written back on shutdown,
+ * so the validators survive restarts.
+ */
+@Slf4j
+public class ConditionalRequestCache implements DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final Path snapshot;
+    private final Map<String, Entry> entries;
+
+    @SuppressWarnings("MagicNumber")
+    public ConditionalRequestCache(ObjectMapper objectMapper, int maxSize, Path snapshot) {
+        this.objectMapper = objectMapper;
+        this.snapshot = snapshot;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        load();
+    }
+
+    public void applyValidators(String uri, HttpHeaders headers) {
+        var entry = get(uri);
+        if (entry == null) {
+            return;
+        }
+        if (entry.etag() != null) {
+            headers.setIfNoneMatch(entry.etag());
+        }
+        if (entry.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified());
+        }
+    }
+
+    public boolean contains(String uri) {
+        return get(uri) != null;
+    }
+
+    /**
+     * Reads a successful response body and remembers it when the response carries a validator.
+     */
+    public <T> Mono<T> readAndStore(String uri, ClientResponse response, Class<T> type) {
+        var etag = response.headers().asHttpHeaders().getETag();
+        var lastModified = response.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        return response.bodyToMono(String.class)
+            .map(body -> {
+                if (etag != null || lastModified != null) {
+                    put(uri, new Entry(etag, lastModified, body));
+                }
+                return decode(body, type);
+            });
+    }
+
+    /**
+     * Remembers a value assembled from one or more responses under the validators of the response at {@code uri}.
+     */
+    public void store(String uri, HttpHeaders headers, Object value) {
+        var etag = headers.getETag();
+        var lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (etag == null && lastModified == null) {
+            return;
+        }
+        try {
+            put(uri, new Entry(etag, lastModified, objectMapper.writeValueAsString(value)));
+        } catch (JsonProcessingException ex) {
+            log.warn("ConditionalRequestCache: unable to store response of {}: {}", uri, ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads the body stored for a request that was answered with 304 Not Modified,
+     * empty when the entry was evicted after its validators were sent.
+     */
+    public <T> Mono<T> readCached(String uri, ClientResponse response, Class<T> type) {
+        var entry = get(uri);
+        return response.releaseBody()
+            .then(Mono.justOrEmpty(entry).map(cached -> decode(cached.body(), type)));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Entry get(String uri) {
+        return entries.get(uri);
+    }
+
+    private synchronized void put(String uri, Entry entry) {
+        entries.put(uri, entry);
+    }
+
+    private <T> T decode(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException ex) {
+            throw new RuntimeException("Invalid response body! Message: " + ex.getMessage());
+        }
+    }
+
+    private void load() {
+        if (snapshot == null || !Files.exists(snapshot)) {
+            return;
+        }
+        try {
+            Map<String, Entry> loaded = objectMapper.readValue(snapshot.toFile(), new TypeReference<>() {
+            });
+            synchronized (this) {
+                entries.putAll(loaded);
+            }
+            log.info("ConditionalRequestCache: loaded {} entries from {}", loaded.size(), snapshot);
+        } catch (IOException ex) {
+            log.warn("ConditionalRequestCache: unable to load snapshot {}: {}", snapshot, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            Map<String, Entry> copy;
+            synchronized (this) {
+                copy = new LinkedHashMap<>(entries);
+            }
+            objectMapper.writeValue(snapshot.toFile(), copy);
+            log.info("ConditionalRequestCache: saved {} entries to {}", copy.size(), snapshot);
+        } catch (IOException ex) {
+            log.warn("ConditionalRequestCache: unable to save snapshot {}: {}", snapshot, ex.getMessage());
+        }
+    }
+
+    public record Entry(
+        String etag,
+        String lastModified,
+        String body
+    ) {
+    }
+
+}
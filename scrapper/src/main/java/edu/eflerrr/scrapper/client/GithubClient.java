@@ -1,51 +1,76 @@
 package edu.eflerrr.scrapper.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import edu.eflerrr.scrapper.client.dto.request.GithubRepository;
 import edu.eflerrr.scrapper.client.dto.response.GithubBranchResponse;
 import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
 import edu.eflerrr.scrapper.exception.retry.RetryableRequestException;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.retry.support.RetryTemplate;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+/**
+ * Non-blocking GitHub REST client. A repository is fetched with its branch list,
+ * then the details of all branches are requested concurrently, at most {@code branchConcurrency} at a time,
+ * so a repository with N branches takes about N / branchConcurrency round trips instead of N.
+ * Blocking {@link #fetchResponse} calls for the same repository are coalesced by the {@link SingleFlightCache}.
+ * A 304 Not Modified whose cached body was evicted after its validators were sent is answered
+ * by requesting the resource once more without validators.
+ */
 @RequiredArgsConstructor
 @SuppressWarnings({"MultipleStringLiterals", "ReturnCount"})
 public class GithubClient {
 
+    private static final String REPOSITORY_URI = "/repos/{owner}/{repository}";
+    private static final String BRANCHES_URI = REPOSITORY_URI + "/branches";
+    private static final String BRANCH_URI = BRANCHES_URI + "/{branch}";
+
     private final WebClient webClient;
-    private final RetryTemplate retryTemplate;
+    private final Retry retry;
     private final Set<Integer> retryStatusCodes;
+    private final ConditionalRequestCache conditionalRequestCache;
+    private final int branchConcurrency;
+    private final SingleFlightCache<GithubRepository, GithubClientResponse> responseCache;
 
-    private GithubBranchResponse getBranchDataWithRetry(String username, String repository, String branchName) {
-        var branchJsonNode = (JsonNode) retryTemplate.execute(
-            context -> getBranchData(username, repository, branchName).block()
-        );
-        if (branchJsonNode == null) {
-            throw new RuntimeException(
-                "Error occurred during getBranchDataWithRetry in GithubClient! Message: empty response/data"
-            );
-        } else {
-            return new GithubBranchResponse(
+    private static String expand(String uriTemplate, Object... uriVariables) {
+        return UriComponentsBuilder.fromUriString(uriTemplate).buildAndExpand(uriVariables).toUriString();
+    }
+
+    private Mono<GithubBranchResponse> getBranch(String username, String repository, String branchName) {
+        return getBranchData(username, repository, branchName, true)
+            .retryWhen(retry)
+            .switchIfEmpty(Mono.error(() -> new RuntimeException(
+                "Error occurred during getBranch in GithubClient! Message: empty response/data"
+            )))
+            .map(branchJsonNode -> new GithubBranchResponse(
                 branchJsonNode.get("name").asText(),
                 OffsetDateTime.parse(
                     branchJsonNode.get("commit").get("commit").get("committer").get("date").asText(),
                     DateTimeFormatter.ISO_OFFSET_DATE_TIME
                 )
-            );
-        }
+            ));
     }
 
-    private Mono<JsonNode> getBranchData(String username, String repository, String branchName) {
+    private Mono<JsonNode> getBranchData(
+        String username, String repository, String branchName, boolean conditional
+    ) {
+        var uri = expand(BRANCH_URI, username, repository, branchName);
         return webClient.get()
-            .uri(String.format("/repos/%s/%s/branches/%s", username, repository, branchName))
+            .uri(BRANCH_URI, username, repository, branchName)
+            .headers(headers -> {
+                if (conditional) {
+                    conditionalRequestCache.applyValidators(uri, headers);
+                }
+            })
             .exchangeToMono(response -> {
                 HttpStatus status = (HttpStatus) response.statusCode();
                 if (retryStatusCodes.contains(status.value())) {
@@ -53,8 +78,11 @@ public class GithubClient {
                         new RetryableRequestException("Retryable status code: " + status.value())
                     );
                 }
-                if (status.is2xxSuccessful()) {
-                    return response.bodyToMono(JsonNode.class);
+                if (status == HttpStatus.NOT_MODIFIED && conditional) {
+                    return conditionalRequestCache.readCached(uri, response, JsonNode.class)
+                        .switchIfEmpty(Mono.defer(() -> getBranchData(username, repository, branchName, false)));
+                } else if (status.is2xxSuccessful()) {
+                    return conditionalRequestCache.readAndStore(uri, response, JsonNode.class);
                 } else if (status.is4xxClientError()) {
                     return Mono.error(new RuntimeException(
                         "Client error during getBranchData in GithubClient! Message: "
@@ -74,27 +102,25 @@ public class GithubClient {
             });
     }
 
-    private List<String> getBranchNamesWithRetry(String username, String repository) {
-        var branchesJsonNodeArr = (JsonNode[]) retryTemplate.execute(
-            context -> getBranchNames(username, repository).block()
-        );
-        if (branchesJsonNodeArr == null) {
-            throw new RuntimeException(
+    private Flux<String> getBranchNamesWithRetry(String username, String repository) {
+        return getBranchNames(username, repository, true)
+            .retryWhen(retry)
+            .switchIfEmpty(Mono.error(() -> new RuntimeException(
                 "Error occurred during getBranchNamesWithRetry in GithubClient! Message: empty response/data"
-            );
-        } else {
-            return new ArrayList<>(
-                Stream.of(branchesJsonNodeArr)
-                    .map((x) -> x.get("name"))
-                    .map(JsonNode::asText)
-                    .toList()
-            );
-        }
+            )))
+            .flatMapMany(Flux::fromArray)
+            .map(branchJsonNode -> branchJsonNode.get("name").asText());
     }
 
-    private Mono<JsonNode[]> getBranchNames(String username, String repository) {
+    private Mono<JsonNode[]> getBranchNames(String username, String repository, boolean conditional) {
+        var uri = expand(BRANCHES_URI, username, repository);
         return webClient.get()
-            .uri(String.format("/repos/%s/%s/branches", username, repository))
+            .uri(BRANCHES_URI, username, repository)
+            .headers(headers -> {
+                if (conditional) {
+                    conditionalRequestCache.applyValidators(uri, headers);
+                }
+            })
             .exchangeToMono(response -> {
                 HttpStatus status = (HttpStatus) response.statusCode();
                 if (retryStatusCodes.contains(status.value())) {
@@ -102,8 +128,11 @@ public class GithubClient {
                         new RetryableRequestException("Retryable status code: " + status.value())
                     );
                 }
-                if (status.is2xxSuccessful()) {
-                    return response.bodyToMono(JsonNode[].class);
+                if (status == HttpStatus.NOT_MODIFIED && conditional) {
+                    return conditionalRequestCache.readCached(uri, response, JsonNode[].class)
+                        .switchIfEmpty(Mono.defer(() -> getBranchNames(username, repository, false)));
+                } else if (status.is2xxSuccessful()) {
+                    return conditionalRequestCache.readAndStore(uri, response, JsonNode[].class);
                 } else if (status.is4xxClientError()) {
                     return Mono.error(new RuntimeException(
                         "Client error during getBranchNames in GithubClient! Message: "
@@ -123,15 +152,17 @@ public class GithubClient {
             });
     }
 
-    private GithubClientResponse fetchResponseWithRetry(String username, String repository) {
-        return retryTemplate.execute(
-            context -> getRepositoryData(username, repository).block()
-        );
-    }
-
-    private Mono<GithubClientResponse> getRepositoryData(String username, String repository) {
+    private Mono<ResponseEntity<GithubClientResponse>> getRepositoryData(
+        String username, String repository, boolean conditional
+    ) {
+        var uri = expand(REPOSITORY_URI, username, repository);
         return webClient.get()
-            .uri(String.format("/repos/%s/%s", username, repository))
+            .uri(REPOSITORY_URI, username, repository)
+            .headers(headers -> {
+                if (conditional) {
+                    conditionalRequestCache.applyValidators(uri, headers);
+                }
+            })
             .exchangeToMono(response -> {
                 HttpStatus status = (HttpStatus) response.statusCode();
                 if (retryStatusCodes.contains(status.value())) {
@@ -139,8 +170,12 @@ public class GithubClient {
                         new RetryableRequestException("Retryable status code: " + status.value())
                     );
                 }
-                if (status.is2xxSuccessful()) {
-                    return response.bodyToMono(GithubClientResponse.class);
+                if (status == HttpStatus.NOT_MODIFIED && conditional) {
+                    return conditionalRequestCache.readCached(uri, response, GithubClientResponse.class)
+                        .map(cached -> ResponseEntity.status(status).body(cached))
+                        .switchIfEmpty(Mono.defer(() -> getRepositoryData(username, repository, false)));
+                } else if (status.is2xxSuccessful()) {
+                    return response.toEntity(GithubClientResponse.class);
                 } else if (status.is4xxClientError()) {
                     return Mono.error(new RuntimeException(
                         "Client error during fetchResponse in GithubClient! Message: "
@@ -160,26 +195,51 @@ public class GithubClient {
             });
     }
 
-    public GithubClientResponse fetchResponse(String username, String repository) {
-        var githubResponse = fetchResponseWithRetry(username, repository);
-
-        if (githubResponse == null
-            || githubResponse.getLastUpdate() == null
-            || githubResponse.getPushUpdate() == null
-            || githubResponse.getName() == null
-            || githubResponse.getId() == null) {
-            throw new RuntimeException(
+    public Mono<GithubClientResponse> fetch(String username, String repository) {
+        return getRepositoryData(username, repository, true)
+            .retryWhen(retry)
+            .flatMap(responseEntity -> {
+                var githubResponse = responseEntity.getBody();
+                if (githubResponse == null
+                    || githubResponse.getLastUpdate() == null
+                    || githubResponse.getPushUpdate() == null
+                    || githubResponse.getName() == null
+                    || githubResponse.getId() == null) {
+                    return Mono.error(new RuntimeException(
+                        "Error occurred during fetchResponse in GithubClient! Message: empty response/data"
+                    ));
+                } else if (responseEntity.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    return Mono.just(githubResponse);
+                }
+                return getBranchNamesWithRetry(username, repository)
+                    .flatMapSequential(
+                        branchName -> getBranch(username, repository, branchName), branchConcurrency
+                    )
+                    .collectList()
+                    .map(branches -> {
+                        var response = new GithubClientResponse(
+                            githubResponse.getId(),
+                            githubResponse.getName(),
+                            githubResponse.getLastUpdate(),
+                            githubResponse.getPushUpdate(),
+                            List.copyOf(branches)
+                        );
+                        conditionalRequestCache.store(
+                            expand(REPOSITORY_URI, username, repository), responseEntity.getHeaders(), response
+                        );
+                        return response;
+                    });
+            })
+            .switchIfEmpty(Mono.error(() -> new RuntimeException(
                 "Error occurred during fetchResponse in GithubClient! Message: empty response/data"
-            );
-        } else {
-            var branchNames = getBranchNamesWithRetry(username, repository);
-            var branchDataList = new ArrayList<GithubBranchResponse>();
-            for (var branchName : branchNames) {
-                branchDataList.add(getBranchDataWithRetry(username, repository, branchName));
-            }
-            githubResponse.getBranches().addAll(branchDataList);
-            return githubResponse;
-        }
+            )));
+    }
+
+    public GithubClientResponse fetchResponse(String username, String repository) {
+        return responseCache.get(
+            new GithubRepository(username, repository),
+            () -> fetch(username, repository).block()
+        );
     }
 
 }
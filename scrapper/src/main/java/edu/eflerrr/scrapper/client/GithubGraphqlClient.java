@@ -0,0 +1,168 @@
+package edu.eflerrr.scrapper.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.eflerrr.scrapper.client.dto.request.GithubRepository;
+import edu.eflerrr.scrapper.client.dto.response.GithubBranchResponse;
+import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
+import edu.eflerrr.scrapper.exception.retry.RetryableRequestException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fetches the state of many GitHub repositories with one GraphQL request per chunk
+ * instead of one REST request per repository and branch.
+ * Repositories that could not be resolved (missing, forbidden or with more branches than fit in one page)
+ * are left out of the result, so the caller can fall back to {@link GithubClient} for them.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@SuppressWarnings({"MultipleStringLiterals", "ReturnCount"})
+public class GithubGraphqlClient {
+
+    public static final int MAX_REPOSITORIES_PER_QUERY = 50;
+    private static final int MAX_BRANCHES = 100;
+    private static final String REPOSITORY_FIELDS = """
+        fragment RepositoryState on Repository {
+          databaseId
+          name
+          updatedAt
+          pushedAt
+          refs(refPrefix: "refs/heads/", first: %d) {
+            pageInfo { hasNextPage }
+            nodes { name target { ... on Commit { committedDate } } }
+          }
+        }
+        """.formatted(MAX_BRANCHES);
+
+    private final WebClient webClient;
+    private final RetryTemplate retryTemplate;
+    private final Set<Integer> retryStatusCodes;
+
+    private static String buildQuery(int repositoriesCount) {
+        var parameters = new ArrayList<String>();
+        var selections = new StringBuilder();
+        for (int i = 0; i < repositoriesCount; i++) {
+            parameters.add(String.format("$o%d: String!, $n%d: String!", i, i));
+            selections.append(String.format(
+                "  r%d: repository(owner: $o%d, name: $n%d) { ...RepositoryState }%n", i, i, i
+            ));
+        }
+        return "query(" + String.join(", ", parameters) + ") {\n" + selections + "}\n" + REPOSITORY_FIELDS;
+    }
+
+    private static GithubClientResponse toResponse(JsonNode repositoryNode) {
+        if (repositoryNode == null || repositoryNode.isNull()
+            || !repositoryNode.hasNonNull("databaseId")
+            || !repositoryNode.hasNonNull("name")
+            || !repositoryNode.hasNonNull("updatedAt")
+            || !repositoryNode.hasNonNull("pushedAt")) {
+            return null;
+        }
+        var refs = repositoryNode.path("refs");
+        if (refs.path("pageInfo").path("hasNextPage").asBoolean(false)) {
+            return null;
+        }
+        var branches = new ArrayList<GithubBranchResponse>();
+        for (var branchNode : refs.path("nodes")) {
+            var committedDate = branchNode.path("target").path("committedDate");
+            if (!committedDate.isTextual()) {
+                return null;
+            }
+            branches.add(new GithubBranchResponse(
+                branchNode.get("name").asText(),
+                OffsetDateTime.parse(committedDate.asText())
+            ));
+        }
+        return new GithubClientResponse(
+            repositoryNode.get("databaseId").asLong(),
+            repositoryNode.get("name").asText(),
+            OffsetDateTime.parse(repositoryNode.get("updatedAt").asText()),
+            OffsetDateTime.parse(repositoryNode.get("pushedAt").asText()),
+            branches
+        );
+    }
+
+    private JsonNode fetchChunkWithRetry(List<GithubRepository> repositories) {
+        var variables = new HashMap<String, String>();
+        for (int i = 0; i < repositories.size(); i++) {
+            variables.put("o" + i, repositories.get(i).owner());
+            variables.put("n" + i, repositories.get(i).name());
+        }
+        Map<String, Object> body = Map.of("query", buildQuery(repositories.size()), "variables", variables);
+        JsonNode responseNode = retryTemplate.execute(
+            context -> getRepositoriesData(body).block()
+        );
+        if (responseNode == null || !responseNode.hasNonNull("data")) {
+            throw new RuntimeException(
+                "Error occurred during fetchResponses in GithubGraphqlClient! Message: empty response/data"
+            );
+        }
+        if (responseNode.has("errors")) {
+            log.debug("GithubGraphqlClient: partial response, errors: {}", responseNode.get("errors"));
+        }
+        return responseNode.get("data");
+    }
+
+    private Mono<JsonNode> getRepositoriesData(Map<String, Object> body) {
+        return webClient.post()
+            .uri("/graphql")
+            .bodyValue(body)
+            .exchangeToMono(response -> {
+                HttpStatus status = (HttpStatus) response.statusCode();
+                if (retryStatusCodes.contains(status.value())) {
+                    return Mono.error(
+                        new RetryableRequestException("Retryable status code: " + status.value())
+                    );
+                }
+                if (status.is2xxSuccessful()) {
+                    return response.bodyToMono(JsonNode.class);
+                } else if (status.is4xxClientError()) {
+                    return Mono.error(new RuntimeException(
+                        "Client error during fetchResponses in GithubGraphqlClient! Message: "
+                            + status.value() + " "
+                            + status.getReasonPhrase()));
+                } else if (status.is5xxServerError()) {
+                    return Mono.error(new RuntimeException(
+                        "Server error during fetchResponses in GithubGraphqlClient! Message: "
+                            + status.value() + " "
+                            + status.getReasonPhrase()));
+                } else {
+                    return Mono.error(new RuntimeException(
+                        "Unexpected status code during fetchResponses in GithubGraphqlClient! Message: "
+                            + status.value() + " "
+                            + status.getReasonPhrase()));
+                }
+            });
+    }
+
+    public Map<GithubRepository, GithubClientResponse> fetchResponses(Collection<GithubRepository> repositories) {
+        var distinctRepositories = repositories.stream().distinct().toList();
+        var responses = new LinkedHashMap<GithubRepository, GithubClientResponse>();
+        for (int from = 0; from < distinctRepositories.size(); from += MAX_REPOSITORIES_PER_QUERY) {
+            var chunk = distinctRepositories.subList(
+                from, Math.min(from + MAX_REPOSITORIES_PER_QUERY, distinctRepositories.size())
+            );
+            var data = fetchChunkWithRetry(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                var response = toResponse(data.get("r" + i));
+                if (response != null) {
+                    responses.put(chunk.get(i), response);
+                }
+            }
+        }
+        return responses;
+    }
+
+}
@@ -0,0 +1,74 @@
+package edu.eflerrr.scrapper.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight response cache in front of a blocking client call. Concurrent callers for the same key
+ * share one in-flight call, and its result is kept for {@code ttl}, so workers of this process checking
+ * the same resource within one cycle make one HTTP call. The cache is per process: other replicas make
+ * their own calls. Failed calls are not cached, and cached values are shared, so they must not be mutated.
+ * Lookups are counted in {@code client_response_cache_requests_total}, tagged by client and result
+ * ({@code hit}, {@code miss} or {@code coalesced}).
+ */
+public class SingleFlightCache<K, V> {
+
+    private static final String METRIC_NAME = "client_response_cache_requests_total";
+    private static final String CLIENT_TAG = "client";
+    private static final String RESULT_TAG = "result";
+
+    private final AsyncCache<K, V> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public SingleFlightCache(String client, Duration ttl, long maxSize, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxSize)
+            .buildAsync();
+        this.hits = registry.counter(METRIC_NAME, CLIENT_TAG, client, RESULT_TAG, "hit");
+        this.misses = registry.counter(METRIC_NAME, CLIENT_TAG, client, RESULT_TAG, "miss");
+        this.coalesced = registry.counter(METRIC_NAME, CLIENT_TAG, client, RESULT_TAG, "coalesced");
+    }
+
+    /**
+     * Returns the cached or in-flight value of the key, otherwise calls the loader on the current thread.
+     * Exceptions of the loader are rethrown to every caller waiting for it.
+     */
+    public V get(K key, Supplier<V> loader) {
+        var future = new CompletableFuture<V>();
+        var existing = cache.asMap().putIfAbsent(key, future);
+        if (existing == null) {
+            misses.increment();
+            try {
+                var value = loader.get();
+                future.complete(value);
+                return value;
+            } catch (RuntimeException | Error ex) {
+                future.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        if (existing.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+}
@@ -1,8 +1,16 @@
 package edu.eflerrr.scrapper.client;
 
 import edu.eflerrr.scrapper.client.dto.response.StackoverflowClientResponse;
+import edu.eflerrr.scrapper.client.dto.response.StackoverflowTimelineResponse;
 import edu.eflerrr.scrapper.exception.retry.RetryableRequestException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.retry.support.RetryTemplate;
@@ -10,26 +18,40 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 @RequiredArgsConstructor
-@SuppressWarnings("ReturnCount")
+@SuppressWarnings({"MultipleStringLiterals", "ReturnCount"})
 public class StackoverflowClient {
 
+    public static final int MAX_QUESTIONS_PER_REQUEST = 100;
+    private static final int MAX_PAGES_PER_REQUEST = 5;
+
     private final WebClient webClient;
     private final RetryTemplate retryTemplate;
     private final Set<Integer> retryStatusCodes;
+    private final ConditionalRequestCache conditionalRequestCache;
+    private final SingleFlightCache<Long, StackoverflowClientResponse> responseCache;
 
     private StackoverflowClientResponse fetchResponseWithRetry(Long questionId) {
         return retryTemplate.execute(
-            context -> getQuestionData(questionId).block()
+            context -> getQuestionData(questionId, true).block()
         );
     }
 
-    private Mono<StackoverflowClientResponse> getQuestionData(Long questionId) {
+    /**
+     * A 304 Not Modified whose cached body was evicted after its validators were sent is answered
+     * by requesting the timeline once more without validators.
+     */
+    private Mono<StackoverflowClientResponse> getQuestionData(Long questionId, boolean conditional) {
+        var uri = String.format(
+            "/questions/%d/timeline?order=desc&sort=creation_date&site=stackoverflow",
+            questionId
+        );
         return webClient.get()
-            .uri(String.format(
-                    "/questions/%d/timeline?order=desc&sort=creation_date&site=stackoverflow",
-                    questionId
-                )
-            )
+            .uri(uri)
+            .headers(headers -> {
+                if (conditional) {
+                    conditionalRequestCache.applyValidators(uri, headers);
+                }
+            })
             .exchangeToMono(response -> {
                 HttpStatus status = (HttpStatus) response.statusCode();
                 if (retryStatusCodes.contains(status.value())) {
@@ -37,8 +59,11 @@ public class StackoverflowClient {
                         new RetryableRequestException("Retryable status code: " + status.value())
                     );
                 }
-                if (status.is2xxSuccessful()) {
-                    return response.bodyToMono(StackoverflowClientResponse.class);
+                if (status == HttpStatus.NOT_MODIFIED && conditional) {
+                    return conditionalRequestCache.readCached(uri, response, StackoverflowClientResponse.class)
+                        .switchIfEmpty(Mono.defer(() -> getQuestionData(questionId, false)));
+                } else if (status.is2xxSuccessful()) {
+                    return conditionalRequestCache.readAndStore(uri, response, StackoverflowClientResponse.class);
                 } else if (status.is4xxClientError()) {
                     return Mono.error(new RuntimeException(
                         "Client error during fetchResponse in StackoverflowClient! Message: "
@@ -58,7 +83,101 @@ public class StackoverflowClient {
             });
     }
 
+    private StackoverflowTimelineResponse fetchTimelinePageWithRetry(List<Long> questionIds, int page) {
+        return retryTemplate.execute(
+            context -> getTimelinePage(questionIds, page).block()
+        );
+    }
+
+    private Mono<StackoverflowTimelineResponse> getTimelinePage(List<Long> questionIds, int page) {
+        var uri = String.format(
+            "/questions/%s/timeline?order=desc&sort=creation_date&site=stackoverflow&pagesize=%d&page=%d",
+            questionIds.stream().map(String::valueOf).collect(Collectors.joining(";")),
+            MAX_QUESTIONS_PER_REQUEST,
+            page
+        );
+        return webClient.get()
+            .uri(uri)
+            .exchangeToMono(response -> {
+                HttpStatus status = (HttpStatus) response.statusCode();
+                if (retryStatusCodes.contains(status.value())) {
+                    return Mono.error(
+                        new RetryableRequestException("Retryable status code: " + status.value())
+                    );
+                }
+                if (status.is2xxSuccessful()) {
+                    return response.bodyToMono(StackoverflowTimelineResponse.class);
+                } else if (status.is4xxClientError()) {
+                    return Mono.error(new RuntimeException(
+                        "Client error during fetchResponses in StackoverflowClient! Message: "
+                            + status.value() + " "
+                            + status.getReasonPhrase()));
+                } else if (status.is5xxServerError()) {
+                    return Mono.error(new RuntimeException(
+                        "Server error during fetchResponses in StackoverflowClient! Message: "
+                            + status.value() + " "
+                            + status.getReasonPhrase()));
+                } else {
+                    return Mono.error(new RuntimeException(
+                        "Unexpected status code during fetchResponses in StackoverflowClient! Message: "
+                            + status.value() + " "
+                            + status.getReasonPhrase()));
+                }
+            });
+    }
+
+    private void fetchChunk(List<Long> questionIds, Map<Long, StackoverflowClientResponse> responses) {
+        var eventsByQuestion = new LinkedHashMap<Long, ArrayList<StackoverflowClientResponse.Event>>();
+        var pending = new HashSet<>(questionIds);
+        for (int page = 1; page <= MAX_PAGES_PER_REQUEST && !pending.isEmpty(); page++) {
+            var timeline = fetchTimelinePageWithRetry(questionIds, page);
+            if (timeline == null || timeline.items() == null) {
+                throw new RuntimeException(
+                    "Error occurred during fetchResponses in StackoverflowClient! Message: empty response/data"
+                );
+            }
+            for (var item : timeline.items()) {
+                if (item.questionId() != null && item.time() != null && item.type() != null) {
+                    pending.remove(item.questionId());
+                    eventsByQuestion.computeIfAbsent(item.questionId(), questionId -> new ArrayList<>())
+                        .add(new StackoverflowClientResponse.Event(item.time(), item.type()));
+                }
+            }
+            if (!timeline.hasMore()) {
+                break;
+            }
+        }
+        eventsByQuestion.forEach((questionId, events) -> responses.put(
+            questionId, new StackoverflowClientResponse(events.getFirst().time(), events)
+        ));
+    }
+
+    /**
+     * Fetches the timelines of many questions with one request per {@value MAX_QUESTIONS_PER_REQUEST} ids.
+     * The timeline is sorted by creation date across all questions of a request,
+     * so the first event met for a question is its latest one. Pages are read until every question has an event,
+     * the timeline ends or the page limit is reached. Questions without events in the pages read are left out
+     * of the result, so the caller can fall back to {@link #fetchResponse(Long)} for them.
+     */
+    public Map<Long, StackoverflowClientResponse> fetchResponses(Collection<Long> questionIds) {
+        var distinctQuestionIds = questionIds.stream().distinct().toList();
+        var responses = new LinkedHashMap<Long, StackoverflowClientResponse>();
+        for (int from = 0; from < distinctQuestionIds.size(); from += MAX_QUESTIONS_PER_REQUEST) {
+            fetchChunk(
+                distinctQuestionIds.subList(
+                    from, Math.min(from + MAX_QUESTIONS_PER_REQUEST, distinctQuestionIds.size())
+                ),
+                responses
+            );
+        }
+        return responses;
+    }
+
     public StackoverflowClientResponse fetchResponse(Long questionId) {
+        return responseCache.get(questionId, () -> fetchValidResponse(questionId));
+    }
+
+    private StackoverflowClientResponse fetchValidResponse(Long questionId) {
         var stackoverflowResponse = fetchResponseWithRetry(questionId);
 
         if (stackoverflowResponse != null
@@ -3,6 +3,7 @@ package edu.eflerrr.scrapper.client.customizer;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -20,5 +21,9 @@ public class GithubWebClientCustomizer implements WebClientCustomizer {
                 ? defaultApiUrl
                 : githubApiUrl
         );
+        var githubToken = config.api().githubToken();
+        if (githubToken != null && !githubToken.isEmpty()) {
+            webClientBuilder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + githubToken);
+        }
     }
 }
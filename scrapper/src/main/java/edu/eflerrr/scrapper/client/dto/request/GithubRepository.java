@@ -0,0 +1,7 @@
+package edu.eflerrr.scrapper.client.dto.request;
+
+public record GithubRepository(
+    String owner,
+    String name
+) {
+}
@@ -1,9 +1,20 @@
 package edu.eflerrr.scrapper.client.dto.request;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 
+/**
+ * Update of a link for a part of its subscribers: large subscriber lists are split into
+ * {@code chunks} requests that share the {@code eventId} and differ by the {@code chunk} index.
+ * An update of several coalesced events lists them in {@code events} and counts the ones left out
+ * in {@code omittedEvents}.
+ */
 public record SendUpdateRequest(
     @JsonProperty("id")
     Long id,
@@ -11,8 +22,92 @@ public record SendUpdateRequest(
     URI url,
     @JsonProperty("description")
     String description,
+    @JsonProperty("events")
+    List<Event> events,
+    @JsonProperty("omittedEvents")
+    int omittedEvents,
     @JsonProperty("tgChatIds")
-    List<Long> tgChatIds
+    long[] tgChatIds,
+    @JsonProperty("eventId")
+    UUID eventId,
+    @JsonProperty("chunk")
+    int chunk,
+    @JsonProperty("chunks")
+    int chunks
 
 ) {
+
+    public SendUpdateRequest(Long id, URI url, String description, long[] tgChatIds) {
+        this(id, url, description, List.of(), 0, tgChatIds, null, 0, 1);
+    }
+
+    /**
+     * Splits the subscribers of the update into chunks of at most {@code chunkSize} chat ids under the event id
+     * {@code updateId}, an update without subscribers is sent as one empty chunk.
+     */
+    public static List<SendUpdateRequest> split(
+        UUID updateId, LinkEvent event, URI url, long[] tgChatIds, int chunkSize
+    ) {
+        var events = event.events().stream()
+            .map(listedEvent -> new Event(listedEvent.id(), listedEvent.description()))
+            .toList();
+        var chunks = Math.max(1, (tgChatIds.length + chunkSize - 1) / chunkSize);
+        var requests = new ArrayList<SendUpdateRequest>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            var from = chunk * chunkSize;
+            var to = Math.min(tgChatIds.length, from + chunkSize);
+            requests.add(new SendUpdateRequest(
+                event.id(), url, event.description(), events, event.omittedEvents(),
+                Arrays.copyOfRange(tgChatIds, from, to), updateId, chunk, chunks
+            ));
+        }
+        return requests;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SendUpdateRequest that)) {
+            return false;
+        }
+        return Objects.equals(id, that.id)
+            && Objects.equals(url, that.url)
+            && Objects.equals(description, that.description)
+            && Objects.equals(events, that.events)
+            && omittedEvents == that.omittedEvents
+            && Arrays.equals(tgChatIds, that.tgChatIds)
+            && Objects.equals(eventId, that.eventId)
+            && chunk == that.chunk
+            && chunks == that.chunks;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            id, url, description, events, omittedEvents, Arrays.hashCode(tgChatIds), eventId, chunk, chunks
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "SendUpdateRequest[id=" + id
+            + ", url=" + url
+            + ", description=" + description
+            + ", events=" + events
+            + ", omittedEvents=" + omittedEvents
+            + ", tgChatIds=" + Arrays.toString(tgChatIds)
+            + ", eventId=" + eventId
+            + ", chunk=" + chunk
+            + ", chunks=" + chunks + "]";
+    }
+
+    public record Event(
+        @JsonProperty("id")
+        Long id,
+        @JsonProperty("description")
+        String description
+    ) {
+    }
 }
@@ -0,0 +1,24 @@
+package edu.eflerrr.scrapper.client.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record StackoverflowTimelineResponse(
+    @JsonProperty("items")
+    List<Item> items,
+    @JsonProperty("has_more")
+    boolean hasMore
+) {
+
+    public record Item(
+        @JsonProperty("question_id")
+        Long questionId,
+        @JsonProperty("creation_date")
+        OffsetDateTime time,
+        @JsonProperty("timeline_type")
+        String type
+    ) {
+    }
+
+}
@@ -0,0 +1,48 @@
+package edu.eflerrr.scrapper.client.ratelimit;
+
+import java.time.Duration;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Feeds the {@link RateGovernor} from the X-RateLimit-Remaining / X-RateLimit-Reset headers of GitHub responses
+ * and from Retry-After, which GitHub sends when a secondary rate limit is hit.
+ */
+@RequiredArgsConstructor
+public class GithubRateLimitFilter implements ExchangeFilterFunction {
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private final RateGovernor rateGovernor;
+
+    private void recordSignals(HttpHeaders headers) {
+        var remaining = headers.getFirst(REMAINING_HEADER);
+        var reset = headers.getFirst(RESET_HEADER);
+        var retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        try {
+            if (remaining != null && reset != null) {
+                rateGovernor.recordQuota(Long.parseLong(remaining), Instant.ofEpochSecond(Long.parseLong(reset)));
+            }
+            if (retryAfter != null) {
+                rateGovernor.recordBackoff(Duration.ofSeconds(Long.parseLong(retryAfter)));
+            }
+        } catch (NumberFormatException ignored) {
+            // malformed rate limit headers carry no signal
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return rateGovernor.pace()
+            .then(Mono.defer(() -> next.exchange(request)))
+            .doOnNext(response -> recordSignals(response.headers().asHttpHeaders()));
+    }
+
+}
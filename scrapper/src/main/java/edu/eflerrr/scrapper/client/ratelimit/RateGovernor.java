@@ -0,0 +1,110 @@
+package edu.eflerrr.scrapper.client.ratelimit;
+
+import edu.eflerrr.scrapper.exception.RateLimitExhaustedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.Getter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Paces the requests of one API client by the rate limit signals of its responses.
+ * Requests go out freely while the remaining quota is above {@code paceBelow}. Below that, requests are spaced
+ * evenly, so the rest of the budget lasts until the reset instead of running out early and ending in 403s.
+ * A backoff requested by the API delays the next request on its own.
+ * A request that would have to wait longer than {@code maxWait} fails fast with
+ * {@link RateLimitExhaustedException}, which is not retried, and the link is checked again on the next cycle.
+ * The known remaining quota and the time left until its reset are published as gauges tagged with the client name.
+ */
+public class RateGovernor {
+
+    private static final String CLIENT_TAG = "client";
+
+    @Getter
+    private final String client;
+    private final Duration maxWait;
+    private final long paceBelow;
+    private final Clock clock;
+    private Long remaining;
+    private Instant resetAt;
+    private Instant backoffUntil = Instant.MIN;
+    private Instant nextRequestAt = Instant.MIN;
+
+    public RateGovernor(String client, Duration maxWait, long paceBelow, Clock clock, MeterRegistry registry) {
+        this.client = client;
+        this.maxWait = maxWait;
+        this.paceBelow = paceBelow;
+        this.clock = clock;
+        Gauge.builder("client_rate_limit_remaining", this, RateGovernor::remainingValue)
+            .tag(CLIENT_TAG, client)
+            .register(registry);
+        Gauge.builder("client_rate_limit_reset_seconds", this, RateGovernor::resetSecondsValue)
+            .tag(CLIENT_TAG, client)
+            .register(registry);
+    }
+
+    public synchronized void recordQuota(long quotaRemaining, Instant quotaResetAt) {
+        this.remaining = quotaRemaining;
+        this.resetAt = quotaResetAt;
+    }
+
+    public synchronized void recordBackoff(Duration backoff) {
+        var until = clock.instant().plus(backoff);
+        if (until.isAfter(backoffUntil)) {
+            backoffUntil = until;
+        }
+    }
+
+    /**
+     * Reserves the next request slot and returns how long the caller has to wait for it.
+     */
+    public synchronized Duration reserve() {
+        var now = clock.instant();
+        var start = latest(now, latest(nextRequestAt, backoffUntil));
+        var exhausted = remaining != null && remaining <= 0 && resetAt != null && resetAt.isAfter(now);
+        if (exhausted) {
+            start = latest(start, resetAt);
+        }
+        var wait = Duration.between(now, start);
+        if (wait.compareTo(maxWait) > 0) {
+            throw new RateLimitExhaustedException(
+                "Rate limit of " + client + " is exhausted, next request is allowed at " + start
+            );
+        }
+        if (exhausted) {
+            remaining = null;
+            resetAt = null;
+            nextRequestAt = start;
+        } else if (remaining != null && remaining > 0 && resetAt != null && resetAt.isAfter(start)) {
+            nextRequestAt = remaining < paceBelow
+                ? start.plus(Duration.between(start, resetAt).dividedBy(remaining))
+                : start;
+            remaining--;
+        } else {
+            nextRequestAt = start;
+        }
+        return wait;
+    }
+
+    public Mono<Void> pace() {
+        return Mono.defer(() -> {
+            var wait = reserve();
+            return wait.isZero() ? Mono.empty() : Mono.delay(wait).then();
+        });
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private synchronized double remainingValue() {
+        return remaining == null ? Double.NaN : remaining;
+    }
+
+    private synchronized double resetSecondsValue() {
+        return resetAt == null ? Double.NaN : Math.max(0, Duration.between(clock.instant(), resetAt).toSeconds());
+    }
+
+}
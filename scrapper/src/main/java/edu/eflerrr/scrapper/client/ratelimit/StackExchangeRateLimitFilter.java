@@ -0,0 +1,63 @@
+package edu.eflerrr.scrapper.client.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Feeds the {@link RateGovernor} from the {@code quota_remaining} and {@code backoff} fields
+ * of the Stack Exchange response wrapper. The daily quota is reset at midnight UTC.
+ * The body is read here once and handed on unchanged to the client.
+ */
+@RequiredArgsConstructor
+public class StackExchangeRateLimitFilter implements ExchangeFilterFunction {
+
+    private static final String QUOTA_REMAINING_FIELD = "quota_remaining";
+    private static final String BACKOFF_FIELD = "backoff";
+
+    private final RateGovernor rateGovernor;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private void recordSignals(String body) {
+        try {
+            var wrapper = objectMapper.readTree(body);
+            if (wrapper.hasNonNull(QUOTA_REMAINING_FIELD)) {
+                rateGovernor.recordQuota(
+                    wrapper.get(QUOTA_REMAINING_FIELD).asLong(),
+                    LocalDate.now(clock.withZone(ZoneOffset.UTC)).plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC)
+                );
+            }
+            if (wrapper.hasNonNull(BACKOFF_FIELD)) {
+                rateGovernor.recordBackoff(Duration.ofSeconds(wrapper.get(BACKOFF_FIELD).asLong()));
+            }
+        } catch (JsonProcessingException ignored) {
+            // a body that is not a wrapper object carries no quota signal
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return rateGovernor.pace()
+            .then(Mono.defer(() -> next.exchange(request)))
+            .flatMap(response -> response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> {
+                    if (!body.isEmpty()) {
+                        recordSignals(body);
+                    }
+                    return response.mutate().body(body).build();
+                })
+            );
+    }
+
+}
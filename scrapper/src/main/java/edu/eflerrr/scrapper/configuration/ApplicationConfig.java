@@ -1,6 +1,7 @@
 package edu.eflerrr.scrapper.configuration;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import java.time.Duration;
 import java.util.Set;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -22,14 +23,56 @@ public record ApplicationConfig(
     @NotNull
     Kafka kafka,
     @NotNull
+    Notification notification,
+    @NotNull
+    Outbox outbox,
+    @NotNull
+    Journal journal,
+    @NotNull
     Retry retry
 ) {
 
     public record Api(
         String githubBaseUrl,
         String stackoverflowBaseUrl,
-        String botBaseUrl
+        String botBaseUrl,
+        String githubToken,
+        GithubEngine githubEngine,
+        @NotNull
+        Integer githubBranchConcurrency,
+        @NotNull
+        ConditionalCache conditionalCache,
+        @NotNull
+        RateLimit rateLimit,
+        @NotNull
+        ResponseCache responseCache
     ) {
+        public enum GithubEngine {
+            REST, GRAPHQL
+        }
+
+        public record RateLimit(
+            @NotNull
+            Duration maxWait,
+            @NotNull
+            Long paceBelow
+        ) {
+        }
+
+        public record ResponseCache(
+            @NotNull
+            Duration ttl,
+            @NotNull
+            Integer maxSize
+        ) {
+        }
+
+        public record ConditionalCache(
+            @NotNull
+            Integer maxSize,
+            String snapshotPath
+        ) {
+        }
     }
 
     public record Scheduler(
@@ -37,8 +80,65 @@ public record ApplicationConfig(
         @NotNull
         Duration interval,
         @NotNull
-        Duration forceCheckDelay
+        Duration forceCheckDelay,
+        @NotNull
+        Pipeline pipeline,
+        @NotNull
+        Lease lease,
+        @NotNull
+        CheckInterval checkInterval,
+        @NotNull
+        Integer windowSize,
+        @NotNull
+        Flush flush
     ) {
+        public record Flush(
+            @NotNull
+            Integer size,
+            @NotNull
+            Duration interval
+        ) {
+        }
+
+        public record CheckInterval(
+            @NotNull
+            Duration min,
+            @NotNull
+            Duration max,
+            @NotNull
+            Double factor
+        ) {
+        }
+
+        public record Lease(
+            @NotNull
+            Duration duration,
+            @NotNull
+            Integer batchSize
+        ) {
+        }
+
+        public record Pipeline(
+            @NotNull
+            Stage fetch,
+            @NotNull
+            Stage diff,
+            @NotNull
+            Stage persist,
+            @NotNull
+            Stage notification
+        ) {
+            public record Stage(
+                @NotNull
+                ExecutorType executor,
+                @NotNull
+                Integer concurrency
+            ) {
+                public enum ExecutorType {
+                    DIRECT, VIRTUAL, BOUNDED
+                }
+            }
+        }
     }
 
     public enum AccessType {
@@ -67,11 +167,62 @@ public record ApplicationConfig(
             @NotNull
             String clientId,
             @NotNull
-            String acks
+            String acks,
+            @NotNull
+            Integer batchSize,
+            @NotNull
+            Duration linger,
+            @NotNull
+            String compressionType,
+            boolean enableIdempotence,
+            @NotNull
+            Integer maxInFlightRequests,
+            @NotNull
+            Long bufferMemory,
+            @NotNull
+            Duration maxBlock,
+            @NotNull
+            Format format
         ) {
+            public enum Format {
+                JSON, BINARY
+            }
         }
     }
 
+    public record Notification(
+        @NotNull
+        Integer chunkSize,
+        @NotNull
+        Integer parallelism,
+        @NotNull
+        @Positive
+        Integer maxListedEvents
+    ) {
+    }
+
+    public record Outbox(
+        boolean enable,
+        @NotNull
+        Integer batchSize,
+        @NotNull
+        Duration linger,
+        @NotNull
+        Duration leaseDuration
+    ) {
+    }
+
+    public record Journal(
+        boolean enable,
+        @NotNull
+        String path,
+        @NotNull
+        Integer capacity,
+        @NotNull
+        Duration retryInterval
+    ) {
+    }
+
     public record Retry(
         @NotNull
         ClientRetryProperties botClient,
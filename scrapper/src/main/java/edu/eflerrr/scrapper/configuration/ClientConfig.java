@@ -1,13 +1,24 @@
 package edu.eflerrr.scrapper.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.eflerrr.scrapper.client.BotClient;
+import edu.eflerrr.scrapper.client.ConditionalRequestCache;
 import edu.eflerrr.scrapper.client.GithubClient;
+import edu.eflerrr.scrapper.client.GithubGraphqlClient;
+import edu.eflerrr.scrapper.client.SingleFlightCache;
 import edu.eflerrr.scrapper.client.StackoverflowClient;
 import edu.eflerrr.scrapper.client.customizer.GithubWebClientCustomizer;
 import edu.eflerrr.scrapper.client.customizer.StackoverflowWebClientCustomizer;
+import edu.eflerrr.scrapper.client.ratelimit.GithubRateLimitFilter;
+import edu.eflerrr.scrapper.client.ratelimit.RateGovernor;
+import edu.eflerrr.scrapper.client.ratelimit.StackExchangeRateLimitFilter;
+import edu.eflerrr.scrapper.configuration.retry.BackoffRetry;
 import edu.eflerrr.scrapper.configuration.retry.ConstantRetryTemplate;
 import edu.eflerrr.scrapper.configuration.retry.ExponentialRetryTemplate;
 import edu.eflerrr.scrapper.configuration.retry.LinearRetryTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -21,6 +32,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 @SuppressWarnings("InnerAssignment")
 public class ClientConfig {
 
+    private static final String GITHUB_CLIENT = "github";
+    private static final String STACKEXCHANGE_CLIENT = "stackexchange";
+
     private final ApplicationConfig config;
 
     private RetryTemplate getRetryTemplate(ApplicationConfig.Retry.ClientRetryProperties props) {
@@ -43,6 +57,30 @@ public class ClientConfig {
         return retryTemplate;
     }
 
+    private BackoffRetry getRetry(ApplicationConfig.Retry.ClientRetryProperties props) {
+        return new BackoffRetry(
+            props.backoffPolicy(),
+            props.maxAttempts(),
+            props.initialInterval(),
+            props.multiplier()
+        );
+    }
+
+    private RateGovernor getRateGovernor(String client, MeterRegistry registry) {
+        var props = config.api().rateLimit();
+        return new RateGovernor(client, props.maxWait(), props.paceBelow(), Clock.systemUTC(), registry);
+    }
+
+    private <K, V> SingleFlightCache<K, V> getResponseCache(String client, MeterRegistry registry) {
+        var props = config.api().responseCache();
+        if (props.ttl().compareTo(config.scheduler().interval()) >= 0) {
+            throw new IllegalStateException(
+                "Response cache TTL must be shorter than the scheduler interval! TTL: " + props.ttl()
+            );
+        }
+        return new SingleFlightCache<>(client, props.ttl(), props.maxSize(), registry);
+    }
+
     private Set<Integer> getRetryStatusCodes(
         ApplicationConfig.Retry.ClientRetryProperties props
     ) {
@@ -59,18 +97,55 @@ public class ClientConfig {
         return new BotClient(
             config.api().botBaseUrl(),
             getRetryTemplate(props),
-            getRetryStatusCodes(props)
+            getRetryStatusCodes(props),
+            config.notification().chunkSize(),
+            config.notification().parallelism()
+        );
+    }
+
+    @Bean
+    public ConditionalRequestCache conditionalRequestCacheBean(ObjectMapper objectMapper) {
+        var props = config.api().conditionalCache();
+        var snapshotPath = props.snapshotPath();
+
+        return new ConditionalRequestCache(
+            objectMapper,
+            props.maxSize(),
+            snapshotPath == null || snapshotPath.isEmpty() ? null : Path.of(snapshotPath)
         );
     }
 
     @Bean
     public GithubClient githubClientBean(
-        WebClient.Builder webClientBuilder, GithubWebClientCustomizer customizer
+        WebClient.Builder webClientBuilder,
+        GithubWebClientCustomizer customizer,
+        ConditionalRequestCache conditionalRequestCache,
+        MeterRegistry registry
     ) {
         var props = config.retry().githubClient();
         customizer.customize(webClientBuilder);
+        webClientBuilder.filter(new GithubRateLimitFilter(getRateGovernor(GITHUB_CLIENT, registry)));
 
         return new GithubClient(
+            webClientBuilder.build(),
+            getRetry(props),
+            getRetryStatusCodes(props),
+            conditionalRequestCache,
+            config.api().githubBranchConcurrency(),
+            getResponseCache(GITHUB_CLIENT, registry)
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.api", name = "github-engine", havingValue = "graphql")
+    public GithubGraphqlClient githubGraphqlClientBean(
+        WebClient.Builder webClientBuilder, GithubWebClientCustomizer customizer, MeterRegistry registry
+    ) {
+        var props = config.retry().githubClient();
+        customizer.customize(webClientBuilder);
+        webClientBuilder.filter(new GithubRateLimitFilter(getRateGovernor("github-graphql", registry)));
+
+        return new GithubGraphqlClient(
             webClientBuilder.build(),
             getRetryTemplate(props),
             getRetryStatusCodes(props)
@@ -79,15 +154,24 @@ public class ClientConfig {
 
     @Bean
     public StackoverflowClient stackoverflowClientBean(
-        WebClient.Builder webClientBuilder, StackoverflowWebClientCustomizer customizer
+        WebClient.Builder webClientBuilder,
+        StackoverflowWebClientCustomizer customizer,
+        ConditionalRequestCache conditionalRequestCache,
+        ObjectMapper objectMapper,
+        MeterRegistry registry
     ) {
         var props = config.retry().stackoverflowClient();
         customizer.customize(webClientBuilder);
+        webClientBuilder.filter(new StackExchangeRateLimitFilter(
+            getRateGovernor(STACKEXCHANGE_CLIENT, registry), objectMapper, Clock.systemUTC()
+        ));
 
         return new StackoverflowClient(
             webClientBuilder.build(),
             getRetryTemplate(props),
-            getRetryStatusCodes(props)
+            getRetryStatusCodes(props),
+            conditionalRequestCache,
+            getResponseCache(STACKEXCHANGE_CLIENT, registry)
         );
     }
 
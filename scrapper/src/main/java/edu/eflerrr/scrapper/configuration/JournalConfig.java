@@ -0,0 +1,40 @@
+package edu.eflerrr.scrapper.configuration;
+
+import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.journal.JournalingUpdateSender;
+import edu.eflerrr.scrapper.service.journal.MappedJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts the update journal in front of the configured {@link UpdateSender}, so the pipeline spills updates
+ * to disk while the bot or Kafka is unavailable. The journal only backs direct sending: with the outbox enabled
+ * the updates already wait in the database, and the relay has to see failures to keep them there.
+ */
+@Configuration
+@ConditionalOnExpression("${app.journal.enable:false} and !${app.outbox.enable:false}")
+public class JournalConfig {
+
+    @Bean
+    @Primary
+    public JournalingUpdateSender journalingUpdateSenderBean(
+        UpdateSender updateSender,
+        ApplicationConfig config,
+        MeterRegistry registry
+    ) {
+        var props = config.journal();
+        return new JournalingUpdateSender(
+            updateSender,
+            new MappedJournal(Path.of(props.path()), props.capacity()),
+            props.retryInterval(),
+            Clock.systemUTC(),
+            registry
+        );
+    }
+
+}
@@ -1,7 +1,17 @@
 package edu.eflerrr.scrapper.configuration;
 
+import edu.eflerrr.scrapper.client.GithubClient;
+import edu.eflerrr.scrapper.client.GithubGraphqlClient;
+import edu.eflerrr.scrapper.client.StackoverflowClient;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
+import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.CheckIntervalPolicy;
+import edu.eflerrr.scrapper.service.pipeline.LinkStateBuffer;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdatePipeline;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,6 +28,7 @@ public class LinkUpdateConfig {
     public final static Long QUESTION_ACCEPTED_ANSWER = 7L;
     public final static Long QUESTION_POST_STATE_CHANGED = 8L;
     public final static Long QUESTION_UNKNOWN_UPDATE = 9L;
+    public final static Long MULTIPLE_UPDATES = 10L;
 
     @Bean
     public HashMap<String, Long> eventIdsBean() {
@@ -29,4 +40,34 @@ public class LinkUpdateConfig {
         ));
     }
 
+    @Bean
+    public LinkCheckSchedule linkCheckScheduleBean(ApplicationConfig config) {
+        return new LinkCheckSchedule(config.scheduler().windowSize());
+    }
+
+    @Bean
+    public LinkUpdatePipeline linkUpdatePipelineBean(
+        GithubClient githubClient,
+        ObjectProvider<GithubGraphqlClient> githubGraphqlClient,
+        StackoverflowClient stackoverflowClient,
+        UpdateSender updateSender,
+        ApplicationConfig config,
+        LinkCheckSchedule linkCheckSchedule,
+        MeterRegistry registry
+    ) {
+        return new LinkUpdatePipeline(
+            githubClient,
+            githubGraphqlClient.getIfAvailable(),
+            stackoverflowClient,
+            config.outbox().enable() ? null : updateSender,
+            config.scheduler().pipeline(),
+            config.notification(),
+            new CheckIntervalPolicy(config.scheduler().forceCheckDelay(), config.scheduler().checkInterval()),
+            linkCheckSchedule,
+            config.scheduler().lease().duration(),
+            new LinkStateBuffer(config.scheduler().flush()),
+            registry
+        );
+    }
+
 }
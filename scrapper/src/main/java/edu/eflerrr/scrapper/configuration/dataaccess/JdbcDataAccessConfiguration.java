@@ -1,23 +1,26 @@
 package edu.eflerrr.scrapper.configuration.dataaccess;
 
-import edu.eflerrr.scrapper.client.GithubClient;
-import edu.eflerrr.scrapper.client.StackoverflowClient;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
 import edu.eflerrr.scrapper.domain.jdbc.dao.BranchDao;
 import edu.eflerrr.scrapper.domain.jdbc.dao.ChatDao;
 import edu.eflerrr.scrapper.domain.jdbc.dao.LinkDao;
+import edu.eflerrr.scrapper.domain.jdbc.dao.OutboxDao;
 import edu.eflerrr.scrapper.domain.jdbc.dao.TrackingDao;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
 import edu.eflerrr.scrapper.service.LinkService;
 import edu.eflerrr.scrapper.service.LinkUpdateService;
+import edu.eflerrr.scrapper.service.OutboxService;
 import edu.eflerrr.scrapper.service.TgChatService;
-import edu.eflerrr.scrapper.service.UpdateSender;
 import edu.eflerrr.scrapper.service.jdbc.JdbcLinkService;
 import edu.eflerrr.scrapper.service.jdbc.JdbcLinkUpdateService;
+import edu.eflerrr.scrapper.service.jdbc.JdbcOutboxService;
 import edu.eflerrr.scrapper.service.jdbc.JdbcTgChatService;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdatePipeline;
 import java.util.Map;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 @ConditionalOnProperty(prefix = "app", name = "data-access-type", havingValue = "jdbc")
@@ -27,35 +30,41 @@ public class JdbcDataAccessConfiguration {
     public LinkService jdbcLinkServiceBean(
         ChatDao chatDao,
         LinkDao linkDao,
-        TrackingDao trackingDao
+        TrackingDao trackingDao,
+        LinkCheckSchedule linkCheckSchedule
     ) {
-        return new JdbcLinkService(chatDao, linkDao, trackingDao);
+        return new JdbcLinkService(chatDao, linkDao, trackingDao, linkCheckSchedule);
     }
 
     @Bean
     @SuppressWarnings("ParameterNumber")
     public LinkUpdateService jdbcLinkUpdateServiceBean(
-        UpdateSender updateSender,
-        GithubClient githubClient,
-        StackoverflowClient stackoverflowClient,
+        LinkUpdatePipeline pipeline,
+        TransactionTemplate transactionTemplate,
         LinkDao linkDao,
         TrackingDao trackingDao,
         BranchDao branchDao,
+        OutboxDao outboxDao,
         ApplicationConfig config,
         Map<String, Long> eventIds
     ) {
         return new JdbcLinkUpdateService(
-            updateSender,
-            githubClient,
-            stackoverflowClient,
+            pipeline,
+            transactionTemplate,
             linkDao,
             trackingDao,
             branchDao,
+            outboxDao,
             config,
             eventIds
         );
     }
 
+    @Bean
+    public OutboxService jdbcOutboxServiceBean(OutboxDao outboxDao) {
+        return new JdbcOutboxService(outboxDao);
+    }
+
     @Bean
     public TgChatService jdbcTgChatServiceBean(
         ChatDao chatDao,
@@ -1,49 +1,54 @@
 package edu.eflerrr.scrapper.configuration.dataaccess;
 
-import edu.eflerrr.scrapper.client.GithubClient;
-import edu.eflerrr.scrapper.client.StackoverflowClient;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
 import edu.eflerrr.scrapper.service.LinkService;
 import edu.eflerrr.scrapper.service.LinkUpdateService;
+import edu.eflerrr.scrapper.service.OutboxService;
 import edu.eflerrr.scrapper.service.TgChatService;
-import edu.eflerrr.scrapper.service.UpdateSender;
 import edu.eflerrr.scrapper.service.jooq.JooqLinkService;
 import edu.eflerrr.scrapper.service.jooq.JooqLinkUpdateService;
+import edu.eflerrr.scrapper.service.jooq.JooqOutboxService;
 import edu.eflerrr.scrapper.service.jooq.JooqTgChatService;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdatePipeline;
 import java.util.Map;
 import org.jooq.DSLContext;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 @ConditionalOnProperty(prefix = "app", name = "data-access-type", havingValue = "jooq")
 public class JooqDataAccessConfiguration {
 
     @Bean
-    public LinkService jooqLinkServiceBean(DSLContext dsl) {
-        return new JooqLinkService(dsl);
+    public LinkService jooqLinkServiceBean(DSLContext dsl, LinkCheckSchedule linkCheckSchedule) {
+        return new JooqLinkService(dsl, linkCheckSchedule);
     }
 
     @Bean
     public LinkUpdateService jooqLinkUpdateServiceBean(
-        UpdateSender updateSender,
-        GithubClient githubClient,
-        StackoverflowClient stackoverflowClient,
+        LinkUpdatePipeline pipeline,
+        TransactionTemplate transactionTemplate,
         DSLContext dsl,
         ApplicationConfig config,
         Map<String, Long> eventIds
     ) {
         return new JooqLinkUpdateService(
-            updateSender,
-            githubClient,
-            stackoverflowClient,
+            pipeline,
+            transactionTemplate,
             dsl,
             config,
             eventIds
         );
     }
 
+    @Bean
+    public OutboxService jooqOutboxServiceBean(DSLContext dsl) {
+        return new JooqOutboxService(dsl);
+    }
+
     @Bean
     public TgChatService jooqTgChatServiceBean(DSLContext dsl) {
         return new JooqTgChatService(dsl);
@@ -1,22 +1,25 @@
 package edu.eflerrr.scrapper.configuration.dataaccess;
 
-import edu.eflerrr.scrapper.client.GithubClient;
-import edu.eflerrr.scrapper.client.StackoverflowClient;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
 import edu.eflerrr.scrapper.domain.jpa.repository.BranchRepository;
 import edu.eflerrr.scrapper.domain.jpa.repository.ChatRepository;
 import edu.eflerrr.scrapper.domain.jpa.repository.LinkRepository;
+import edu.eflerrr.scrapper.domain.jpa.repository.OutboxEventRepository;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
 import edu.eflerrr.scrapper.service.LinkService;
 import edu.eflerrr.scrapper.service.LinkUpdateService;
+import edu.eflerrr.scrapper.service.OutboxService;
 import edu.eflerrr.scrapper.service.TgChatService;
-import edu.eflerrr.scrapper.service.UpdateSender;
 import edu.eflerrr.scrapper.service.jpa.JpaLinkService;
 import edu.eflerrr.scrapper.service.jpa.JpaLinkUpdateService;
+import edu.eflerrr.scrapper.service.jpa.JpaOutboxService;
 import edu.eflerrr.scrapper.service.jpa.JpaTgChatService;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdatePipeline;
 import java.util.Map;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 @ConditionalOnProperty(prefix = "app", name = "data-access-type", havingValue = "jpa")
@@ -25,32 +28,38 @@ public class JpaDataAccessConfiguration {
     @Bean
     public LinkService jpaLinkServiceBean(
         ChatRepository chatRepository,
-        LinkRepository linkRepository
+        LinkRepository linkRepository,
+        LinkCheckSchedule linkCheckSchedule
     ) {
-        return new JpaLinkService(chatRepository, linkRepository);
+        return new JpaLinkService(chatRepository, linkRepository, linkCheckSchedule);
     }
 
     @Bean
     public LinkUpdateService jpaLinkUpdateServiceBean(
+        LinkUpdatePipeline pipeline,
+        TransactionTemplate transactionTemplate,
         BranchRepository branchRepository,
         LinkRepository linkRepository,
-        UpdateSender updateSender,
-        GithubClient githubClient,
-        StackoverflowClient stackoverflowClient,
+        OutboxEventRepository outboxEventRepository,
         ApplicationConfig config,
         Map<String, Long> eventIds
     ) {
         return new JpaLinkUpdateService(
-            updateSender,
+            pipeline,
+            transactionTemplate,
             branchRepository,
             linkRepository,
-            githubClient,
-            stackoverflowClient,
+            outboxEventRepository,
             config,
             eventIds
         );
     }
 
+    @Bean
+    public OutboxService jpaOutboxServiceBean(OutboxEventRepository outboxEventRepository) {
+        return new JpaOutboxService(outboxEventRepository);
+    }
+
     @Bean
     public TgChatService jpaTgChatServiceBean(
         ChatRepository chatRepository,
@@ -2,6 +2,8 @@ package edu.eflerrr.scrapper.configuration.kafka;
 
 import edu.eflerrr.scrapper.client.dto.request.SendUpdateRequest;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
+import edu.eflerrr.scrapper.service.kafka.BinaryUpdateSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -11,40 +13,62 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+/**
+ * Producer of the update events. Records are batched for {@code linger} up to {@code batch-size} bytes
+ * and compressed per batch; with idempotence enabled retries keep the order of the records of one partition,
+ * and records are keyed by link id, so the updates of a link are delivered in order.
+ * When the buffer of {@code buffer-memory} bytes is full, sending blocks the caller for up to {@code max-block},
+ * which slows the notify stage or the outbox relay down to the rate the brokers accept, and fails after it.
+ * Values are written as JSON or in the compact {@link BinaryUpdateSerializer} format, see {@code format}.
+ * Producer metrics are bound to the meter registry.
+ */
 @Configuration
 @ConditionalOnProperty(prefix = "app", name = "use-queue", havingValue = "true")
 public class KafkaProducerConfig {
 
     private final String bootstrapAddress;
-    private final String clientId;
-    private final String acks;
+    private final ApplicationConfig.Kafka.Producer producer;
 
     @Autowired
     public KafkaProducerConfig(ApplicationConfig config) {
         this.bootstrapAddress = config.kafka().bootstrapServers();
-        this.clientId = config.kafka().producer().clientId();
-        this.acks = config.kafka().producer().acks();
+        this.producer = config.kafka().producer();
     }
 
     @Bean
-    public ProducerFactory<String, SendUpdateRequest> producerFactoryBean() {
-        return new DefaultKafkaProducerFactory<>(new HashMap<>() {
+    public ProducerFactory<String, SendUpdateRequest> producerFactoryBean(MeterRegistry meterRegistry) {
+        var factory = new DefaultKafkaProducerFactory<String, SendUpdateRequest>(new HashMap<>() {
             {
                 put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
-                put(ProducerConfig.CLIENT_ID_CONFIG, clientId);
-                put(ProducerConfig.ACKS_CONFIG, acks);
+                put(ProducerConfig.CLIENT_ID_CONFIG, producer.clientId());
+                put(ProducerConfig.ACKS_CONFIG, producer.acks());
+                put(ProducerConfig.BATCH_SIZE_CONFIG, producer.batchSize());
+                put(ProducerConfig.LINGER_MS_CONFIG, producer.linger().toMillis());
+                put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producer.compressionType());
+                put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, producer.enableIdempotence());
+                put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, producer.maxInFlightRequests());
+                put(ProducerConfig.BUFFER_MEMORY_CONFIG, producer.bufferMemory());
+                put(ProducerConfig.MAX_BLOCK_MS_CONFIG, producer.maxBlock().toMillis());
                 put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-                put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+                put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, switch (producer.format()) {
+                    case JSON -> JsonSerializer.class;
+                    case BINARY -> BinaryUpdateSerializer.class;
+                });
             }
         });
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, SendUpdateRequest> kafkaTemplateBean() {
-        return new KafkaTemplate<>(producerFactoryBean());
+    public KafkaTemplate<String, SendUpdateRequest> kafkaTemplateBean(
+        ProducerFactory<String, SendUpdateRequest> producerFactory
+    ) {
+        return new KafkaTemplate<>(producerFactory);
     }
 
 }
@@ -0,0 +1,62 @@
+package edu.eflerrr.scrapper.configuration.retry;
+
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Retry.ClientRetryProperties.BackoffPolicy;
+import edu.eflerrr.scrapper.exception.retry.RetryableRequestException;
+import java.time.Duration;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Reactive counterpart of {@link ConstantRetryTemplate}, {@link LinearRetryTemplate}
+ * and {@link ExponentialRetryTemplate}: retries only {@link RetryableRequestException}
+ * with the same attempt limit and backoff, but delays with a timer instead of sleeping the calling thread.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode(callSuper = false)
+public class BackoffRetry extends Retry {
+
+    private static final Duration MAX_EXPONENTIAL_INTERVAL = Duration.ofSeconds(30);
+
+    private final BackoffPolicy backoffPolicy;
+    private final long maxRetries;
+    private final Duration initialInterval;
+    private final double multiplier;
+
+    public BackoffRetry(BackoffPolicy backoffPolicy, int maxAttempts, Duration initialInterval, double multiplier) {
+        this.backoffPolicy = backoffPolicy;
+        this.maxRetries = maxAttempts < 0 ? Long.MAX_VALUE : Math.max(0, maxAttempts - 1);
+        this.initialInterval = initialInterval;
+        this.multiplier = multiplier;
+    }
+
+    private Duration interval(long retryIndex) {
+        return switch (backoffPolicy) {
+            case LINEAR -> initialInterval.multipliedBy(retryIndex + 1);
+            case EXPONENTIAL -> {
+                var millis = initialInterval.toMillis() * Math.pow(multiplier, retryIndex);
+                yield millis >= MAX_EXPONENTIAL_INTERVAL.toMillis()
+                    ? MAX_EXPONENTIAL_INTERVAL
+                    : Duration.ofMillis((long) millis);
+            }
+            default -> initialInterval;
+        };
+    }
+
+    @Override
+    public Publisher<?> generateCompanion(Flux<RetrySignal> retrySignals) {
+        return retrySignals.concatMap(signal -> {
+            if (!(signal.failure() instanceof RetryableRequestException) || signal.totalRetries() >= maxRetries) {
+                return Mono.error(signal.failure());
+            }
+            log.debug("[{}] Retrying..., attempt: {}", backoffPolicy, signal.totalRetries() + 1);
+            return Mono.delay(interval(signal.totalRetries()));
+        });
+    }
+
+}
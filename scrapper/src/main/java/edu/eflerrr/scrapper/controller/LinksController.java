@@ -1,6 +1,7 @@
 package edu.eflerrr.scrapper.controller;
 
 import edu.eflerrr.scrapper.controller.dto.request.AddLinkRequest;
+import edu.eflerrr.scrapper.controller.dto.request.LinkFilterRequest;
 import edu.eflerrr.scrapper.controller.dto.request.RemoveLinkRequest;
 import edu.eflerrr.scrapper.controller.dto.response.ApiErrorResponse;
 import edu.eflerrr.scrapper.controller.dto.response.LinkResponse;
@@ -12,6 +13,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.util.ArrayList;
 import lombok.RequiredArgsConstructor;
@@ -179,4 +181,54 @@ public class LinksController {
         );
     }
 
+    /**
+     * PUT /links/filter : Выбрать типы уведомлений по ссылке
+     *
+     * @param tgChatId          (required)
+     * @param linkFilterRequest (required)
+     * @return Фильтр успешно изменен (status code 200)
+     *     or Некорректные параметры запроса (status code 400)
+     *     or Ссылка не найдена (status code 404)
+     */
+    @Operation(
+        operationId = "linksFilterPut",
+        summary = "Выбрать типы уведомлений по ссылке",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Фильтр успешно изменен", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = LinkResponse.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Некорректные параметры запроса", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ApiErrorResponse.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Ссылка не найдена или чат не существует", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ApiErrorResponse.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.PUT,
+        value = "/links/filter",
+        produces = APPLICATION_JSON_VALUE,
+        consumes = APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<LinkResponse> linksFilterPut(
+        @NotNull
+        @Parameter(name = "Tg-Chat-Id", description = "id Telegram чата", required = true)
+        @RequestHeader(value = "Tg-Chat-Id", required = true)
+        Long tgChatId,
+        @Parameter(name = "LinkFilterRequest", description = "Ссылка и маска типов уведомлений", required = true)
+        @Valid
+        @RequestBody
+        LinkFilterRequest linkFilterRequest
+    ) {
+        var filteredLink = linkService.setEventMask(
+            tgChatId, linkFilterRequest.getLink(), linkFilterRequest.getEventMask()
+        );
+        return ResponseEntity.ok().body(
+            new LinkResponse()
+                .id(filteredLink.getId())
+                .url(filteredLink.getUrl())
+        );
+    }
+
 }
@@ -0,0 +1,69 @@
+package edu.eflerrr.scrapper.controller.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.net.URI;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * LinkFilterRequest
+ */
+
+@Setter
+@EqualsAndHashCode
+@ToString
+public class LinkFilterRequest {
+
+    @JsonProperty("link")
+    private URI link;
+
+    @JsonProperty("eventMask")
+    private Long eventMask;
+
+    public LinkFilterRequest link(URI link) {
+        this.link = link;
+        return this;
+    }
+
+    /**
+     * Get link
+     *
+     * @return link
+     */
+
+    @Schema(name = "link", example = "https://example.com")
+    public URI getLink() {
+        return link;
+    }
+
+    public LinkFilterRequest eventMask(Long eventMask) {
+        this.eventMask = eventMask;
+        return this;
+    }
+
+    /**
+     * Event types to notify about, bit {@code 1 << eventId} per type, -1 for all of them
+     *
+     * @return eventMask
+     */
+
+    @NotNull
+    @Schema(name = "eventMask", example = "4")
+    public Long getEventMask() {
+        return eventMask;
+    }
+
+    /**
+     * Convert the given object to string with each line indented by 4 spaces
+     * (except the first line).
+     */
+    private String toIndentedString(Object o) {
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n    ");
+    }
+}
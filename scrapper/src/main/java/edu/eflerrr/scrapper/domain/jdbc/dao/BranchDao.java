@@ -1,8 +1,11 @@
 package edu.eflerrr.scrapper.domain.jdbc.dao;
 
 import edu.eflerrr.scrapper.domain.jdbc.dto.Branch;
+import edu.eflerrr.scrapper.domain.jdbc.dto.BranchChanges;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -16,20 +19,20 @@ public class BranchDao {
     private final JdbcTemplate jdbcTemplate;
 
     public boolean exists(Branch branch) {
-        String countSql = """
-            SELECT COUNT(*) AS row_count\s
-            FROM "Branch"\s
-            WHERE link_id = ? AND repository_owner = ? AND repository_name = ? AND branch_name = ?
+        String sql = """
+            SELECT EXISTS (
+                SELECT 1 FROM "Branch"\s
+                WHERE link_id = ? AND repository_owner = ? AND repository_name = ? AND branch_name = ?
+            )
             """;
-        var rowCount = jdbcTemplate.queryForObject(
-            countSql,
-            Integer.class,
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            sql,
+            Boolean.class,
             branch.getLinkId(),
             branch.getRepositoryOwner(),
             branch.getRepositoryName(),
             branch.getBranchName()
-        );
-        return rowCount != null && rowCount == 1;
+        ));
     }
 
     public void add(Branch branch) {
@@ -48,21 +51,68 @@ public class BranchDao {
     }
 
     public void delete(Branch branch) {
-        if (!exists(branch)) {
-            throw new InvalidDataAccessResourceUsageException("Branch not found!");
-        }
-
         String sql = """
                 DELETE FROM "Branch"\s
                 WHERE link_id = ? AND repository_owner = ? AND repository_name = ? AND branch_name = ?
             """;
-        jdbcTemplate.update(
+        var deletedCount = jdbcTemplate.update(
             sql,
             branch.getLinkId(),
             branch.getRepositoryOwner(),
             branch.getRepositoryName(),
             branch.getBranchName()
         );
+        if (deletedCount == 0) {
+            throw new InvalidDataAccessResourceUsageException("Branch not found!");
+        }
+    }
+
+    /**
+     * Makes {@code lastCommitTimes} (keyed by branch name) the branch set of the link in a single statement:
+     * missing branches are inserted, branches absent from it are deleted, existing ones are kept as is.
+     */
+    @SuppressWarnings("MagicNumber")
+    public BranchChanges sync(Long linkId, String owner, String name, Map<String, OffsetDateTime> lastCommitTimes) {
+        String sql = """
+            WITH current_branch AS (
+                SELECT * FROM unnest(?::text[], ?::timestamptz[]) AS c(branch_name, last_commit_time)
+            ), deleted AS (
+                DELETE FROM "Branch"
+                WHERE link_id = ? AND branch_name NOT IN (SELECT branch_name FROM current_branch)
+                RETURNING branch_name
+            ), inserted AS (
+                INSERT INTO "Branch" (link_id, repository_owner, repository_name, branch_name, last_commit_time)
+                SELECT ?, ?, ?, branch_name, last_commit_time FROM current_branch
+                ON CONFLICT (link_id, branch_name) DO NOTHING
+                RETURNING branch_name
+            )
+            SELECT TRUE AS created, branch_name FROM inserted
+            UNION ALL
+            SELECT FALSE AS created, branch_name FROM deleted""";
+        var branchNames = lastCommitTimes.keySet().toArray(String[]::new);
+        var commitTimes = lastCommitTimes.values().stream()
+            .map(time -> time.toInstant().toString())
+            .toArray(String[]::new);
+        return jdbcTemplate.query(
+            connection -> {
+                var statement = connection.prepareStatement(sql);
+                statement.setArray(1, connection.createArrayOf("text", branchNames));
+                statement.setArray(2, connection.createArrayOf("text", commitTimes));
+                statement.setLong(3, linkId);
+                statement.setLong(4, linkId);
+                statement.setString(5, owner);
+                statement.setString(6, name);
+                return statement;
+            },
+            rs -> {
+                var changes = new BranchChanges(new ArrayList<>(), new ArrayList<>());
+                while (rs.next()) {
+                    (rs.getBoolean("created") ? changes.getCreated() : changes.getDeleted())
+                        .add(rs.getString("branch_name"));
+                }
+                return changes;
+            }
+        );
     }
 
     public List<Branch> findAll() {
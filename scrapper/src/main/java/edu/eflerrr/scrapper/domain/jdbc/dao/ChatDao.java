@@ -16,9 +16,8 @@ public class ChatDao {
     private final JdbcTemplate jdbcTemplate;
 
     public boolean exists(Chat chat) {
-        String countSql = "SELECT COUNT(*) AS row_count FROM \"Chat\" WHERE id = ? AND username = ?";
-        var rowCount = jdbcTemplate.queryForObject(countSql, Integer.class, chat.getId(), chat.getUsername());
-        return rowCount != null && rowCount == 1;
+        String sql = "SELECT EXISTS (SELECT 1 FROM \"Chat\" WHERE id = ? AND username = ?)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, chat.getId(), chat.getUsername()));
     }
 
     public void add(Chat chat) {
@@ -29,12 +28,10 @@ public class ChatDao {
     }
 
     public void delete(Chat chat) {
-        if (!exists(chat)) {
+        String sql = "DELETE FROM \"Chat\" WHERE id = ? AND username = ?";
+        if (jdbcTemplate.update(sql, chat.getId(), chat.getUsername()) == 0) {
             throw new InvalidDataAccessResourceUsageException("Chat not found!");
         }
-
-        String sql = "DELETE FROM \"Chat\" WHERE id = ? AND username = ?";
-        jdbcTemplate.update(sql, chat.getId(), chat.getUsername());
     }
 
     public List<Chat> findAll() {
@@ -1,11 +1,18 @@
 package edu.eflerrr.scrapper.domain.jdbc.dao;
 
 import edu.eflerrr.scrapper.domain.jdbc.dto.Link;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkState;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -24,9 +31,8 @@ public class LinkDao {
         if (link == null || link.getUrl() == null) {
             throw new NullPointerException("Link or URL is null!");
         }
-        String countSql = "SELECT COUNT(*) AS row_count FROM \"Link\" WHERE url = ?";
-        var rowCount = jdbcTemplate.queryForObject(countSql, Integer.class, link.getUrl().toString());
-        return rowCount != null && rowCount == 1;
+        String sql = "SELECT EXISTS (SELECT 1 FROM \"Link\" WHERE url = ?)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, link.getUrl().toString()));
     }
 
     public Long getId(Link link) {
@@ -68,25 +74,48 @@ public class LinkDao {
         if (link == null || link.getUrl() == null) {
             throw new NullPointerException("Link or URL is null!");
         }
-        String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+        String sql = """
+            INSERT INTO "Link" (url, created_at, checked_at, updated_at, resource_key)
+            VALUES (?, ?, ?, ?, ?)""";
         var currentTime = OffsetDateTime.now();
         jdbcTemplate.update(sql, link.getUrl().toString(),
             currentTime.withOffsetSameInstant(ZoneOffset.UTC),
             link.getCheckedAt(),
-            currentTime.withOffsetSameInstant(ZoneOffset.UTC)
+            currentTime.withOffsetSameInstant(ZoneOffset.UTC),
+            link.getResourceKey()
+        );
+    }
+
+    /**
+     * Adds the link unless one with its url exists, returns the id of the added link or {@code null}.
+     */
+    public Long addIfAbsent(Link link) {
+        if (link == null || link.getUrl() == null) {
+            throw new NullPointerException("Link or URL is null!");
+        }
+        String sql = """
+            INSERT INTO "Link" (url, created_at, checked_at, updated_at, resource_key)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (url) DO NOTHING
+            RETURNING id""";
+        var currentTime = OffsetDateTime.now();
+        var ids = jdbcTemplate.queryForList(sql, Long.class, link.getUrl().toString(),
+            currentTime.withOffsetSameInstant(ZoneOffset.UTC),
+            link.getCheckedAt(),
+            currentTime.withOffsetSameInstant(ZoneOffset.UTC),
+            link.getResourceKey()
         );
+        return ids.isEmpty() ? null : ids.getFirst();
     }
 
     public void delete(Link link) {
         if (link == null || link.getUrl() == null) {
             throw new NullPointerException("Link or URL is null!");
         }
-        if (!exists(link)) {
+        String sql = "DELETE FROM \"Link\" WHERE url = ?";
+        if (jdbcTemplate.update(sql, link.getUrl().toString()) == 0) {
             throw new InvalidDataAccessResourceUsageException("Link not found!");
         }
-
-        String sql = "DELETE FROM \"Link\" WHERE url = ?";
-        jdbcTemplate.update(sql, link.getUrl().toString());
     }
 
     public List<Link> findAll() {
@@ -107,47 +136,120 @@ public class LinkDao {
         );
     }
 
-    public List<Link> findAllWithFilter(Duration duration, OffsetDateTime currentTime) {
-        String filterSql =
-            "SELECT * FROM \"Link\" WHERE checked_at < (? - INTERVAL '" + duration.toSeconds() + " seconds')";
-        return jdbcTemplate.query(filterSql, (rs, rowNum) -> {
-                try {
-                    return new Link(
-                        rs.getLong("id"),
-                        new URI(rs.getString("url")),
-                        rs.getObject("created_at", OffsetDateTime.class),
-                        rs.getObject("checked_at", OffsetDateTime.class),
-                        rs.getObject("updated_at", OffsetDateTime.class)
-                    );
-                } catch (URISyntaxException ex) {
-                    throw new RuntimeException("Invalid URI in Database! Message: " + ex.getMessage());
-                }
-            }, currentTime.withOffsetSameInstant(ZoneOffset.UTC)
-        );
+    /**
+     * Earliest next check times of the links not leased at {@code currentTime}, a range of the next check index.
+     */
+    public List<LinkNextCheck> findNextChecks(OffsetDateTime currentTime, int limit) {
+        String sql = """
+            SELECT id, next_check_at FROM "Link"
+            WHERE leased_until IS NULL OR leased_until < ?
+            ORDER BY next_check_at NULLS FIRST
+            LIMIT ?""";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new LinkNextCheck(
+            rs.getLong("id"),
+            rs.getObject("next_check_at", OffsetDateTime.class)
+        ), currentTime.withOffsetSameInstant(ZoneOffset.UTC), limit);
     }
 
-    public void updateCheckedAt(Link link, OffsetDateTime newCheckedAt) {
-        if (link == null || link.getUrl() == null) {
-            throw new NullPointerException("Link or URL is null!");
-        }
-        if (!exists(link)) {
-            throw new InvalidDataAccessResourceUsageException("Link not found!");
-        }
+    public List<Link> claimDueLinks(OffsetDateTime currentTime, Duration leaseDuration, int limit, String owner) {
+        String claimSql = """
+            UPDATE "Link" SET lease_owner = ?, leased_until = ?
+            WHERE id IN (
+                SELECT id FROM "Link"
+                WHERE (next_check_at IS NULL OR next_check_at <= ?)
+                    AND (leased_until IS NULL OR leased_until < ?)
+                ORDER BY next_check_at NULLS FIRST
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *""";
+        return jdbcTemplate.query(
+            claimSql,
+            this::mapLink,
+            owner,
+            currentTime.plus(leaseDuration).withOffsetSameInstant(ZoneOffset.UTC),
+            currentTime.withOffsetSameInstant(ZoneOffset.UTC),
+            currentTime.withOffsetSameInstant(ZoneOffset.UTC),
+            limit
+        );
+    }
 
-        String sql = "UPDATE \"Link\" SET checked_at = ? WHERE url = ?";
-        jdbcTemplate.update(sql, newCheckedAt.withOffsetSameInstant(ZoneOffset.UTC), link.getUrl().toString());
+    /**
+     * Leases those of the given links that are due and not leased by another owner.
+     */
+    @SuppressWarnings("MagicNumber")
+    public List<Link> claimDueLinks(
+        Collection<Long> linkIds, OffsetDateTime currentTime, Duration leaseDuration, String owner
+    ) {
+        String claimSql = """
+            UPDATE "Link" SET lease_owner = ?, leased_until = ?
+            WHERE id IN (
+                SELECT id FROM "Link"
+                WHERE id = ANY(?)
+                    AND (next_check_at IS NULL OR next_check_at <= ?)
+                    AND (leased_until IS NULL OR leased_until < ?)
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *""";
+        return jdbcTemplate.query(claimSql, ps -> {
+            ps.setString(1, owner);
+            ps.setObject(2, currentTime.plus(leaseDuration).withOffsetSameInstant(ZoneOffset.UTC));
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", linkIds.toArray()));
+            ps.setObject(4, currentTime.withOffsetSameInstant(ZoneOffset.UTC));
+            ps.setObject(5, currentTime.withOffsetSameInstant(ZoneOffset.UTC));
+        }, this::mapLink);
     }
 
-    public void updateUpdatedAt(Link link, OffsetDateTime newUpdatedAt) {
-        if (link == null || link.getUrl() == null) {
-            throw new NullPointerException("Link or URL is null!");
-        }
-        if (!exists(link)) {
-            throw new InvalidDataAccessResourceUsageException("Link not found!");
+    private Link mapLink(ResultSet rs, int rowNum) throws SQLException {
+        try {
+            var link = new Link(
+                rs.getLong("id"),
+                new URI(rs.getString("url")),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("checked_at", OffsetDateTime.class),
+                rs.getObject("updated_at", OffsetDateTime.class)
+            );
+            var checkIntervalSeconds = rs.getObject("check_interval_seconds", Long.class);
+            if (checkIntervalSeconds != null) {
+                link.setCheckInterval(Duration.ofSeconds(checkIntervalSeconds));
+            }
+            link.setResourceKey(rs.getString("resource_key"));
+            link.setResponseFingerprint(rs.getObject("response_fingerprint", Long.class));
+            return link;
+        } catch (URISyntaxException ex) {
+            throw new RuntimeException("Invalid URI in Database! Message: " + ex.getMessage());
         }
+    }
 
-        String sql = "UPDATE \"Link\" SET updated_at = ? WHERE url = ?";
-        jdbcTemplate.update(sql, newUpdatedAt.withOffsetSameInstant(ZoneOffset.UTC), link.getUrl().toString());
+    /**
+     * Writes the states of links still leased by {@code leaseOwner} or whose lease expired, and releases
+     * the own leases. Returns the update count of every state in order, 0 for a link leased by another owner.
+     */
+    public int[] updateStates(List<LinkState> states, String leaseOwner) {
+        String sql = """
+            UPDATE "Link" SET
+                checked_at = ?,
+                updated_at = COALESCE(?, updated_at),
+                check_interval_seconds = ?,
+                next_check_at = ?,
+                response_fingerprint = COALESCE(?, response_fingerprint),
+                lease_owner = CASE WHEN lease_owner = ? THEN NULL ELSE lease_owner END,
+                leased_until = CASE WHEN lease_owner = ? THEN NULL ELSE leased_until END
+            WHERE id = ? AND (lease_owner = ? OR leased_until < now())""";
+        var counts = jdbcTemplate.batchUpdate(sql, states, states.size(), (ps, state) -> {
+            ps.setObject(1, state.getCheckedAt().withOffsetSameInstant(ZoneOffset.UTC));
+            ps.setObject(2, state.getUpdatedAt() == null
+                ? null
+                : state.getUpdatedAt().withOffsetSameInstant(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setLong(3, state.getCheckInterval().toSeconds());
+            ps.setObject(4, state.getNextCheckAt().withOffsetSameInstant(ZoneOffset.UTC));
+            ps.setObject(5, state.getFingerprint(), Types.BIGINT);
+            ps.setString(6, leaseOwner);
+            ps.setString(7, leaseOwner);
+            ps.setLong(8, state.getLinkId());
+            ps.setString(9, leaseOwner);
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
     }
 
 }
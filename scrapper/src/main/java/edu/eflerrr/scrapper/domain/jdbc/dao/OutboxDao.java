@@ -0,0 +1,112 @@
+package edu.eflerrr.scrapper.domain.jdbc.dao;
+
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import java.net.URI;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxDao {
+
+    private static final String BIGINT_TYPE = "bigint";
+    private static final String TEXT_TYPE = "text";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @SuppressWarnings("MagicNumber")
+    public void addAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String sql = """
+            INSERT INTO "Outbox" (link_id, event_id, url, description, tg_chat_ids, created_at,
+                listed_event_ids, listed_event_descriptions, omitted_events)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+        jdbcTemplate.batchUpdate(sql, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getLinkId());
+            ps.setLong(2, event.getEvent().id());
+            ps.setString(3, event.getUrl().toString());
+            ps.setString(4, event.getEvent().description());
+            ps.setArray(5, ps.getConnection().createArrayOf(
+                BIGINT_TYPE, Arrays.stream(event.getTgChatIds()).boxed().toArray()
+            ));
+            ps.setObject(6, event.getCreatedAt().withOffsetSameInstant(ZoneOffset.UTC));
+            ps.setArray(7, ps.getConnection().createArrayOf(BIGINT_TYPE, event.getEvent().eventIds()));
+            ps.setArray(8, ps.getConnection().createArrayOf(TEXT_TYPE, event.getEvent().eventDescriptions()));
+            ps.setInt(9, event.getEvent().omittedEvents());
+        });
+    }
+
+    /**
+     * Leases up to {@code limit} oldest events that are not leased by another relay, in insertion order.
+     */
+    public List<OutboxEvent> claim(OffsetDateTime currentTime, Duration leaseDuration, int limit) {
+        String sql = """
+            UPDATE "Outbox" SET leased_until = ?
+            WHERE id IN (
+                SELECT id FROM "Outbox"
+                WHERE leased_until IS NULL OR leased_until < ?
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *""";
+        var events = jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs),
+            currentTime.plus(leaseDuration).withOffsetSameInstant(ZoneOffset.UTC),
+            currentTime.withOffsetSameInstant(ZoneOffset.UTC),
+            limit
+        );
+        return events.stream()
+            .sorted(Comparator.comparing(OutboxEvent::getId))
+            .toList();
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String sql = "DELETE FROM \"Outbox\" WHERE id = ANY(?)";
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf(BIGINT_TYPE, ids.toArray()));
+            return statement;
+        });
+    }
+
+    public List<OutboxEvent> findAll() {
+        String sql = "SELECT * FROM \"Outbox\" ORDER BY id";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs));
+    }
+
+    private static OutboxEvent mapRow(ResultSet rs) throws SQLException {
+        Array tgChatIds = rs.getArray("tg_chat_ids");
+        return new OutboxEvent(
+            rs.getLong("id"),
+            rs.getObject("link_id", Long.class),
+            LinkEvent.of(
+                rs.getLong("event_id"),
+                rs.getString("description"),
+                (Long[]) rs.getArray("listed_event_ids").getArray(),
+                (String[]) rs.getArray("listed_event_descriptions").getArray(),
+                rs.getInt("omitted_events")
+            ),
+            URI.create(rs.getString("url")),
+            Arrays.stream((Long[]) tgChatIds.getArray()).mapToLong(Long::longValue).toArray(),
+            rs.getObject("created_at", OffsetDateTime.class)
+        );
+    }
+
+}
@@ -1,6 +1,8 @@
 package edu.eflerrr.scrapper.domain.jdbc.dao;
 
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkSubscriber;
 import edu.eflerrr.scrapper.domain.jdbc.dto.Tracking;
+import java.util.Collection;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
@@ -15,27 +17,26 @@ public class TrackingDao {
     private final JdbcTemplate jdbcTemplate;
 
     public boolean exists(Tracking tracking) {
-        String countSql = "SELECT COUNT(*) AS row_count FROM \"Tracking\" WHERE chat_id = ? AND link_id = ?";
-        var rowCount = jdbcTemplate.queryForObject(countSql, Integer.class, tracking.getChatId(), tracking.getLinkId());
-        return rowCount != null && rowCount == 1;
+        String sql = "SELECT EXISTS (SELECT 1 FROM \"Tracking\" WHERE chat_id = ? AND link_id = ?)";
+        return Boolean.TRUE.equals(
+            jdbcTemplate.queryForObject(sql, Boolean.class, tracking.getChatId(), tracking.getLinkId())
+        );
     }
 
     public void add(Tracking tracking) {
-        if (exists(tracking)) {
+        String sql = """
+            INSERT INTO "Tracking" (chat_id, link_id) VALUES (?, ?)
+            ON CONFLICT (chat_id, link_id) DO NOTHING""";
+        if (jdbcTemplate.update(sql, tracking.getChatId(), tracking.getLinkId()) == 0) {
             throw new InvalidDataAccessResourceUsageException("Tracking already exists!");
         }
-
-        String sql = "INSERT INTO \"Tracking\" (chat_id, link_id) VALUES (?, ?)";
-        jdbcTemplate.update(sql, tracking.getChatId(), tracking.getLinkId());
     }
 
     public void delete(Tracking tracking) {
-        if (!exists(tracking)) {
+        String sql = "DELETE FROM \"Tracking\" WHERE chat_id = ? AND link_id = ?";
+        if (jdbcTemplate.update(sql, tracking.getChatId(), tracking.getLinkId()) == 0) {
             throw new InvalidDataAccessResourceUsageException("Tracking not found!");
         }
-
-        String sql = "DELETE FROM \"Tracking\" WHERE chat_id = ? AND link_id = ?";
-        jdbcTemplate.update(sql, tracking.getChatId(), tracking.getLinkId());
     }
 
     public List<Tracking> findAll() {
@@ -60,6 +61,24 @@ public class TrackingDao {
         );
     }
 
+    public void setEventMask(Tracking tracking, long eventMask) {
+        String sql = "UPDATE \"Tracking\" SET event_mask = ? WHERE chat_id = ? AND link_id = ?";
+        if (jdbcTemplate.update(sql, eventMask, tracking.getChatId(), tracking.getLinkId()) == 0) {
+            throw new InvalidDataAccessResourceUsageException("Tracking not found!");
+        }
+    }
+
+    public List<LinkSubscriber> findSubscribers(Collection<Long> linkIds) {
+        String sql = "SELECT link_id, chat_id, event_mask FROM \"Tracking\" WHERE link_id = ANY(?)";
+        return jdbcTemplate.query(sql, (rs, rowNum) ->
+            new LinkSubscriber(
+                rs.getLong("link_id"),
+                rs.getLong("chat_id"),
+                rs.getLong("event_mask")
+            ), (Object) linkIds.toArray(Long[]::new)
+        );
+    }
+
     public List<Tracking> findAllByLinkId(Long linkId) {
         String sql = "SELECT * FROM \"Tracking\" WHERE link_id = ?";
         return jdbcTemplate.query(sql, (rs, rowNum) ->
@@ -0,0 +1,21 @@
+package edu.eflerrr.scrapper.domain.jdbc.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Names of the branches inserted and deleted by one branch synchronization of a link.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class BranchChanges {
+
+    private List<String> created;
+    private List<String> deleted;
+
+}
@@ -1,18 +1,18 @@
 package edu.eflerrr.scrapper.domain.jdbc.dto;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import static edu.eflerrr.scrapper.configuration.TimeConstants.MIN_DATE_TIME;
 
 @Getter
 @EqualsAndHashCode
 @ToString
-@AllArgsConstructor
 public class Link {
 
     private Long id;
@@ -20,6 +20,20 @@ public class Link {
     private OffsetDateTime createdAt;
     private OffsetDateTime checkedAt;
     private OffsetDateTime updatedAt;
+    @Setter
+    private Duration checkInterval;
+    @Setter
+    private String resourceKey;
+    @Setter
+    private Long responseFingerprint;
+
+    public Link(Long id, URI url, OffsetDateTime createdAt, OffsetDateTime checkedAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.url = url;
+        this.createdAt = createdAt;
+        this.checkedAt = checkedAt;
+        this.updatedAt = updatedAt;
+    }
 
     public Link(URI url) {
         this.id = null;
@@ -0,0 +1,18 @@
+package edu.eflerrr.scrapper.domain.jdbc.dto;
+
+import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class LinkNextCheck {
+
+    private Long linkId;
+    private OffsetDateTime nextCheckAt;
+
+}
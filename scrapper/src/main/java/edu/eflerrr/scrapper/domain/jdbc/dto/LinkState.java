@@ -0,0 +1,23 @@
+package edu.eflerrr.scrapper.domain.jdbc.dto;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class LinkState {
+
+    private Long linkId;
+    private OffsetDateTime checkedAt;
+    private OffsetDateTime updatedAt;
+    private Duration checkInterval;
+    private OffsetDateTime nextCheckAt;
+    private Long fingerprint;
+
+}
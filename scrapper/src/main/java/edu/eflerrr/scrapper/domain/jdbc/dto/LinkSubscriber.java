@@ -0,0 +1,18 @@
+package edu.eflerrr.scrapper.domain.jdbc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class LinkSubscriber {
+
+    private Long linkId;
+    private Long chatId;
+    private Long eventMask;
+
+}
@@ -0,0 +1,48 @@
+package edu.eflerrr.scrapper.domain.jdbc.dto;
+
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Link update waiting in the outbox to be relayed to the bot.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class OutboxEvent {
+
+    private Long id;
+    private Long linkId;
+    private LinkEvent event;
+    private URI url;
+    private long[] tgChatIds;
+    private OffsetDateTime createdAt;
+
+    public OutboxEvent(
+        Long linkId, LinkEvent event, URI url,
+        long[] tgChatIds, OffsetDateTime createdAt
+    ) {
+        this.id = null;
+        this.linkId = linkId;
+        this.event = event;
+        this.url = url;
+        this.tgChatIds = tgChatIds;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Id of the update derived from the outbox id, so that every relay of the event sends it under the same id.
+     */
+    public UUID getUpdateId() {
+        return UUID.nameUUIDFromBytes(("outbox:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
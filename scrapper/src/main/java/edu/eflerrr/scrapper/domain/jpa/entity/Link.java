@@ -42,6 +42,21 @@ public class Link {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
 
+    @Column(name = "check_interval_seconds")
+    private Long checkIntervalSeconds;
+
+    @Column(name = "next_check_at")
+    private OffsetDateTime nextCheckAt;
+
+    @Column(name = "resource_key", columnDefinition = "TEXT")
+    private String resourceKey;
+
+    @Column(name = "response_fingerprint")
+    private Long responseFingerprint;
+
+    @Column(name = "leased_until", insertable = false, updatable = false)
+    private OffsetDateTime leasedUntil;
+
     @ToString.Exclude
     @EqualsAndHashCode.Exclude()
     @ManyToMany(mappedBy = "links",
@@ -0,0 +1,60 @@
+package edu.eflerrr.scrapper.domain.jpa.entity;
+
+import edu.eflerrr.scrapper.domain.jpa.converter.UriConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Data
+@Entity
+@Table(name = "Outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "link_id")
+    private Long linkId;
+
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "url", columnDefinition = "TEXT")
+    @Convert(converter = UriConverter.class)
+    private URI url;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "tg_chat_ids")
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Long[] tgChatIds;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "leased_until")
+    private OffsetDateTime leasedUntil;
+
+    @Column(name = "listed_event_ids")
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Long[] listedEventIds;
+
+    @Column(name = "listed_event_descriptions")
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private String[] listedEventDescriptions;
+
+    @Column(name = "omitted_events")
+    private int omittedEvents;
+
+}
@@ -1,6 +1,7 @@
 package edu.eflerrr.scrapper.domain.jpa.entity;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
@@ -32,4 +33,7 @@ public class Tracking {
     @JoinColumn(name = "link_id")
     private Link link;
 
+    @Column(name = "event_mask")
+    private Long eventMask;
+
 }
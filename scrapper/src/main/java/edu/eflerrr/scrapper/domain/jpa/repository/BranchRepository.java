@@ -1,15 +1,42 @@
 package edu.eflerrr.scrapper.domain.jpa.repository;
 
 import edu.eflerrr.scrapper.domain.jpa.entity.Branch;
-import edu.eflerrr.scrapper.domain.jpa.entity.Link;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface BranchRepository extends JpaRepository<Branch, Long> {
 
-    void deleteBranchesByLinkAndRepositoryOwnerAndRepositoryNameAndBranchName(
-        Link link, String owner, String username, String branchName
+    /**
+     * Inserts missing branches of the link and deletes the gone ones in one statement.
+     * Returns {@code (created, branch_name)} rows of the changed branches.
+     */
+    @Query(value = """
+        WITH current_branch AS (
+            SELECT * FROM unnest(CAST(:branchNames AS text[]), CAST(:lastCommitTimes AS timestamptz[]))
+                AS c(branch_name, last_commit_time)
+        ), deleted AS (
+            DELETE FROM "Branch"
+            WHERE link_id = :linkId AND branch_name NOT IN (SELECT branch_name FROM current_branch)
+            RETURNING branch_name
+        ), inserted AS (
+            INSERT INTO "Branch" (link_id, repository_owner, repository_name, branch_name, last_commit_time)
+            SELECT :linkId, :owner, :name, branch_name, last_commit_time FROM current_branch
+            ON CONFLICT (link_id, branch_name) DO NOTHING
+            RETURNING branch_name
+        )
+        SELECT TRUE AS created, branch_name FROM inserted
+        UNION ALL
+        SELECT FALSE AS created, branch_name FROM deleted""", nativeQuery = true)
+    List<Object[]> syncBranches(
+        @Param("linkId") Long linkId,
+        @Param("owner") String owner,
+        @Param("name") String name,
+        @Param("branchNames") String[] branchNames,
+        @Param("lastCommitTimes") String[] lastCommitTimes
     );
 
 }
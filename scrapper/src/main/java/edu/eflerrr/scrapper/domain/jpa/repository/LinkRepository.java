@@ -1,18 +1,104 @@
 package edu.eflerrr.scrapper.domain.jpa.repository;
 
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkSubscriber;
 import edu.eflerrr.scrapper.domain.jpa.entity.Link;
 import java.net.URI;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface LinkRepository extends JpaRepository<Link, Long> {
 
     Optional<Link> findLinkByUrl(URI url);
 
-    Set<Link> findLinksByCheckedAtBefore(OffsetDateTime threshold);
+    @Query("""
+        SELECT new edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck(l.id, l.nextCheckAt)
+        FROM Link l WHERE l.leasedUntil IS NULL OR l.leasedUntil < :currentTime
+        ORDER BY l.nextCheckAt ASC NULLS FIRST""")
+    List<LinkNextCheck> findNextChecks(@Param("currentTime") OffsetDateTime currentTime, Pageable pageable);
+
+    @Query("""
+        SELECT new edu.eflerrr.scrapper.domain.jdbc.dto.LinkSubscriber(t.link.id, t.chat.id, t.eventMask)
+        FROM Tracking t WHERE t.link.id IN :linkIds""")
+    List<LinkSubscriber> findSubscribers(@Param("linkIds") Collection<Long> linkIds);
+
+    @Modifying
+    @Query("""
+        UPDATE Tracking t SET t.eventMask = :eventMask
+        WHERE t.chat.id = :chatId AND t.link.id = :linkId""")
+    int updateEventMask(
+        @Param("chatId") Long chatId,
+        @Param("linkId") Long linkId,
+        @Param("eventMask") long eventMask
+    );
+
+    /**
+     * Leases up to {@code limit} due links not leased by another owner and returns them.
+     * The statement writes, so it runs in its own read-write transaction; the returned links are detached.
+     */
+    @Transactional
+    @Query(value = """
+        UPDATE "Link" SET lease_owner = :owner, leased_until = :leasedUntil
+        WHERE id IN (
+            SELECT id FROM "Link"
+            WHERE (next_check_at IS NULL OR next_check_at <= :currentTime)
+                AND (leased_until IS NULL OR leased_until < :currentTime)
+            ORDER BY next_check_at NULLS FIRST
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING *""", nativeQuery = true)
+    List<Link> claimDueLinks(
+        @Param("currentTime") OffsetDateTime currentTime,
+        @Param("leasedUntil") OffsetDateTime leasedUntil,
+        @Param("limit") int limit,
+        @Param("owner") String owner
+    );
+
+    /**
+     * Leases those of the given links that are due and not leased by another owner, like the batch claim.
+     */
+    @Transactional
+    @Query(value = """
+        UPDATE "Link" SET lease_owner = :owner, leased_until = :leasedUntil
+        WHERE id IN (
+            SELECT id FROM "Link"
+            WHERE id IN (:ids)
+                AND (next_check_at IS NULL OR next_check_at <= :currentTime)
+                AND (leased_until IS NULL OR leased_until < :currentTime)
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING *""", nativeQuery = true)
+    List<Link> claimDueLinks(
+        @Param("ids") Collection<Long> ids,
+        @Param("currentTime") OffsetDateTime currentTime,
+        @Param("leasedUntil") OffsetDateTime leasedUntil,
+        @Param("owner") String owner
+    );
+
+    /**
+     * Locks those of the links still leased by {@code owner} or whose lease expired, returns their ids.
+     */
+    @Query(value = """
+        SELECT id FROM "Link"
+        WHERE id IN (:ids) AND (lease_owner = :owner OR leased_until < now())
+        FOR UPDATE""", nativeQuery = true)
+    List<Long> lockLeased(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    @Modifying
+    @Query(value = """
+        UPDATE "Link" SET lease_owner = NULL, leased_until = NULL
+        WHERE id IN (:ids) AND lease_owner = :owner""", nativeQuery = true)
+    void releaseLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
 
 }
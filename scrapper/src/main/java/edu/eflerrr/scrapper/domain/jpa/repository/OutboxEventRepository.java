@@ -0,0 +1,30 @@
+package edu.eflerrr.scrapper.domain.jpa.repository;
+
+import edu.eflerrr.scrapper.domain.jpa.entity.OutboxEvent;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = """
+        UPDATE "Outbox" SET leased_until = :leasedUntil
+        WHERE id IN (
+            SELECT id FROM "Outbox"
+            WHERE leased_until IS NULL OR leased_until < :currentTime
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING *""", nativeQuery = true)
+    List<OutboxEvent> claim(
+        @Param("currentTime") OffsetDateTime currentTime,
+        @Param("leasedUntil") OffsetDateTime leasedUntil,
+        @Param("limit") int limit
+    );
+
+}
@@ -0,0 +1,7 @@
+package edu.eflerrr.scrapper.exception;
+
+public class RateLimitExhaustedException extends RuntimeException {
+    public RateLimitExhaustedException(String message) {
+        super(message);
+    }
+}
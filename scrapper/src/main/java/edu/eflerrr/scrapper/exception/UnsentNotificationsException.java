@@ -0,0 +1,15 @@
+package edu.eflerrr.scrapper.exception;
+
+import edu.eflerrr.scrapper.service.pipeline.LinkCheck;
+import java.util.Set;
+import lombok.Getter;
+
+@Getter
+public class UnsentNotificationsException extends RuntimeException {
+    private final transient Set<LinkCheck<?>> checks;
+
+    public UnsentNotificationsException(String message, Set<LinkCheck<?>> checks) {
+        super(message);
+        this.checks = checks;
+    }
+}
@@ -0,0 +1,181 @@
+package edu.eflerrr.scrapper.scheduler;
+
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory window of the links' next check times, so the scheduler can wake up exactly
+ * when the earliest link becomes due instead of scanning the table at a fixed rate.
+ * Only the {@code window-size} earliest links are kept: the window is loaded with {@link #reload}
+ * from the {@code next_check_at} index, links scheduled past its last entry are left in the database,
+ * and once the window runs empty {@link #awaitDue} returns no links, so that the next range is loaded.
+ * A rescheduled link replaces its previous entry. Changes made inside a transaction are applied after it commits.
+ * Reloading merges the loaded times into the window: a link rescheduled after the load started
+ * keeps its time, since the loaded one may already be stale.
+ */
+public class LinkCheckSchedule {
+
+    private final int windowSize;
+    private final NavigableSet<Entry> queue = new TreeSet<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private Instant horizon;
+
+    public LinkCheckSchedule(int windowSize) {
+        this.windowSize = Math.max(1, windowSize);
+    }
+
+    public int windowSize() {
+        return windowSize;
+    }
+
+    public void schedule(long linkId, OffsetDateTime nextCheckAt) {
+        var dueAt = dueAt(nextCheckAt);
+        afterCommit(() -> offer(new Entry(linkId, dueAt, version.incrementAndGet())));
+    }
+
+    public void cancel(long linkId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(linkId);
+            }
+        });
+    }
+
+    /**
+     * Version of the schedule, taken before loading next check times to pass to {@link #reload}.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Replaces the window with the earliest next check times loaded from the database, in {@code next_check_at}
+     * order, right away regardless of the current transaction. Links scheduled after {@code loadedAt}
+     * (a {@link #version()}) keep their scheduled time. Fewer than {@code window-size} loaded links
+     * mean the window holds every link.
+     */
+    public synchronized void reload(List<LinkNextCheck> nextChecks, long loadedAt) {
+        var scheduled = entries.values().stream()
+            .filter(entry -> entry.version() > loadedAt)
+            .toList();
+        queue.clear();
+        entries.clear();
+        horizon = null;
+        for (var nextCheck : nextChecks) {
+            put(new Entry(nextCheck.getLinkId(), dueAt(nextCheck.getNextCheckAt()), loadedAt));
+        }
+        if (nextChecks.size() >= windowSize) {
+            horizon = queue.last().dueAt();
+        }
+        scheduled.forEach(this::offer);
+        trim();
+        notifyAll();
+    }
+
+    /**
+     * Blocks until at least one link is due and removes all links that are due by then.
+     *
+     * @return ids of the due links, empty if the window ran out and has to be reloaded
+     */
+    public synchronized List<Long> awaitDue() throws InterruptedException {
+        while (true) {
+            var now = Instant.now();
+            if (queue.isEmpty()) {
+                if (horizon != null) {
+                    return List.of();
+                }
+                wait();
+            } else if (queue.first().dueAt().isAfter(now)) {
+                wait(Math.max(1, Duration.between(now, queue.first().dueAt()).toMillis()));
+            } else {
+                var dueLinks = new ArrayList<Long>();
+                while (!queue.isEmpty() && !queue.first().dueAt().isAfter(now)) {
+                    var entry = queue.pollFirst();
+                    entries.remove(entry.linkId());
+                    dueLinks.add(entry.linkId());
+                }
+                return dueLinks;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void offer(Entry entry) {
+        remove(entry.linkId());
+        if (horizon != null && !entry.dueAt().isBefore(horizon)) {
+            return;
+        }
+        put(entry);
+        trim();
+        notifyAll();
+    }
+
+    private void put(Entry entry) {
+        entries.put(entry.linkId(), entry);
+        queue.add(entry);
+    }
+
+    private void remove(long linkId) {
+        var entry = entries.remove(linkId);
+        if (entry != null) {
+            queue.remove(entry);
+        }
+    }
+
+    /**
+     * Drops the latest entries over the window size; they stay in the database until the window is reloaded.
+     */
+    private void trim() {
+        while (queue.size() > windowSize) {
+            var entry = queue.pollLast();
+            entries.remove(entry.linkId());
+            horizon = entry.dueAt();
+        }
+    }
+
+    private static Instant dueAt(OffsetDateTime nextCheckAt) {
+        return nextCheckAt == null ? Instant.now() : nextCheckAt.toInstant();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Entry(long linkId, Instant dueAt, long version) implements Comparable<Entry> {
+
+        private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::dueAt)
+            .thenComparingLong(Entry::linkId);
+
+        @Override
+        public int compareTo(Entry other) {
+            return ORDER.compare(this, other);
+        }
+
+    }
+
+}
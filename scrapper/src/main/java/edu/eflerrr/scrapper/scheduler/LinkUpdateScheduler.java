@@ -2,22 +2,71 @@ package edu.eflerrr.scrapper.scheduler;
 
 import edu.eflerrr.scrapper.service.LinkUpdateService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Checks the links of the {@link LinkCheckSchedule} as soon as they become due.
+ * The window of the earliest links is loaded from the database at startup, whenever it runs empty
+ * and every {@code scheduler.interval}, which also picks up links added or rescheduled by other instances.
+ */
 @Component
 @RequiredArgsConstructor
 @EnableScheduling
 @ConditionalOnProperty(value = "app.scheduler.enable", havingValue = "true")
-public class LinkUpdateScheduler {
+@Slf4j
+public class LinkUpdateScheduler implements SmartLifecycle {
 
     private final LinkUpdateService linkUpdateService;
+    private final LinkCheckSchedule linkCheckSchedule;
+    private volatile Thread dispatcher;
 
     @Scheduled(fixedRateString = "#{@scheduler.interval}")
-    public void update() {
-        linkUpdateService.update();
+    public void reconcile() {
+        var loadedAt = linkCheckSchedule.version();
+        linkCheckSchedule.reload(linkUpdateService.findNextChecks(linkCheckSchedule.windowSize()), loadedAt);
+        log.debug("LinkUpdateScheduler: reconciled schedule, links - {}", linkCheckSchedule.size());
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                var dueLinks = linkCheckSchedule.awaitDue();
+                if (dueLinks.isEmpty()) {
+                    reconcile();
+                } else {
+                    log.debug("LinkUpdateScheduler: due links - {}", dueLinks.size());
+                    linkUpdateService.update(dueLinks);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.error("Error during scheduled link update: {}", ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        dispatcher = Thread.ofPlatform()
+            .name("link-update-dispatcher")
+            .daemon()
+            .start(this::dispatch);
+    }
+
+    @Override
+    public void stop() {
+        dispatcher.interrupt();
+        dispatcher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
     }
 
 }
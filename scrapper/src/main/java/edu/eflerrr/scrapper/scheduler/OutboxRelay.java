@@ -0,0 +1,105 @@
+package edu.eflerrr.scrapper.scheduler;
+
+import edu.eflerrr.scrapper.configuration.ApplicationConfig;
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.service.OutboxService;
+import edu.eflerrr.scrapper.service.UpdateSender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers the link updates written to the outbox: claims up to {@code outbox.batch-size} of the oldest events,
+ * sends them with one {@link UpdateSender#sendUpdates} call and deletes them once they are delivered.
+ * Full batches are sent back to back; after a partial one the relay lingers for {@code outbox.linger},
+ * so that updates of the next checks accumulate into a larger batch.
+ * Events of a failed batch stay leased for {@code outbox.lease-duration} and are sent again after it,
+ * so every update is delivered at least once.
+ */
+@Component
+@ConditionalOnProperty(value = "app.outbox.enable", havingValue = "true")
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxService outboxService;
+    private final UpdateSender updateSender;
+    private final int batchSize;
+    private final Duration linger;
+    private final Duration leaseDuration;
+    private final Counter relayedEvents;
+    private volatile Thread relay;
+
+    public OutboxRelay(
+        OutboxService outboxService,
+        UpdateSender updateSender,
+        ApplicationConfig config,
+        MeterRegistry registry
+    ) {
+        this.outboxService = outboxService;
+        this.updateSender = updateSender;
+        this.batchSize = config.outbox().batchSize();
+        this.linger = config.outbox().linger();
+        this.leaseDuration = config.outbox().leaseDuration();
+        this.relayedEvents = registry.counter("outbox_relayed_events_total");
+    }
+
+    /**
+     * Relays one batch, returns the number of delivered events.
+     */
+    public int relay() {
+        var events = outboxService.claim(batchSize, leaseDuration);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        updateSender.sendUpdates(events);
+        outboxService.delete(events.stream()
+            .map(OutboxEvent::getId)
+            .toList());
+        relayedEvents.increment(events.size());
+        log.debug("OutboxRelay: relayed events - {}", events.size());
+        return events.size();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            int relayed;
+            try {
+                relayed = relay();
+            } catch (RuntimeException ex) {
+                log.error("Error during outbox relay: {}", ex.getMessage());
+                relayed = 0;
+            }
+            if (relayed < batchSize) {
+                try {
+                    Thread.sleep(linger);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        relay = Thread.ofPlatform()
+            .name("outbox-relay")
+            .daemon()
+            .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        relay.interrupt();
+        relay = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return relay != null;
+    }
+
+}
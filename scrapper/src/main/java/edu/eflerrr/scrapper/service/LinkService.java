@@ -12,4 +12,9 @@ public interface LinkService {
 
     List<Link> listAll(long tgChatId);
 
+    /**
+     * Sets the event types the chat is notified about for the link, bit {@code 1 << eventId} per type.
+     */
+    Link setEventMask(long tgChatId, URI url, long eventMask);
+
 }
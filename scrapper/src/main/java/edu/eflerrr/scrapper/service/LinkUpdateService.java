@@ -1,7 +1,21 @@
 package edu.eflerrr.scrapper.service;
 
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
+import java.util.Collection;
+import java.util.List;
+
 public interface LinkUpdateService {
 
     int update();
 
+    /**
+     * Checks those of the given links that are due and not leased by another instance.
+     */
+    int update(Collection<Long> linkIds);
+
+    /**
+     * Up to {@code limit} earliest next check times of the links that are not leased, in next check order.
+     */
+    List<LinkNextCheck> findNextChecks(int limit);
+
 }
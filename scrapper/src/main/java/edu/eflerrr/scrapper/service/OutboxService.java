@@ -0,0 +1,18 @@
+package edu.eflerrr.scrapper.service;
+
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxService {
+
+    /**
+     * Leases up to {@code limit} oldest events for {@code leaseDuration}, so that other relays skip them.
+     * Events of a relay that failed before deleting them are claimed again once their lease expires.
+     */
+    List<OutboxEvent> claim(int limit, Duration leaseDuration);
+
+    void delete(Collection<Long> ids);
+
+}
@@ -1,10 +1,37 @@
 package edu.eflerrr.scrapper.service;
 
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
 import java.net.URI;
 import java.util.List;
+import java.util.UUID;
 
 public interface UpdateSender {
 
-    void sendUpdate(Long id, URI url, String description, List<Long> tgChatIds);
+    /**
+     * Sends an update of the link under a new update id.
+     */
+    default void sendUpdate(Long linkId, LinkEvent event, URI url, long[] tgChatIds) {
+        sendUpdate(linkId, UUID.randomUUID(), event, url, tgChatIds);
+    }
+
+    /**
+     * Sends an update of the link, {@code linkId} is only used to keep the updates of one link in order.
+     * Every chunk of the update carries {@code updateId}, so the bot skips the chunks it already received
+     * when the update is sent again under the same id.
+     */
+    void sendUpdate(Long linkId, UUID updateId, LinkEvent event, URI url, long[] tgChatIds);
+
+    /**
+     * Sends a batch of updates and returns once all of them are delivered,
+     * so that the caller can drop them from the outbox.
+     */
+    default void sendUpdates(List<OutboxEvent> events) {
+        for (var event : events) {
+            sendUpdate(
+                event.getLinkId(), event.getUpdateId(), event.getEvent(), event.getUrl(), event.getTgChatIds()
+            );
+        }
+    }
 
 }
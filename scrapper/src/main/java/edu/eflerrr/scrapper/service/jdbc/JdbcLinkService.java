@@ -9,7 +9,9 @@ import edu.eflerrr.scrapper.domain.jdbc.dto.Tracking;
 import edu.eflerrr.scrapper.exception.DuplicateLinkPostException;
 import edu.eflerrr.scrapper.exception.LinkNotFoundException;
 import edu.eflerrr.scrapper.exception.TgChatNotExistException;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
 import edu.eflerrr.scrapper.service.LinkService;
+import edu.eflerrr.scrapper.service.pipeline.LinkResourceKey;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +27,7 @@ public class JdbcLinkService implements LinkService {
     private final ChatDao chatDao;
     private final LinkDao linkDao;
     private final TrackingDao trackingDao;
+    private final LinkCheckSchedule linkCheckSchedule;
     private final String autoUsernamePrefix = "auto-username@";
     private final String chatNotFoundErrorMessage = "Chat not found!";
 
@@ -38,11 +41,13 @@ public class JdbcLinkService implements LinkService {
             throw new TgChatNotExistException(chatNotFoundErrorMessage);
         }
         var link = new Link(url);
-        if (!linkDao.exists(link)) {
-            linkDao.add(link);
+        link.setResourceKey(LinkResourceKey.of(url));
+        var newLinkId = linkDao.addIfAbsent(link);
+        if (newLinkId != null) {
+            linkCheckSchedule.schedule(newLinkId, null);
         }
         try {
-            var linkId = linkDao.getId(link);
+            var linkId = newLinkId != null ? newLinkId : linkDao.getId(link);
             trackingDao.add(
                 new Tracking(
                     tgChatId, linkId
@@ -82,6 +87,7 @@ public class JdbcLinkService implements LinkService {
         var deletedLink = linkDao.getLinkById(linkId);
         if (trackingDao.findAllByLinkId(linkId).isEmpty()) {
             linkDao.delete(link);
+            linkCheckSchedule.cancel(linkId);
         }
         return deletedLink;
     }
@@ -101,4 +107,27 @@ public class JdbcLinkService implements LinkService {
         );
     }
 
+    @Override
+    @Transactional
+    public Link setEventMask(long tgChatId, URI url, long eventMask) {
+        log.debug("SET-EVENT-MASK IN LINK-SERVICE (JDBC): tgChatId: {}, url: {}, mask: {}", tgChatId, url, eventMask);
+        Long linkId;
+        try {
+            linkId = linkDao.getId(new Link(url));
+        } catch (InvalidDataAccessResourceUsageException ex) {
+            throw new LinkNotFoundException(ex.getMessage());
+        }
+        if (!chatDao.exists(
+            new Chat(tgChatId, autoUsernamePrefix + tgChatId)
+        )) {
+            throw new TgChatNotExistException(chatNotFoundErrorMessage);
+        }
+        try {
+            trackingDao.setEventMask(new Tracking(tgChatId, linkId), eventMask);
+        } catch (InvalidDataAccessResourceUsageException ex) {
+            throw new LinkNotFoundException(ex.getMessage());
+        }
+        return linkDao.getLinkById(linkId);
+    }
+
 }
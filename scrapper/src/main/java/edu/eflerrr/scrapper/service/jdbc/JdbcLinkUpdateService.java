@@ -1,194 +1,187 @@
 package edu.eflerrr.scrapper.service.jdbc;
 
-import edu.eflerrr.scrapper.client.GithubClient;
-import edu.eflerrr.scrapper.client.StackoverflowClient;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
 import edu.eflerrr.scrapper.domain.jdbc.dao.BranchDao;
 import edu.eflerrr.scrapper.domain.jdbc.dao.LinkDao;
+import edu.eflerrr.scrapper.domain.jdbc.dao.OutboxDao;
 import edu.eflerrr.scrapper.domain.jdbc.dao.TrackingDao;
-import edu.eflerrr.scrapper.domain.jdbc.dto.Branch;
 import edu.eflerrr.scrapper.domain.jdbc.dto.Link;
-import edu.eflerrr.scrapper.domain.jdbc.dto.Tracking;
-import edu.eflerrr.scrapper.exception.InvalidDataException;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
 import edu.eflerrr.scrapper.service.LinkUpdateService;
-import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.LinkCheck;
+import edu.eflerrr.scrapper.service.pipeline.LinkResourceKey;
+import edu.eflerrr.scrapper.service.pipeline.LinkSubscribers;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdatePipeline;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdateStages;
+import java.net.URI;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.QUESTION_UNKNOWN_UPDATE;
-import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_CREATE;
-import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_DELETE;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_PUSH;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_UPDATE;
 import static edu.eflerrr.scrapper.configuration.TimeConstants.MIN_DATE_TIME;
 
 @RequiredArgsConstructor
 @Slf4j
-public class JdbcLinkUpdateService implements LinkUpdateService {
+public class JdbcLinkUpdateService implements LinkUpdateService, LinkUpdateStages<Link> {
 
-    private final UpdateSender updateSender;
-    private final GithubClient githubClient;
-    private final StackoverflowClient stackoverflowClient;
+    private final LinkUpdatePipeline pipeline;
+    private final TransactionTemplate transactionTemplate;
     private final LinkDao linkDao;
     private final TrackingDao trackingDao;
     private final BranchDao branchDao;
+    private final OutboxDao outboxDao;
     private final ApplicationConfig config;
     private final Map<String, Long> eventIds;
+    private final String leaseOwner = UUID.randomUUID().toString();
 
-    @Transactional
-    protected boolean checkGithubUrl(Link link) {
-        var updateStatus = false;
+    private void diffGithub(LinkCheck<Link> check) {
+        var link = check.getLink();
         var url = link.getUrl();
-        var username = url.getPath().split("/")[1];
-        var repository = url.getPath().split("/")[2];
-        var response = githubClient.fetchResponse(username, repository);
-        log.debug("LinkUpdateService: get github response, link: {}, response: {}", url, response);
+        var response = check.getGithubResponse();
         if (response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(link.getUpdatedAt())) {
-            var tgChatIds = new ArrayList<>(
-                trackingDao.findAllByLinkId(link.getId()).stream()
-                    .map(Tracking::getChatId)
-                    .toList()
-            );
             log.debug("LinkUpdateService: sending github update, link: {}, reason: repository update", url);
-            updateSender.sendUpdate(
-                REPOSITORY_UPDATE, url,
-                "repository update -> " + response.getLastUpdate(),
-                tgChatIds
-            );
-            linkDao.updateUpdatedAt(link, response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC));
-            updateStatus = true;
+            check.addEvent(REPOSITORY_UPDATE, "repository update -> " + response.getLastUpdate());
+            check.advanceUpdatedAt(response.getLastUpdate());
         }
         if (response.getPushUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(link.getUpdatedAt())) {
-            var tgChatIds = new ArrayList<>(
-                trackingDao.findAllByLinkId(link.getId()).stream()
-                    .map(Tracking::getChatId)
-                    .toList()
-            );
             log.debug("LinkUpdateService: sending github update, link: {}, reason: repository push", url);
-            updateSender.sendUpdate(
-                REPOSITORY_PUSH, url,
-                "repository push -> " + response.getPushUpdate(),
-                tgChatIds
-            );
-            linkDao.updateUpdatedAt(link, response.getPushUpdate().withOffsetSameInstant(ZoneOffset.UTC));
-            updateStatus = true;
-        }
-        var branches = response.getBranches();
-        var dbBranches = new HashSet<>(branchDao.findAllByOwnerAndName(username, repository).stream()
-            .map(Branch::getBranchName)
-            .toList());
-        for (var branch : branches) {
-            if (dbBranches.contains(branch.name())) {
-                dbBranches.remove(branch.name());
-            } else {
-                branchDao.add(new Branch(
-                    link.getId(), username, repository, branch.name(), branch.lastCommitTime()
-                ));
-                if (!link.getCheckedAt().equals(MIN_DATE_TIME)) {
-                    log.debug(
-                        "LinkUpdateService: sending github update, link: {}, reason: new branch -> {}",
-                        url, branch.name()
-                    );
-                    updateSender.sendUpdate(
-                        REPOSITORY_BRANCH_CREATE, url,
-                        "new branch -> " + branch.name(),
-                        new ArrayList<>(
-                            trackingDao.findAllByLinkId(link.getId()).stream()
-                                .map(Tracking::getChatId)
-                                .toList()
-                        )
-                    );
-                    updateStatus = true;
-                }
-            }
-        }
-        if (!dbBranches.isEmpty()) {
-            for (var branchName : dbBranches) {
-                branchDao.delete(new Branch(link.getId(), username, repository, branchName, null));
-                if (!link.getCheckedAt().equals(MIN_DATE_TIME)) {
-                    log.debug(
-                        "LinkUpdateService: sending github update, link: {}, reason: branch deleted -> {}",
-                        url, branchName
-                    );
-                    updateSender.sendUpdate(
-                        REPOSITORY_BRANCH_DELETE, url,
-                        "branch deleted -> " + branchName,
-                        new ArrayList<>(
-                            trackingDao.findAllByLinkId(link.getId()).stream()
-                                .map(Tracking::getChatId)
-                                .toList()
-                        )
-                    );
-                }
-                updateStatus = true;
-            }
+            check.addEvent(REPOSITORY_PUSH, "repository push -> " + response.getPushUpdate());
+            check.advanceUpdatedAt(response.getPushUpdate());
         }
-        return updateStatus;
+        check.syncBranches(LinkUpdateStages.lastCommitTimes(response), !link.getCheckedAt().equals(MIN_DATE_TIME));
     }
 
-    @Transactional
-    protected boolean checkStackoverflowUrl(Link link) {
-        var updateStatus = false;
-        var url = link.getUrl();
-        var questionId = Long.parseLong(url.getPath().split("/")[2]);
-        var response = stackoverflowClient.fetchResponse(questionId);
-        log.debug("LinkUpdateService: get stackoverflow response, link: {}, response: {}", url, response);
-
+    private void diffStackoverflow(LinkCheck<Link> check) {
+        var link = check.getLink();
+        var response = check.getStackoverflowResponse();
         if (response.lastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(link.getUpdatedAt())) {
-            var tgChatIds = new ArrayList<>(
-                trackingDao.findAllByLinkId(link.getId()).stream()
-                    .map(Tracking::getChatId)
-                    .toList()
-            );
             log.debug(
                 "LinkUpdateService: sending stackoverflow update, link: {}, type: {}",
-                url, response.events().getFirst().type()
+                link.getUrl(), response.events().getFirst().type()
             );
-            updateSender.sendUpdate(
-                eventIds.getOrDefault(
-                    response.events().getFirst().type(), QUESTION_UNKNOWN_UPDATE
-                ), url, response.events().getFirst().type(), tgChatIds
+            check.addEvent(
+                eventIds.getOrDefault(response.events().getFirst().type(), QUESTION_UNKNOWN_UPDATE),
+                response.events().getFirst().type()
             );
-            linkDao.updateUpdatedAt(link, response.lastUpdate().withOffsetSameInstant(ZoneOffset.UTC));
-            updateStatus = true;
+            check.advanceUpdatedAt(response.lastUpdate());
         }
+    }
 
-        return updateStatus;
+    @Override
+    public URI url(Link link) {
+        return link.getUrl();
     }
 
     @Override
-    public int update() {
-        log.debug("LinkUpdateService (JDBC): Updating links...");
-        var links = linkDao.findAllWithFilter(config.scheduler().forceCheckDelay(), OffsetDateTime.now());
-        int checkedCounter = 0;
-        int updatesCounter = 0;
-        for (var link : links) {
-            try {
-                if (link.getUrl().getHost().equals("github.com")) {
-                    updatesCounter += checkGithubUrl(link) ? 1 : 0;
-                    linkDao.updateCheckedAt(link, OffsetDateTime.now());
-                    checkedCounter++;
-                } else if (link.getUrl().getHost().equals("stackoverflow.com")) {
-                    updatesCounter += checkStackoverflowUrl(link) ? 1 : 0;
-                    linkDao.updateCheckedAt(link, OffsetDateTime.now());
-                    checkedCounter++;
-                } else {
-                    log.warn("Trying to update unsupported URL: {}", link.getUrl());
+    public Long id(Link link) {
+        return link.getId();
+    }
+
+    @Override
+    public Duration checkInterval(Link link) {
+        return link.getCheckInterval();
+    }
+
+    @Override
+    public String resourceKey(Link link) {
+        return link.getResourceKey() == null ? LinkUpdateStages.super.resourceKey(link) : link.getResourceKey();
+    }
+
+    @Override
+    public Long fingerprint(Link link) {
+        return link.getResponseFingerprint();
+    }
+
+    @Override
+    public void diff(LinkCheck<Link> check) {
+        if (check.getGithubResponse() != null) {
+            diffGithub(check);
+        } else {
+            diffStackoverflow(check);
+        }
+    }
+
+    @Override
+    public Map<Long, LinkSubscribers> subscribers(Collection<Long> linkIds) {
+        return LinkUpdateStages.groupByLink(trackingDao.findSubscribers(linkIds));
+    }
+
+    @Override
+    public void write(List<LinkCheck<?>> checks, Consumer<List<LinkCheck<?>>> beforeCommit) {
+        log.debug("LinkUpdateService (JDBC): writing {} link states", checks.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            var written = LinkUpdateStages.written(
+                checks,
+                linkDao.updateStates(checks.stream().map(LinkUpdateStages::linkState).toList(), leaseOwner)
+            );
+            if (written.size() < checks.size()) {
+                log.warn("LinkUpdateService (JDBC): skipped {} links leased by another owner",
+                    checks.size() - written.size()
+                );
+            }
+            for (var check : written) {
+                if (check.getBranches() != null) {
+                    var repository = LinkResourceKey.githubRepository(check.getResourceKey());
+                    var changes = branchDao.sync(
+                        check.getLinkId(), repository.owner(), repository.name(), check.getBranches()
+                    );
+                    log.debug(
+                        "LinkUpdateService (JDBC): synced branches, link: {}, changes: {}", check.getUrl(), changes
+                    );
+                    check.addBranchChanges(changes);
                 }
-            } catch (InvalidDataException ex) {
-                log.error(
-                    "Invalid data exception from bot during link [{}] update: {}", link.getUrl(), ex.getMessage());
-            } catch (RuntimeException ex) {
-                log.error(
-                    "Error status code from bot during link [{}] update: {}", link.getUrl(), ex.getMessage());
             }
+            if (config.outbox().enable()) {
+                outboxDao.addAll(LinkUpdateStages.outboxEvents(written));
+            }
+            beforeCommit.accept(written);
+        });
+    }
+
+    @Override
+    public int update() {
+        log.debug("LinkUpdateService (JDBC): Updating links...");
+        var now = OffsetDateTime.now();
+        var lease = config.scheduler().lease();
+        int updatesCount = 0;
+        List<Link> links;
+        do {
+            links = linkDao.claimDueLinks(now, lease.duration(), lease.batchSize(), leaseOwner);
+            updatesCount += pipeline.process(links, this, now);
+        } while (links.size() == lease.batchSize());
+        pipeline.flush(this);
+        return updatesCount;
+    }
+
+    @Override
+    public int update(Collection<Long> linkIds) {
+        log.debug("LinkUpdateService (JDBC): Updating due links - {}", linkIds.size());
+        var now = OffsetDateTime.now();
+        var lease = config.scheduler().lease();
+        var ids = List.copyOf(linkIds);
+        int updatesCount = 0;
+        for (int from = 0; from < ids.size(); from += lease.batchSize()) {
+            var links = linkDao.claimDueLinks(
+                ids.subList(from, Math.min(from + lease.batchSize(), ids.size())), now, lease.duration(), leaseOwner
+            );
+            updatesCount += pipeline.process(links, this, now);
         }
-        log.debug("LinkUpdateService: checked - {}, updated - {} (links)", checkedCounter, updatesCounter);
-        return updatesCounter;
+        pipeline.flush(this);
+        return updatesCount;
+    }
+
+    @Override
+    public List<LinkNextCheck> findNextChecks(int limit) {
+        return linkDao.findNextChecks(OffsetDateTime.now(), limit);
     }
 }
@@ -0,0 +1,31 @@
+package edu.eflerrr.scrapper.service.jdbc;
+
+import edu.eflerrr.scrapper.domain.jdbc.dao.OutboxDao;
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.service.OutboxService;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class JdbcOutboxService implements OutboxService {
+
+    private final OutboxDao outboxDao;
+
+    @Override
+    @Transactional
+    public List<OutboxEvent> claim(int limit, Duration leaseDuration) {
+        return outboxDao.claim(OffsetDateTime.now(ZoneOffset.UTC), leaseDuration, limit);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Collection<Long> ids) {
+        outboxDao.deleteAll(ids);
+    }
+
+}
@@ -4,7 +4,9 @@ import edu.eflerrr.scrapper.domain.jdbc.dto.Link;
 import edu.eflerrr.scrapper.exception.DuplicateLinkPostException;
 import edu.eflerrr.scrapper.exception.LinkNotFoundException;
 import edu.eflerrr.scrapper.exception.TgChatNotExistException;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
 import edu.eflerrr.scrapper.service.LinkService;
+import edu.eflerrr.scrapper.service.pipeline.LinkResourceKey;
 import java.net.URI;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -23,8 +25,11 @@ import static edu.eflerrr.scrapper.configuration.TimeConstants.MIN_DATE_TIME;
 public class JooqLinkService implements LinkService {
 
     private final DSLContext dsl;
+    private final LinkCheckSchedule linkCheckSchedule;
     private final String autoUsernamePrefix = "auto-username@";
     private final String chatNotFoundErrorMessage = "Chat not found!";
+    private final String linkNotFoundErrorMessage = "Link not found!";
+    private final String trackingNotFoundErrorMessage = "Tracking not found!";
 
     @Override
     @Transactional
@@ -39,16 +44,18 @@ public class JooqLinkService implements LinkService {
             throw new TgChatNotExistException(chatNotFoundErrorMessage);
         }
 
-        if (!dsl.fetchExists(
-            dsl.selectFrom(LINK)
-                .where(LINK.URL.eq(url.toString())))
-        ) {
-            dsl.insertInto(LINK)
-                .set(LINK.URL, url.toString())
-                .set(LINK.CREATED_AT, OffsetDateTime.now(ZoneOffset.UTC))
-                .set(LINK.CHECKED_AT, MIN_DATE_TIME)
-                .set(LINK.UPDATED_AT, OffsetDateTime.now(ZoneOffset.UTC))
-                .execute();
+        var newLinkId = dsl.insertInto(LINK)
+            .set(LINK.URL, url.toString())
+            .set(LINK.CREATED_AT, OffsetDateTime.now(ZoneOffset.UTC))
+            .set(LINK.CHECKED_AT, MIN_DATE_TIME)
+            .set(LINK.UPDATED_AT, OffsetDateTime.now(ZoneOffset.UTC))
+            .set(LINK.RESOURCE_KEY, LinkResourceKey.of(url))
+            .onConflict(LINK.URL)
+            .doNothing()
+            .returningResult(LINK.ID)
+            .fetchOne(LINK.ID);
+        if (newLinkId != null) {
+            linkCheckSchedule.schedule(newLinkId, null);
         }
 
         Long linkId = dsl.select(LINK.ID)
@@ -56,21 +63,21 @@ public class JooqLinkService implements LinkService {
             .where(LINK.URL.eq(url.toString()))
             .fetchOne(LINK.ID);
 
-        if (dsl.fetchExists(
-            dsl.selectFrom(TRACKING)
-                .where(TRACKING.CHAT_ID.eq(tgChatId)
-                    .and(TRACKING.LINK_ID.eq(linkId))
-                ))
-        ) {
-            throw new DuplicateLinkPostException("Tracking already exists!");
-        }
-
-        dsl.insertInto(TRACKING)
+        var insertedCount = dsl.insertInto(TRACKING)
             .set(TRACKING.CHAT_ID, tgChatId)
             .set(TRACKING.LINK_ID, linkId)
+            .onConflict(TRACKING.CHAT_ID, TRACKING.LINK_ID)
+            .doNothing()
             .execute();
+        if (insertedCount == 0) {
+            throw new DuplicateLinkPostException("Tracking already exists!");
+        }
 
-        return dsl.selectFrom(LINK)
+        return dsl.select(
+                LINK.ID, LINK.URL,
+                LINK.CREATED_AT, LINK.CHECKED_AT, LINK.UPDATED_AT
+            )
+            .from(LINK)
             .where(LINK.ID.eq(linkId))
             .fetchOneInto(Link.class);
     }
@@ -84,7 +91,7 @@ public class JooqLinkService implements LinkService {
             .where(LINK.URL.eq(url.toString()))
             .fetchOneInto(Long.class);
         if (linkId == null) {
-            throw new LinkNotFoundException("Link not found!");
+            throw new LinkNotFoundException(linkNotFoundErrorMessage);
         }
 
         if (!dsl.fetchExists(
@@ -100,18 +107,23 @@ public class JooqLinkService implements LinkService {
             .where(TRACKING.CHAT_ID.eq(tgChatId).and(TRACKING.LINK_ID.eq(linkId)))
             .execute();
         if (checker == 0) {
-            throw new LinkNotFoundException("Tracking not found!");
+            throw new LinkNotFoundException(trackingNotFoundErrorMessage);
         }
 
-        Link deletedLink = dsl.selectFrom(LINK)
+        Link deletedLink = dsl.select(
+                LINK.ID, LINK.URL,
+                LINK.CREATED_AT, LINK.CHECKED_AT, LINK.UPDATED_AT
+            )
+            .from(LINK)
             .where(LINK.ID.eq(linkId))
             .fetchOneInto(Link.class);
 
         if (deletedLink != null
-            && dsl.fetchCount(TRACKING, TRACKING.LINK_ID.eq(linkId)) == 0) {
+            && !dsl.fetchExists(TRACKING, TRACKING.LINK_ID.eq(linkId))) {
             dsl.deleteFrom(LINK)
                 .where(LINK.ID.eq(linkId))
                 .execute();
+            linkCheckSchedule.cancel(linkId);
         }
 
         return deletedLink;
@@ -139,4 +151,42 @@ public class JooqLinkService implements LinkService {
             .fetchInto(Link.class);
     }
 
+    @Override
+    @Transactional
+    public Link setEventMask(long tgChatId, URI url, long eventMask) {
+        log.debug("SET-EVENT-MASK IN LINK-SERVICE (JOOQ): tgChatId: {}, url: {}, mask: {}", tgChatId, url, eventMask);
+        Long linkId = dsl.select(LINK.ID)
+            .from(LINK)
+            .where(LINK.URL.eq(url.toString()))
+            .fetchOneInto(Long.class);
+        if (linkId == null) {
+            throw new LinkNotFoundException(linkNotFoundErrorMessage);
+        }
+
+        if (!dsl.fetchExists(
+            dsl.selectFrom(CHAT)
+                .where(CHAT.ID.eq(tgChatId)
+                    .and(CHAT.USERNAME.eq(autoUsernamePrefix + tgChatId))
+                ))
+        ) {
+            throw new TgChatNotExistException(chatNotFoundErrorMessage);
+        }
+
+        var updatedCount = dsl.update(TRACKING)
+            .set(TRACKING.EVENT_MASK, eventMask)
+            .where(TRACKING.CHAT_ID.eq(tgChatId).and(TRACKING.LINK_ID.eq(linkId)))
+            .execute();
+        if (updatedCount == 0) {
+            throw new LinkNotFoundException(trackingNotFoundErrorMessage);
+        }
+
+        return dsl.select(
+                LINK.ID, LINK.URL,
+                LINK.CREATED_AT, LINK.CHECKED_AT, LINK.UPDATED_AT
+            )
+            .from(LINK)
+            .where(LINK.ID.eq(linkId))
+            .fetchOneInto(Link.class);
+    }
+
 }
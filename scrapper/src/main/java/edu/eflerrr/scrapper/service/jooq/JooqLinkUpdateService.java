@@ -1,185 +1,231 @@
 package edu.eflerrr.scrapper.service.jooq;
 
 import edu.eflerrr.jooqcodegen.generated.tables.records.LinkRecord;
-import edu.eflerrr.scrapper.client.GithubClient;
-import edu.eflerrr.scrapper.client.StackoverflowClient;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
-import edu.eflerrr.scrapper.exception.InvalidDataException;
+import edu.eflerrr.scrapper.domain.jdbc.dto.BranchChanges;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkSubscriber;
 import edu.eflerrr.scrapper.service.LinkUpdateService;
-import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.LinkCheck;
+import edu.eflerrr.scrapper.service.pipeline.LinkResourceKey;
+import edu.eflerrr.scrapper.service.pipeline.LinkSubscribers;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdatePipeline;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdateStages;
 import java.net.URI;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
 import org.jooq.Result;
-import org.springframework.transaction.annotation.Transactional;
-import static edu.eflerrr.jooqcodegen.generated.Tables.BRANCH;
+import org.jooq.impl.DSL;
+import org.springframework.transaction.support.TransactionTemplate;
 import static edu.eflerrr.jooqcodegen.generated.Tables.LINK;
+import static edu.eflerrr.jooqcodegen.generated.Tables.OUTBOX;
 import static edu.eflerrr.jooqcodegen.generated.Tables.TRACKING;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.QUESTION_UNKNOWN_UPDATE;
-import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_CREATE;
-import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_DELETE;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_PUSH;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_UPDATE;
 import static edu.eflerrr.scrapper.configuration.TimeConstants.MIN_DATE_TIME;
 
 @RequiredArgsConstructor
 @Slf4j
-public class JooqLinkUpdateService implements LinkUpdateService {
+public class JooqLinkUpdateService implements LinkUpdateService, LinkUpdateStages<LinkRecord> {
 
-    private final UpdateSender updateSender;
-    private final GithubClient githubClient;
-    private final StackoverflowClient stackoverflowClient;
+    /**
+     * Inserts missing branches of the link and deletes the gone ones in one statement, see {@code BranchDao.sync}.
+     */
+    private static final String SYNC_BRANCHES_SQL = """
+        WITH current_branch AS (
+            SELECT * FROM unnest(?::text[], ?::timestamptz[]) AS c(branch_name, last_commit_time)
+        ), deleted AS (
+            DELETE FROM "Branch"
+            WHERE link_id = ? AND branch_name NOT IN (SELECT branch_name FROM current_branch)
+            RETURNING branch_name
+        ), inserted AS (
+            INSERT INTO "Branch" (link_id, repository_owner, repository_name, branch_name, last_commit_time)
+            SELECT ?, ?, ?, branch_name, last_commit_time FROM current_branch
+            ON CONFLICT (link_id, branch_name) DO NOTHING
+            RETURNING branch_name
+        )
+        SELECT TRUE AS created, branch_name FROM inserted
+        UNION ALL
+        SELECT FALSE AS created, branch_name FROM deleted""";
+
+    private final LinkUpdatePipeline pipeline;
+    private final TransactionTemplate transactionTemplate;
     private final DSLContext dsl;
     private final ApplicationConfig config;
     private final Map<String, Long> eventIds;
+    private final String leaseOwner = UUID.randomUUID().toString();
 
-    @Transactional
-    protected boolean checkGithubUrl(LinkRecord linkRecord) {
-        var updateStatus = false;
-        var url = URI.create(linkRecord.getUrl());
-        var username = url.getPath().split("/")[1];
-        var repository = url.getPath().split("/")[2];
-        var response = githubClient.fetchResponse(username, repository);
-        log.debug("LinkUpdateService: get github response, link: {}, response: {}", url, response);
-
-        if (response.getLastUpdate().isAfter(linkRecord.getUpdatedAt())
-            || response.getPushUpdate().isAfter(linkRecord.getUpdatedAt())
-            || !response.getBranches().isEmpty()) {
-            var tgChatIds = dsl.select(TRACKING.CHAT_ID)
-                .from(TRACKING)
-                .where(TRACKING.LINK_ID.eq(linkRecord.getId()))
-                .fetchInto(Long.class);
-
-            if (response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkRecord.getUpdatedAt())) {
-                log.debug("LinkUpdateService: sending github update, link: {}, reason: repository update", url);
-                updateSender.sendUpdate(
-                    REPOSITORY_UPDATE, url, "repository update -> " + response.getLastUpdate(), tgChatIds
-                );
-                dsl.update(LINK)
-                    .set(
-                        LINK.UPDATED_AT,
-                        response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC)
-                    )
-                    .where(LINK.ID.eq(linkRecord.getId()))
-                    .execute();
-                updateStatus = true;
-            }
-            if (response.getPushUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkRecord.getUpdatedAt())) {
-                log.debug("LinkUpdateService: sending github update, link: {}, reason: repository push", url);
-                updateSender.sendUpdate(
-                    REPOSITORY_PUSH, url, "repository push -> " + response.getPushUpdate(), tgChatIds
-                );
-                dsl.update(LINK)
-                    .set(
-                        LINK.UPDATED_AT,
-                        response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC)
-                    )
-                    .where(LINK.ID.eq(linkRecord.getId()))
-                    .execute();
-                updateStatus = true;
-            }
-
-            var dbBranches = new HashSet<>(dsl.select(BRANCH.BRANCH_NAME)
-                .from(BRANCH)
-                .where(BRANCH.LINK_ID.eq(linkRecord.getId())
-                    .and(BRANCH.REPOSITORY_OWNER.eq(username))
-                    .and(BRANCH.REPOSITORY_NAME.eq(repository))
-                )
-                .fetchInto(String.class)
-            );
-
-            for (var branch : response.getBranches()) {
-                if (dbBranches.contains(branch.name())) {
-                    dbBranches.remove(branch.name());
-                } else {
-                    dsl.insertInto(BRANCH)
-                        .set(BRANCH.LINK_ID, linkRecord.getId())
-                        .set(BRANCH.REPOSITORY_OWNER, username)
-                        .set(BRANCH.REPOSITORY_NAME, repository)
-                        .set(BRANCH.BRANCH_NAME, branch.name())
-                        .set(BRANCH.LAST_COMMIT_TIME, branch.lastCommitTime())
-                        .execute();
-                    if (!linkRecord.getCheckedAt().withOffsetSameInstant(ZoneOffset.UTC).equals(MIN_DATE_TIME)
-                    ) {
-                        log.debug(
-                            "LinkUpdateService: sending github update, link: {}, reason: new branch -> {}",
-                            url,
-                            branch.name()
-                        );
-                        updateSender.sendUpdate(
-                            REPOSITORY_BRANCH_CREATE, url, "new branch -> " + branch.name(), tgChatIds
-                        );
-                        updateStatus = true;
-                    }
-                }
-            }
+    private void diffGithub(LinkCheck<LinkRecord> check) {
+        var linkRecord = check.getLink();
+        var url = check.getUrl();
+        var response = check.getGithubResponse();
 
-            if (!dbBranches.isEmpty()) {
-                for (var branchName : dbBranches) {
-                    dsl.deleteFrom(BRANCH)
-                        .where(BRANCH.LINK_ID.eq(linkRecord.getId())
-                            .and(BRANCH.REPOSITORY_OWNER.eq(username))
-                            .and(BRANCH.REPOSITORY_NAME.eq(repository))
-                            .and(BRANCH.BRANCH_NAME.eq(branchName))
-                        )
-                        .execute();
-                    if (!linkRecord.getCheckedAt().withOffsetSameInstant(ZoneOffset.UTC).equals(MIN_DATE_TIME)) {
-                        log.debug(
-                            "LinkUpdateService: sending github update, link: {}, reason: branch deleted -> {}",
-                            url, branchName
-                        );
-                        updateSender.sendUpdate(
-                            REPOSITORY_BRANCH_DELETE, url, "branch deleted -> " + branchName, tgChatIds
-                        );
-                        updateStatus = true;
-                    }
-                }
-            }
+        if (response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkRecord.getUpdatedAt())) {
+            log.debug("LinkUpdateService: sending github update, link: {}, reason: repository update", url);
+            check.addEvent(REPOSITORY_UPDATE, "repository update -> " + response.getLastUpdate());
+            check.advanceUpdatedAt(response.getLastUpdate());
+        }
+        if (response.getPushUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkRecord.getUpdatedAt())) {
+            log.debug("LinkUpdateService: sending github update, link: {}, reason: repository push", url);
+            check.addEvent(REPOSITORY_PUSH, "repository push -> " + response.getPushUpdate());
+            check.advanceUpdatedAt(response.getPushUpdate());
         }
 
-        return updateStatus;
+        var firstCheck = linkRecord.getCheckedAt().withOffsetSameInstant(ZoneOffset.UTC).equals(MIN_DATE_TIME);
+        check.syncBranches(LinkUpdateStages.lastCommitTimes(response), !firstCheck);
     }
 
-    @Transactional
-    protected boolean checkStackoverflowUrl(LinkRecord linkRecord) {
-        var updateStatus = false;
-        var url = URI.create(linkRecord.getUrl());
-        var questionId = Long.parseLong(url.getPath().split("/")[2]);
-        var response = stackoverflowClient.fetchResponse(questionId);
-        log.debug("LinkUpdateService: get stackoverflow response, link: {}, response: {}", url, response);
+    private void diffStackoverflow(LinkCheck<LinkRecord> check) {
+        var linkRecord = check.getLink();
+        var response = check.getStackoverflowResponse();
 
         if (response.lastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkRecord.getUpdatedAt())) {
-            var tgChatIds = dsl.select(TRACKING.CHAT_ID)
-                .from(TRACKING)
-                .where(TRACKING.LINK_ID.eq(linkRecord.getId()))
-                .fetchInto(Long.class);
             log.debug(
                 "LinkUpdateService: sending stackoverflow update, link: {}, type: {}",
-                url, response.events().getFirst().type()
+                check.getUrl(), response.events().getFirst().type()
             );
-            updateSender.sendUpdate(
+            check.addEvent(
                 eventIds.getOrDefault(response.events().getFirst().type(), QUESTION_UNKNOWN_UPDATE),
-                url,
-                response.events().getFirst().type(),
-                tgChatIds
+                response.events().getFirst().type()
             );
+            check.advanceUpdatedAt(response.lastUpdate());
+        }
+    }
+
+    @Override
+    public URI url(LinkRecord linkRecord) {
+        return URI.create(linkRecord.getUrl());
+    }
+
+    @Override
+    public Long id(LinkRecord linkRecord) {
+        return linkRecord.getId();
+    }
+
+    @Override
+    public Duration checkInterval(LinkRecord linkRecord) {
+        return linkRecord.getCheckIntervalSeconds() == null
+            ? null
+            : Duration.ofSeconds(linkRecord.getCheckIntervalSeconds());
+    }
+
+    @Override
+    public String resourceKey(LinkRecord linkRecord) {
+        return linkRecord.getResourceKey() == null
+            ? LinkUpdateStages.super.resourceKey(linkRecord)
+            : linkRecord.getResourceKey();
+    }
+
+    @Override
+    public Long fingerprint(LinkRecord linkRecord) {
+        return linkRecord.getResponseFingerprint();
+    }
 
-            dsl.update(LINK)
-                .set(
-                    LINK.UPDATED_AT,
-                    response.lastUpdate().withOffsetSameInstant(ZoneOffset.UTC)
-                )
-                .where(LINK.ID.eq(linkRecord.getId()))
-                .execute();
-            updateStatus = true;
+    @Override
+    public void diff(LinkCheck<LinkRecord> check) {
+        if (check.getGithubResponse() != null) {
+            diffGithub(check);
+        } else {
+            diffStackoverflow(check);
         }
+    }
+
+    @Override
+    public Map<Long, LinkSubscribers> subscribers(Collection<Long> linkIds) {
+        return LinkUpdateStages.groupByLink(dsl.select(TRACKING.LINK_ID, TRACKING.CHAT_ID, TRACKING.EVENT_MASK)
+            .from(TRACKING)
+            .where(TRACKING.LINK_ID.eq(DSL.any(linkIds.toArray(Long[]::new))))
+            .fetch(row -> new LinkSubscriber(row.value1(), row.value2(), row.value3()))
+        );
+    }
+
+    private BranchChanges syncBranches(LinkCheck<?> check) {
+        var repository = LinkResourceKey.githubRepository(check.getResourceKey());
+        var changes = dsl.resultQuery(
+                SYNC_BRANCHES_SQL,
+                check.getBranches().keySet().toArray(String[]::new),
+                check.getBranches().values().stream()
+                    .map(time -> time.toInstant().toString())
+                    .toArray(String[]::new),
+                check.getLinkId(),
+                check.getLinkId(),
+                repository.owner(),
+                repository.name()
+            )
+            .collect(Collectors.partitioningBy(
+                row -> row.get("created", Boolean.class),
+                Collectors.mapping(row -> row.get("branch_name", String.class), Collectors.toList())
+            ));
+        log.debug("LinkUpdateService (JOOQ): synced branches of link {}, created: {}, deleted: {}",
+            check.getUrl(), changes.get(true), changes.get(false)
+        );
+        return new BranchChanges(changes.get(true), changes.get(false));
+    }
 
-        return updateStatus;
+    @Override
+    public void write(List<LinkCheck<?>> checks, Consumer<List<LinkCheck<?>>> beforeCommit) {
+        log.debug("LinkUpdateService (JOOQ): writing {} link states", checks.size());
+        var ownLease = LINK.LEASE_OWNER.eq(leaseOwner);
+        var updates = checks.stream()
+            .map(LinkUpdateStages::linkState)
+            .map(state -> dsl.update(LINK)
+                .set(LINK.CHECKED_AT, state.getCheckedAt())
+                .set(LINK.UPDATED_AT, DSL.coalesce(DSL.val(state.getUpdatedAt(), LINK.UPDATED_AT), LINK.UPDATED_AT))
+                .set(LINK.CHECK_INTERVAL_SECONDS, state.getCheckInterval().toSeconds())
+                .set(LINK.NEXT_CHECK_AT, state.getNextCheckAt())
+                .set(LINK.RESPONSE_FINGERPRINT, DSL.coalesce(
+                    DSL.val(state.getFingerprint(), LINK.RESPONSE_FINGERPRINT), LINK.RESPONSE_FINGERPRINT
+                ))
+                .set(LINK.LEASED_UNTIL, DSL.when(ownLease, DSL.castNull(LINK.LEASED_UNTIL))
+                    .otherwise(LINK.LEASED_UNTIL))
+                .set(LINK.LEASE_OWNER, DSL.when(ownLease, DSL.castNull(LINK.LEASE_OWNER))
+                    .otherwise(LINK.LEASE_OWNER))
+                .where(LINK.ID.eq(state.getLinkId()))
+                .and(ownLease.or(LINK.LEASED_UNTIL.lt(DSL.currentOffsetDateTime()))))
+            .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            var written = LinkUpdateStages.written(checks, dsl.batch(updates).execute());
+            if (written.size() < checks.size()) {
+                log.warn("LinkUpdateService (JOOQ): skipped {} links leased by another owner",
+                    checks.size() - written.size()
+                );
+            }
+            for (var check : written) {
+                if (check.getBranches() != null) {
+                    check.addBranchChanges(syncBranches(check));
+                }
+            }
+            if (config.outbox().enable()) {
+                var outboxInserts = LinkUpdateStages.outboxEvents(written).stream()
+                    .map(event -> dsl.insertInto(OUTBOX)
+                        .set(OUTBOX.LINK_ID, event.getLinkId())
+                        .set(OUTBOX.EVENT_ID, event.getEvent().id())
+                        .set(OUTBOX.URL, event.getUrl().toString())
+                        .set(OUTBOX.DESCRIPTION, event.getEvent().description())
+                        .set(OUTBOX.TG_CHAT_IDS, Arrays.stream(event.getTgChatIds()).boxed().toArray(Long[]::new))
+                        .set(OUTBOX.CREATED_AT, event.getCreatedAt())
+                        .set(OUTBOX.LISTED_EVENT_IDS, event.getEvent().eventIds())
+                        .set(OUTBOX.LISTED_EVENT_DESCRIPTIONS, event.getEvent().eventDescriptions())
+                        .set(OUTBOX.OMITTED_EVENTS, event.getEvent().omittedEvents()))
+                    .toList();
+                if (!outboxInserts.isEmpty()) {
+                    dsl.batch(outboxInserts).execute();
+                }
+            }
+            beforeCommit.accept(written);
+        });
     }
 
     @Override
@@ -187,43 +233,68 @@ public class JooqLinkUpdateService implements LinkUpdateService {
         log.debug("LinkUpdateService (JOOQ): Updating links...");
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
 
-        Result<LinkRecord> links = dsl.selectFrom(LINK)
-            .where(LINK.CHECKED_AT.lessThan(
-                now.minus(config.scheduler().forceCheckDelay()))
-            )
-            .fetch();
-
-        int checkedCounter = 0;
-        int updatesCounter = 0;
-
-        for (var linkRecord : links) {
-            try {
-                if (URI.create(linkRecord.getUrl()).getHost().equals("github.com")) {
-                    updatesCounter += checkGithubUrl(linkRecord) ? 1 : 0;
-                } else if (URI.create(linkRecord.getUrl()).getHost().equals("stackoverflow.com")) {
-                    updatesCounter += checkStackoverflowUrl(linkRecord) ? 1 : 0;
-                } else {
-                    log.warn("Trying to update unsupported URL: {}", linkRecord.getUrl());
-                }
-                dsl.update(LINK)
-                    .set(LINK.CHECKED_AT, now)
-                    .where(LINK.ID.eq(linkRecord.getId()))
-                    .execute();
-                checkedCounter++;
-            } catch (InvalidDataException ex) {
-                log.error(
-                    "Invalid data exception from bot during link [{}] update: {}",
-                    linkRecord.getUrl(),
-                    ex.getMessage()
-                );
-            } catch (RuntimeException ex) {
-                log.error("Error status code from bot during link [{}] update: {}",
-                    linkRecord.getUrl(), ex.getMessage()
-                );
-            }
+        var lease = config.scheduler().lease();
+
+        int updatesCount = 0;
+        Result<LinkRecord> links;
+        do {
+            links = dsl.update(LINK)
+                .set(LINK.LEASE_OWNER, leaseOwner)
+                .set(LINK.LEASED_UNTIL, now.plus(lease.duration()))
+                .where(LINK.ID.in(dsl.select(LINK.ID)
+                    .from(LINK)
+                    .where(LINK.NEXT_CHECK_AT.isNull().or(LINK.NEXT_CHECK_AT.lessOrEqual(now))
+                        .and(LINK.LEASED_UNTIL.isNull().or(LINK.LEASED_UNTIL.lessThan(now)))
+                    )
+                    .orderBy(LINK.NEXT_CHECK_AT.asc().nullsFirst())
+                    .limit(lease.batchSize())
+                    .forUpdate()
+                    .skipLocked()
+                ))
+                .returning()
+                .fetch();
+            updatesCount += pipeline.process(links, this, now);
+        } while (links.size() == lease.batchSize());
+        pipeline.flush(this);
+        return updatesCount;
+    }
+
+    @Override
+    public int update(Collection<Long> linkIds) {
+        log.debug("LinkUpdateService (JOOQ): Updating due links - {}", linkIds.size());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        var lease = config.scheduler().lease();
+        var ids = List.copyOf(linkIds);
+        int updatesCount = 0;
+        for (int from = 0; from < ids.size(); from += lease.batchSize()) {
+            var links = dsl.update(LINK)
+                .set(LINK.LEASE_OWNER, leaseOwner)
+                .set(LINK.LEASED_UNTIL, now.plus(lease.duration()))
+                .where(LINK.ID.in(dsl.select(LINK.ID)
+                    .from(LINK)
+                    .where(LINK.ID.in(ids.subList(from, Math.min(from + lease.batchSize(), ids.size())))
+                        .and(LINK.NEXT_CHECK_AT.isNull().or(LINK.NEXT_CHECK_AT.lessOrEqual(now)))
+                        .and(LINK.LEASED_UNTIL.isNull().or(LINK.LEASED_UNTIL.lessThan(now)))
+                    )
+                    .forUpdate()
+                    .skipLocked()
+                ))
+                .returning()
+                .fetch();
+            updatesCount += pipeline.process(links, this, now);
         }
+        pipeline.flush(this);
+        return updatesCount;
+    }
 
-        log.debug("LinkUpdateService: checked - {}, updated - {} (links)", checkedCounter, updatesCounter);
-        return updatesCounter;
+    @Override
+    public List<LinkNextCheck> findNextChecks(int limit) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        return dsl.select(LINK.ID, LINK.NEXT_CHECK_AT)
+            .from(LINK)
+            .where(LINK.LEASED_UNTIL.isNull().or(LINK.LEASED_UNTIL.lessThan(now)))
+            .orderBy(LINK.NEXT_CHECK_AT.asc().nullsFirst())
+            .limit(limit)
+            .fetch(row -> new LinkNextCheck(row.value1(), row.value2()));
     }
 }
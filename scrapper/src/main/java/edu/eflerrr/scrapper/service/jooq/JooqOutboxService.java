@@ -0,0 +1,64 @@
+package edu.eflerrr.scrapper.service.jooq;
+
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.service.OutboxService;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.transaction.annotation.Transactional;
+import static edu.eflerrr.jooqcodegen.generated.Tables.OUTBOX;
+
+@RequiredArgsConstructor
+public class JooqOutboxService implements OutboxService {
+
+    private final DSLContext dsl;
+
+    @Override
+    @Transactional
+    public List<OutboxEvent> claim(int limit, Duration leaseDuration) {
+        var now = OffsetDateTime.now(ZoneOffset.UTC);
+        return dsl.update(OUTBOX)
+            .set(OUTBOX.LEASED_UNTIL, now.plus(leaseDuration))
+            .where(OUTBOX.ID.in(dsl.select(OUTBOX.ID)
+                .from(OUTBOX)
+                .where(OUTBOX.LEASED_UNTIL.isNull().or(OUTBOX.LEASED_UNTIL.lessThan(now)))
+                .orderBy(OUTBOX.ID)
+                .limit(limit)
+                .forUpdate()
+                .skipLocked()
+            ))
+            .returning()
+            .fetch()
+            .sortAsc(OUTBOX.ID)
+            .map(outboxRecord -> new OutboxEvent(
+                outboxRecord.getId(),
+                outboxRecord.getLinkId(),
+                LinkEvent.of(
+                    outboxRecord.getEventId(),
+                    outboxRecord.getDescription(),
+                    outboxRecord.getListedEventIds(),
+                    outboxRecord.getListedEventDescriptions(),
+                    outboxRecord.getOmittedEvents()
+                ),
+                URI.create(outboxRecord.getUrl()),
+                Arrays.stream(outboxRecord.getTgChatIds()).mapToLong(Long::longValue).toArray(),
+                outboxRecord.getCreatedAt()
+            ));
+    }
+
+    @Override
+    @Transactional
+    public void delete(Collection<Long> ids) {
+        dsl.deleteFrom(OUTBOX)
+            .where(OUTBOX.ID.in(ids))
+            .execute();
+    }
+
+}
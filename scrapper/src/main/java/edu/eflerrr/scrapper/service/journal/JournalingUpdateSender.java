@@ -0,0 +1,250 @@
+package edu.eflerrr.scrapper.service.journal;
+
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.exception.InvalidDataException;
+import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Keeps updates that the downstream could not take in a {@link MappedJournal} instead of failing the check.
+ * An update goes to the downstream directly only while the journal is empty, otherwise it is appended
+ * behind the journaled ones to keep their order. A background drainer replays the journal in order
+ * every {@code retry-interval} until the downstream accepts the updates again.
+ * Direct sends share a read lock, while appending and replaying an entry take the write lock, so no update
+ * goes out directly while a journaled one is being replayed or is still waiting in the journal.
+ * Updates rejected by the bot as invalid are never journaled, since sending them again cannot succeed.
+ * Batches come from the outbox, which keeps them until they are delivered, so they are never journaled either.
+ * The journal size and the age of its oldest update are exported as
+ * {@code update_journal_size_bytes}, {@code update_journal_entries} and {@code update_journal_lag_seconds}.
+ */
+@Slf4j
+public class JournalingUpdateSender implements UpdateSender, SmartLifecycle, DisposableBean {
+
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final UpdateSender delegate;
+    private final MappedJournal journal;
+    private final Duration retryInterval;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Thread drainer;
+
+    public JournalingUpdateSender(
+        UpdateSender delegate,
+        MappedJournal journal,
+        Duration retryInterval,
+        Clock clock,
+        MeterRegistry registry
+    ) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.retryInterval = retryInterval;
+        this.clock = clock;
+        Gauge.builder("update_journal_size_bytes", journal, MappedJournal::size)
+            .register(registry);
+        Gauge.builder("update_journal_entries", journal, MappedJournal::count)
+            .register(registry);
+        Gauge.builder("update_journal_lag_seconds", this, JournalingUpdateSender::lagSeconds)
+            .register(registry);
+    }
+
+    @Override
+    public void sendUpdate(Long linkId, UUID updateId, LinkEvent event, URI url, long[] tgChatIds) {
+        lock.readLock().lock();
+        try {
+            if (journal.isEmpty()) {
+                delegate.sendUpdate(linkId, updateId, event, url, tgChatIds);
+                return;
+            }
+        } catch (InvalidDataException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            log.warn("Downstream is unavailable, journaling update of {}: {}", url, ex.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            append(linkId, updateId, event, url, tgChatIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sends the batch straight to the downstream and rethrows its failure, so the events stay in the outbox.
+     */
+    @Override
+    public void sendUpdates(List<OutboxEvent> events) {
+        delegate.sendUpdates(events);
+    }
+
+    /**
+     * Replays the journal in order until it is empty or the downstream fails, returns the number of replayed
+     * updates, including the ones the bot rejected as invalid. Every entry is sent and removed under the write lock.
+     */
+    public int drain() {
+        var drained = 0;
+        while (true) {
+            lock.writeLock().lock();
+            try {
+                var entry = journal.peek();
+                if (entry == null || !replay(entry)) {
+                    return drained;
+                }
+                drained++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Sends the journaled update and drops it from the journal, returns {@code false} if the downstream failed.
+     */
+    private boolean replay(byte[] entry) {
+        var buffer = ByteBuffer.wrap(entry);
+        buffer.getLong();
+        var hasLinkId = buffer.get() != 0;
+        var linkId = buffer.getLong();
+        var id = buffer.getLong();
+        var url = URI.create(readString(buffer));
+        var description = readString(buffer);
+        var tgChatIds = new long[buffer.getInt()];
+        for (int i = 0; i < tgChatIds.length; i++) {
+            tgChatIds[i] = buffer.getLong();
+        }
+        var event = readEvents(buffer, id, description);
+        var updateId = new UUID(buffer.getLong(), buffer.getLong());
+        try {
+            delegate.sendUpdate(hasLinkId ? linkId : null, updateId, event, url, tgChatIds);
+        } catch (InvalidDataException ex) {
+            log.error("Bot rejected journaled update of {}: {}", url, ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.debug("Downstream is still unavailable: {}", ex.getMessage());
+            return false;
+        }
+        journal.remove();
+        return true;
+    }
+
+    private void append(Long linkId, UUID updateId, LinkEvent event, URI url, long[] tgChatIds) {
+        var urlBytes = url.toString().getBytes(StandardCharsets.UTF_8);
+        var descriptionBytes = event.description().getBytes(StandardCharsets.UTF_8);
+        var listedDescriptionBytes = event.events().stream()
+            .map(listedEvent -> listedEvent.description().getBytes(StandardCharsets.UTF_8))
+            .toList();
+        var buffer = ByteBuffer.allocate(
+            Long.BYTES + 1 + 2 * Long.BYTES + Integer.BYTES + urlBytes.length + Integer.BYTES
+                + descriptionBytes.length + Integer.BYTES + tgChatIds.length * Long.BYTES
+                + Integer.BYTES + event.events().size() * (Long.BYTES + Integer.BYTES)
+                + listedDescriptionBytes.stream().mapToInt(bytes -> bytes.length).sum() + Integer.BYTES
+                + 2 * Long.BYTES
+        );
+        buffer.putLong(clock.millis());
+        if (linkId == null) {
+            buffer.put((byte) 0);
+            buffer.putLong(0L);
+        } else {
+            buffer.put((byte) 1);
+            buffer.putLong(linkId);
+        }
+        buffer.putLong(event.id());
+        buffer.putInt(urlBytes.length).put(urlBytes);
+        buffer.putInt(descriptionBytes.length).put(descriptionBytes);
+        buffer.putInt(tgChatIds.length);
+        for (var tgChatId : tgChatIds) {
+            buffer.putLong(tgChatId);
+        }
+        buffer.putInt(event.events().size());
+        for (int i = 0; i < event.events().size(); i++) {
+            buffer.putLong(event.events().get(i).id());
+            buffer.putInt(listedDescriptionBytes.get(i).length).put(listedDescriptionBytes.get(i));
+        }
+        buffer.putInt(event.omittedEvents());
+        buffer.putLong(updateId.getMostSignificantBits()).putLong(updateId.getLeastSignificantBits());
+        if (!journal.append(buffer.array())) {
+            throw new IllegalStateException("Update journal is full, update of " + url + " is not sent");
+        }
+    }
+
+    private static LinkEvent readEvents(ByteBuffer buffer, Long id, String description) {
+        var events = new ArrayList<LinkEvent>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            events.add(new LinkEvent(buffer.getLong(), readString(buffer)));
+        }
+        return new LinkEvent(id, description, events, buffer.getInt());
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private double lagSeconds() {
+        var entry = journal.peek();
+        if (entry == null) {
+            return 0;
+        }
+        return (clock.millis() - ByteBuffer.wrap(entry).getLong()) / MILLIS_PER_SECOND;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                var drained = drain();
+                if (drained > 0) {
+                    log.info("Replayed {} journaled updates", drained);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Error during update journal drain: {}", ex.getMessage());
+            }
+            try {
+                Thread.sleep(retryInterval);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        drainer = Thread.ofPlatform()
+            .name("update-journal-drainer")
+            .daemon()
+            .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        drainer.interrupt();
+        drainer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return drainer != null;
+    }
+
+    @Override
+    public void destroy() {
+        journal.close();
+    }
+
+}
@@ -0,0 +1,174 @@
+package edu.eflerrr.scrapper.service.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bounded append-only queue of records in a memory-mapped file. Records are length-prefixed and read in
+ * the order they were appended; the read and write positions are kept in the file header, so the records
+ * survive a restart. Space of read records is reclaimed when the journal runs empty or an append does not fit.
+ * The file holds two segments and the header names the active one: reclaiming copies the unread records
+ * to the start of the other segment, forces them to disk and only then switches the header to it,
+ * so a crash in the middle of it leaves the previous segment and header intact.
+ */
+public class MappedJournal implements Closeable {
+
+    private static final int READ_POSITION = 0;
+    private static final int WRITE_POSITION = Long.BYTES;
+    private static final int COUNT = 2 * Long.BYTES;
+    private static final int SEGMENT = 3 * Long.BYTES;
+    private static final int HEADER_BYTES = 4 * Long.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int segmentSize;
+    private int segment;
+    private int readPosition;
+    private int writePosition;
+    private long count;
+
+    public MappedJournal(Path path, int capacity) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+            );
+            var fileSize = (int) Math.max(capacity, channel.size());
+            this.segmentSize = (fileSize - HEADER_BYTES) / 2;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        readPosition = (int) buffer.getLong(READ_POSITION);
+        writePosition = (int) buffer.getLong(WRITE_POSITION);
+        count = buffer.getLong(COUNT);
+        segment = (int) buffer.getLong(SEGMENT);
+        if (segment < 0 || segment > 1
+            || readPosition < segmentStart(segment) || readPosition > writePosition
+            || writePosition > segmentStart(segment) + segmentSize) {
+            segment = 0;
+            reset();
+        }
+    }
+
+    /**
+     * Appends the record, returns {@code false} if it does not fit even after the read records are reclaimed.
+     */
+    public synchronized boolean append(byte[] data) {
+        var size = Integer.BYTES + data.length;
+        var segmentEnd = segmentStart(segment) + segmentSize;
+        if (writePosition + size > segmentEnd) {
+            compact();
+            segmentEnd = segmentStart(segment) + segmentSize;
+            if (writePosition + size > segmentEnd) {
+                return false;
+            }
+        }
+        buffer.putInt(writePosition, data.length);
+        buffer.put(writePosition + Integer.BYTES, data);
+        writePosition += size;
+        count++;
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Oldest record, {@code null} if the journal is empty.
+     */
+    public synchronized byte[] peek() {
+        if (isEmpty()) {
+            return null;
+        }
+        var data = new byte[buffer.getInt(readPosition)];
+        buffer.get(readPosition + Integer.BYTES, data);
+        return data;
+    }
+
+    /**
+     * Drops the oldest record.
+     */
+    public synchronized void remove() {
+        if (isEmpty()) {
+            return;
+        }
+        readPosition += Integer.BYTES + buffer.getInt(readPosition);
+        count--;
+        if (readPosition == writePosition) {
+            reset();
+        } else {
+            writeHeader();
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    /**
+     * Bytes taken by the unread records.
+     */
+    public synchronized long size() {
+        return writePosition - readPosition;
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Moves the unread records to the other segment. The header is switched only after the copy is on disk,
+     * and the records in the active segment are not touched until the next compaction copies back over them.
+     */
+    private void compact() {
+        if (readPosition == segmentStart(segment)) {
+            return;
+        }
+        var target = 1 - segment;
+        var unread = new byte[writePosition - readPosition];
+        buffer.get(readPosition, unread);
+        buffer.put(segmentStart(target), unread);
+        buffer.force(segmentStart(target), unread.length);
+        segment = target;
+        readPosition = segmentStart(target);
+        writePosition = readPosition + unread.length;
+        writeHeader();
+        buffer.force(0, HEADER_BYTES);
+    }
+
+    private void reset() {
+        readPosition = segmentStart(segment);
+        writePosition = readPosition;
+        count = 0;
+        writeHeader();
+    }
+
+    private int segmentStart(int index) {
+        return HEADER_BYTES + index * segmentSize;
+    }
+
+    private void writeHeader() {
+        buffer.putLong(READ_POSITION, readPosition);
+        buffer.putLong(WRITE_POSITION, writePosition);
+        buffer.putLong(COUNT, count);
+        buffer.putLong(SEGMENT, segment);
+    }
+
+}
@@ -7,7 +7,9 @@ import edu.eflerrr.scrapper.domain.jpa.repository.LinkRepository;
 import edu.eflerrr.scrapper.exception.DuplicateLinkPostException;
 import edu.eflerrr.scrapper.exception.LinkNotFoundException;
 import edu.eflerrr.scrapper.exception.TgChatNotExistException;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
 import edu.eflerrr.scrapper.service.LinkService;
+import edu.eflerrr.scrapper.service.pipeline.LinkResourceKey;
 import java.net.URI;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -23,7 +25,10 @@ public class JpaLinkService implements LinkService {
 
     private final ChatRepository chatRepository;
     private final LinkRepository linkRepository;
+    private final LinkCheckSchedule linkCheckSchedule;
     private final String chatNotFoundErrorMessage = "Chat not found!";
+    private final String linkNotFoundErrorMessage = "Link not found!";
+    private final String trackingNotFoundErrorMessage = "Tracking not found!";
 
     @Override
     @Transactional
@@ -40,7 +45,10 @@ public class JpaLinkService implements LinkService {
                 newLink.setCreatedAt(OffsetDateTime.now(ZoneOffset.UTC));
                 newLink.setCheckedAt(MIN_DATE_TIME);
                 newLink.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
-                return linkRepository.saveAndFlush(newLink);
+                newLink.setResourceKey(LinkResourceKey.of(url));
+                var savedLink = linkRepository.saveAndFlush(newLink);
+                linkCheckSchedule.schedule(savedLink.getId(), null);
+                return savedLink;
             });
 
         if (!chat.getLinks().contains(link)) {
@@ -65,16 +73,17 @@ public class JpaLinkService implements LinkService {
             .orElseThrow(() -> new TgChatNotExistException(chatNotFoundErrorMessage));
 
         Link link = linkRepository.findLinkByUrl(url)
-            .orElseThrow(() -> new LinkNotFoundException("Link not found!"));
+            .orElseThrow(() -> new LinkNotFoundException(linkNotFoundErrorMessage));
 
         if (!chat.getLinks().contains(link)) {
-            throw new LinkNotFoundException("Tracking not found!");
+            throw new LinkNotFoundException(trackingNotFoundErrorMessage);
         }
 
         chat.deleteLink(link);
 
         if (link.getChats().isEmpty()) {
             linkRepository.delete(link);
+            linkCheckSchedule.cancel(link.getId());
         }
 
         return new edu.eflerrr.scrapper.domain.jdbc.dto.Link(
@@ -99,4 +108,25 @@ public class JpaLinkService implements LinkService {
             .toList();
     }
 
+    @Override
+    @Transactional
+    public edu.eflerrr.scrapper.domain.jdbc.dto.Link setEventMask(long tgChatId, URI url, long eventMask) {
+        log.debug("SET-EVENT-MASK IN LINK-SERVICE (JPA): tgChatId: {}, url: {}, mask: {}", tgChatId, url, eventMask);
+        Chat chat = chatRepository.findById(tgChatId)
+            .orElseThrow(() -> new TgChatNotExistException(chatNotFoundErrorMessage));
+
+        Link link = linkRepository.findLinkByUrl(url)
+            .orElseThrow(() -> new LinkNotFoundException(linkNotFoundErrorMessage));
+
+        if (linkRepository.updateEventMask(chat.getId(), link.getId(), eventMask) == 0) {
+            throw new LinkNotFoundException(trackingNotFoundErrorMessage);
+        }
+
+        return new edu.eflerrr.scrapper.domain.jdbc.dto.Link(
+            link.getId(), link.getUrl(),
+            link.getCreatedAt(), link.getCheckedAt(),
+            link.getUpdatedAt()
+        );
+    }
+
 }
@@ -1,210 +1,263 @@
 package edu.eflerrr.scrapper.service.jpa;
 
-import edu.eflerrr.scrapper.client.GithubClient;
-import edu.eflerrr.scrapper.client.StackoverflowClient;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
-import edu.eflerrr.scrapper.domain.jpa.entity.Branch;
-import edu.eflerrr.scrapper.domain.jpa.entity.Chat;
+import edu.eflerrr.scrapper.domain.jdbc.dto.BranchChanges;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkState;
 import edu.eflerrr.scrapper.domain.jpa.entity.Link;
+import edu.eflerrr.scrapper.domain.jpa.entity.OutboxEvent;
 import edu.eflerrr.scrapper.domain.jpa.repository.BranchRepository;
 import edu.eflerrr.scrapper.domain.jpa.repository.LinkRepository;
-import edu.eflerrr.scrapper.exception.InvalidDataException;
+import edu.eflerrr.scrapper.domain.jpa.repository.OutboxEventRepository;
 import edu.eflerrr.scrapper.service.LinkUpdateService;
-import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.LinkCheck;
+import edu.eflerrr.scrapper.service.pipeline.LinkResourceKey;
+import edu.eflerrr.scrapper.service.pipeline.LinkSubscribers;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdatePipeline;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdateStages;
 import java.net.URI;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.QUESTION_UNKNOWN_UPDATE;
-import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_CREATE;
-import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_DELETE;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_PUSH;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_UPDATE;
 import static edu.eflerrr.scrapper.configuration.TimeConstants.MIN_DATE_TIME;
 
+/**
+ * Pipeline stages run on their own threads, so they do not share one persistence context:
+ * the diff reads the detached links returned by the claim, and the write loads them again in its own transaction.
+ */
 @RequiredArgsConstructor
 @Slf4j
-public class JpaLinkUpdateService implements LinkUpdateService {
+public class JpaLinkUpdateService implements LinkUpdateService, LinkUpdateStages<Link> {
 
-    private final UpdateSender updateSender;
+    private final LinkUpdatePipeline pipeline;
+    private final TransactionTemplate transactionTemplate;
     private final BranchRepository branchRepository;
     private final LinkRepository linkRepository;
-    private final GithubClient githubClient;
-    private final StackoverflowClient stackoverflowClient;
+    private final OutboxEventRepository outboxEventRepository;
     private final ApplicationConfig config;
     private final Map<String, Long> eventIds;
+    private final String leaseOwner = UUID.randomUUID().toString();
 
-    @Transactional
-    protected boolean checkGithubUrl(Link link) {
-        boolean updateStatus = false;
+    private void diffGithub(LinkCheck<Link> check, Link link) {
         var linkLastUpdateTime = link.getUpdatedAt();
         URI url = link.getUrl();
-        String[] urlParts = url.getPath().split("/");
-        String username = urlParts[1];
-        String repository = urlParts[2];
-
-        var response = githubClient.fetchResponse(username, repository);
-        log.debug("LinkUpdateService (JPA): get github response, link: {}, response: {}", url, response);
-
-        if (response.getLastUpdate().isAfter(linkLastUpdateTime)
-            || response.getPushUpdate().isAfter(linkLastUpdateTime)
-            || !response.getBranches().isEmpty()) {
-            var tgChatIds = link.getChats().stream()
-                .map(Chat::getId)
-                .toList();
+        var response = check.getGithubResponse();
 
-            if (response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkLastUpdateTime)) {
-                log.debug("LinkUpdateService (JPA): sending github update, link: {}, reason: repository update", url);
-                updateSender.sendUpdate(
-                    REPOSITORY_UPDATE, url, "repository update -> " + response.getLastUpdate(), tgChatIds
-                );
-                link.setUpdatedAt(response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC));
-                linkRepository.save(link);
-                updateStatus = true;
-            }
-
-            if (response.getPushUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkLastUpdateTime)) {
-                log.debug("LinkUpdateService (JPA): sending github update, link: {}, reason: repository push", url);
-                updateSender.sendUpdate(
-                    REPOSITORY_PUSH, url, "repository push -> " + response.getPushUpdate(), tgChatIds
-                );
-                link.setUpdatedAt(response.getPushUpdate().withOffsetSameInstant(ZoneOffset.UTC));
-                linkRepository.save(link);
-                updateStatus = true;
-            }
-
-            var dbBranchNames = new HashSet<>(link.getBranches().stream()
-                .map(Branch::getBranchName)
-                .toList());
-
-            for (var branch : response.getBranches()) {
-                if (dbBranchNames.contains(branch.name())) {
-                    dbBranchNames.remove(branch.name());
-                } else {
-                    Branch newBranch = new Branch();
-                    newBranch.setRepositoryOwner(username);
-                    newBranch.setRepositoryName(repository);
-                    newBranch.setBranchName(branch.name());
-                    newBranch.setLastCommitTime(branch.lastCommitTime());
-                    link.addBranch(newBranch);
-                    branchRepository.save(newBranch);
-
-                    if (!link.getCheckedAt().withOffsetSameInstant(ZoneOffset.UTC).equals(MIN_DATE_TIME)) {
-                        log.debug(
-                            "LinkUpdateService (JPA): sending github update, link: {}, reason: new branch -> {}",
-                            url,
-                            branch.name()
-                        );
-                        updateSender.sendUpdate(
-                            REPOSITORY_BRANCH_CREATE, url, "new branch -> " + branch.name(), tgChatIds
-                        );
-                        updateStatus = true;
-                    }
-                }
-            }
+        if (response.getLastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkLastUpdateTime)) {
+            log.debug("LinkUpdateService (JPA): sending github update, link: {}, reason: repository update", url);
+            check.addEvent(REPOSITORY_UPDATE, "repository update -> " + response.getLastUpdate());
+            check.advanceUpdatedAt(response.getLastUpdate());
+        }
 
-            for (String branchName : dbBranchNames) {
-                branchRepository.deleteBranchesByLinkAndRepositoryOwnerAndRepositoryNameAndBranchName(
-                    link, username, repository, branchName
-                );
-                if (!link.getCheckedAt().withOffsetSameInstant(ZoneOffset.UTC).equals(MIN_DATE_TIME)) {
-                    log.debug(
-                        "LinkUpdateService (JPA): sending github update, link: {}, reason: branch deleted -> {}",
-                        url, branchName
-                    );
-                    updateSender.sendUpdate(
-                        REPOSITORY_BRANCH_DELETE, url, "branch deleted -> " + branchName, tgChatIds
-                    );
-                    updateStatus = true;
-                }
-            }
+        if (response.getPushUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkLastUpdateTime)) {
+            log.debug("LinkUpdateService (JPA): sending github update, link: {}, reason: repository push", url);
+            check.addEvent(REPOSITORY_PUSH, "repository push -> " + response.getPushUpdate());
+            check.advanceUpdatedAt(response.getPushUpdate());
         }
 
-        return updateStatus;
+        var firstCheck = link.getCheckedAt().withOffsetSameInstant(ZoneOffset.UTC).equals(MIN_DATE_TIME);
+        check.syncBranches(LinkUpdateStages.lastCommitTimes(response), !firstCheck);
     }
 
-    @Transactional
-    protected boolean checkStackoverflowUrl(Link link) {
-        boolean updateStatus = false;
-        var linkLastUpdateTime = link.getUpdatedAt();
-        URI url = link.getUrl();
-        long questionId = Long.parseLong(url.getPath().split("/")[2]);
-
-        var response = stackoverflowClient.fetchResponse(questionId);
-        log.debug("LinkUpdateService (JPA): get stackoverflow response, link: {}, response: {}", url, response);
-
-        if (response.lastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(linkLastUpdateTime)) {
-            var tgChatIds = link.getChats().stream()
-                .map(Chat::getId)
-                .toList();
+    private void diffStackoverflow(LinkCheck<Link> check, Link link) {
+        var response = check.getStackoverflowResponse();
 
+        if (response.lastUpdate().withOffsetSameInstant(ZoneOffset.UTC).isAfter(link.getUpdatedAt())) {
             log.debug(
                 "LinkUpdateService (JPA): sending stackoverflow update, link: {}, type: {}",
-                url, response.events().getFirst().type()
+                link.getUrl(), response.events().getFirst().type()
             );
-            updateSender.sendUpdate(
+            check.addEvent(
                 eventIds.getOrDefault(response.events().getFirst().type(), QUESTION_UNKNOWN_UPDATE),
-                url,
-                response.events().getFirst().type(),
-                tgChatIds
+                response.events().getFirst().type()
             );
-
-            link.setUpdatedAt(response.lastUpdate().withOffsetSameInstant(ZoneOffset.UTC));
-            linkRepository.save(link);
-            updateStatus = true;
+            check.advanceUpdatedAt(response.lastUpdate());
         }
+    }
 
-        return updateStatus;
+    @Override
+    public URI url(Link link) {
+        return link.getUrl();
     }
 
     @Override
-    @Transactional
-    public int update() {
-        log.debug("LinkUpdateService (JPA): Updating links...");
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        OffsetDateTime threshold = now.minus(config.scheduler().forceCheckDelay());
+    public Long id(Link link) {
+        return link.getId();
+    }
 
-        Set<Link> links = linkRepository.findLinksByCheckedAtBefore(threshold);
+    @Override
+    public Duration checkInterval(Link link) {
+        return link.getCheckIntervalSeconds() == null ? null : Duration.ofSeconds(link.getCheckIntervalSeconds());
+    }
 
-        int checkedCounter = 0;
-        int updatesCounter = 0;
+    @Override
+    public String resourceKey(Link link) {
+        return link.getResourceKey() == null ? LinkUpdateStages.super.resourceKey(link) : link.getResourceKey();
+    }
 
-        for (Link link : links) {
-            try {
-                URI url = link.getUrl();
-                String host = url.getHost();
+    @Override
+    public Long fingerprint(Link link) {
+        return link.getResponseFingerprint();
+    }
 
-                if ("github.com".equals(host)) {
-                    updatesCounter += checkGithubUrl(link) ? 1 : 0;
-                } else if ("stackoverflow.com".equals(host)) {
-                    updatesCounter += checkStackoverflowUrl(link) ? 1 : 0;
-                } else {
-                    log.warn("Trying to update unsupported URL: {}", url);
-                }
+    @Override
+    public void diff(LinkCheck<Link> check) {
+        if (check.getGithubResponse() != null) {
+            diffGithub(check, check.getLink());
+        } else {
+            diffStackoverflow(check, check.getLink());
+        }
+    }
 
-                link.setCheckedAt(now);
-                linkRepository.save(link);
-                checkedCounter++;
-            } catch (InvalidDataException ex) {
-                log.error(
-                    "Invalid data exception from bot during link [{}] update: {}",
-                    link.getUrl(),
-                    ex.getMessage()
+    @Override
+    public Map<Long, LinkSubscribers> subscribers(Collection<Long> linkIds) {
+        return LinkUpdateStages.groupByLink(linkRepository.findSubscribers(linkIds));
+    }
+
+    private BranchChanges syncBranches(LinkCheck<?> check) {
+        var repository = LinkResourceKey.githubRepository(check.getResourceKey());
+        var changes = branchRepository.syncBranches(
+            check.getLinkId(),
+            repository.owner(),
+            repository.name(),
+            check.getBranches().keySet().toArray(String[]::new),
+            check.getBranches().values().stream()
+                .map(time -> time.toInstant().toString())
+                .toArray(String[]::new)
+        ).stream().collect(Collectors.partitioningBy(
+            row -> (Boolean) row[0],
+            Collectors.mapping(row -> (String) row[1], Collectors.toList())
+        ));
+        log.debug("LinkUpdateService (JPA): synced branches of link {}, created: {}, deleted: {}",
+            check.getUrl(), changes.get(true), changes.get(false)
+        );
+        return new BranchChanges(changes.get(true), changes.get(false));
+    }
+
+    /**
+     * Loads the whole batch with one query and lets Hibernate JDBC batching write the dirty links back.
+     * Branches and outbox rows are written in the same transaction, so a check is either stored with all
+     * of its events or not at all.
+     */
+    @Override
+    public void write(List<LinkCheck<?>> checks, Consumer<List<LinkCheck<?>>> beforeCommit) {
+        log.debug("LinkUpdateService (JPA): writing {} link states", checks.size());
+        var states = checks.stream()
+            .map(LinkUpdateStages::linkState)
+            .toList();
+        var ids = states.stream()
+            .map(LinkState::getLinkId)
+            .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            var leasedIds = new HashSet<>(linkRepository.lockLeased(ids, leaseOwner));
+            var written = checks.stream()
+                .filter(check -> leasedIds.contains(check.getLinkId()))
+                .toList();
+            if (written.size() < checks.size()) {
+                log.warn("LinkUpdateService (JPA): skipped {} links leased by another owner",
+                    checks.size() - written.size()
                 );
-            } catch (RuntimeException ex) {
-                log.error("Error status code from bot during link [{}] update: {}", link.getUrl(), ex.getMessage());
             }
+            var links = linkRepository.findAllById(leasedIds).stream()
+                .collect(Collectors.toMap(Link::getId, Function.identity()));
+            for (var state : states) {
+                var link = links.get(state.getLinkId());
+                if (link == null) {
+                    continue;
+                }
+                if (state.getUpdatedAt() != null) {
+                    link.setUpdatedAt(state.getUpdatedAt());
+                }
+                link.setCheckedAt(state.getCheckedAt());
+                link.setCheckIntervalSeconds(state.getCheckInterval().toSeconds());
+                link.setNextCheckAt(state.getNextCheckAt());
+                if (state.getFingerprint() != null) {
+                    link.setResponseFingerprint(state.getFingerprint());
+                }
+            }
+            linkRepository.flush();
+            if (!leasedIds.isEmpty()) {
+                linkRepository.releaseLeases(leasedIds, leaseOwner);
+            }
+            for (var check : written) {
+                if (check.getBranches() != null) {
+                    check.addBranchChanges(syncBranches(check));
+                }
+            }
+            if (config.outbox().enable()) {
+                outboxEventRepository.saveAll(LinkUpdateStages.outboxEvents(written).stream()
+                    .map(JpaLinkUpdateService::toOutboxEvent)
+                    .toList());
+            }
+            beforeCommit.accept(written);
+        });
+    }
+
+    private static OutboxEvent toOutboxEvent(edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent event) {
+        var outboxEvent = new OutboxEvent();
+        outboxEvent.setLinkId(event.getLinkId());
+        outboxEvent.setEventId(event.getEvent().id());
+        outboxEvent.setUrl(event.getUrl());
+        outboxEvent.setDescription(event.getEvent().description());
+        outboxEvent.setTgChatIds(Arrays.stream(event.getTgChatIds()).boxed().toArray(Long[]::new));
+        outboxEvent.setCreatedAt(event.getCreatedAt());
+        outboxEvent.setListedEventIds(event.getEvent().eventIds());
+        outboxEvent.setListedEventDescriptions(event.getEvent().eventDescriptions());
+        outboxEvent.setOmittedEvents(event.getEvent().omittedEvents());
+        return outboxEvent;
+    }
+
+    @Override
+    public int update() {
+        log.debug("LinkUpdateService (JPA): Updating links...");
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        var lease = config.scheduler().lease();
+
+        int updatesCount = 0;
+        List<Link> links;
+        do {
+            links = linkRepository.claimDueLinks(now, now.plus(lease.duration()), lease.batchSize(), leaseOwner);
+            updatesCount += pipeline.process(links, this, now);
+        } while (links.size() == lease.batchSize());
+        pipeline.flush(this);
+        return updatesCount;
+    }
+
+    @Override
+    public int update(Collection<Long> linkIds) {
+        log.debug("LinkUpdateService (JPA): Updating due links - {}", linkIds.size());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        var lease = config.scheduler().lease();
+        var ids = List.copyOf(linkIds);
+        int updatesCount = 0;
+        for (int from = 0; from < ids.size(); from += lease.batchSize()) {
+            var chunk = ids.subList(from, Math.min(from + lease.batchSize(), ids.size()));
+            var links = linkRepository.claimDueLinks(chunk, now, now.plus(lease.duration()), leaseOwner);
+            updatesCount += pipeline.process(links, this, now);
         }
+        pipeline.flush(this);
+        return updatesCount;
+    }
 
-        log.debug("LinkUpdateService (JPA): checked - {}, updated - {} (links)",
-            checkedCounter, updatesCounter
-        );
-        return updatesCounter;
+    @Override
+    public List<LinkNextCheck> findNextChecks(int limit) {
+        return linkRepository.findNextChecks(OffsetDateTime.now(ZoneOffset.UTC), PageRequest.ofSize(limit));
     }
 
 }
@@ -0,0 +1,51 @@
+package edu.eflerrr.scrapper.service.jpa;
+
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.domain.jpa.repository.OutboxEventRepository;
+import edu.eflerrr.scrapper.service.OutboxService;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class JpaOutboxService implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Override
+    @Transactional
+    public List<OutboxEvent> claim(int limit, Duration leaseDuration) {
+        var now = OffsetDateTime.now(ZoneOffset.UTC);
+        return outboxEventRepository.claim(now, now.plus(leaseDuration), limit).stream()
+            .sorted(Comparator.comparing(edu.eflerrr.scrapper.domain.jpa.entity.OutboxEvent::getId))
+            .map(outboxEvent -> new OutboxEvent(
+                outboxEvent.getId(),
+                outboxEvent.getLinkId(),
+                LinkEvent.of(
+                    outboxEvent.getEventId(),
+                    outboxEvent.getDescription(),
+                    outboxEvent.getListedEventIds(),
+                    outboxEvent.getListedEventDescriptions(),
+                    outboxEvent.getOmittedEvents()
+                ),
+                outboxEvent.getUrl(),
+                Arrays.stream(outboxEvent.getTgChatIds()).mapToLong(Long::longValue).toArray(),
+                outboxEvent.getCreatedAt()
+            ))
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public void delete(Collection<Long> ids) {
+        outboxEventRepository.deleteAllByIdInBatch(ids);
+    }
+
+}
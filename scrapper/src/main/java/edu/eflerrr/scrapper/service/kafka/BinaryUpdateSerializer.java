@@ -0,0 +1,132 @@
+package edu.eflerrr.scrapper.service.kafka;
+
+import edu.eflerrr.scrapper.client.dto.request.SendUpdateRequest;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Compact binary encoding of {@link SendUpdateRequest}, an alternative to the JSON one.
+ * Records are marked with the {@value #FORMAT_HEADER} header, so the bot picks the decoder per record
+ * and keeps reading JSON records of producers that are not switched yet. Layout of schema version 1:
+ * <pre>
+ * version: byte
+ * event id: unsigned byte
+ * url: varint length, UTF-8 bytes
+ * description: varint length, UTF-8 bytes
+ * chat ids: varint count, first id as zigzag varint, then varint deltas of the ids sorted ascending
+ * chunk event id: byte 0 if absent, or byte 1 and 16 bytes of the UUID
+ * chunk: varint index, varint count
+ * listed events: varint count, then for each an unsigned byte event id and a varint length with UTF-8 bytes
+ * omitted events: varint count
+ * </pre>
+ */
+public class BinaryUpdateSerializer implements Serializer<SendUpdateRequest> {
+
+    public static final String FORMAT_HEADER = "update-format";
+    public static final String FORMAT = "binary";
+    public static final byte VERSION = 1;
+
+    private static final int MAX_EVENT_ID = 0xff;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7f;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int MAX_VARINT_BYTES = 10;
+    private static final int ZIGZAG_SIGN_SHIFT = 63;
+    private static final int UUID_BYTES = 16;
+    // version, event id, three varint lengths, chunk event id, chunk numbers and event counts
+    private static final int FIXED_BYTES = 2 + 3 * MAX_VARINT_BYTES + 1 + UUID_BYTES + 4 * MAX_VARINT_BYTES;
+    // event id and varint length of a listed event
+    private static final int LISTED_EVENT_BYTES = 1 + MAX_VARINT_BYTES;
+    private static final byte[] FORMAT_BYTES = FORMAT.getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, SendUpdateRequest data) {
+        var bytes = serialize(topic, data);
+        if (bytes != null) {
+            headers.remove(FORMAT_HEADER);
+            headers.add(FORMAT_HEADER, FORMAT_BYTES);
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] serialize(String topic, SendUpdateRequest data) {
+        if (data == null) {
+            return null;
+        }
+        checkEventId(data.id());
+        var url = data.url().toString().getBytes(StandardCharsets.UTF_8);
+        var description = data.description().getBytes(StandardCharsets.UTF_8);
+        var tgChatIds = data.tgChatIds().clone();
+        Arrays.sort(tgChatIds);
+        var events = data.events() == null ? List.<SendUpdateRequest.Event>of() : data.events();
+        var eventDescriptions = new ArrayList<byte[]>(events.size());
+        var eventBytes = 0;
+        for (var event : events) {
+            checkEventId(event.id());
+            var eventDescription = event.description().getBytes(StandardCharsets.UTF_8);
+            eventDescriptions.add(eventDescription);
+            eventBytes += LISTED_EVENT_BYTES + eventDescription.length;
+        }
+
+        var out = new ByteArrayOutputStream(
+            FIXED_BYTES + url.length + description.length + tgChatIds.length * MAX_VARINT_BYTES + eventBytes
+        );
+        out.write(VERSION);
+        out.write(data.id().intValue());
+        writeVarint(out, url.length);
+        out.writeBytes(url);
+        writeVarint(out, description.length);
+        out.writeBytes(description);
+        writeVarint(out, tgChatIds.length);
+        for (int i = 0; i < tgChatIds.length; i++) {
+            if (i == 0) {
+                writeVarint(out, (tgChatIds[0] << 1) ^ (tgChatIds[0] >> ZIGZAG_SIGN_SHIFT));
+            } else {
+                writeVarint(out, tgChatIds[i] - tgChatIds[i - 1]);
+            }
+        }
+        if (data.eventId() == null) {
+            out.write(0);
+        } else {
+            out.write(1);
+            out.writeBytes(ByteBuffer.allocate(UUID_BYTES)
+                .putLong(data.eventId().getMostSignificantBits())
+                .putLong(data.eventId().getLeastSignificantBits())
+                .array());
+        }
+        writeVarint(out, data.chunk());
+        writeVarint(out, data.chunks());
+        writeVarint(out, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            out.write(events.get(i).id().intValue());
+            writeVarint(out, eventDescriptions.get(i).length);
+            out.writeBytes(eventDescriptions.get(i));
+        }
+        writeVarint(out, data.omittedEvents());
+        return out.toByteArray();
+    }
+
+    private static void checkEventId(Long id) {
+        if (id == null || id < 0 || id > MAX_EVENT_ID) {
+            throw new SerializationException("Event id does not fit into a byte: " + id);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        var rest = value;
+        while ((rest & ~VARINT_PAYLOAD_MASK) != 0) {
+            out.write((int) (rest & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION);
+            rest >>>= VARINT_PAYLOAD_BITS;
+        }
+        out.write((int) rest);
+    }
+
+}
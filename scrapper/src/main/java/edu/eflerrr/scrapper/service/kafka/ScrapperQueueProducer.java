@@ -2,9 +2,13 @@ package edu.eflerrr.scrapper.service.kafka;
 
 import edu.eflerrr.scrapper.client.dto.request.SendUpdateRequest;
 import edu.eflerrr.scrapper.configuration.ApplicationConfig;
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
 import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
 import java.net.URI;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -18,6 +22,7 @@ public class ScrapperQueueProducer implements UpdateSender {
 
     private final KafkaTemplate<String, SendUpdateRequest> kafkaTemplate;
     private final String topicName;
+    private final int chunkSize;
 
     @Autowired
     public ScrapperQueueProducer(
@@ -25,29 +30,64 @@ public class ScrapperQueueProducer implements UpdateSender {
     ) {
         this.kafkaTemplate = kafkaTemplate;
         this.topicName = config.kafka().topic().name();
+        this.chunkSize = config.notification().chunkSize();
     }
 
+    /**
+     * Large subscriber lists are sent as several records of at most {@code chunk-size} chat ids, which keeps
+     * them under the maximum request size; every chunk is retried by the producer on its own.
+     * Waits for all of them to be acknowledged and fails otherwise, so the caller can keep the update.
+     */
     @Override
-    public void sendUpdate(Long id, URI url, String description, List<Long> tgChatIds) {
-        var message = new SendUpdateRequest(id, url, description, tgChatIds);
-        var future = kafkaTemplate.send(
-            topicName, message
-        );
-        future.whenComplete((result, ex) -> {
-            if (ex == null) {
-                log.debug(
-                    "[ScrapperQueueProducer] Successfully sending message, message: "
+    public void sendUpdate(Long linkId, UUID updateId, LinkEvent event, URI url, long[] tgChatIds) {
+        var futures = SendUpdateRequest.split(updateId, event, url, tgChatIds, chunkSize).stream()
+            .map(message -> send(linkId, message))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private CompletableFuture<?> send(Long linkId, SendUpdateRequest message) {
+        return kafkaTemplate.send(topicName, key(linkId), message)
+            .whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.debug(
+                        "[ScrapperQueueProducer] Successfully sending message, message: "
+                            + message
+                            + ", offset in partition: "
+                            + result.getRecordMetadata().offset()
+                    );
+                } else {
+                    log.debug("[ScrapperQueueProducer] Failed to send message! message: "
                         + message
-                        + ", offset in partition: "
-                        + result.getRecordMetadata().offset()
-                );
-            } else {
-                log.debug("[ScrapperQueueProducer] Failed to send message! message: "
-                    + message
-                    + "reason: "
-                    + ex.getMessage());
-            }
-        });
+                        + "reason: "
+                        + ex.getMessage());
+                }
+            });
+    }
+
+    /**
+     * Hands the whole batch to the producer before waiting, so it goes out in as few requests as the producer
+     * batching allows, and fails if any of the records was not acknowledged.
+     */
+    @Override
+    public void sendUpdates(List<OutboxEvent> events) {
+        var futures = events.stream()
+            .flatMap(event -> SendUpdateRequest.split(
+                    event.getUpdateId(), event.getEvent(), event.getUrl(), event.getTgChatIds(), chunkSize
+                ).stream()
+                .map(chunk -> kafkaTemplate.send(topicName, key(event.getLinkId()), chunk)))
+            .toArray(CompletableFuture[]::new);
+        kafkaTemplate.flush();
+        CompletableFuture.allOf(futures).join();
+        log.debug("[ScrapperQueueProducer] Successfully sent {} messages", events.size());
+    }
+
+    /**
+     * Records of one link share a partition, so the bot receives its updates and their chunks in order.
+     * Outbox events written before the link id was stored have no key and are spread over the partitions.
+     */
+    private static String key(Long linkId) {
+        return linkId == null ? null : linkId.toString();
     }
 
 }
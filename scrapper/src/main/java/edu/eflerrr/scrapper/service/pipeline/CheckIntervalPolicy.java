@@ -0,0 +1,31 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.configuration.ApplicationConfig;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Adapts the check interval of a link to how often it actually changes:
+ * a check that found changes shrinks the interval, a quiet one grows it, both within the configured bounds.
+ * Links that were never checked start from the initial interval.
+ */
+@RequiredArgsConstructor
+public class CheckIntervalPolicy {
+
+    private final Duration initial;
+    private final ApplicationConfig.Scheduler.CheckInterval props;
+
+    public Duration next(Duration current, boolean changed) {
+        var base = current == null ? initial : current;
+        var millis = changed ? base.toMillis() / props.factor() : base.toMillis() * props.factor();
+        var next = Duration.ofMillis(Math.round(millis));
+        if (next.compareTo(props.min()) < 0) {
+            return props.min();
+        }
+        if (next.compareTo(props.max()) > 0) {
+            return props.max();
+        }
+        return next;
+    }
+
+}
@@ -0,0 +1,121 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
+import edu.eflerrr.scrapper.client.dto.response.StackoverflowClientResponse;
+import edu.eflerrr.scrapper.domain.jdbc.dto.BranchChanges;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_CREATE;
+import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_DELETE;
+
+/**
+ * State of a single link while it moves through the {@link LinkUpdatePipeline} stages.
+ */
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+public class LinkCheck<L> {
+
+    private final L link;
+    private final Long linkId;
+    private final URI url;
+    private String resourceKey;
+    private int maxListedEvents;
+    private GithubClientResponse githubResponse;
+    private StackoverflowClientResponse stackoverflowResponse;
+    private Long fingerprint;
+    private LinkSubscribers subscribers = LinkSubscribers.NONE;
+    private OffsetDateTime checkedAt;
+    private OffsetDateTime updatedAt;
+    private Duration checkInterval;
+    private Map<String, OffsetDateTime> branches;
+    private boolean notifyBranchChanges;
+    private boolean branchChangesAdded;
+    private final List<LinkEvent> events = new ArrayList<>();
+
+    public void addEvent(Long id, String description) {
+        events.add(new LinkEvent(id, description));
+    }
+
+    /**
+     * Marks the fetched branch set (last commit times keyed by branch name) to be synchronized when the state
+     * of the check is written. The created and deleted branches are only known from that synchronization,
+     * which passes them to {@link #addBranchChanges}.
+     * A write rolled back and repeated synchronizes the same changes again, their events are only added once.
+     */
+    public void syncBranches(Map<String, OffsetDateTime> lastCommitTimes, boolean notify) {
+        branches = lastCommitTimes;
+        notifyBranchChanges = notify;
+    }
+
+    public void addBranchChanges(BranchChanges changes) {
+        if (!notifyBranchChanges || branchChangesAdded) {
+            return;
+        }
+        branchChangesAdded = true;
+        for (var branchName : changes.getCreated()) {
+            addEvent(REPOSITORY_BRANCH_CREATE, "new branch -> " + branchName);
+        }
+        for (var branchName : changes.getDeleted()) {
+            addEvent(REPOSITORY_BRANCH_DELETE, "branch deleted -> " + branchName);
+        }
+    }
+
+    /**
+     * Notifications of the check. Subscribers are grouped by the event types of the check
+     * their event masks let through, and each group gets one notification: the only event it accepts
+     * or all of them coalesced, see {@link LinkEvent#coalesce}. Subscribers muting every event get nothing.
+     */
+    public List<LinkNotification> getNotifications() {
+        var eventTypes = 0L;
+        for (var event : events) {
+            eventTypes |= LinkSubscribers.bit(event.id());
+        }
+        var groups = new LinkedHashMap<Long, LongStream.Builder>();
+        var tgChatIds = subscribers.tgChatIds();
+        var eventMasks = subscribers.eventMasks();
+        for (int i = 0; i < tgChatIds.length; i++) {
+            var accepted = eventTypes & eventMasks[i];
+            if (accepted != 0) {
+                groups.computeIfAbsent(accepted, key -> LongStream.builder()).add(tgChatIds[i]);
+            }
+        }
+        var notifications = new ArrayList<LinkNotification>();
+        groups.forEach((accepted, groupChatIds) -> {
+            var acceptedEvents = events.stream()
+                .filter(event -> (accepted & LinkSubscribers.bit(event.id())) != 0)
+                .toList();
+            notifications.add(new LinkNotification(
+                acceptedEvents.size() == 1
+                    ? acceptedEvents.getFirst()
+                    : LinkEvent.coalesce(acceptedEvents, maxListedEvents),
+                groupChatIds.build().toArray()
+            ));
+        });
+        return notifications;
+    }
+
+    public void advanceUpdatedAt(OffsetDateTime newUpdatedAt) {
+        var utcUpdatedAt = newUpdatedAt.withOffsetSameInstant(ZoneOffset.UTC);
+        if (updatedAt == null || utcUpdatedAt.isAfter(updatedAt)) {
+            updatedAt = utcUpdatedAt;
+        }
+    }
+
+    public boolean isUpdated() {
+        return updatedAt != null || !events.isEmpty();
+    }
+
+}
@@ -0,0 +1,59 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.MULTIPLE_UPDATES;
+
+/**
+ * Event of a link check. A {@code MULTIPLE_UPDATES} event lists the coalesced {@code events}
+ * and counts the ones left out of the list in {@code omittedEvents}, other events list nothing.
+ */
+public record LinkEvent(
+    Long id,
+    String description,
+    List<LinkEvent> events,
+    int omittedEvents
+) {
+
+    public static final String MULTIPLE_UPDATES_DESCRIPTION = "multiple updates";
+
+    public LinkEvent(Long id, String description) {
+        this(id, description, List.of(), 0);
+    }
+
+    /**
+     * Restores an event stored with its listed events as parallel arrays of ids and descriptions,
+     * see {@link #eventIds()} and {@link #eventDescriptions()}.
+     */
+    public static LinkEvent of(
+        Long id, String description, Long[] eventIds, String[] eventDescriptions, int omittedEvents
+    ) {
+        var events = IntStream.range(0, eventIds.length)
+            .mapToObj(i -> new LinkEvent(eventIds[i], eventDescriptions[i]))
+            .toList();
+        return new LinkEvent(id, description, events, omittedEvents);
+    }
+
+    public Long[] eventIds() {
+        return events.stream().map(LinkEvent::id).toArray(Long[]::new);
+    }
+
+    public String[] eventDescriptions() {
+        return events.stream().map(LinkEvent::description).toArray(String[]::new);
+    }
+
+    /**
+     * Merges the events into one {@code MULTIPLE_UPDATES} event that lists the first {@code maxListedEvents}
+     * of them and counts the rest.
+     */
+    public static LinkEvent coalesce(List<LinkEvent> events, int maxListedEvents) {
+        var listed = Math.min(events.size(), maxListedEvents);
+        return new LinkEvent(
+            MULTIPLE_UPDATES,
+            MULTIPLE_UPDATES_DESCRIPTION,
+            List.copyOf(events.subList(0, listed)),
+            events.size() - listed
+        );
+    }
+
+}
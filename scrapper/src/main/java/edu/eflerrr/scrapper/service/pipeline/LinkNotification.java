@@ -0,0 +1,10 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+/**
+ * Event of a check as it is sent to the chats whose event masks let it through.
+ */
+public record LinkNotification(
+    LinkEvent event,
+    long[] tgChatIds
+) {
+}
@@ -0,0 +1,60 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.client.dto.request.GithubRepository;
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Canonical key of the upstream resource behind a link: {@code github:owner/repository} for GitHub repositories
+ * and {@code stackoverflow:questionId} for StackOverflow questions, so that links differing only in case,
+ * trailing slash, {@code .git} suffix, sub-path or question slug share one fetch per cycle.
+ * Links of any other kind are keyed by their url.
+ */
+public final class LinkResourceKey {
+
+    private static final String GITHUB_HOST = "github.com";
+    private static final String STACKOVERFLOW_HOST = "stackoverflow.com";
+    private static final String GIT_SUFFIX = ".git";
+    private static final String GITHUB_PREFIX = "github:";
+    private static final String STACKOVERFLOW_PREFIX = "stackoverflow:";
+
+    private LinkResourceKey() {
+    }
+
+    public static String of(URI url) {
+        var host = url.getHost() == null ? "" : url.getHost().toLowerCase(Locale.ROOT);
+        var pathParts = url.getPath() == null ? new String[0] : url.getPath().split("/");
+        if (GITHUB_HOST.equals(host) && pathParts.length > 2) {
+            var repository = pathParts[2].toLowerCase(Locale.ROOT);
+            if (repository.endsWith(GIT_SUFFIX)) {
+                repository = repository.substring(0, repository.length() - GIT_SUFFIX.length());
+            }
+            return GITHUB_PREFIX + pathParts[1].toLowerCase(Locale.ROOT) + "/" + repository;
+        } else if (STACKOVERFLOW_HOST.equals(host) && pathParts.length > 2 && pathParts[2].matches("\\d+")) {
+            return STACKOVERFLOW_PREFIX + pathParts[2];
+        }
+        return "url:" + url;
+    }
+
+    /**
+     * Repository named by a GitHub key, {@code null} for keys of other resources.
+     */
+    public static GithubRepository githubRepository(String key) {
+        if (key == null || !key.startsWith(GITHUB_PREFIX)) {
+            return null;
+        }
+        var separator = key.indexOf('/', GITHUB_PREFIX.length());
+        return new GithubRepository(key.substring(GITHUB_PREFIX.length(), separator), key.substring(separator + 1));
+    }
+
+    /**
+     * Question named by a StackOverflow key, {@code null} for keys of other resources.
+     */
+    public static Long questionId(String key) {
+        if (key == null || !key.startsWith(STACKOVERFLOW_PREFIX)) {
+            return null;
+        }
+        return Long.parseLong(key.substring(STACKOVERFLOW_PREFIX.length()));
+    }
+
+}
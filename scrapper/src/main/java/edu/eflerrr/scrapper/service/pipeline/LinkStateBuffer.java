@@ -0,0 +1,47 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Flush;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the checks whose state is written at the end of the check, so that the update services
+ * can persist it with one batched statement instead of several round trips per link.
+ * A batch is handed out once it reaches the configured size or the configured interval
+ * has passed since the previous one; whatever is left is taken with {@link #drain()}.
+ */
+public class LinkStateBuffer {
+
+    private final int size;
+    private final long intervalNanos;
+    private List<LinkCheck<?>> checks = new ArrayList<>();
+    private long lastDrainNanos = System.nanoTime();
+
+    public LinkStateBuffer(Flush props) {
+        this.size = Math.max(1, props.size());
+        this.intervalNanos = props.interval().toNanos();
+    }
+
+    public synchronized List<LinkCheck<?>> add(LinkCheck<?> check) {
+        checks.add(check);
+        if (checks.size() >= size || System.nanoTime() - lastDrainNanos >= intervalNanos) {
+            return drain();
+        }
+        return List.of();
+    }
+
+    /**
+     * Puts back the checks of a failed write ahead of the buffered ones, they are written with the next batch.
+     */
+    public synchronized void requeue(List<LinkCheck<?>> failed) {
+        checks.addAll(0, failed);
+    }
+
+    public synchronized List<LinkCheck<?>> drain() {
+        var drained = checks;
+        checks = new ArrayList<>();
+        lastDrainNanos = System.nanoTime();
+        return drained;
+    }
+
+}
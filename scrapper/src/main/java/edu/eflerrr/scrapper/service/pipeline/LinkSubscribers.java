@@ -0,0 +1,30 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import java.util.Arrays;
+
+/**
+ * Chats tracking a link together with the event mask of each tracking. Bit {@code 1 << eventId}
+ * of a mask is set for every event type the chat wants to be notified about, see {@link #bit}.
+ */
+public record LinkSubscribers(
+    long[] tgChatIds,
+    long[] eventMasks
+) {
+
+    public static final long ALL_EVENTS = -1L;
+    public static final LinkSubscribers NONE = new LinkSubscribers(new long[0], new long[0]);
+
+    /**
+     * Subscribers notified about every event type.
+     */
+    public static LinkSubscribers of(long... tgChatIds) {
+        var eventMasks = new long[tgChatIds.length];
+        Arrays.fill(eventMasks, ALL_EVENTS);
+        return new LinkSubscribers(tgChatIds, eventMasks);
+    }
+
+    public static long bit(Long eventId) {
+        return 1L << eventId;
+    }
+
+}
@@ -0,0 +1,389 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.eflerrr.scrapper.client.GithubClient;
+import edu.eflerrr.scrapper.client.GithubGraphqlClient;
+import edu.eflerrr.scrapper.client.StackoverflowClient;
+import edu.eflerrr.scrapper.configuration.ApplicationConfig;
+import edu.eflerrr.scrapper.exception.InvalidDataException;
+import edu.eflerrr.scrapper.exception.UnsentNotificationsException;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
+import edu.eflerrr.scrapper.service.UpdateSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Runs every due link through the fetch -> diff -> persist -> notify stages.
+ * Each stage has its own executor, so slow API round trips of one link
+ * do not hold back the database work and notifications of the others.
+ * Links are independent: a failed fetch or diff skips the remaining stages of that link only,
+ * so its state is not persisted and it is put back into the {@link LinkCheckSchedule} to be checked again
+ * once its lease expires, {@code retryDelay} after the check.
+ * Subscribers of the whole batch are loaded with one query before any link enters the stages.
+ * StackOverflow questions of the batch are fetched the same way, up to a hundred per request,
+ * and so are GitHub repositories when the GraphQL engine is configured. The fetch stage only goes to the
+ * per-link clients for links missing from those results.
+ * Links pointing to the same upstream resource (see {@link LinkResourceKey}) are fetched once per update cycle,
+ * from the canonical owner and repository or question id of the key: the first of them goes through
+ * the fetch stage and the others, in the same or a later lease batch, reuse its response for their own diff.
+ * The responses are kept until {@link #flush} ends the cycle, but at most for a lease duration
+ * and for {@code window-size} resources, so a cycle over many links does not keep all of them in memory.
+ * A link whose {@link ResponseFingerprint} matches the stored one skips the data-access diff,
+ * and when it is known to be unchanged from a batch prefetch, its subscribers are not loaded either.
+ * After the diff every link gets its next check interval from the {@link CheckIntervalPolicy},
+ * and after the persist it is put back into the {@link LinkCheckSchedule}.
+ * The persist stage collects the checks in a {@link LinkStateBuffer} and writes them in batches
+ * (see {@link LinkUpdateStages#write}); the rest is written by {@link #flush} at the end of the update.
+ * Checks of a failed write go back into the buffer and are written with the next batch, so their notifications
+ * may be sent again.
+ * Branch changes are only known from that write, so notifications are built once the batch is written:
+ * subscribers only get the event types their tracking event mask lets through (see {@link LinkSubscribers}),
+ * and all events of one check a subscriber gets are coalesced into a single notification
+ * listing up to {@code max-listed-events} of them. The notify stage sends them inside the write transaction,
+ * before it commits: when a notification of a check fails, the write is rolled back and repeated without
+ * that check, which is retried like a failed fetch. Notifications the bot rejects as invalid are only logged,
+ * since sending them again would fail the same way.
+ * Without an {@link UpdateSender} the notify stage sends nothing: the notifications are written to the outbox
+ * together with the link state and delivered by the {@link edu.eflerrr.scrapper.scheduler.OutboxRelay}.
+ */
+@Slf4j
+public class LinkUpdatePipeline implements DisposableBean {
+
+    private static final String GITHUB_HOST = "github.com";
+    private static final String STACKOVERFLOW_HOST = "stackoverflow.com";
+
+    private final GithubClient githubClient;
+    private final GithubGraphqlClient githubGraphqlClient;
+    private final StackoverflowClient stackoverflowClient;
+    private final UpdateSender updateSender;
+    private final int maxListedEvents;
+    private final CheckIntervalPolicy checkIntervalPolicy;
+    private final LinkCheckSchedule linkCheckSchedule;
+    private final Duration retryDelay;
+    private final LinkStateBuffer linkStateBuffer;
+    private final Cache<String, LinkCheck<?>> fetchedResources;
+    private final PipelineStage fetchStage;
+    private final PipelineStage diffStage;
+    private final PipelineStage persistStage;
+    private final PipelineStage notifyStage;
+
+    @SuppressWarnings("ParameterNumber")
+    public LinkUpdatePipeline(
+        GithubClient githubClient,
+        GithubGraphqlClient githubGraphqlClient,
+        StackoverflowClient stackoverflowClient,
+        UpdateSender updateSender,
+        ApplicationConfig.Scheduler.Pipeline props,
+        ApplicationConfig.Notification notification,
+        CheckIntervalPolicy checkIntervalPolicy,
+        LinkCheckSchedule linkCheckSchedule,
+        Duration retryDelay,
+        LinkStateBuffer linkStateBuffer,
+        MeterRegistry registry
+    ) {
+        this.githubClient = githubClient;
+        this.githubGraphqlClient = githubGraphqlClient;
+        this.stackoverflowClient = stackoverflowClient;
+        this.updateSender = updateSender;
+        this.maxListedEvents = notification.maxListedEvents();
+        this.checkIntervalPolicy = checkIntervalPolicy;
+        this.linkCheckSchedule = linkCheckSchedule;
+        this.retryDelay = retryDelay;
+        this.linkStateBuffer = linkStateBuffer;
+        this.fetchedResources = Caffeine.newBuilder()
+            .expireAfterWrite(retryDelay)
+            .maximumSize(linkCheckSchedule.windowSize())
+            .build();
+        this.fetchStage = new PipelineStage("fetch", props.fetch(), registry);
+        this.diffStage = new PipelineStage("diff", props.diff(), registry);
+        this.persistStage = new PipelineStage("persist", props.persist(), registry);
+        this.notifyStage = new PipelineStage("notify", props.notification(), registry);
+    }
+
+    public <L> int process(Collection<L> links, LinkUpdateStages<L> stages, OffsetDateTime checkedAt) {
+        if (links.isEmpty()) {
+            return 0;
+        }
+        var checkedCounter = new AtomicInteger();
+        var updatesCounter = new AtomicInteger();
+        var checks = links.stream()
+            .map(link -> {
+                var check = new LinkCheck<>(link, stages.id(link), stages.url(link));
+                check.setResourceKey(stages.resourceKey(link));
+                check.setMaxListedEvents(maxListedEvents);
+                return check;
+            })
+            .toList();
+        var resources = new LinkedHashMap<String, LinkCheck<?>>();
+        var unfetched = new ArrayList<LinkCheck<L>>();
+        for (var check : checks) {
+            var fetched = fetchedResources.getIfPresent(check.getResourceKey());
+            if (fetched != null) {
+                resources.putIfAbsent(check.getResourceKey(), fetched);
+            } else if (resources.putIfAbsent(check.getResourceKey(), check) == null) {
+                unfetched.add(check);
+            }
+        }
+        if (githubGraphqlClient != null) {
+            prefetchGithub(unfetched);
+        }
+        prefetchStackoverflow(unfetched);
+        loadSubscribers(checks, resources, stages);
+        var fetches = new HashMap<String, CompletableFuture<LinkCheck<?>>>();
+        var futures = checks.stream()
+            .map(check -> process(check, stages, checkedAt, fetches)
+                .thenAccept(updated -> {
+                    if (updated != null) {
+                        checkedCounter.incrementAndGet();
+                        updatesCounter.addAndGet(updated ? 1 : 0);
+                    }
+                })
+            )
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+        log.debug(
+            "LinkUpdatePipeline: checked - {}, updated - {} (links), fetched - {} (resources)",
+            checkedCounter, updatesCounter, fetches.size()
+        );
+        return updatesCounter.get();
+    }
+
+    private <L> CompletableFuture<Boolean> process(
+        LinkCheck<L> check,
+        LinkUpdateStages<L> stages,
+        OffsetDateTime checkedAt,
+        Map<String, CompletableFuture<LinkCheck<?>>> fetches
+    ) {
+        var host = check.getUrl().getHost();
+        if (!GITHUB_HOST.equals(host) && !STACKOVERFLOW_HOST.equals(host)) {
+            log.warn("Trying to update unsupported URL: {}", check.getUrl());
+            return CompletableFuture.completedFuture(null);
+        }
+        return fetches.computeIfAbsent(check.getResourceKey(), resourceKey -> {
+                var fetched = fetchedResources.getIfPresent(resourceKey);
+                if (fetched != null) {
+                    return CompletableFuture.completedFuture(fetched);
+                }
+                return CompletableFuture.supplyAsync(() -> {
+                    fetch(check);
+                    fetchedResources.put(resourceKey, check);
+                    return check;
+                }, fetchStage);
+            })
+            .thenAcceptAsync(fetched -> {
+                if (fetched != check) {
+                    check.setGithubResponse(fetched.getGithubResponse());
+                    check.setStackoverflowResponse(fetched.getStackoverflowResponse());
+                }
+                diff(check, stages);
+            }, diffStage)
+            .thenRunAsync(() -> persist(check, stages, checkedAt), persistStage)
+            .thenApply(ignored -> check.isUpdated())
+            .exceptionally(ex -> {
+                var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                log.error("Error during link [{}] update: {}", check.getUrl(), cause.getMessage());
+                linkCheckSchedule.schedule(check.getLinkId(), checkedAt.plus(retryDelay));
+                return null;
+            });
+    }
+
+    private <L> void loadSubscribers(
+        List<LinkCheck<L>> checks, Map<String, LinkCheck<?>> resources, LinkUpdateStages<L> stages
+    ) {
+        var linkIds = checks.stream()
+            .filter(check -> {
+                var fingerprint = stages.fingerprint(check.getLink());
+                return fingerprint == null
+                    || !fingerprint.equals(ResponseFingerprint.of(resources.get(check.getResourceKey())));
+            })
+            .map(check -> stages.id(check.getLink()))
+            .toList();
+        if (linkIds.isEmpty()) {
+            return;
+        }
+        var subscribers = stages.subscribers(linkIds);
+        for (var check : checks) {
+            check.setSubscribers(subscribers.getOrDefault(stages.id(check.getLink()), check.getSubscribers()));
+        }
+    }
+
+    private void prefetchGithub(Collection<? extends LinkCheck<?>> checks) {
+        var githubChecks = checks.stream()
+            .filter(check -> LinkResourceKey.githubRepository(check.getResourceKey()) != null)
+            .toList();
+        if (githubChecks.isEmpty()) {
+            return;
+        }
+        try {
+            var responses = githubGraphqlClient.fetchResponses(
+                githubChecks.stream().map(check -> LinkResourceKey.githubRepository(check.getResourceKey())).toList()
+            );
+            for (var check : githubChecks) {
+                check.setGithubResponse(responses.get(LinkResourceKey.githubRepository(check.getResourceKey())));
+            }
+            log.debug(
+                "LinkUpdatePipeline: prefetched github responses, links: {}, resolved: {}",
+                githubChecks.size(), responses.size()
+            );
+        } catch (RuntimeException ex) {
+            log.warn("Error during github prefetch, falling back to REST: {}", ex.getMessage());
+        }
+    }
+
+    private void prefetchStackoverflow(Collection<? extends LinkCheck<?>> checks) {
+        var stackoverflowChecks = checks.stream()
+            .filter(check -> LinkResourceKey.questionId(check.getResourceKey()) != null)
+            .toList();
+        if (stackoverflowChecks.isEmpty()) {
+            return;
+        }
+        try {
+            var responses = stackoverflowClient.fetchResponses(
+                stackoverflowChecks.stream().map(check -> LinkResourceKey.questionId(check.getResourceKey())).toList()
+            );
+            for (var check : stackoverflowChecks) {
+                check.setStackoverflowResponse(responses.get(LinkResourceKey.questionId(check.getResourceKey())));
+            }
+            log.debug(
+                "LinkUpdatePipeline: prefetched stackoverflow responses, links: {}, resolved: {}",
+                stackoverflowChecks.size(), responses.size()
+            );
+        } catch (RuntimeException ex) {
+            log.warn("Error during stackoverflow prefetch, falling back to single requests: {}", ex.getMessage());
+        }
+    }
+
+    private void fetch(LinkCheck<?> check) {
+        var repository = LinkResourceKey.githubRepository(check.getResourceKey());
+        var questionId = LinkResourceKey.questionId(check.getResourceKey());
+        if (check.getGithubResponse() != null || check.getStackoverflowResponse() != null) {
+            log.debug("LinkUpdatePipeline: response already prefetched, link: {}", check.getUrl());
+        } else if (repository != null) {
+            var response = githubClient.fetchResponse(repository.owner(), repository.name());
+            log.debug("LinkUpdatePipeline: get github response, link: {}, response: {}", check.getUrl(), response);
+            check.setGithubResponse(response);
+        } else if (questionId != null) {
+            var response = stackoverflowClient.fetchResponse(questionId);
+            log.debug(
+                "LinkUpdatePipeline: get stackoverflow response, link: {}, response: {}", check.getUrl(), response
+            );
+            check.setStackoverflowResponse(response);
+        } else {
+            throw new IllegalArgumentException("No repository or question in link " + check.getUrl());
+        }
+    }
+
+    private <L> void diff(LinkCheck<L> check, LinkUpdateStages<L> stages) {
+        check.setFingerprint(ResponseFingerprint.of(check));
+        if (check.getFingerprint() != null && check.getFingerprint().equals(stages.fingerprint(check.getLink()))) {
+            log.debug("LinkUpdatePipeline: response unchanged, link: {}", check.getUrl());
+        } else {
+            stages.diff(check);
+        }
+        check.setCheckInterval(checkIntervalPolicy.next(stages.checkInterval(check.getLink()), check.isUpdated()));
+    }
+
+    private <L> void persist(LinkCheck<L> check, LinkUpdateStages<L> stages, OffsetDateTime checkedAt) {
+        check.setCheckedAt(checkedAt);
+        linkCheckSchedule.schedule(stages.id(check.getLink()), checkedAt.plus(check.getCheckInterval()));
+        write(linkStateBuffer.add(check), stages);
+    }
+
+    /**
+     * Ends the update cycle: writes the checks left in the buffer and forgets the responses fetched during it.
+     * Called by the update services once every due link went through.
+     */
+    public void flush(LinkUpdateStages<?> stages) {
+        fetchedResources.invalidateAll();
+        write(linkStateBuffer.drain(), stages);
+    }
+
+    private void write(List<LinkCheck<?>> checks, LinkUpdateStages<?> stages) {
+        if (checks.isEmpty()) {
+            return;
+        }
+        try {
+            writeAndNotify(checks, stages);
+        } catch (RuntimeException ex) {
+            log.error("Error during writing {} link states, keeping them for the next write: {}",
+                checks.size(), ex.getMessage()
+            );
+            linkStateBuffer.requeue(checks);
+        }
+    }
+
+    private void writeAndNotify(List<LinkCheck<?>> checks, LinkUpdateStages<?> stages) {
+        if (updateSender == null) {
+            stages.write(checks, written -> {});
+            return;
+        }
+        try {
+            stages.write(checks, this::sendNotifications);
+        } catch (UnsentNotificationsException ex) {
+            var unsent = ex.getChecks();
+            for (var check : unsent) {
+                linkCheckSchedule.schedule(check.getLinkId(), check.getCheckedAt().plus(retryDelay));
+            }
+            var sent = checks.stream()
+                .filter(check -> !unsent.contains(check))
+                .toList();
+            if (!sent.isEmpty()) {
+                stages.write(sent, written -> {});
+            }
+        }
+    }
+
+    private void sendNotifications(List<LinkCheck<?>> checks) {
+        Set<LinkCheck<?>> unsent = ConcurrentHashMap.newKeySet();
+        var futures = checks.stream()
+            .map(check -> CompletableFuture.runAsync(() -> sendUpdates(check), notifyStage)
+                .exceptionally(ex -> {
+                    var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof InvalidDataException) {
+                        log.error(
+                            "Invalid data exception from bot during link [{}] update: {}",
+                            check.getUrl(), cause.getMessage()
+                        );
+                    } else {
+                        log.error("Error during link [{}] notification: {}", check.getUrl(), cause.getMessage());
+                        unsent.add(check);
+                    }
+                    return null;
+                }))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+        if (!unsent.isEmpty()) {
+            throw new UnsentNotificationsException("Notifications of " + unsent.size() + " links not sent", unsent);
+        }
+    }
+
+    private void sendUpdates(LinkCheck<?> check) {
+        for (var notification : check.getNotifications()) {
+            updateSender.sendUpdate(check.getLinkId(), notification.event(), check.getUrl(), notification.tgChatIds());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        fetchStage.close();
+        diffStage.close();
+        persistStage.close();
+        notifyStage.close();
+    }
+
+}
@@ -0,0 +1,133 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.client.dto.response.GithubBranchResponse;
+import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkState;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkSubscriber;
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Data-access specific part of the link update: the pipeline itself fetches responses
+ * and sends notifications, implementations compare the response with the stored state and write it.
+ * Branch changes are found by the branch synchronization of {@link #write}, which adds their events to the check.
+ * When the outbox is enabled the pipeline does not send anything: implementations write the notifications
+ * of the checks to the outbox in the same transaction as the link state, see {@link #outboxEvents}.
+ */
+public interface LinkUpdateStages<L> {
+
+    URI url(L link);
+
+    Long id(L link);
+
+    /**
+     * Current check interval of the link, {@code null} if it was never checked.
+     */
+    Duration checkInterval(L link);
+
+    /**
+     * Canonical key of the upstream resource, links with equal keys are fetched once per update cycle.
+     * Implementations return the key stored with the link, the default computes it from the url.
+     */
+    default String resourceKey(L link) {
+        return LinkResourceKey.of(url(link));
+    }
+
+    /**
+     * {@link ResponseFingerprint} of the response the stored state was built from, {@code null} if unknown.
+     */
+    default Long fingerprint(L link) {
+        return null;
+    }
+
+    /**
+     * Chats tracking each of the links with their event masks, loaded once for the whole batch.
+     */
+    Map<Long, LinkSubscribers> subscribers(Collection<Long> linkIds);
+
+    void diff(LinkCheck<L> check);
+
+    /**
+     * Writes the state of the checks in one transaction: the link states, the branch set of every check
+     * with {@link LinkCheck#getBranches()} (passing the created and deleted branches the synchronization returns
+     * to {@link LinkCheck#addBranchChanges}) and, when the outbox is enabled, the notifications of the checks.
+     * Checks of links leased by another owner since they were claimed are skipped as a whole.
+     * {@code beforeCommit} is called with the written checks last, inside the transaction: the pipeline sends
+     * the notifications there, and an exception it throws rolls the whole write back.
+     */
+    void write(List<LinkCheck<?>> checks, Consumer<List<LinkCheck<?>>> beforeCommit);
+
+    /**
+     * Last commit times of the fetched branches keyed by branch name, the input of a branch synchronization.
+     */
+    static Map<String, OffsetDateTime> lastCommitTimes(GithubClientResponse response) {
+        return response.getBranches().stream()
+            .collect(Collectors.toMap(
+                GithubBranchResponse::name,
+                GithubBranchResponse::lastCommitTime,
+                (first, second) -> first,
+                LinkedHashMap::new
+            ));
+    }
+
+    /**
+     * Checks whose state statement updated a row, given the update counts in the order of the checks.
+     */
+    static List<LinkCheck<?>> written(List<LinkCheck<?>> checks, int[] updateCounts) {
+        var written = new ArrayList<LinkCheck<?>>(checks.size());
+        for (int i = 0; i < checks.size(); i++) {
+            if (updateCounts[i] > 0) {
+                written.add(checks.get(i));
+            }
+        }
+        return written;
+    }
+
+    static LinkState linkState(LinkCheck<?> check) {
+        return new LinkState(
+            check.getLinkId(),
+            check.getCheckedAt(),
+            check.getUpdatedAt(),
+            check.getCheckInterval(),
+            check.getCheckedAt().plus(check.getCheckInterval()),
+            check.getFingerprint()
+        );
+    }
+
+    /**
+     * Notifications of the checks as outbox rows, built once their branch changes are known.
+     */
+    static List<OutboxEvent> outboxEvents(List<LinkCheck<?>> checks) {
+        return checks.stream()
+            .flatMap(check -> check.getNotifications().stream()
+                .map(notification -> new OutboxEvent(
+                    check.getLinkId(), notification.event(), check.getUrl(), notification.tgChatIds(),
+                    check.getCheckedAt()
+                )))
+            .toList();
+    }
+
+    static Map<Long, LinkSubscribers> groupByLink(Collection<LinkSubscriber> subscribers) {
+        return subscribers.stream()
+            .collect(Collectors.groupingBy(
+                LinkSubscriber::getLinkId,
+                Collectors.collectingAndThen(
+                    Collectors.toList(),
+                    linkSubscribers -> new LinkSubscribers(
+                        linkSubscribers.stream().mapToLong(LinkSubscriber::getChatId).toArray(),
+                        linkSubscribers.stream().mapToLong(LinkSubscriber::getEventMask).toArray()
+                    )
+                )
+            ));
+    }
+
+}
@@ -0,0 +1,84 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Pipeline.Stage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+public class PipelineStage implements Executor, AutoCloseable {
+
+    @Getter
+    private final String name;
+    private final ExecutorService executor;
+    private final Semaphore concurrencyLimit;
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    public PipelineStage(String name, Stage props, MeterRegistry registry) {
+        this.name = name;
+        var concurrency = Math.max(1, props.concurrency());
+        var threadPrefix = "link-update-" + name + "-";
+        switch (props.executor()) {
+            case VIRTUAL -> {
+                this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name(threadPrefix, 0).factory()
+                );
+                this.concurrencyLimit = new Semaphore(concurrency);
+            }
+            case BOUNDED -> {
+                this.executor = Executors.newFixedThreadPool(
+                    concurrency, new CustomizableThreadFactory(threadPrefix)
+                );
+                this.concurrencyLimit = null;
+            }
+            default -> {
+                this.executor = null;
+                this.concurrencyLimit = null;
+            }
+        }
+        Gauge.builder("link_update_pipeline_queue_size", queueSize, AtomicInteger::get)
+            .tag("stage", name)
+            .register(registry);
+    }
+
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queueSize.incrementAndGet();
+        if (executor == null) {
+            queueSize.decrementAndGet();
+            task.run();
+        } else if (concurrencyLimit == null) {
+            executor.execute(() -> {
+                queueSize.decrementAndGet();
+                task.run();
+            });
+        } else {
+            executor.execute(() -> {
+                concurrencyLimit.acquireUninterruptibly();
+                queueSize.decrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    concurrencyLimit.release();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.client.dto.response.GithubBranchResponse;
+import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
+import edu.eflerrr.scrapper.client.dto.response.StackoverflowClientResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+
+/**
+ * 64-bit FNV-1a hash of the part of an API response the diff looks at: update and push times of a repository
+ * with its branches sorted by name, or the update time and latest timeline event of a question.
+ * The batch and single question fetches read timelines of different lengths, so only the latest event
+ * the diff reports is fingerprinted, and a question keeps its fingerprint whichever fetch returned it.
+ * Equal fingerprints mean the stored state of the link is still up to date, so the diff can be skipped.
+ */
+public final class ResponseFingerprint {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final int BYTE_MASK = 0xff;
+
+    private ResponseFingerprint() {
+    }
+
+    /**
+     * Fingerprint of the response fetched for the check, {@code null} if there is none.
+     */
+    public static Long of(LinkCheck<?> check) {
+        if (check.getGithubResponse() != null) {
+            return of(check.getGithubResponse());
+        } else if (check.getStackoverflowResponse() != null) {
+            return of(check.getStackoverflowResponse());
+        }
+        return null;
+    }
+
+    public static long of(GithubClientResponse response) {
+        var hash = mix(OFFSET_BASIS, response.getLastUpdate());
+        hash = mix(hash, response.getPushUpdate());
+        var branches = response.getBranches().stream()
+            .sorted(Comparator.comparing(GithubBranchResponse::name))
+            .toList();
+        for (var branch : branches) {
+            hash = mix(hash, branch.name());
+            hash = mix(hash, branch.lastCommitTime());
+        }
+        return hash;
+    }
+
+    public static long of(StackoverflowClientResponse response) {
+        var hash = mix(OFFSET_BASIS, response.lastUpdate());
+        if (response.events() != null && !response.events().isEmpty()) {
+            var latest = response.events().getFirst();
+            hash = mix(hash, latest.time());
+            hash = mix(hash, latest.type());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, OffsetDateTime time) {
+        return mix(hash, time == null ? null : time.toInstant().toString());
+    }
+
+    private static long mix(long hash, String value) {
+        var result = hash;
+        if (value != null) {
+            for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+                result = (result ^ (b & BYTE_MASK)) * PRIME;
+            }
+        }
+        // separator, so that adjacent values cannot shift into each other
+        return (result ^ BYTE_MASK) * PRIME;
+    }
+
+}
@@ -35,9 +35,38 @@ class MigrationTest extends IntegrationTest {
             }
 
             assertThat(tableNames)
-                .hasSize(6)
+                .hasSize(7)
                 .containsExactlyInAnyOrder(
-                    "Chat", "Link", "Tracking", "Branch", "databasechangelog", "databasechangeloglock"
+                    "Chat", "Link", "Tracking", "Branch", "Outbox", "databasechangelog", "databasechangeloglock"
+                );
+        } catch (SQLException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Test
+    public void indexesInitTest() {
+        try (Connection connection = DriverManager.getConnection(
+            POSTGRES.getJdbcUrl(),
+            POSTGRES.getUsername(),
+            POSTGRES.getPassword()
+        )
+        ) {
+            Statement statement = connection.createStatement();
+
+            ResultSet resultSet = statement.executeQuery(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = 'public'"
+            );
+            List<String> indexNames = new ArrayList<>();
+            while (resultSet.next()) {
+                indexNames.add(resultSet.getString("indexname"));
+            }
+
+            assertThat(indexNames)
+                .contains(
+                    "tracking_chat_id_link_id_key", "tracking_link_id_idx",
+                    "link_next_check_at_idx", "link_resource_key_idx",
+                    "branch_link_id_branch_name_idx"
                 );
         } catch (SQLException ex) {
             throw new RuntimeException(ex);
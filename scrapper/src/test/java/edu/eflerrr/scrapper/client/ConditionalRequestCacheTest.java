@@ -0,0 +1,74 @@
+package edu.eflerrr.scrapper.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static HttpHeaders validators(String etag) {
+        var headers = new HttpHeaders();
+        headers.setETag(etag);
+        return headers;
+    }
+
+    @Test
+    void applyStoredValidators() {
+        var cache = new ConditionalRequestCache(objectMapper, 10, null);
+        cache.store("/repos/owner/stored", validators("\"v1\""), Map.of("name", "stored"));
+        cache.store("/repos/owner/unvalidated", new HttpHeaders(), Map.of("name", "unvalidated"));
+
+        var storedHeaders = new HttpHeaders();
+        cache.applyValidators("/repos/owner/stored", storedHeaders);
+        var unvalidatedHeaders = new HttpHeaders();
+        cache.applyValidators("/repos/owner/unvalidated", unvalidatedHeaders);
+
+        assertThat(storedHeaders.getIfNoneMatch())
+            .containsExactly("\"v1\"");
+        assertThat(cache.contains("/repos/owner/unvalidated"))
+            .isFalse();
+        assertThat(unvalidatedHeaders)
+            .isEmpty();
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        var cache = new ConditionalRequestCache(objectMapper, 2, null);
+        cache.store("/repos/owner/first", validators("\"v1\""), "first");
+        cache.store("/repos/owner/second", validators("\"v2\""), "second");
+        cache.contains("/repos/owner/first");
+
+        cache.store("/repos/owner/third", validators("\"v3\""), "third");
+
+        assertThat(cache.size())
+            .isEqualTo(2);
+        assertThat(cache.contains("/repos/owner/first"))
+            .isTrue();
+        assertThat(cache.contains("/repos/owner/second"))
+            .isFalse();
+    }
+
+    @Test
+    void restoreFromSnapshot(@TempDir Path directory) {
+        var snapshot = directory.resolve("conditional-cache.json");
+        var cache = new ConditionalRequestCache(objectMapper, 10, snapshot);
+        cache.store("/repos/owner/stored", validators("\"v1\""), "stored");
+        cache.destroy();
+
+        var restoredCache = new ConditionalRequestCache(objectMapper, 10, snapshot);
+        var headers = new HttpHeaders();
+        restoredCache.applyValidators("/repos/owner/stored", headers);
+
+        assertThat(restoredCache.size())
+            .isEqualTo(1);
+        assertThat(headers.getIfNoneMatch())
+            .containsExactly("\"v1\"");
+    }
+
+}
@@ -2,9 +2,11 @@ package edu.eflerrr.scrapper.client;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import edu.eflerrr.scrapper.ScrapperApplication;
 import edu.eflerrr.scrapper.client.dto.response.GithubBranchResponse;
 import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import org.junit.jupiter.api.Test;
@@ -16,15 +18,18 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
+import reactor.test.StepVerifier;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = ScrapperApplication.class)
-@TestPropertySource(properties = {"spring.jpa.hibernate.ddl-auto=none"})
+@TestPropertySource(properties = {"spring.jpa.hibernate.ddl-auto=none", "app.api.response-cache.ttl=0s"})
 @WireMockTest
 @DirtiesContext
 class GithubClientTest {
@@ -240,6 +245,121 @@ class GithubClientTest {
             .isEqualTo(expectedResponse);
     }
 
+    @Test
+    public void concurrentBranchesFetch() {
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Slow"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_REPO_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Slow/branches"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_BRANCH_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Slow/branches/branch-1"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(800)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_FIRST_BRANCH_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Slow/branches/branch-2"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(800)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_SECOND_BRANCH_RESPONSE_BODY)));
+
+        var elapsed = StepVerifier.create(githubClient.fetch("GoodBoy", "Slow"))
+            .expectNext(createExpectedSuccessfulResponse())
+            .verifyComplete();
+
+        assertThat(elapsed)
+            .isLessThan(Duration.ofMillis(1500));
+    }
+
+    @Test
+    public void notModifiedFetchResponse() {
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Cached"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withHeader("ETag", "\"v1\"")
+                .withBody(TEST_REPO_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Cached"))
+            .withHeader("If-None-Match", equalTo("\"v1\""))
+            .willReturn(aResponse()
+                .withStatus(304)
+                .withHeader("ETag", "\"v1\"")));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Cached/branches"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_BRANCH_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Cached/branches/branch-1"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_FIRST_BRANCH_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Cached/branches/branch-2"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_SECOND_BRANCH_RESPONSE_BODY)));
+
+        var firstResponse = githubClient.fetchResponse("GoodBoy", "Cached");
+        var secondResponse = githubClient.fetchResponse("GoodBoy", "Cached");
+
+        var expectedResponse = createExpectedSuccessfulResponse();
+        assertThat(firstResponse)
+            .isEqualTo(expectedResponse);
+        assertThat(secondResponse)
+            .isEqualTo(expectedResponse);
+        assertThatThrownBy(() -> secondResponse.getBranches().clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+        wireMock.verify(1, getRequestedFor(urlEqualTo("/repos/GoodBoy/Cached/branches")));
+        wireMock.verify(getRequestedFor(urlEqualTo("/repos/GoodBoy/Cached"))
+            .withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    public void notModifiedWithoutCachedBodyIsFetchedAgain() {
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Evicted"))
+            .inScenario("evicted")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse()
+                .withStatus(304))
+            .willSetStateTo("refetched"));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Evicted"))
+            .inScenario("evicted")
+            .whenScenarioStateIs("refetched")
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_REPO_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Evicted/branches"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_BRANCH_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Evicted/branches/branch-1"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_FIRST_BRANCH_RESPONSE_BODY)));
+        wireMock.stubFor(get(urlEqualTo("/repos/GoodBoy/Evicted/branches/branch-2"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_SECOND_BRANCH_RESPONSE_BODY)));
+
+        var actualResponse = githubClient.fetchResponse("GoodBoy", "Evicted");
+
+        assertThat(actualResponse)
+            .isEqualTo(createExpectedSuccessfulResponse());
+        wireMock.verify(2, getRequestedFor(urlEqualTo("/repos/GoodBoy/Evicted")));
+    }
+
     @Test
     public void clientErrorFetchResponse() {
         wireMock.stubFor(get(urlEqualTo("/repos/candies/sweets"))
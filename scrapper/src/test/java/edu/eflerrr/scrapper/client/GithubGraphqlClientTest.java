@@ -0,0 +1,175 @@
+package edu.eflerrr.scrapper.client;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import edu.eflerrr.scrapper.ScrapperApplication;
+import edu.eflerrr.scrapper.client.dto.request.GithubRepository;
+import edu.eflerrr.scrapper.client.dto.response.GithubBranchResponse;
+import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = ScrapperApplication.class)
+@TestPropertySource(properties = {"spring.jpa.hibernate.ddl-auto=none"})
+@WireMockTest
+@DirtiesContext
+class GithubGraphqlClientTest {
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+        .options(wireMockConfig().dynamicPort().dynamicPort())
+        .build();
+    @Autowired
+    private GithubGraphqlClient githubGraphqlClient;
+
+    @DynamicPropertySource
+    public static void mockGithubBaseUrl(DynamicPropertyRegistry registry) {
+        registry.add("app.api.github-base-url", wireMock::baseUrl);
+        registry.add("app.api.github-engine", () -> "graphql");
+        registry.add("app.retry.github-client.enable", () -> false);
+        registry.add("app.use-queue", () -> false);
+    }
+
+    private static final String TEST_RESPONSE_BODY = """
+        {
+          "data": {
+            "r0": {
+              "databaseId": 135035186,
+              "name": "Doggy",
+              "updatedAt": "2024-02-20T07:02:48Z",
+              "pushedAt": "2023-10-30T13:49:14Z",
+              "refs": {
+                "pageInfo": { "hasNextPage": false },
+                "nodes": [
+                  { "name": "branch-1", "target": { "committedDate": "2012-03-06T23:06:50Z" } },
+                  { "name": "branch-2", "target": { "committedDate": "2023-10-07T10:05:40Z" } }
+                ]
+              }
+            },
+            "r1": null,
+            "r2": {
+              "databaseId": 42,
+              "name": "Forest",
+              "updatedAt": "2024-02-20T07:02:48Z",
+              "pushedAt": "2023-10-30T13:49:14Z",
+              "refs": {
+                "pageInfo": { "hasNextPage": true },
+                "nodes": [
+                  { "name": "main", "target": { "committedDate": "2023-10-07T10:05:40Z" } }
+                ]
+              }
+            }
+          },
+          "errors": [
+            {
+              "type": "NOT_FOUND",
+              "path": ["r1"],
+              "message": "Could not resolve to a Repository with the name 'candies/sweets'."
+            }
+          ]
+        }
+        """;
+
+    @Test
+    public void successfulFetchResponses() {
+        wireMock.stubFor(post(urlEqualTo("/graphql"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(TEST_RESPONSE_BODY)));
+        var doggy = new GithubRepository("GoodBoy", "Doggy");
+        var sweets = new GithubRepository("candies", "sweets");
+        var forest = new GithubRepository("GoodBoy", "Forest");
+
+        var actualResponses = githubGraphqlClient.fetchResponses(List.of(doggy, sweets, forest, doggy));
+
+        assertThat(actualResponses)
+            .containsExactlyEntriesOf(Map.of(doggy, new GithubClientResponse(
+                135_035_186L,
+                "Doggy",
+                OffsetDateTime.parse("2024-02-20T07:02:48Z"),
+                OffsetDateTime.parse("2023-10-30T13:49:14Z"),
+                List.of(
+                    new GithubBranchResponse("branch-1", OffsetDateTime.parse("2012-03-06T23:06:50Z")),
+                    new GithubBranchResponse("branch-2", OffsetDateTime.parse("2023-10-07T10:05:40Z"))
+                )
+            )));
+        wireMock.verify(1, postRequestedFor(urlEqualTo("/graphql"))
+            .withRequestBody(matchingJsonPath("$.variables.o0", equalTo("GoodBoy")))
+            .withRequestBody(matchingJsonPath("$.variables.n0", equalTo("Doggy")))
+            .withRequestBody(matchingJsonPath("$.variables.n1", equalTo("sweets")))
+            .withRequestBody(matchingJsonPath("$.variables.n2", equalTo("Forest"))));
+    }
+
+    @Test
+    public void chunkedFetchResponses() {
+        wireMock.stubFor(post(urlEqualTo("/graphql"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("{\"data\": {}}")));
+        var repositories = IntStream.range(0, GithubGraphqlClient.MAX_REPOSITORIES_PER_QUERY + 1)
+            .mapToObj(i -> new GithubRepository("owner", "repository-" + i))
+            .toList();
+
+        var actualResponses = githubGraphqlClient.fetchResponses(repositories);
+
+        assertThat(actualResponses)
+            .isEmpty();
+        wireMock.verify(2, postRequestedFor(urlEqualTo("/graphql")));
+    }
+
+    @Test
+    public void serverErrorFetchResponses() {
+        wireMock.stubFor(post(urlEqualTo("/graphql"))
+            .willReturn(aResponse()
+                .withStatus(502)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("{\"message\": \"Bad gateway\"}")));
+
+        assertThatThrownBy(() -> githubGraphqlClient.fetchResponses(
+            List.of(new GithubRepository("cookies", "donuts")))
+        )
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage(
+                "Server error during fetchResponses in GithubGraphqlClient! Message: 502 Bad Gateway"
+            );
+    }
+
+    @Test
+    public void invalidDataFetchResponses() {
+        wireMock.stubFor(post(urlEqualTo("/graphql"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("{\"errors\": [{\"message\": \"Bad credentials\"}]}")));
+
+        assertThatThrownBy(() -> githubGraphqlClient.fetchResponses(
+            List.of(new GithubRepository("Invalid", "Data")))
+        )
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage(
+                "Error occurred during fetchResponses in GithubGraphqlClient! Message: empty response/data"
+            );
+    }
+
+}
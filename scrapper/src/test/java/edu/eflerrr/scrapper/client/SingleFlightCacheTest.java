@@ -0,0 +1,92 @@
+package edu.eflerrr.scrapper.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private double count(String result) {
+        return registry.get("client_response_cache_requests_total")
+            .tags("client", "test", "result", result)
+            .counter()
+            .count();
+    }
+
+    @Test
+    void cachedValueReturnedWithinTtl() {
+        var cache = new SingleFlightCache<String, String>("test", Duration.ofMinutes(1), 10, registry);
+        var loads = new AtomicInteger();
+
+        var first = cache.get("key", () -> "value-" + loads.incrementAndGet());
+        var second = cache.get("key", () -> "value-" + loads.incrementAndGet());
+
+        assertThat(first)
+            .isEqualTo("value-1");
+        assertThat(second)
+            .isEqualTo("value-1");
+        assertThat(count("miss"))
+            .isEqualTo(1.0);
+        assertThat(count("hit"))
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        var cache = new SingleFlightCache<String, String>("test", Duration.ZERO, 10, registry);
+        var loads = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.supplyAsync(() -> cache.get("key", () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "value";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS))
+            .isTrue();
+        var follower = CompletableFuture.supplyAsync(() -> cache.get("key", () -> "other-" + loads.incrementAndGet()));
+        while (count("coalesced") == 0.0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS))
+            .isEqualTo("value");
+        assertThat(follower.get(5, TimeUnit.SECONDS))
+            .isEqualTo("value");
+        assertThat(loads.get())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void failedCallIsNotCached() {
+        var cache = new SingleFlightCache<String, String>("test", Duration.ofMinutes(1), 10, registry);
+
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new RuntimeException("upstream error");
+        }))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("upstream error");
+        var value = cache.get("key", () -> "value");
+
+        assertThat(value)
+            .isEqualTo("value");
+        assertThat(count("miss"))
+            .isEqualTo(2.0);
+    }
+
+}
@@ -2,11 +2,14 @@ package edu.eflerrr.scrapper.client;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import edu.eflerrr.scrapper.ScrapperApplication;
 import edu.eflerrr.scrapper.client.dto.response.StackoverflowClientResponse;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,13 +21,15 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = ScrapperApplication.class)
-@TestPropertySource(properties = {"spring.jpa.hibernate.ddl-auto=none"})
+@TestPropertySource(properties = {"spring.jpa.hibernate.ddl-auto=none", "app.api.response-cache.ttl=0s"})
 @WireMockTest
 @DirtiesContext
 class StackoverflowClientTest {
@@ -140,6 +145,45 @@ class StackoverflowClientTest {
             );
     }
 
+    @Test
+    public void notModifiedWithoutCachedBodyIsFetchedAgain() {
+        var uri = "/questions/333333/timeline?order=desc&sort=creation_date&site=stackoverflow";
+        wireMock.stubFor(get(urlEqualTo(uri))
+            .inScenario("evicted")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse()
+                .withStatus(304))
+            .willSetStateTo("refetched"));
+        wireMock.stubFor(get(urlEqualTo(uri))
+            .inScenario("evicted")
+            .whenScenarioStateIs("refetched")
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("""
+                    {
+                      "items": [
+                        {
+                          "creation_date": 1.708697431E9,
+                          "question_id": 333333,
+                          "timeline_type": "answer"
+                        }
+                      ],
+                      "has_more": false
+                    }""")));
+
+        var actualResponse = stackoverflowClient.fetchResponse(333333L);
+
+        assertThat(actualResponse)
+            .isEqualTo(new StackoverflowClientResponse(
+                OffsetDateTime.parse("2024-02-23T14:10:31Z"),
+                new ArrayList<>(List.of(new StackoverflowClientResponse.Event(
+                    OffsetDateTime.parse("2024-02-23T14:10:31Z"), "answer"
+                )))
+            ));
+        wireMock.verify(2, getRequestedFor(urlEqualTo(uri)));
+    }
+
     @Test
     public void unexpectedBehaviorFetchResponse() {
         wireMock.stubFor(get(urlEqualTo(
@@ -257,4 +301,89 @@ class StackoverflowClientTest {
             );
     }
 
+    @Test
+    public void successfulFetchResponses() {
+        String jsonResponseBody = """
+            {
+              "items": [
+                {
+                  "creation_date": 1.708697431E9,
+                  "question_id": 111.0,
+                  "timeline_type": "answer"
+                },
+                {
+                  "creation_date": 1.708697000E9,
+                  "question_id": 222.0,
+                  "timeline_type": "comment"
+                },
+                {
+                  "creation_date": 1.708696499E9,
+                  "question_id": 111.0,
+                  "timeline_type": "question"
+                }
+              ],
+              "has_more": false,
+              "quota_max": 300.0,
+              "quota_remaining": 299.0
+            }""";
+        wireMock.stubFor(get(urlEqualTo(
+            "/questions/111;222;333/timeline?order=desc&sort=creation_date&site=stackoverflow&pagesize=100&page=1")
+        )
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(jsonResponseBody)));
+
+        var actualResponses = stackoverflowClient.fetchResponses(List.of(111L, 222L, 333L, 111L));
+
+        assertThat(actualResponses)
+            .isEqualTo(Map.of(
+                111L, new StackoverflowClientResponse(
+                    OffsetDateTime.parse("2024-02-23T14:10:31Z"),
+                    new ArrayList<>(List.of(
+                        new StackoverflowClientResponse.Event(OffsetDateTime.parse("2024-02-23T14:10:31Z"), "answer"),
+                        new StackoverflowClientResponse.Event(OffsetDateTime.parse("2024-02-23T13:54:59Z"), "question")
+                    ))
+                ),
+                222L, new StackoverflowClientResponse(
+                    OffsetDateTime.parse("2024-02-23T14:03:20Z"),
+                    new ArrayList<>(List.of(
+                        new StackoverflowClientResponse.Event(OffsetDateTime.parse("2024-02-23T14:03:20Z"), "comment")
+                    ))
+                )
+            ));
+    }
+
+    @Test
+    public void pagedFetchResponses() {
+        wireMock.stubFor(get(urlEqualTo(
+            "/questions/444;555/timeline?order=desc&sort=creation_date&site=stackoverflow&pagesize=100&page=1")
+        )
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("""
+                    {
+                      "items": [{"creation_date": 1.708697431E9, "question_id": 444.0, "timeline_type": "answer"}],
+                      "has_more": true
+                    }""")));
+        wireMock.stubFor(get(urlEqualTo(
+            "/questions/444;555/timeline?order=desc&sort=creation_date&site=stackoverflow&pagesize=100&page=2")
+        )
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("""
+                    {
+                      "items": [{"creation_date": 1.708696499E9, "question_id": 555.0, "timeline_type": "question"}],
+                      "has_more": true
+                    }""")));
+
+        var actualResponses = stackoverflowClient.fetchResponses(List.of(444L, 555L));
+
+        assertThat(actualResponses.keySet())
+            .isEqualTo(Set.of(444L, 555L));
+        wireMock.verify(2, getRequestedFor(urlPathMatching("/questions/444;555/timeline")));
+    }
+
 }
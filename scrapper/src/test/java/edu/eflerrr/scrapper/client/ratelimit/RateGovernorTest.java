@@ -0,0 +1,78 @@
+package edu.eflerrr.scrapper.client.ratelimit;
+
+import edu.eflerrr.scrapper.exception.RateLimitExhaustedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateGovernorTest {
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RateGovernor rateGovernor = new RateGovernor(
+        "github", Duration.ofSeconds(30), 100, Clock.fixed(now, ZoneOffset.UTC), registry
+    );
+
+    @Test
+    void noWaitWithoutSignals() {
+        assertThat(rateGovernor.reserve())
+            .isZero();
+        assertThat(rateGovernor.reserve())
+            .isZero();
+    }
+
+    @Test
+    void noWaitAbovePaceThreshold() {
+        rateGovernor.recordQuota(4000, now.plusSeconds(3600));
+
+        assertThat(rateGovernor.reserve())
+            .isZero();
+        assertThat(rateGovernor.reserve())
+            .isZero();
+    }
+
+    @Test
+    void spreadRemainingQuotaUntilReset() {
+        rateGovernor.recordQuota(10, now.plusSeconds(100));
+
+        assertThat(rateGovernor.reserve())
+            .isZero();
+        assertThat(rateGovernor.reserve())
+            .isEqualTo(Duration.ofSeconds(10));
+        assertThat(rateGovernor.reserve())
+            .isEqualTo(Duration.ofSeconds(20));
+    }
+
+    @Test
+    void waitForBackoff() {
+        rateGovernor.recordBackoff(Duration.ofSeconds(5));
+
+        assertThat(rateGovernor.reserve())
+            .isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void failFastWhenExhausted() {
+        rateGovernor.recordQuota(0, now.plusSeconds(3600));
+
+        assertThatThrownBy(rateGovernor::reserve)
+            .isInstanceOf(RateLimitExhaustedException.class)
+            .hasMessage("Rate limit of github is exhausted, next request is allowed at 2024-01-01T01:00:00Z");
+    }
+
+    @Test
+    void publishQuotaGauges() {
+        rateGovernor.recordQuota(42, now.plusSeconds(600));
+
+        assertThat(registry.get("client_rate_limit_remaining").tag("client", "github").gauge().value())
+            .isEqualTo(42.0);
+        assertThat(registry.get("client_rate_limit_reset_seconds").tag("client", "github").gauge().value())
+            .isEqualTo(600.0);
+    }
+
+}
@@ -0,0 +1,56 @@
+package edu.eflerrr.scrapper.configuration.retry;
+
+import edu.eflerrr.scrapper.exception.retry.RetryableRequestException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import static edu.eflerrr.scrapper.configuration.ApplicationConfig.Retry.ClientRetryProperties.BackoffPolicy.CONSTANT;
+import static edu.eflerrr.scrapper.configuration.ApplicationConfig.Retry.ClientRetryProperties.BackoffPolicy.LINEAR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackoffRetryTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private Mono<String> failingTimes(int failures, RuntimeException exception) {
+        return Mono.defer(() -> attempts.incrementAndGet() <= failures
+            ? Mono.error(exception)
+            : Mono.just("ok"));
+    }
+
+    @Test
+    void retryUntilSuccess() {
+        var retry = new BackoffRetry(LINEAR, 3, Duration.ofMillis(1), 2.0);
+
+        StepVerifier.create(failingTimes(2, new RetryableRequestException("503")).retryWhen(retry))
+            .expectNext("ok")
+            .verifyComplete();
+        assertThat(attempts.get())
+            .isEqualTo(3);
+    }
+
+    @Test
+    void stopAfterMaxAttempts() {
+        var retry = new BackoffRetry(CONSTANT, 2, Duration.ofMillis(1), 2.0);
+
+        StepVerifier.create(failingTimes(5, new RetryableRequestException("503")).retryWhen(retry))
+            .expectErrorMessage("503")
+            .verify();
+        assertThat(attempts.get())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void skipNotRetryableErrors() {
+        var retry = new BackoffRetry(CONSTANT, -1, Duration.ofMillis(1), 2.0);
+
+        StepVerifier.create(failingTimes(5, new RuntimeException("404")).retryWhen(retry))
+            .expectErrorMessage("404")
+            .verify();
+        assertThat(attempts.get())
+            .isEqualTo(1);
+    }
+
+}
@@ -2,8 +2,11 @@ package edu.eflerrr.scrapper.domain.jdbc.dao;
 
 import edu.eflerrr.scrapper.IntegrationTest;
 import edu.eflerrr.scrapper.domain.jdbc.dto.Branch;
+import edu.eflerrr.scrapper.domain.jdbc.dto.BranchChanges;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -588,4 +591,63 @@ class BranchDaoTest extends IntegrationTest {
         }
     }
 
+    @Nested
+    class SyncTest {
+
+        @Test
+        public void syncInsertsMissingAndDeletesGoneBranchesTest() {
+            String linkSql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+            jdbcTemplate.update(linkSql,
+                "https://test.ru",
+                OffsetDateTime.now(), MIN_DATE_TIME, OffsetDateTime.now()
+            );
+            var linkId = jdbcTemplate.queryForObject(
+                "SELECT id FROM \"Link\" WHERE url = ?",
+                Long.class,
+                "https://test.ru"
+            );
+            branchDao.add(new Branch(linkId, "TestOwner", "TestRepo", "KeptBranch", staticDateTime));
+            branchDao.add(new Branch(linkId, "TestOwner", "TestRepo", "GoneBranch", staticDateTime));
+
+            var changes = branchDao.sync(linkId, "TestOwner", "TestRepo", Map.of(
+                "KeptBranch", staticDateTime.plusDays(1),
+                "NewBranch", staticDateTime
+            ));
+            var actualBranches = branchDao.findAllByLinkId(linkId);
+
+            assertThat(changes.getCreated())
+                .containsExactly("NewBranch");
+            assertThat(changes.getDeleted())
+                .containsExactly("GoneBranch");
+            assertThat(actualBranches)
+                .extracting(Branch::getBranchName)
+                .containsExactlyInAnyOrder("KeptBranch", "NewBranch");
+            assertThat(actualBranches)
+                .filteredOn(branch -> branch.getBranchName().equals("KeptBranch"))
+                .extracting(Branch::getLastCommitTime)
+                .containsExactly(staticDateTime);
+        }
+
+        @Test
+        public void syncWithoutChangesTest() {
+            String linkSql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+            jdbcTemplate.update(linkSql,
+                "https://test.ru",
+                OffsetDateTime.now(), MIN_DATE_TIME, OffsetDateTime.now()
+            );
+            var linkId = jdbcTemplate.queryForObject(
+                "SELECT id FROM \"Link\" WHERE url = ?",
+                Long.class,
+                "https://test.ru"
+            );
+            branchDao.add(new Branch(linkId, "TestOwner", "TestRepo", "TestBranch", staticDateTime));
+
+            var changes = branchDao.sync(linkId, "TestOwner", "TestRepo", Map.of("TestBranch", staticDateTime));
+
+            assertThat(changes)
+                .isEqualTo(new BranchChanges(List.of(), List.of()));
+        }
+    }
+
+
 }
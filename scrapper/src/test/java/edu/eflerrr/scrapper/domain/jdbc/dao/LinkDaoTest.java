@@ -2,11 +2,14 @@ package edu.eflerrr.scrapper.domain.jdbc.dao;
 
 import edu.eflerrr.scrapper.IntegrationTest;
 import edu.eflerrr.scrapper.domain.jdbc.dto.Link;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkState;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
@@ -175,6 +178,21 @@ class LinkDaoTest extends IntegrationTest {
                     .isInstanceOf(DataIntegrityViolationException.class);
             }
         }
+
+        @Test
+        public void addIfAbsentReturnsIdOfNewLinkOnlyTest() throws URISyntaxException {
+            var url = new URI("https://www.first.com");
+
+            var firstId = linkDao.addIfAbsent(new Link(url, staticDateTime));
+            var secondId = linkDao.addIfAbsent(new Link(url, staticDateTime));
+
+            assertThat(firstId)
+                .isEqualTo(linkDao.getId(new Link(url)));
+            assertThat(secondId)
+                .isNull();
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM \"Link\"", Integer.class))
+                .isEqualTo(1);
+        }
     }
 
     @Nested
@@ -358,56 +376,179 @@ class LinkDaoTest extends IntegrationTest {
     }
 
     @Nested
-    class FindAllWithFilterTest {
+    class FindNextChecksTest {
 
         @Test
-        public void findAllWithFilterEmptyTest() {
-            try (MockedStatic<OffsetDateTime> theMock = Mockito.mockStatic(OffsetDateTime.class)) {
-                theMock.when(OffsetDateTime::now)
-                    .thenReturn(staticDateTime);
+        public void findNextChecksReturnsEarliestNotLeasedLinksTest() {
+            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at, next_check_at, leased_until) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+            jdbcTemplate.update(sql, "https://rabbit.com", staticDateTime,
+                MIN_DATE_TIME, staticDateTime, staticDateTime, null
+            );
+            jdbcTemplate.update(sql, "https://wolf.com", staticDateTime,
+                MIN_DATE_TIME, staticDateTime, null, null
+            );
+            jdbcTemplate.update(sql, "https://fox.com", staticDateTime,
+                MIN_DATE_TIME, staticDateTime, staticDateTime.plusMinutes(1), null
+            );
+            jdbcTemplate.update(sql, "https://bear.com", staticDateTime,
+                MIN_DATE_TIME, staticDateTime, staticDateTime.minusMinutes(1), staticDateTime.plusMinutes(5)
+            );
 
-                var actualLinks = linkDao.findAllWithFilter(Duration.ofSeconds(15), staticDateTime);
+            var nextChecks = linkDao.findNextChecks(staticDateTime, 2);
 
-                assertThat(actualLinks)
-                    .isEmpty();
-            }
+            assertThat(nextChecks)
+                .extracting(LinkNextCheck::getNextCheckAt)
+                .containsExactly(null, staticDateTime);
         }
+    }
+
+    @Nested
+    class ClaimDueLinksTest {
 
         @Test
-        public void findAllWithFilterSomeLinksTest() throws URISyntaxException {
-            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+        public void claimDueLinksSkipsLeasedTest() throws URISyntaxException {
+            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at, next_check_at) "
+                + "VALUES (?, ?, ?, ?, ?)";
             jdbcTemplate.update(sql, "https://rabbit.com", staticDateTime,
-                staticDateTime.minusSeconds(30), staticDateTime
+                staticDateTime.minusSeconds(30), staticDateTime, staticDateTime.minusSeconds(10)
             );
             jdbcTemplate.update(sql, "https://wolf.com", staticDateTime,
-                staticDateTime.minusSeconds(4), staticDateTime
+                staticDateTime.minusSeconds(4), staticDateTime, staticDateTime.plusSeconds(10)
             );
             jdbcTemplate.update(sql, "https://fox.com", staticDateTime,
-                staticDateTime.minusSeconds(16), staticDateTime
+                MIN_DATE_TIME, staticDateTime, null
             );
 
-            var filteredLinks = linkDao.findAllWithFilter(Duration.ofSeconds(15), staticDateTime);
+            var firstClaim = linkDao.claimDueLinks(staticDateTime, Duration.ofMinutes(1), 10, "first");
+            var secondClaim = linkDao.claimDueLinks(staticDateTime, Duration.ofMinutes(1), 10, "second");
 
-            assertThat(filteredLinks)
-                .hasSize(2);
+            assertThat(firstClaim)
+                .extracting(Link::getUrl)
+                .containsExactly(new URI("https://fox.com"), new URI("https://rabbit.com"));
+            assertThat(secondClaim)
+                .isEmpty();
+        }
 
-            assertThat(filteredLinks.getFirst().getUrl())
-                .isEqualTo(new URI("https://rabbit.com"));
-            assertThat(filteredLinks.getFirst().getCreatedAt())
-                .isEqualTo(staticDateTime);
-            assertThat(filteredLinks.getFirst().getCheckedAt())
-                .isEqualTo(staticDateTime.minusSeconds(30));
-            assertThat(filteredLinks.getFirst().getUpdatedAt())
-                .isEqualTo(staticDateTime);
+        @Test
+        public void claimDueLinksAfterLeaseExpiredTest() throws URISyntaxException {
+            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+            jdbcTemplate.update(sql, "https://rabbit.com", staticDateTime,
+                staticDateTime.minusSeconds(30), staticDateTime
+            );
 
-            assertThat(filteredLinks.getLast().getUrl())
-                .isEqualTo(new URI("https://fox.com"));
-            assertThat(filteredLinks.getLast().getCreatedAt())
-                .isEqualTo(staticDateTime);
-            assertThat(filteredLinks.getLast().getCheckedAt())
-                .isEqualTo(staticDateTime.minusSeconds(16));
-            assertThat(filteredLinks.getLast().getUpdatedAt())
+            linkDao.claimDueLinks(staticDateTime, Duration.ofMinutes(1), 10, "first");
+            var expiredClaim = linkDao.claimDueLinks(
+                staticDateTime.plusMinutes(2), Duration.ofMinutes(1), 10, "second"
+            );
+
+            assertThat(expiredClaim)
+                .extracting(Link::getUrl)
+                .containsExactly(new URI("https://rabbit.com"));
+            assertThat(jdbcTemplate.queryForObject("SELECT lease_owner FROM \"Link\"", String.class))
+                .isEqualTo("second");
+        }
+
+        @Test
+        public void claimDueLinksReadsCheckIntervalTest() {
+            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at, check_interval_seconds) "
+                + "VALUES (?, ?, ?, ?, ?)";
+            jdbcTemplate.update(sql, "https://rabbit.com", staticDateTime,
+                staticDateTime.minusSeconds(30), staticDateTime, 120L
+            );
+
+            var claimedLinks = linkDao.claimDueLinks(staticDateTime, Duration.ofMinutes(1), 10, "first");
+
+            assertThat(claimedLinks)
+                .singleElement()
+                .extracting(Link::getCheckInterval)
+                .isEqualTo(Duration.ofMinutes(2));
+        }
+
+        @Test
+        public void updateStatesReleasesOnlyOwnLeaseTest() {
+            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+            jdbcTemplate.update(sql, "https://rabbit.com", staticDateTime,
+                staticDateTime.minusSeconds(30), staticDateTime
+            );
+            jdbcTemplate.update(sql, "https://wolf.com", staticDateTime,
+                staticDateTime.minusSeconds(30), staticDateTime
+            );
+            var links = linkDao.claimDueLinks(staticDateTime, Duration.ofMinutes(1), 10, "first");
+            var checkedAt = staticDateTime.plusMinutes(1);
+
+            linkDao.updateStates(List.of(
+                new LinkState(
+                    links.get(0).getId(), checkedAt, null, Duration.ofMinutes(4), checkedAt.plusMinutes(4), null
+                ),
+                new LinkState(
+                    links.get(1).getId(), checkedAt, checkedAt, Duration.ofMinutes(2), checkedAt.plusMinutes(2), 42L
+                )
+            ), "first");
+            var rows = jdbcTemplate.queryForList(
+                "SELECT * FROM \"Link\" WHERE lease_owner IS NULL ORDER BY check_interval_seconds"
+            );
+
+            assertThat(rows)
+                .hasSize(2);
+            assertThat(rows.get(0).get("check_interval_seconds"))
+                .isEqualTo(120L);
+            assertThat(rows.get(0).get("url"))
+                .isEqualTo(links.get(1).getUrl().toString());
+            assertThat(rows.get(0).get("response_fingerprint"))
+                .isEqualTo(42L);
+            assertThat(rows.get(1).get("response_fingerprint"))
+                .isNull();
+            assertThat(rows.get(1).get("url"))
+                .isEqualTo(links.get(0).getUrl().toString());
+            assertThat(linkDao.getLinkById(links.get(0).getId()).getUpdatedAt())
                 .isEqualTo(staticDateTime);
+            assertThat(linkDao.getLinkById(links.get(1).getId()).getUpdatedAt())
+                .isEqualTo(checkedAt);
+            assertThat(linkDao.getLinkById(links.get(1).getId()).getCheckedAt())
+                .isEqualTo(checkedAt);
+        }
+
+        @Test
+        public void updateStatesKeepsForeignLeaseTest() {
+            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+            jdbcTemplate.update(sql, "https://rabbit.com", staticDateTime,
+                staticDateTime.minusSeconds(30), staticDateTime
+            );
+            var link = linkDao.claimDueLinks(staticDateTime, Duration.ofMinutes(1), 10, "first").getFirst();
+
+            linkDao.updateStates(List.of(
+                new LinkState(
+                    link.getId(), staticDateTime, null, Duration.ofMinutes(1), staticDateTime.plusMinutes(1), null
+                )
+            ), "second");
+
+            assertThat(jdbcTemplate.queryForObject("SELECT lease_owner FROM \"Link\"", String.class))
+                .isEqualTo("first");
+            assertThat(jdbcTemplate.queryForObject("SELECT next_check_at FROM \"Link\"", OffsetDateTime.class))
+                .isEqualTo(staticDateTime.plusMinutes(1));
+        }
+
+        @Test
+        public void updateStatesSkipsLinkLeasedByAnotherOwnerTest() {
+            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+            jdbcTemplate.update(sql, "https://rabbit.com", staticDateTime,
+                staticDateTime.minusSeconds(30), staticDateTime
+            );
+            var link = linkDao.claimDueLinks(OffsetDateTime.now(), Duration.ofMinutes(1), 10, "first").getFirst();
+
+            var updateCounts = linkDao.updateStates(List.of(
+                new LinkState(
+                    link.getId(), staticDateTime, null, Duration.ofMinutes(1), staticDateTime.plusMinutes(1), null
+                )
+            ), "second");
+
+            assertThat(updateCounts)
+                .containsExactly(0);
+            assertThat(jdbcTemplate.queryForObject("SELECT lease_owner FROM \"Link\"", String.class))
+                .isEqualTo("first");
+            assertThat(jdbcTemplate.queryForObject("SELECT next_check_at FROM \"Link\"", OffsetDateTime.class))
+                .isNull();
         }
     }
 
@@ -482,129 +623,4 @@ class LinkDaoTest extends IntegrationTest {
         }
     }
 
-    @Nested
-    class UpdateCheckedAtTest {
-
-        @Test
-        public void updateCheckedAtEmptyTest() throws URISyntaxException {
-            var link = new Link(1L, new URI("https://i-dont-exist.ua"), staticDateTime);
-
-            assertThatThrownBy(() -> linkDao.updateCheckedAt(link, staticDateTime))
-                .isInstanceOf(InvalidDataAccessResourceUsageException.class)
-                .hasMessage("Link not found!");
-        }
-
-        @Test
-        public void updateCheckedAtNullLinkTest() {
-            assertThatThrownBy(() -> linkDao.updateCheckedAt(null, staticDateTime))
-                .isInstanceOf(NullPointerException.class)
-                .hasMessage("Link or URL is null!");
-        }
-
-        @Test
-        public void updateCheckedAtSuccessfulTest() throws URISyntaxException {
-            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
-            jdbcTemplate.update(sql,
-                "https://i-exist.ua", staticDateTime, OffsetDateTime.MAX, staticDateTime
-            );
-            var link = new Link(
-                1L, new URI("https://i-exist.ua"), staticDateTime, OffsetDateTime.MAX, staticDateTime
-            );
-
-            linkDao.updateCheckedAt(link, staticDateTime);
-
-            var actualLink =
-                jdbcTemplate.queryForObject("SELECT * FROM \"Link\" WHERE url = 'https://i-exist.ua'", (rs, rowNum) ->
-                    {
-                        try {
-                            return new Link(
-                                rs.getLong("id"),
-                                new URI(rs.getString("url")),
-                                rs.getObject("created_at", OffsetDateTime.class),
-                                rs.getObject("checked_at", OffsetDateTime.class),
-                                rs.getObject("updated_at", OffsetDateTime.class)
-                            );
-                        } catch (URISyntaxException ex) {
-                            throw new RuntimeException(ex);
-                        }
-                    }
-                );
-
-            assertThat(actualLink)
-                .isNotNull();
-            assertThat(actualLink.getUrl())
-                .isEqualTo(new URI("https://i-exist.ua"));
-            assertThat(actualLink.getCreatedAt())
-                .isEqualTo(staticDateTime);
-            assertThat(actualLink.getCheckedAt())
-                .isEqualTo(staticDateTime);
-            assertThat(actualLink.getUpdatedAt())
-                .isEqualTo(staticDateTime);
-        }
-    }
-
-    @Nested
-    class UpdateUpdatedAtTest {
-
-        @Test
-        public void updateUpdatedAtEmptyTest() throws URISyntaxException {
-            var link = new Link(1L, new URI("https://i-dont-exist.ua"), staticDateTime);
-
-            assertThatThrownBy(() -> linkDao.updateUpdatedAt(link, staticDateTime))
-                .isInstanceOf(InvalidDataAccessResourceUsageException.class)
-                .hasMessage("Link not found!");
-        }
-
-        @Test
-        public void updateUpdatedAtNullLinkTest() {
-            assertThatThrownBy(() -> linkDao.updateUpdatedAt(null, staticDateTime))
-                .isInstanceOf(NullPointerException.class)
-                .hasMessage("Link or URL is null!");
-        }
-
-        @Test
-        public void updateUpdatedAtSuccessfulTest() throws URISyntaxException {
-            String sql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
-            jdbcTemplate.update(sql,
-                "https://i-exist.ua", staticDateTime, MIN_DATE_TIME, OffsetDateTime.MAX
-            );
-            var link = new Link(
-                1L, new URI("https://i-exist.ua"), staticDateTime, MIN_DATE_TIME, OffsetDateTime.MAX
-            );
-
-            linkDao.updateUpdatedAt(link, staticDateTime);
-
-            var actualLink = jdbcTemplate.queryForObject(
-                "SELECT * FROM \"Link\" WHERE url = 'https://i-exist.ua'",
-                (rs, rowNum) ->
-                {
-                    try {
-                        return new Link(
-                            rs.getLong("id"),
-                            new URI(rs.getString("url")),
-                            rs.getObject("created_at", OffsetDateTime.class),
-                            rs.getObject("checked_at", OffsetDateTime.class),
-                            rs.getObject("updated_at", OffsetDateTime.class)
-                        );
-                    } catch (URISyntaxException ex) {
-                        throw new RuntimeException(ex);
-                    }
-                }
-            );
-
-            assertThat(actualLink)
-                .isNotNull();
-            assertThat(actualLink.getId())
-                .isNotNull();
-            assertThat(actualLink.getUrl())
-                .isEqualTo(new URI("https://i-exist.ua"));
-            assertThat(actualLink.getCreatedAt())
-                .isEqualTo(staticDateTime);
-            assertThat(actualLink.getCheckedAt())
-                .isEqualTo(MIN_DATE_TIME);
-            assertThat(actualLink.getUpdatedAt())
-                .isEqualTo(staticDateTime);
-        }
-    }
-
 }
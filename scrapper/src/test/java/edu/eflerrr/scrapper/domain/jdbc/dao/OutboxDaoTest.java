@@ -0,0 +1,105 @@
+package edu.eflerrr.scrapper.domain.jdbc.dao;
+
+import edu.eflerrr.scrapper.IntegrationTest;
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "app.outbox.enable=false")
+@Sql(value = "classpath:scripts/clearOutboxTable.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class OutboxDaoTest extends IntegrationTest {
+
+    @Autowired
+    private OutboxDao outboxDao;
+    private final OffsetDateTime staticDateTime = OffsetDateTime.of(
+        2021, 1, 1,
+        0, 0, 0,
+        0, ZoneOffset.UTC
+    );
+
+    private OutboxEvent event(String description) {
+        return new OutboxEvent(
+            5L, new LinkEvent(1L, description), URI.create("https://github.com/owner/repo"),
+            new long[] {1L, 2L}, staticDateTime
+        );
+    }
+
+    @Test
+    public void addAllAndFindAllTest() {
+        outboxDao.addAll(List.of(event("first"), event("second")));
+
+        var events = outboxDao.findAll();
+
+        assertThat(events)
+            .extracting(OutboxEvent::getEvent)
+            .containsExactly(new LinkEvent(1L, "first"), new LinkEvent(1L, "second"));
+        assertThat(events.getFirst().getTgChatIds())
+            .containsExactly(1L, 2L);
+        assertThat(events.getFirst().getCreatedAt())
+            .isEqualTo(staticDateTime);
+        assertThat(events.getFirst().getLinkId())
+            .isEqualTo(5L);
+    }
+
+    @Test
+    public void listedEventsAreStoredTest() {
+        var coalesced = LinkEvent.coalesce(
+            List.of(new LinkEvent(2L, "push"), new LinkEvent(3L, "new branch -> main"), new LinkEvent(3L, "x")), 2
+        );
+        outboxDao.addAll(List.of(new OutboxEvent(
+            5L, coalesced, URI.create("https://github.com/owner/repo"), new long[] {1L}, staticDateTime
+        )));
+
+        assertThat(outboxDao.findAll())
+            .extracting(OutboxEvent::getEvent)
+            .containsExactly(coalesced);
+    }
+
+    @Test
+    public void claimSkipsLeasedEventsTest() {
+        outboxDao.addAll(List.of(event("first"), event("second"), event("third")));
+
+        var first = outboxDao.claim(staticDateTime, Duration.ofMinutes(1), 2);
+        var second = outboxDao.claim(staticDateTime, Duration.ofMinutes(1), 2);
+        var afterLease = outboxDao.claim(staticDateTime.plusMinutes(2), Duration.ofMinutes(1), 10);
+
+        assertThat(first)
+            .extracting(OutboxEvent::getEvent)
+            .containsExactly(new LinkEvent(1L, "first"), new LinkEvent(1L, "second"));
+        assertThat(second)
+            .extracting(event -> event.getEvent().description())
+            .containsExactly("third");
+        assertThat(afterLease)
+            .hasSize(3);
+    }
+
+    @Test
+    public void deleteAllTest() {
+        outboxDao.addAll(List.of(event("first"), event("second")));
+        var events = outboxDao.findAll();
+
+        outboxDao.deleteAll(List.of(events.getFirst().getId()));
+
+        assertThat(outboxDao.findAll())
+            .extracting(event -> event.getEvent().description())
+            .containsExactly("second");
+    }
+
+}
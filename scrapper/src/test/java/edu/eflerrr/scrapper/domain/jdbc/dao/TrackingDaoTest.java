@@ -1,8 +1,10 @@
 package edu.eflerrr.scrapper.domain.jdbc.dao;
 
 import edu.eflerrr.scrapper.IntegrationTest;
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkSubscriber;
 import edu.eflerrr.scrapper.domain.jdbc.dto.Tracking;
 import java.time.OffsetDateTime;
+import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -545,4 +547,55 @@ class TrackingDaoTest extends IntegrationTest {
         }
     }
 
+    @Nested
+    class FindSubscribersTest {
+
+        @Test
+        public void findSubscribersOfSeveralLinksTest() {
+            String chatSql = "INSERT INTO \"Chat\" (id, username, created_at) VALUES (?, ?, ?)";
+            jdbcTemplate.update(chatSql, 4455L, "Rabbit", OffsetDateTime.now());
+            jdbcTemplate.update(chatSql, 5566L, "Hero", OffsetDateTime.now());
+            String linkSql = "INSERT INTO \"Link\" (url, created_at, checked_at, updated_at) VALUES (?, ?, ?, ?)";
+            jdbcTemplate.update(linkSql,
+                "https://uno.com",
+                OffsetDateTime.now(), MIN_DATE_TIME, OffsetDateTime.now()
+            );
+            jdbcTemplate.update(linkSql,
+                "https://dos.com",
+                OffsetDateTime.now(), MIN_DATE_TIME, OffsetDateTime.now()
+            );
+            var linkId1 = jdbcTemplate.queryForObject(
+                "SELECT id FROM \"Link\" WHERE url = ?",
+                Long.class,
+                "https://uno.com"
+            );
+            var linkId2 = jdbcTemplate.queryForObject(
+                "SELECT id FROM \"Link\" WHERE url = ?",
+                Long.class,
+                "https://dos.com"
+            );
+            String trackingSql = "INSERT INTO \"Tracking\" (chat_id, link_id) VALUES (?, ?)";
+            jdbcTemplate.update(trackingSql, 4455L, linkId1);
+            jdbcTemplate.update(trackingSql, 4455L, linkId2);
+            jdbcTemplate.update(trackingSql, 5566L, linkId2);
+            trackingDao.setEventMask(new Tracking(5566L, linkId2), 4L);
+
+            var actualSubscribers = trackingDao.findSubscribers(List.of(linkId1, linkId2, 9999L));
+
+            assertThat(actualSubscribers)
+                .containsExactlyInAnyOrder(
+                    new LinkSubscriber(linkId1, 4455L, -1L),
+                    new LinkSubscriber(linkId2, 4455L, -1L),
+                    new LinkSubscriber(linkId2, 5566L, 4L)
+                );
+        }
+
+        @Test
+        public void setEventMaskOfNonExistentTrackingTest() {
+            assertThatThrownBy(() -> trackingDao.setEventMask(new Tracking(4455L, 9999L), 4L))
+                .isInstanceOf(InvalidDataAccessResourceUsageException.class)
+                .hasMessage("Tracking not found!");
+        }
+    }
+
 }
@@ -0,0 +1,94 @@
+package edu.eflerrr.scrapper.scheduler;
+
+import edu.eflerrr.scrapper.domain.jdbc.dto.LinkNextCheck;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinkCheckScheduleTest {
+
+    private final LinkCheckSchedule schedule = new LinkCheckSchedule(3);
+
+    @Test
+    void awaitDueReturnsAllDueLinks() throws InterruptedException {
+        schedule.schedule(1L, null);
+        schedule.schedule(2L, OffsetDateTime.now().minusMinutes(1));
+        schedule.schedule(3L, OffsetDateTime.now().plusHours(1));
+
+        var dueLinks = schedule.awaitDue();
+
+        assertThat(dueLinks)
+            .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(schedule.size())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void rescheduledLinkIsDueOnce() throws InterruptedException {
+        schedule.schedule(1L, OffsetDateTime.now().plusHours(1));
+        schedule.schedule(1L, OffsetDateTime.now().minusMinutes(1));
+        schedule.schedule(2L, OffsetDateTime.now().plusHours(1));
+
+        var dueLinks = schedule.awaitDue();
+
+        assertThat(dueLinks)
+            .containsExactly(1L);
+        assertThat(schedule.size())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void cancelledLinkIsNotDue() throws InterruptedException {
+        schedule.schedule(1L, null);
+        schedule.cancel(1L);
+        schedule.schedule(2L, OffsetDateTime.now().plusNanos(200_000_000));
+
+        var dueLinks = schedule.awaitDue();
+
+        assertThat(dueLinks)
+            .containsExactly(2L);
+        assertThat(schedule.size())
+            .isZero();
+    }
+
+    @Test
+    void reloadMergesLoadedSchedule() throws InterruptedException {
+        schedule.schedule(1L, null);
+        schedule.schedule(2L, OffsetDateTime.now().plusHours(1));
+
+        var loadedAt = schedule.version();
+        schedule.schedule(3L, OffsetDateTime.now().plusHours(1));
+        schedule.reload(List.of(
+            new LinkNextCheck(2L, null),
+            new LinkNextCheck(3L, null)
+        ), loadedAt);
+
+        assertThat(schedule.awaitDue())
+            .containsExactly(2L);
+        assertThat(schedule.size())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void windowKeepsEarliestLinks() throws InterruptedException {
+        var now = OffsetDateTime.now();
+        schedule.reload(List.of(
+            new LinkNextCheck(1L, now.minusMinutes(3)),
+            new LinkNextCheck(2L, now.minusMinutes(2)),
+            new LinkNextCheck(3L, now.plusMinutes(1))
+        ), schedule.version());
+
+        schedule.schedule(4L, now.plusHours(1));
+        schedule.schedule(5L, now.minusMinutes(1));
+
+        assertThat(schedule.size())
+            .isEqualTo(3);
+        assertThat(schedule.awaitDue())
+            .containsExactly(1L, 2L, 5L);
+        assertThat(schedule.awaitDue())
+            .as("window ran out, the rest is loaded from the database")
+            .isEmpty();
+    }
+
+}
@@ -0,0 +1,83 @@
+package edu.eflerrr.scrapper.scheduler;
+
+import edu.eflerrr.scrapper.configuration.ApplicationConfig;
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.service.OutboxService;
+import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final OffsetDateTime staticDateTime = OffsetDateTime.parse("2021-01-01T00:00:00Z");
+    private final URI url = URI.create("https://github.com/owner/repo");
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final UpdateSender updateSender = mock(UpdateSender.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OutboxRelay relay = createRelay();
+
+    private OutboxRelay createRelay() {
+        var config = mock(ApplicationConfig.class);
+        when(config.outbox()).thenReturn(new ApplicationConfig.Outbox(
+            true, 10, Duration.ofMillis(200), Duration.ofMinutes(1)
+        ));
+        return new OutboxRelay(outboxService, updateSender, config, registry);
+    }
+
+    @Test
+    void relaySendsClaimedBatchAndDeletesIt() {
+        var events = List.of(
+            new OutboxEvent(3L, 5L, new LinkEvent(1L, "first"), url, new long[] {1L}, staticDateTime),
+            new OutboxEvent(4L, 5L, new LinkEvent(2L, "second"), url, new long[] {1L, 2L}, staticDateTime)
+        );
+        when(outboxService.claim(10, Duration.ofMinutes(1))).thenReturn(events);
+
+        var relayed = relay.relay();
+
+        assertThat(relayed)
+            .isEqualTo(2);
+        verify(updateSender).sendUpdates(events);
+        verify(outboxService).delete(List.of(3L, 4L));
+        assertThat(registry.get("outbox_relayed_events_total").counter().count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    void emptyOutboxSendsNothing() {
+        when(outboxService.claim(10, Duration.ofMinutes(1))).thenReturn(List.of());
+
+        var relayed = relay.relay();
+
+        assertThat(relayed)
+            .isZero();
+        verify(updateSender, never()).sendUpdates(any());
+        verify(outboxService, never()).delete(any());
+    }
+
+    @Test
+    void failedSendKeepsEventsInOutbox() {
+        when(outboxService.claim(10, Duration.ofMinutes(1))).thenReturn(List.of(
+            new OutboxEvent(3L, 5L, new LinkEvent(1L, "first"), url, new long[] {1L}, staticDateTime)
+        ));
+        doThrow(new RuntimeException("bot is down"))
+            .when(updateSender).sendUpdates(any());
+
+        assertThatThrownBy(relay::relay)
+            .hasMessage("bot is down");
+        verify(outboxService, never()).delete(any());
+    }
+
+}
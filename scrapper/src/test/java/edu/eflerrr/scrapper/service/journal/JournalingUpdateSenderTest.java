@@ -0,0 +1,203 @@
+package edu.eflerrr.scrapper.service.journal;
+
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.exception.InvalidDataException;
+import edu.eflerrr.scrapper.service.UpdateSender;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JournalingUpdateSenderTest {
+
+    private static final UUID FIRST_UPDATE = new UUID(1L, 1L);
+    private static final UUID SECOND_UPDATE = new UUID(1L, 2L);
+    private final URI url = URI.create("https://github.com/owner/repo");
+    private final UpdateSender delegate = mock(UpdateSender.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(Instant.parse("2021-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private MappedJournal journal;
+
+    @TempDir
+    private Path directory;
+
+    private JournalingUpdateSender createSender(Clock senderClock) {
+        journal = new MappedJournal(directory.resolve("journal"), 1024);
+        return new JournalingUpdateSender(delegate, journal, Duration.ofSeconds(5), senderClock, registry);
+    }
+
+    @AfterEach
+    void closeJournal() {
+        journal.close();
+    }
+
+    @Test
+    void healthyDownstreamIsCalledDirectly() {
+        var sender = createSender(clock);
+
+        sender.sendUpdate(5L, FIRST_UPDATE, new LinkEvent(1L, "first"), url, new long[] {1L});
+
+        verify(delegate).sendUpdate(5L, FIRST_UPDATE, new LinkEvent(1L, "first"), url, new long[] {1L});
+        assertThat(journal.isEmpty())
+            .isTrue();
+    }
+
+    @Test
+    void updatesAreJournaledWhileDownstreamIsUnavailable() {
+        var sender = createSender(clock);
+        doThrow(new RuntimeException("bot is down"))
+            .when(delegate).sendUpdate(any(), any(), any(), any(), any());
+
+        sender.sendUpdate(5L, FIRST_UPDATE, new LinkEvent(1L, "first"), url, new long[] {1L});
+        sender.sendUpdate(null, SECOND_UPDATE, new LinkEvent(2L, "second"), url, new long[] {1L, 2L});
+
+        verify(delegate).sendUpdate(any(), any(), any(), any(), any());
+        assertThat(journal.count())
+            .isEqualTo(2);
+        assertThat(registry.get("update_journal_entries").gauge().value())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    void journaledUpdateKeepsListedEvents() {
+        var sender = createSender(clock);
+        var event = LinkEvent.coalesce(
+            List.of(new LinkEvent(2L, "push"), new LinkEvent(3L, "new branch -> main"), new LinkEvent(3L, "x")), 2
+        );
+        doThrow(new RuntimeException("bot is down"))
+            .when(delegate).sendUpdate(any(), any(), any(), any(), any());
+        sender.sendUpdate(5L, FIRST_UPDATE, event, url, new long[] {1L});
+        doNothing()
+            .when(delegate).sendUpdate(any(), any(), any(), any(), any());
+
+        sender.drain();
+
+        verify(delegate, times(2)).sendUpdate(5L, FIRST_UPDATE, event, url, new long[] {1L});
+    }
+
+    @Test
+    void drainReplaysJournalInOrder() {
+        var sender = createSender(clock);
+        doThrow(new RuntimeException("bot is down"))
+            .when(delegate).sendUpdate(eq(5L), eq(FIRST_UPDATE), eq(new LinkEvent(1L, "first")), any(), any());
+        sender.sendUpdate(5L, FIRST_UPDATE, new LinkEvent(1L, "first"), url, new long[] {1L});
+        sender.sendUpdate(null, SECOND_UPDATE, new LinkEvent(2L, "second"), url, new long[] {1L, 2L});
+        doNothing()
+            .when(delegate).sendUpdate(eq(5L), eq(FIRST_UPDATE), eq(new LinkEvent(1L, "first")), any(), any());
+
+        var drained = sender.drain();
+
+        assertThat(drained)
+            .isEqualTo(2);
+        assertThat(journal.isEmpty())
+            .isTrue();
+        InOrder order = inOrder(delegate);
+        order.verify(delegate, times(2))
+            .sendUpdate(5L, FIRST_UPDATE, new LinkEvent(1L, "first"), url, new long[] {1L});
+        order.verify(delegate)
+            .sendUpdate(null, SECOND_UPDATE, new LinkEvent(2L, "second"), url, new long[] {1L, 2L});
+    }
+
+    @Test
+    void updateWithoutIdIsJournaledUnderNewId() {
+        var sender = createSender(clock);
+        doThrow(new RuntimeException("bot is down"))
+            .when(delegate).sendUpdate(any(), any(), any(), any(), any());
+        sender.sendUpdate(5L, new LinkEvent(1L, "first"), url, new long[] {1L});
+        doNothing()
+            .when(delegate).sendUpdate(any(), any(), any(), any(), any());
+
+        sender.drain();
+
+        var updateIds = ArgumentCaptor.forClass(UUID.class);
+        verify(delegate, times(2)).sendUpdate(eq(5L), updateIds.capture(), any(), eq(url), any());
+        assertThat(updateIds.getAllValues().get(1))
+            .isNotNull()
+            .isEqualTo(updateIds.getAllValues().getFirst());
+    }
+
+    @Test
+    void drainStopsAtFirstFailure() {
+        var sender = createSender(clock);
+        doThrow(new RuntimeException("bot is down"))
+            .when(delegate).sendUpdate(any(), any(), any(), any(), any());
+        sender.sendUpdate(5L, FIRST_UPDATE, new LinkEvent(1L, "first"), url, new long[] {1L});
+        sender.sendUpdate(5L, SECOND_UPDATE, new LinkEvent(2L, "second"), url, new long[] {1L});
+
+        var drained = sender.drain();
+
+        assertThat(drained)
+            .isZero();
+        assertThat(journal.count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void invalidUpdateIsNotJournaled() {
+        var sender = createSender(clock);
+        doThrow(new InvalidDataException("bad request"))
+            .when(delegate).sendUpdate(any(), any(), any(), any(), any());
+
+        assertThatThrownBy(
+            () -> sender.sendUpdate(5L, FIRST_UPDATE, new LinkEvent(1L, "first"), url, new long[] {1L})
+        )
+            .isInstanceOf(InvalidDataException.class);
+        assertThat(journal.isEmpty())
+            .isTrue();
+    }
+
+    @Test
+    void failedBatchIsRethrownWithoutJournaling() {
+        var sender = createSender(clock);
+        var createdAt = OffsetDateTime.parse("2021-01-01T00:00:00Z");
+        var events = List.of(
+            new OutboxEvent(3L, 5L, new LinkEvent(1L, "first"), url, new long[] {1L}, createdAt)
+        );
+        doThrow(new RuntimeException("bot is down"))
+            .when(delegate).sendUpdates(events);
+
+        assertThatThrownBy(() -> sender.sendUpdates(events))
+            .hasMessage("bot is down");
+        assertThat(journal.isEmpty())
+            .isTrue();
+    }
+
+    @Test
+    void lagIsAgeOfOldestUpdate() {
+        var movingClock = mock(Clock.class);
+        when(movingClock.millis()).thenReturn(1_000L);
+        var sender = createSender(movingClock);
+        doThrow(new RuntimeException("bot is down"))
+            .when(delegate).sendUpdate(any(), any(), any(), any(), any());
+        sender.sendUpdate(5L, FIRST_UPDATE, new LinkEvent(1L, "first"), url, new long[] {1L});
+        sender.sendUpdate(5L, SECOND_UPDATE, new LinkEvent(2L, "second"), url, new long[] {1L});
+        when(movingClock.millis()).thenReturn(31_000L);
+
+        assertThat(registry.get("update_journal_lag_seconds").gauge().value())
+            .isEqualTo(30.0);
+    }
+
+}
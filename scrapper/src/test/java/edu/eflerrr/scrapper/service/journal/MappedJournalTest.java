@@ -0,0 +1,107 @@
+package edu.eflerrr.scrapper.service.journal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedJournalTest {
+
+    private static final int CAPACITY = 112;
+
+    @TempDir
+    private Path directory;
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void recordsAreReadInAppendOrder() {
+        try (var journal = new MappedJournal(directory.resolve("journal"), CAPACITY)) {
+            journal.append(bytes("first"));
+            journal.append(bytes("second"));
+
+            assertThat(journal.peek())
+                .isEqualTo(bytes("first"));
+            journal.remove();
+            assertThat(journal.peek())
+                .isEqualTo(bytes("second"));
+            journal.remove();
+            assertThat(journal.isEmpty())
+                .isTrue();
+            assertThat(journal.peek())
+                .isNull();
+        }
+    }
+
+    @Test
+    void appendFailsWhenJournalIsFullAndReclaimsReadRecords() {
+        try (var journal = new MappedJournal(directory.resolve("journal"), CAPACITY)) {
+            // 32 bytes of header, two segments of 40 bytes, 4 bytes of length per record
+            assertThat(journal.append(new byte[14]))
+                .isTrue();
+            assertThat(journal.append(bytes("0123456789abcd")))
+                .isTrue();
+            assertThat(journal.append(new byte[1]))
+                .isFalse();
+
+            journal.remove();
+
+            assertThat(journal.append(new byte[1]))
+                .isTrue();
+            assertThat(journal.count())
+                .isEqualTo(2);
+            assertThat(journal.peek())
+                .isEqualTo(bytes("0123456789abcd"));
+        }
+    }
+
+    @Test
+    void compactionSwitchesToOtherSegment() {
+        var path = directory.resolve("journal");
+        try (var journal = new MappedJournal(path, CAPACITY)) {
+            journal.append(bytes("0123456789abcd"));
+            journal.append(bytes("first"));
+            journal.append(bytes("second"));
+            journal.remove();
+
+            assertThat(journal.append(bytes("0123456789abcd")))
+                .isTrue();
+        }
+
+        try (var journal = new MappedJournal(path, CAPACITY)) {
+            assertThat(journal.count())
+                .isEqualTo(3);
+            assertThat(journal.peek())
+                .isEqualTo(bytes("first"));
+            journal.remove();
+            assertThat(journal.peek())
+                .isEqualTo(bytes("second"));
+            journal.remove();
+            assertThat(journal.peek())
+                .isEqualTo(bytes("0123456789abcd"));
+        }
+    }
+
+    @Test
+    void recordsSurviveReopen() {
+        var path = directory.resolve("journal");
+        try (var journal = new MappedJournal(path, CAPACITY)) {
+            journal.append(bytes("first"));
+            journal.append(bytes("second"));
+            journal.remove();
+        }
+
+        try (var journal = new MappedJournal(path, CAPACITY)) {
+            assertThat(journal.count())
+                .isEqualTo(1);
+            assertThat(journal.size())
+                .isEqualTo(Integer.BYTES + "second".length());
+            assertThat(journal.peek())
+                .isEqualTo(bytes("second"));
+        }
+    }
+
+}
@@ -8,6 +8,7 @@ import edu.eflerrr.scrapper.domain.jpa.repository.LinkRepository;
 import edu.eflerrr.scrapper.exception.DuplicateLinkPostException;
 import edu.eflerrr.scrapper.exception.LinkNotFoundException;
 import edu.eflerrr.scrapper.exception.TgChatNotExistException;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
 import java.net.URI;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -45,7 +46,7 @@ public class JpaLinkServiceTest extends IntegrationTest {
     public JpaLinkServiceTest(
         ChatRepository chatRepository, LinkRepository linkRepository
     ) {
-        jpaLinkService = new JpaLinkService(chatRepository, linkRepository);
+        jpaLinkService = new JpaLinkService(chatRepository, linkRepository, new LinkCheckSchedule(1000));
         this.chatRepository = chatRepository;
         this.linkRepository = linkRepository;
     }
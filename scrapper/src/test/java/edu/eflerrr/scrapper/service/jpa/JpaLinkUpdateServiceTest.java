@@ -13,7 +13,15 @@ import edu.eflerrr.scrapper.domain.jpa.entity.Link;
 import edu.eflerrr.scrapper.domain.jpa.repository.BranchRepository;
 import edu.eflerrr.scrapper.domain.jpa.repository.ChatRepository;
 import edu.eflerrr.scrapper.domain.jpa.repository.LinkRepository;
+import edu.eflerrr.scrapper.domain.jpa.repository.OutboxEventRepository;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
+import edu.eflerrr.scrapper.service.pipeline.CheckIntervalPolicy;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import edu.eflerrr.scrapper.service.pipeline.LinkStateBuffer;
+import edu.eflerrr.scrapper.service.pipeline.LinkUpdatePipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -23,6 +31,7 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.net.URI;
@@ -33,10 +42,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Pipeline;
+import static edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Pipeline.Stage.ExecutorType.DIRECT;
+import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.MULTIPLE_UPDATES;
+import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_BRANCH_CREATE;
 import static edu.eflerrr.scrapper.configuration.LinkUpdateConfig.REPOSITORY_PUSH;
 import static edu.eflerrr.scrapper.configuration.TimeConstants.MIN_DATE_TIME;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -56,6 +70,7 @@ class JpaLinkUpdateServiceTest extends IntegrationTest {
     StackoverflowClient stackoverflowClient;
     BranchRepository branchRepository;
     LinkRepository linkRepository;
+    OutboxEventRepository outboxEventRepository;
     ChatRepository chatRepository;
     ApplicationConfig config;
     Map<String, Long> eventId;
@@ -71,9 +86,11 @@ class JpaLinkUpdateServiceTest extends IntegrationTest {
     public JpaLinkUpdateServiceTest(
         BranchRepository branchRepository,
         LinkRepository linkRepository,
+        OutboxEventRepository outboxEventRepository,
         ChatRepository chatRepository,
         ApplicationConfig config,
-        Map<String, Long> eventId
+        Map<String, Long> eventId,
+        TransactionTemplate transactionTemplate
     ) {
         this.botClient = mock(BotClient.class);
         this.githubClient = mock(GithubClient.class);
@@ -81,15 +98,30 @@ class JpaLinkUpdateServiceTest extends IntegrationTest {
 
         this.branchRepository = branchRepository;
         this.linkRepository = linkRepository;
+        this.outboxEventRepository = outboxEventRepository;
         this.chatRepository = chatRepository;
         this.config = config;
         this.eventId = eventId;
-        jpaLinkUpdateService = new JpaLinkUpdateService(
+        var directStage = new Pipeline.Stage(DIRECT, 1);
+        var pipeline = new LinkUpdatePipeline(
+            githubClient,
+            null,
+            stackoverflowClient,
             botClient,
+            new Pipeline(directStage, directStage, directStage, directStage),
+            config.notification(),
+            new CheckIntervalPolicy(config.scheduler().forceCheckDelay(), config.scheduler().checkInterval()),
+            new LinkCheckSchedule(1000),
+            config.scheduler().lease().duration(),
+            new LinkStateBuffer(config.scheduler().flush()),
+            new SimpleMeterRegistry()
+        );
+        jpaLinkUpdateService = new JpaLinkUpdateService(
+            pipeline,
+            transactionTemplate,
             branchRepository,
             linkRepository,
-            githubClient,
-            stackoverflowClient,
+            outboxEventRepository,
             config,
             eventId
         );
@@ -116,7 +148,7 @@ class JpaLinkUpdateServiceTest extends IntegrationTest {
         chatRepository.saveAndFlush(chat);
         linkRepository.saveAndFlush(link);
 
-        when(githubClient.fetchResponse("MeowMeowMeow", "cat-house"))
+        when(githubClient.fetchResponse("meowmeowmeow", "cat-house"))
             .thenReturn(new GithubClientResponse(
                 111L, "cat-house",
                 staticDateTime.minusDays(3), staticDateTime.minusDays(1),
@@ -126,9 +158,7 @@ class JpaLinkUpdateServiceTest extends IntegrationTest {
                 )
             ));
 
-        doNothing().when(botClient).sendUpdate(
-            any(), any(), any(), any()
-        );
+        doNothing().when(botClient).sendUpdate(any(), any(), any(), any());
 
         int updatesCount;
         try (MockedStatic<OffsetDateTime> theMock = mockStatic(OffsetDateTime.class)) {
@@ -142,10 +172,16 @@ class JpaLinkUpdateServiceTest extends IntegrationTest {
         System.out.println(updatedLink);
         Set<Branch> branches = new HashSet<>(branchRepository.findAll());
 
-        verify(botClient).sendUpdate(
-            REPOSITORY_PUSH, testGithubUrl,
-            "repository push -> " + staticDateTime.minusDays(1), List.of(1L)
-        );
+        var event = ArgumentCaptor.forClass(LinkEvent.class);
+        verify(botClient).sendUpdate(eq(link.getId()), event.capture(), eq(testGithubUrl), eq(new long[] {1L}));
+        assertThat(event.getValue().id())
+            .isEqualTo(MULTIPLE_UPDATES);
+        assertThat(event.getValue().events())
+            .containsExactlyInAnyOrder(
+                new LinkEvent(REPOSITORY_PUSH, "repository push -> " + staticDateTime.minusDays(1)),
+                new LinkEvent(REPOSITORY_BRANCH_CREATE, "new branch -> main"),
+                new LinkEvent(REPOSITORY_BRANCH_CREATE, "new branch -> develop")
+            );
 
         assertThat(updatesCount)
             .isEqualTo(1);
@@ -0,0 +1,110 @@
+package edu.eflerrr.scrapper.service.kafka;
+
+import edu.eflerrr.scrapper.client.dto.request.SendUpdateRequest;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryUpdateSerializerTest {
+
+    private static final String TOPIC = "updates";
+
+    private final BinaryUpdateSerializer serializer = new BinaryUpdateSerializer();
+    private final URI url = URI.create("https://github.com/a/b");
+
+    @Test
+    void updateIsEncodedWithSortedDeltaChatIds() {
+        var headers = new RecordHeaders();
+
+        var bytes = serializer.serialize(TOPIC, headers, new SendUpdateRequest(
+            2L, url, "push", new long[] {300L, -5L, 1L}
+        ));
+
+        var expected = new ByteArrayOutputStream();
+        expected.writeBytes(new byte[] {1, 2, 22});
+        expected.writeBytes("https://github.com/a/b".getBytes(StandardCharsets.UTF_8));
+        expected.write(4);
+        expected.writeBytes("push".getBytes(StandardCharsets.UTF_8));
+        expected.writeBytes(new byte[] {3, 9, 6, (byte) 0xab, 0x02});
+        expected.writeBytes(new byte[] {0, 0, 1, 0, 0});
+        assertThat(bytes)
+            .containsExactly(expected.toByteArray());
+        assertThat(new String(headers.lastHeader("update-format").value(), StandardCharsets.UTF_8))
+            .isEqualTo("binary");
+    }
+
+    @Test
+    void chunkIsEncodedWithEventId() {
+        var bytes = serializer.serialize(TOPIC, new SendUpdateRequest(
+            2L, url, "push", List.of(), 0, new long[] {1L}, new UUID(1L, 2L), 1, 3
+        ));
+
+        assertThat(Arrays.copyOfRange(bytes, bytes.length - 21, bytes.length - 2))
+            .containsExactly(1, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 2, 1, 3);
+    }
+
+    @Test
+    void coalescedEventsAreListedAfterChunk() {
+        var events = List.of(new SendUpdateRequest.Event(2L, "push"), new SendUpdateRequest.Event(3L, "new branch"));
+
+        var bytes = serializer.serialize(TOPIC, new SendUpdateRequest(
+            10L, url, "multiple updates", events, 5, new long[] {1L}, null, 0, 1
+        ));
+
+        var expected = new ByteArrayOutputStream();
+        expected.writeBytes(new byte[] {0, 1, 2, 2, 4});
+        expected.writeBytes("push".getBytes(StandardCharsets.UTF_8));
+        expected.writeBytes(new byte[] {3, 10});
+        expected.writeBytes("new branch".getBytes(StandardCharsets.UTF_8));
+        expected.write(5);
+        assertThat(Arrays.copyOfRange(bytes, bytes.length - expected.size(), bytes.length))
+            .containsExactly(expected.toByteArray());
+    }
+
+    @Test
+    void listedEventIdOutOfByteRangeIsRejected() {
+        var update = new SendUpdateRequest(
+            10L, url, "multiple updates", List.of(new SendUpdateRequest.Event(256L, "push")), 0,
+            new long[] {1L}, null, 0, 1
+        );
+
+        assertThatThrownBy(() -> serializer.serialize(TOPIC, update))
+            .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void binaryUpdateIsSmallerThanJson() {
+        var update = new SendUpdateRequest(
+            2L,
+            URI.create("https://github.com/owner/repository"),
+            "repository push -> 2021-01-01T00:00Z",
+            LongStream.rangeClosed(1, 100).map(i -> 400_000_000L + i * 37).toArray()
+        );
+        try (var jsonSerializer = new JsonSerializer<SendUpdateRequest>()) {
+            var json = jsonSerializer.serialize(TOPIC, update);
+            var binary = serializer.serialize(TOPIC, update);
+
+            assertThat(binary.length)
+                .isLessThan(json.length / 4);
+        }
+    }
+
+    @Test
+    void eventIdOutOfByteRangeIsRejected() {
+        var update = new SendUpdateRequest(256L, url, "push", new long[] {1L});
+
+        assertThatThrownBy(() -> serializer.serialize(TOPIC, update))
+            .isInstanceOf(SerializationException.class);
+    }
+
+}
@@ -0,0 +1,121 @@
+package edu.eflerrr.scrapper.service.kafka;
+
+import edu.eflerrr.scrapper.client.dto.request.SendUpdateRequest;
+import edu.eflerrr.scrapper.configuration.ApplicationConfig;
+import edu.eflerrr.scrapper.domain.jdbc.dto.OutboxEvent;
+import edu.eflerrr.scrapper.service.pipeline.LinkEvent;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScrapperQueueProducerTest {
+
+    private static final String TOPIC = "updates";
+
+    private final OffsetDateTime staticDateTime = OffsetDateTime.parse("2021-01-01T00:00:00Z");
+    private final URI url = URI.create("https://github.com/owner/repo");
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, SendUpdateRequest> kafkaTemplate = mock(KafkaTemplate.class);
+    private final ScrapperQueueProducer producer = createProducer();
+
+    private ScrapperQueueProducer createProducer() {
+        var config = mock(ApplicationConfig.class, RETURNS_DEEP_STUBS);
+        when(config.kafka().topic().name()).thenReturn(TOPIC);
+        when(config.notification().chunkSize()).thenReturn(2);
+        return new ScrapperQueueProducer(kafkaTemplate, config);
+    }
+
+    @Test
+    void updatesAreKeyedByLinkId() {
+        when(kafkaTemplate.send(eq(TOPIC), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        producer.sendUpdate(5L, new LinkEvent(1L, "first"), url, new long[] {1L});
+        producer.sendUpdates(List.of(
+            new OutboxEvent(3L, 5L, new LinkEvent(2L, "second"), url, new long[] {1L}, staticDateTime),
+            new OutboxEvent(4L, null, new LinkEvent(3L, "third"), url, new long[] {1L}, staticDateTime)
+        ));
+
+        var captor = ArgumentCaptor.forClass(SendUpdateRequest.class);
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), eq("5"), captor.capture());
+        verify(kafkaTemplate).send(eq(TOPIC), isNull(), captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(SendUpdateRequest::id)
+            .containsExactly(1L, 2L, 3L);
+        verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    void largeSubscriberListIsSplitIntoChunksOfOneEvent() {
+        when(kafkaTemplate.send(eq(TOPIC), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        producer.sendUpdate(5L, new LinkEvent(1L, "first"), url, new long[] {1L, 2L, 3L});
+
+        var captor = ArgumentCaptor.forClass(SendUpdateRequest.class);
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), eq("5"), captor.capture());
+        var chunks = captor.getAllValues();
+        assertThat(chunks)
+            .extracting(SendUpdateRequest::tgChatIds)
+            .containsExactly(new long[] {1L, 2L}, new long[] {3L});
+        assertThat(chunks)
+            .extracting(SendUpdateRequest::chunk, SendUpdateRequest::chunks)
+            .containsExactly(tuple(0, 2), tuple(1, 2));
+        assertThat(chunks.get(0).eventId())
+            .isNotNull()
+            .isEqualTo(chunks.get(1).eventId());
+    }
+
+    @Test
+    void outboxEventIsResentUnderSameUpdateId() {
+        when(kafkaTemplate.send(eq(TOPIC), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        var event = new OutboxEvent(3L, 5L, new LinkEvent(2L, "second"), url, new long[] {1L}, staticDateTime);
+
+        producer.sendUpdates(List.of(event));
+        producer.sendUpdates(List.of(event));
+
+        var captor = ArgumentCaptor.forClass(SendUpdateRequest.class);
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), eq("5"), captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(SendUpdateRequest::eventId)
+            .containsExactly(event.getUpdateId(), event.getUpdateId());
+    }
+
+    @Test
+    void updateFailsWhenRecordIsNotAcknowledged() {
+        when(kafkaTemplate.send(eq(TOPIC), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("buffer exhausted")));
+
+        assertThatThrownBy(() -> producer.sendUpdate(5L, new LinkEvent(1L, "first"), url, new long[] {1L}))
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void batchFailsWhenRecordIsNotAcknowledged() {
+        when(kafkaTemplate.send(eq(TOPIC), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("buffer exhausted")));
+
+        assertThatThrownBy(() -> producer.sendUpdates(List.of(
+            new OutboxEvent(3L, 5L, new LinkEvent(2L, "second"), url, new long[] {1L}, staticDateTime)
+        )))
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+}
@@ -0,0 +1,39 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.CheckInterval;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckIntervalPolicyTest {
+
+    private final CheckIntervalPolicy policy = new CheckIntervalPolicy(
+        Duration.ofMinutes(1),
+        new CheckInterval(Duration.ofSeconds(30), Duration.ofMinutes(10), 2.0)
+    );
+
+    @Test
+    void neverCheckedLinkStartsFromInitialInterval() {
+        assertThat(policy.next(null, false))
+            .isEqualTo(Duration.ofMinutes(2));
+        assertThat(policy.next(null, true))
+            .isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void quietLinkGrowsUpToMax() {
+        assertThat(policy.next(Duration.ofMinutes(4), false))
+            .isEqualTo(Duration.ofMinutes(8));
+        assertThat(policy.next(Duration.ofMinutes(8), false))
+            .isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void changedLinkShrinksDownToMin() {
+        assertThat(policy.next(Duration.ofMinutes(10), true))
+            .isEqualTo(Duration.ofMinutes(5));
+        assertThat(policy.next(Duration.ofSeconds(40), true))
+            .isEqualTo(Duration.ofSeconds(30));
+    }
+
+}
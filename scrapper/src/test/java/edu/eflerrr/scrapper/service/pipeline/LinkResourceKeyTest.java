@@ -0,0 +1,50 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.client.dto.request.GithubRepository;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinkResourceKeyTest {
+
+    @Test
+    void githubLinksOfOneRepositoryShareKey() {
+        assertThat(LinkResourceKey.of(URI.create("https://github.com/owner/repo")))
+            .isEqualTo("github:owner/repo");
+        assertThat(LinkResourceKey.of(URI.create("https://github.com/owner/repo/")))
+            .isEqualTo("github:owner/repo");
+        assertThat(LinkResourceKey.of(URI.create("https://github.com/Owner/Repo.git")))
+            .isEqualTo("github:owner/repo");
+        assertThat(LinkResourceKey.of(URI.create("https://github.com/owner/repo/tree/main")))
+            .isEqualTo("github:owner/repo");
+    }
+
+    @Test
+    void stackoverflowLinksOfOneQuestionShareKey() {
+        assertThat(LinkResourceKey.of(URI.create("https://stackoverflow.com/questions/123")))
+            .isEqualTo("stackoverflow:123");
+        assertThat(LinkResourceKey.of(URI.create("https://stackoverflow.com/questions/123/some-slug")))
+            .isEqualTo("stackoverflow:123");
+    }
+
+    @Test
+    void keysNameTheirResource() {
+        assertThat(LinkResourceKey.githubRepository("github:owner/repo"))
+            .isEqualTo(new GithubRepository("owner", "repo"));
+        assertThat(LinkResourceKey.questionId("stackoverflow:123"))
+            .isEqualTo(123L);
+        assertThat(LinkResourceKey.githubRepository("stackoverflow:123"))
+            .isNull();
+        assertThat(LinkResourceKey.questionId("url:https://example.com/owner/repo"))
+            .isNull();
+    }
+
+    @Test
+    void otherLinksAreKeyedByUrl() {
+        assertThat(LinkResourceKey.of(URI.create("https://example.com/owner/repo")))
+            .isEqualTo("url:https://example.com/owner/repo");
+        assertThat(LinkResourceKey.of(URI.create("https://github.com/owner")))
+            .isEqualTo("url:https://github.com/owner");
+    }
+
+}
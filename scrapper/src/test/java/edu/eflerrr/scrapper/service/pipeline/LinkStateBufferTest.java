@@ -0,0 +1,65 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Flush;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinkStateBufferTest {
+
+    private LinkCheck<?> check(long linkId) {
+        return new LinkCheck<>(null, linkId, null);
+    }
+
+    @Test
+    void addReturnsBatchWhenSizeReached() {
+        var buffer = new LinkStateBuffer(new Flush(2, Duration.ofHours(1)));
+
+        var first = buffer.add(check(1L));
+        var second = buffer.add(check(2L));
+
+        assertThat(first)
+            .isEmpty();
+        assertThat(second)
+            .extracting(LinkCheck::getLinkId)
+            .containsExactly(1L, 2L);
+        assertThat(buffer.drain())
+            .isEmpty();
+    }
+
+    @Test
+    void addReturnsBatchWhenIntervalPassed() {
+        var buffer = new LinkStateBuffer(new Flush(100, Duration.ZERO));
+
+        assertThat(buffer.add(check(1L)))
+            .extracting(LinkCheck::getLinkId)
+            .containsExactly(1L);
+    }
+
+    @Test
+    void drainReturnsRemainingChecks() {
+        var buffer = new LinkStateBuffer(new Flush(100, Duration.ofHours(1)));
+        buffer.add(check(1L));
+        buffer.add(check(2L));
+
+        assertThat(buffer.drain())
+            .extracting(LinkCheck::getLinkId)
+            .containsExactly(1L, 2L);
+        assertThat(buffer.drain())
+            .isEmpty();
+    }
+
+    @Test
+    void requeuedChecksAreWrittenFirst() {
+        var buffer = new LinkStateBuffer(new Flush(3, Duration.ofHours(1)));
+        buffer.add(check(3L));
+
+        buffer.requeue(List.of(check(1L), check(2L)));
+
+        assertThat(buffer.drain())
+            .extracting(LinkCheck::getLinkId)
+            .containsExactly(1L, 2L, 3L);
+    }
+
+}
@@ -0,0 +1,454 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.client.GithubClient;
+import edu.eflerrr.scrapper.client.GithubGraphqlClient;
+import edu.eflerrr.scrapper.client.StackoverflowClient;
+import edu.eflerrr.scrapper.client.dto.request.GithubRepository;
+import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
+import edu.eflerrr.scrapper.client.dto.response.StackoverflowClientResponse;
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Notification;
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.CheckInterval;
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Flush;
+import edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Pipeline;
+import edu.eflerrr.scrapper.domain.jdbc.dto.BranchChanges;
+import edu.eflerrr.scrapper.exception.InvalidDataException;
+import edu.eflerrr.scrapper.scheduler.LinkCheckSchedule;
+import edu.eflerrr.scrapper.service.UpdateSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import static edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Pipeline.Stage.ExecutorType.BOUNDED;
+import static edu.eflerrr.scrapper.configuration.ApplicationConfig.Scheduler.Pipeline.Stage.ExecutorType.VIRTUAL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LinkUpdatePipelineTest {
+
+    private static final LinkEvent REPOSITORY_UPDATE = new LinkEvent(1L, "repository update");
+    private static final LinkEvent COALESCED_UPDATE = new LinkEvent(
+        10L,
+        LinkEvent.MULTIPLE_UPDATES_DESCRIPTION,
+        List.of(REPOSITORY_UPDATE, new LinkEvent(3L, "new branch -> first")),
+        2
+    );
+
+    private final OffsetDateTime staticDateTime = OffsetDateTime.parse("2021-01-01T00:00:00Z");
+    private final GithubClient githubClient = mock(GithubClient.class);
+    private final StackoverflowClient stackoverflowClient = mock(StackoverflowClient.class);
+    private final UpdateSender updateSender = mock(UpdateSender.class);
+    private final GithubGraphqlClient githubGraphqlClient = mock(GithubGraphqlClient.class);
+    private final LinkCheckSchedule linkCheckSchedule = new LinkCheckSchedule(1000);
+    private final LinkUpdatePipeline pipeline = createPipeline(null, updateSender);
+
+    private final Map<URI, Duration> persisted = new ConcurrentHashMap<>();
+    private final Map<URI, List<LinkEvent>> persistedEvents = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberQueries = new AtomicInteger();
+    private final List<Long> subscriberLinkIds = new CopyOnWriteArrayList<>();
+    private final List<URI> diffed = new CopyOnWriteArrayList<>();
+    private LinkSubscribers subscribers = LinkSubscribers.of(1L, 2L);
+    private final Map<URI, Long> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicInteger failingWrites = new AtomicInteger();
+    private final LinkUpdateStages<URI> stages = new LinkUpdateStages<>() {
+        @Override
+        public URI url(URI link) {
+            return link;
+        }
+
+        @Override
+        public Long id(URI link) {
+            return LinkUpdatePipelineTest.id(link);
+        }
+
+        @Override
+        public Duration checkInterval(URI link) {
+            return null;
+        }
+
+        @Override
+        public Long fingerprint(URI link) {
+            return fingerprints.get(link);
+        }
+
+        @Override
+        public Map<Long, LinkSubscribers> subscribers(Collection<Long> linkIds) {
+            subscriberQueries.incrementAndGet();
+            subscriberLinkIds.addAll(linkIds);
+            return linkIds.stream()
+                .collect(Collectors.toMap(Function.identity(), linkId -> subscribers));
+        }
+
+        @Override
+        public void diff(LinkCheck<URI> check) {
+            diffed.add(check.getUrl());
+            if (check.getGithubResponse() != null && check.getGithubResponse().getName().startsWith("updated")) {
+                check.addEvent(1L, "repository update");
+            }
+            if (check.getGithubResponse() != null && check.getGithubResponse().getName().startsWith("branched")) {
+                check.addEvent(1L, "repository update");
+                check.syncBranches(Map.of(), true);
+            }
+        }
+
+        @Override
+        public void write(List<LinkCheck<?>> checks, Consumer<List<LinkCheck<?>>> beforeCommit) {
+            if (failingWrites.getAndDecrement() > 0) {
+                throw new RuntimeException("database is down");
+            }
+            for (var check : checks) {
+                if (check.getBranches() != null) {
+                    check.addBranchChanges(new BranchChanges(List.of("first", "second", "third"), List.of()));
+                }
+            }
+            beforeCommit.accept(checks);
+            for (var check : checks) {
+                persisted.put(check.getUrl(), check.getCheckInterval());
+                persistedEvents.put(check.getUrl(), check.getEvents());
+            }
+        }
+    };
+
+    private static Long id(URI link) {
+        return (long) link.hashCode();
+    }
+
+    private LinkUpdatePipeline createPipeline(GithubGraphqlClient graphqlClient, UpdateSender sender) {
+        return createPipeline(graphqlClient, sender, new Flush(1, Duration.ZERO));
+    }
+
+    private LinkUpdatePipeline createPipeline(GithubGraphqlClient graphqlClient, UpdateSender sender, Flush flush) {
+        return new LinkUpdatePipeline(
+            githubClient,
+            graphqlClient,
+            stackoverflowClient,
+            sender,
+            new Pipeline(
+                new Pipeline.Stage(VIRTUAL, 4),
+                new Pipeline.Stage(BOUNDED, 2),
+                new Pipeline.Stage(BOUNDED, 2),
+                new Pipeline.Stage(BOUNDED, 2)
+            ),
+            new Notification(500, 4, 2),
+            new CheckIntervalPolicy(
+                Duration.ofMinutes(1),
+                new CheckInterval(Duration.ofSeconds(30), Duration.ofMinutes(10), 2.0)
+            ),
+            linkCheckSchedule,
+            Duration.ofMinutes(5),
+            new LinkStateBuffer(flush),
+            new SimpleMeterRegistry()
+        );
+    }
+
+    private void mockRepository(String name) {
+        when(githubClient.fetchResponse("owner", name)).thenReturn(new GithubClientResponse(
+            1L, name, staticDateTime, staticDateTime, List.of()
+        ));
+    }
+
+    @Test
+    void processAllLinks() {
+        mockRepository("updated-1");
+        mockRepository("updated-2");
+        mockRepository("same");
+        var links = List.of(
+            URI.create("https://github.com/owner/updated-1"),
+            URI.create("https://github.com/owner/updated-2"),
+            URI.create("https://github.com/owner/same"),
+            URI.create("https://example.com/unsupported")
+        );
+
+        var updatesCount = pipeline.process(links, stages, staticDateTime);
+
+        assertThat(updatesCount)
+            .isEqualTo(2);
+        assertThat(persisted)
+            .containsOnlyKeys(links.subList(0, 3))
+            .containsEntry(links.get(0), Duration.ofSeconds(30))
+            .containsEntry(links.get(2), Duration.ofMinutes(2));
+        assertThat(linkCheckSchedule.size())
+            .isEqualTo(3);
+        assertThat(subscriberQueries.get())
+            .isEqualTo(1);
+        verify(updateSender).sendUpdate(id(links.get(0)), REPOSITORY_UPDATE, links.get(0), new long[] {1L, 2L});
+        verify(updateSender).sendUpdate(id(links.get(1)), REPOSITORY_UPDATE, links.get(1), new long[] {1L, 2L});
+    }
+
+    @Test
+    void failedCheckIsRescheduled() throws InterruptedException {
+        when(githubClient.fetchResponse("owner", "broken"))
+            .thenThrow(new RuntimeException("api is down"));
+        var link = URI.create("https://github.com/owner/broken");
+
+        var updatesCount = pipeline.process(List.of(link), stages, OffsetDateTime.now().minusMinutes(5));
+
+        assertThat(updatesCount)
+            .isZero();
+        assertThat(persisted)
+            .isEmpty();
+        assertThat(linkCheckSchedule.awaitDue())
+            .containsExactly(id(link));
+    }
+
+    @Test
+    void failedNotificationKeepsWrittenState() {
+        mockRepository("updated-1");
+        mockRepository("updated-2");
+        var failedLink = URI.create("https://github.com/owner/updated-1");
+        var link = URI.create("https://github.com/owner/updated-2");
+        doThrow(new InvalidDataException("bad request"))
+            .when(updateSender).sendUpdate(any(), any(), eq(failedLink), any());
+
+        var updatesCount = pipeline.process(List.of(failedLink, link), stages, staticDateTime);
+
+        assertThat(updatesCount)
+            .isEqualTo(2);
+        assertThat(persisted)
+            .containsOnlyKeys(failedLink, link);
+        verify(updateSender).sendUpdate(id(link), REPOSITORY_UPDATE, link, new long[] {1L, 2L});
+    }
+
+    @Test
+    void failedNotificationSkipsStateWrite() {
+        mockRepository("updated-1");
+        mockRepository("updated-2");
+        var failedLink = URI.create("https://github.com/owner/updated-1");
+        var link = URI.create("https://github.com/owner/updated-2");
+        doThrow(new RuntimeException("bot is down"))
+            .when(updateSender).sendUpdate(any(), any(), eq(failedLink), any());
+        var bufferingPipeline = createPipeline(null, updateSender, new Flush(100, Duration.ofHours(1)));
+
+        bufferingPipeline.process(List.of(failedLink, link), stages, staticDateTime);
+        bufferingPipeline.flush(stages);
+
+        assertThat(persisted)
+            .containsOnlyKeys(link);
+        assertThat(linkCheckSchedule.size())
+            .isEqualTo(2);
+        verify(updateSender).sendUpdate(id(failedLink), REPOSITORY_UPDATE, failedLink, new long[] {1L, 2L});
+        verify(updateSender).sendUpdate(id(link), REPOSITORY_UPDATE, link, new long[] {1L, 2L});
+    }
+
+    @Test
+    void checksOfFailedWriteAreWrittenWithNextBatch() {
+        mockRepository("updated-1");
+        var link = URI.create("https://github.com/owner/updated-1");
+        failingWrites.set(1);
+
+        pipeline.process(List.of(link), stages, staticDateTime);
+
+        assertThat(persisted)
+            .isEmpty();
+
+        pipeline.flush(stages);
+
+        assertThat(persisted)
+            .containsOnlyKeys(link);
+        verify(updateSender).sendUpdate(id(link), REPOSITORY_UPDATE, link, new long[] {1L, 2L});
+    }
+
+    @Test
+    void bufferedChecksAreWrittenOnFlush() {
+        mockRepository("updated-1");
+        var link = URI.create("https://github.com/owner/updated-1");
+        var bufferingPipeline = createPipeline(null, updateSender, new Flush(100, Duration.ofHours(1)));
+
+        bufferingPipeline.process(List.of(link), stages, staticDateTime);
+
+        assertThat(persisted)
+            .isEmpty();
+        verify(updateSender, never()).sendUpdate(any(), any(), any(), any());
+
+        bufferingPipeline.flush(stages);
+
+        assertThat(persisted)
+            .containsOnlyKeys(link);
+        verify(updateSender).sendUpdate(id(link), REPOSITORY_UPDATE, link, new long[] {1L, 2L});
+    }
+
+    @Test
+    void withoutUpdateSenderEventsArePersisted() {
+        mockRepository("updated-1");
+        var link = URI.create("https://github.com/owner/updated-1");
+
+        var updatesCount = createPipeline(null, null).process(List.of(link), stages, staticDateTime);
+
+        assertThat(updatesCount)
+            .isEqualTo(1);
+        assertThat(persistedEvents.get(link))
+            .containsExactly(REPOSITORY_UPDATE);
+        verify(updateSender, never()).sendUpdate(any(), any(), any(), any());
+    }
+
+    @Test
+    void eventsOfOneCheckAreCoalesced() {
+        mockRepository("branched");
+        var link = URI.create("https://github.com/owner/branched");
+
+        var updatesCount = pipeline.process(List.of(link), stages, staticDateTime);
+
+        assertThat(updatesCount)
+            .isEqualTo(1);
+        verify(updateSender).sendUpdate(id(link), COALESCED_UPDATE, link, new long[] {1L, 2L});
+        verify(updateSender).sendUpdate(any(), any(), any(), any());
+    }
+
+    @Test
+    void eventMasksFilterEventsPerSubscriber() {
+        mockRepository("branched");
+        var link = URI.create("https://github.com/owner/branched");
+        subscribers = new LinkSubscribers(
+            new long[] {1L, 2L, 3L, 4L},
+            new long[] {LinkSubscribers.ALL_EVENTS, LinkSubscribers.bit(1L), ~LinkSubscribers.bit(3L), 0L}
+        );
+
+        var updatesCount = pipeline.process(List.of(link), stages, staticDateTime);
+
+        assertThat(updatesCount)
+            .isEqualTo(1);
+        verify(updateSender).sendUpdate(id(link), COALESCED_UPDATE, link, new long[] {1L});
+        verify(updateSender).sendUpdate(id(link), REPOSITORY_UPDATE, link, new long[] {2L, 3L});
+        verify(updateSender, times(2)).sendUpdate(any(), any(), any(), any());
+    }
+
+    @Test
+    void sameResourceFetchedOnce() {
+        mockRepository("updated-1");
+        var links = List.of(
+            URI.create("https://github.com/owner/updated-1"),
+            URI.create("https://github.com/owner/updated-1/"),
+            URI.create("https://github.com/owner/updated-1/tree/main")
+        );
+
+        var updatesCount = pipeline.process(links, stages, staticDateTime);
+
+        assertThat(updatesCount)
+            .isEqualTo(3);
+        assertThat(persisted)
+            .containsOnlyKeys(links);
+        verify(githubClient).fetchResponse("owner", "updated-1");
+        for (var link : links) {
+            verify(updateSender).sendUpdate(id(link), REPOSITORY_UPDATE, link, new long[] {1L, 2L});
+        }
+    }
+
+    @Test
+    void sameResourceFetchedOncePerCycle() {
+        mockRepository("updated-1");
+        var firstBatch = List.of(URI.create("https://github.com/owner/updated-1"));
+        var secondBatch = List.of(URI.create("https://github.com/owner/updated-1/tree/main"));
+
+        pipeline.process(firstBatch, stages, staticDateTime);
+        pipeline.process(secondBatch, stages, staticDateTime);
+
+        verify(githubClient).fetchResponse("owner", "updated-1");
+
+        pipeline.flush(stages);
+        pipeline.process(firstBatch, stages, staticDateTime);
+
+        verify(githubClient, times(2)).fetchResponse("owner", "updated-1");
+    }
+
+    @Test
+    void canonicalRepositoryIsFetched() {
+        mockRepository("updated-1");
+        var link = URI.create("https://github.com/Owner/Updated-1.git");
+
+        pipeline.process(List.of(link), stages, staticDateTime);
+
+        verify(githubClient).fetchResponse("owner", "updated-1");
+        assertThat(persisted)
+            .containsOnlyKeys(link);
+    }
+
+    @Test
+    void unchangedFingerprintSkipsDiff() {
+        mockRepository("updated-1");
+        var response = new StackoverflowClientResponse(staticDateTime, new ArrayList<>(List.of(
+            new StackoverflowClientResponse.Event(staticDateTime, "answer")
+        )));
+        when(stackoverflowClient.fetchResponses(any())).thenReturn(Map.of(1L, response));
+        var githubLink = URI.create("https://github.com/owner/updated-1");
+        var stackoverflowLink = URI.create("https://stackoverflow.com/questions/1/first");
+        fingerprints.put(githubLink, ResponseFingerprint.of(githubClient.fetchResponse("owner", "updated-1")));
+        fingerprints.put(stackoverflowLink, ResponseFingerprint.of(response));
+
+        var updatesCount = pipeline.process(List.of(githubLink, stackoverflowLink), stages, staticDateTime);
+
+        assertThat(updatesCount)
+            .isZero();
+        assertThat(diffed)
+            .isEmpty();
+        assertThat(persisted)
+            .containsOnlyKeys(githubLink, stackoverflowLink);
+        assertThat(subscriberLinkIds)
+            .containsExactly((long) githubLink.hashCode());
+        verify(updateSender, never()).sendUpdate(any(), any(), any(), any());
+    }
+
+    @Test
+    void stackoverflowPrefetchWithSingleFallback() {
+        var response = new StackoverflowClientResponse(staticDateTime, new ArrayList<>(List.of(
+            new StackoverflowClientResponse.Event(staticDateTime, "answer")
+        )));
+        when(stackoverflowClient.fetchResponses(any())).thenReturn(Map.of(1L, response));
+        when(stackoverflowClient.fetchResponse(2L)).thenReturn(response);
+        var links = List.of(
+            URI.create("https://stackoverflow.com/questions/1/first"),
+            URI.create("https://stackoverflow.com/questions/2/second")
+        );
+
+        pipeline.process(links, stages, staticDateTime);
+
+        assertThat(persisted)
+            .containsOnlyKeys(links);
+        verify(stackoverflowClient).fetchResponses(List.of(1L, 2L));
+        verify(stackoverflowClient, never()).fetchResponse(1L);
+        verify(stackoverflowClient).fetchResponse(2L);
+    }
+
+    @Test
+    void graphqlPrefetchWithRestFallback() {
+        mockRepository("same");
+        when(githubGraphqlClient.fetchResponses(any())).thenReturn(Map.of(
+            new GithubRepository("owner", "updated-1"),
+            new GithubClientResponse(1L, "updated-1", staticDateTime, staticDateTime, List.of())
+        ));
+        var links = List.of(
+            URI.create("https://github.com/owner/updated-1"),
+            URI.create("https://github.com/owner/same")
+        );
+
+        var updatesCount = createPipeline(githubGraphqlClient, updateSender).process(links, stages, staticDateTime);
+
+        assertThat(updatesCount)
+            .isEqualTo(1);
+        assertThat(persisted)
+            .containsOnlyKeys(links);
+        verify(githubGraphqlClient).fetchResponses(List.of(
+            new GithubRepository("owner", "updated-1"),
+            new GithubRepository("owner", "same")
+        ));
+        verify(githubClient, never()).fetchResponse("owner", "updated-1");
+        verify(githubClient).fetchResponse("owner", "same");
+    }
+
+}
@@ -0,0 +1,65 @@
+package edu.eflerrr.scrapper.service.pipeline;
+
+import edu.eflerrr.scrapper.client.dto.response.GithubBranchResponse;
+import edu.eflerrr.scrapper.client.dto.response.GithubClientResponse;
+import edu.eflerrr.scrapper.client.dto.response.StackoverflowClientResponse;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseFingerprintTest {
+
+    private final OffsetDateTime staticDateTime = OffsetDateTime.parse("2021-01-01T00:00:00Z");
+
+    private GithubClientResponse repository(List<GithubBranchResponse> branches) {
+        return new GithubClientResponse(1L, "repo", staticDateTime, staticDateTime, branches);
+    }
+
+    @Test
+    void branchOrderDoesNotMatter() {
+        var main = new GithubBranchResponse("main", staticDateTime);
+        var dev = new GithubBranchResponse("dev", staticDateTime);
+
+        assertThat(ResponseFingerprint.of(repository(List.of(main, dev))))
+            .isEqualTo(ResponseFingerprint.of(repository(List.of(dev, main))));
+    }
+
+    @Test
+    void changedBranchChangesFingerprint() {
+        var main = new GithubBranchResponse("main", staticDateTime);
+        var movedMain = new GithubBranchResponse("main", staticDateTime.plusSeconds(1));
+        var renamedMain = new GithubBranchResponse("mai", staticDateTime);
+
+        assertThat(ResponseFingerprint.of(repository(List.of(main))))
+            .isNotEqualTo(ResponseFingerprint.of(repository(List.of(movedMain))))
+            .isNotEqualTo(ResponseFingerprint.of(repository(List.of(renamedMain))))
+            .isNotEqualTo(ResponseFingerprint.of(repository(List.of())));
+    }
+
+    @Test
+    void sameInstantInOtherOffsetKeepsFingerprint() {
+        var utc = new GithubClientResponse(1L, "repo", staticDateTime, staticDateTime, List.of());
+        var shifted = staticDateTime.withOffsetSameInstant(ZoneOffset.ofHours(3));
+        var moscow = new GithubClientResponse(1L, "repo", shifted, shifted, List.of());
+
+        assertThat(ResponseFingerprint.of(utc))
+            .isEqualTo(ResponseFingerprint.of(moscow));
+    }
+
+    @Test
+    void questionFingerprintDoesNotDependOnTimelineLength() {
+        var answer = new StackoverflowClientResponse.Event(staticDateTime, "answer");
+        var comment = new StackoverflowClientResponse.Event(staticDateTime.minusDays(1), "comment");
+        var batch = new StackoverflowClientResponse(staticDateTime, new ArrayList<>(List.of(answer)));
+        var single = new StackoverflowClientResponse(staticDateTime, new ArrayList<>(List.of(answer, comment)));
+        var commented = new StackoverflowClientResponse(staticDateTime, new ArrayList<>(List.of(comment)));
+
+        assertThat(ResponseFingerprint.of(batch))
+            .isEqualTo(ResponseFingerprint.of(single))
+            .isNotEqualTo(ResponseFingerprint.of(commented));
+    }
+
+}